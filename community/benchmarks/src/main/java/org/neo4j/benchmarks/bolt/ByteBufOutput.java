@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.benchmarks.bolt;
+
+import io.netty.buffer.ByteBuf;
+
+import java.nio.ByteBuffer;
+
+import org.neo4j.bolt.v1.packstream.PackOutput;
+
+/**
+ * Unchunked {@link PackOutput} that writes straight into a {@link ByteBuf}.
+ */
+class ByteBufOutput implements PackOutput
+{
+    private final ByteBuf buf;
+
+    ByteBufOutput( ByteBuf buf )
+    {
+        this.buf = buf;
+    }
+
+    @Override
+    public void beginMessage()
+    {
+    }
+
+    @Override
+    public void messageSucceeded()
+    {
+    }
+
+    @Override
+    public void messageFailed()
+    {
+    }
+
+    @Override
+    public PackOutput flush()
+    {
+        return this;
+    }
+
+    @Override
+    public PackOutput writeByte( byte value )
+    {
+        buf.writeByte( value );
+        return this;
+    }
+
+    @Override
+    public PackOutput writeBytes( ByteBuffer data )
+    {
+        buf.writeBytes( data );
+        return this;
+    }
+
+    @Override
+    public PackOutput writeBytes( byte[] data, int offset, int amountToWrite )
+    {
+        buf.writeBytes( data, offset, amountToWrite );
+        return this;
+    }
+
+    @Override
+    public PackOutput writeShort( short value )
+    {
+        buf.writeShort( value );
+        return this;
+    }
+
+    @Override
+    public PackOutput writeInt( int value )
+    {
+        buf.writeInt( value );
+        return this;
+    }
+
+    @Override
+    public PackOutput writeLong( long value )
+    {
+        buf.writeLong( value );
+        return this;
+    }
+
+    @Override
+    public PackOutput writeDouble( double value )
+    {
+        buf.writeDouble( value );
+        return this;
+    }
+
+    @Override
+    public void close()
+    {
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.benchmarks.bolt;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.bolt.transport.TransportThrottleGroup;
+import org.neo4j.bolt.v1.messaging.Neo4jPack;
+import org.neo4j.bolt.v1.packstream.ByteBufInput;
+import org.neo4j.bolt.v1.transport.ChunkedOutput;
+import org.neo4j.bolt.v2.messaging.Neo4jPackV2;
+import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.RandomValues;
+
+/**
+ * Measures encoding records of random values through {@link ChunkedOutput} into a channel, the way Bolt writes
+ * results, and decoding them again with {@link ByteBufInput}.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Fork( 1 )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 5 )
+public class PackStreamBenchmark
+{
+    private static final int RECORDS = 100;
+
+    @Param( {"1", "10"} )
+    public int fieldsPerRecord;
+
+    private final Neo4jPack neo4jPack = new Neo4jPackV2();
+    private AnyValue[][] records;
+    private byte[] encoded;
+    private EmbeddedChannel channel;
+    private ChunkedOutput output;
+    private Neo4jPack.Packer packer;
+    private final ByteBufInput input = new ByteBufInput();
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        RandomValues values = RandomValues.create( new SplittableRandom( 42 ) );
+        records = new AnyValue[RECORDS][fieldsPerRecord];
+        for ( AnyValue[] record : records )
+        {
+            for ( int i = 0; i < fieldsPerRecord; i++ )
+            {
+                record[i] = values.nextValue();
+            }
+        }
+
+        channel = new EmbeddedChannel();
+        output = new ChunkedOutput( channel, TransportThrottleGroup.NO_THROTTLE );
+        packer = neo4jPack.newPacker( output );
+
+        ByteBuf unchunked = Unpooled.buffer();
+        Neo4jPack.Packer unchunkedPacker = neo4jPack.newPacker( new ByteBufOutput( unchunked ) );
+        for ( AnyValue[] record : records )
+        {
+            pack( unchunkedPacker, record );
+        }
+        encoded = new byte[unchunked.readableBytes()];
+        unchunked.readBytes( encoded );
+    }
+
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        output.close();
+        channel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public void encode() throws IOException
+    {
+        for ( AnyValue[] record : records )
+        {
+            output.beginMessage();
+            pack( packer, record );
+            output.messageSucceeded();
+        }
+        output.flush();
+        channel.releaseOutbound();
+    }
+
+    @Benchmark
+    public void decode( Blackhole blackhole ) throws IOException
+    {
+        input.start( Unpooled.wrappedBuffer( encoded ) );
+        try
+        {
+            Neo4jPack.Unpacker unpacker = neo4jPack.newUnpacker( input );
+            for ( int r = 0; r < RECORDS; r++ )
+            {
+                long fields = unpacker.unpackListHeader();
+                for ( long i = 0; i < fields; i++ )
+                {
+                    blackhole.consume( unpacker.unpack() );
+                }
+            }
+        }
+        finally
+        {
+            input.stop();
+        }
+    }
+
+    private static void pack( Neo4jPack.Packer packer, AnyValue[] record ) throws IOException
+    {
+        packer.packListHeader( record.length );
+        for ( AnyValue value : record )
+        {
+            packer.pack( value );
+        }
+    }
+}
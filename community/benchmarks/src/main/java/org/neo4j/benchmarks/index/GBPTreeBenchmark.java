@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.benchmarks.index;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.graphdb.config.Configuration;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Hit;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.index.internal.gbptree.Writer;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.FileUtils;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
+import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier;
+
+import static org.neo4j.index.internal.gbptree.GBPTree.NO_HEADER_READER;
+import static org.neo4j.index.internal.gbptree.GBPTree.NO_HEADER_WRITER;
+import static org.neo4j.index.internal.gbptree.GBPTree.NO_MONITOR;
+
+/**
+ * Measures {@link GBPTree} seeks and inserts over a tree of {@link #treeSize} random keys. Keys are padded by
+ * {@link #keyPadding} bytes to see how the fan-out of internal and leaf nodes affects each operation.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Fork( 1 )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 5 )
+public class GBPTreeBenchmark
+{
+    private static final int RANGE_SIZE = 100;
+    private static final int INSERTS_PER_WRITER = 100;
+    // Spread keys out so that range seeks hit roughly one key in this many values
+    private static final int KEY_SPACE_FACTOR = 4;
+
+    @Param( "1000000" )
+    public int treeSize;
+
+    @Param( {"0", "24", "120"} )
+    public int keyPadding;
+
+    private File directory;
+    private FileSystemAbstraction fs;
+    private PageCache pageCache;
+    private GBPTree<MutableLong,MutableLong> tree;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory( getClass().getSimpleName() ).toFile();
+        fs = new DefaultFileSystemAbstraction();
+        SingleFilePageSwapperFactory swapperFactory = new SingleFilePageSwapperFactory();
+        swapperFactory.open( fs, Configuration.EMPTY );
+        pageCache = new MuninnPageCache( swapperFactory, 100_000, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL,
+                EmptyVersionContextSupplier.EMPTY );
+        LongLayout layout = new LongLayout( keyPadding );
+        tree = new GBPTree<>( pageCache, new File( directory, "tree" ), layout, 0, NO_MONITOR, NO_HEADER_READER,
+                NO_HEADER_WRITER, RecoveryCleanupWorkCollector.IMMEDIATE );
+
+        SplittableRandom random = new SplittableRandom( 42 );
+        MutableLong key = new MutableLong();
+        MutableLong value = new MutableLong();
+        try ( Writer<MutableLong,MutableLong> writer = tree.writer() )
+        {
+            for ( int i = 0; i < treeSize; i++ )
+            {
+                key.setValue( random.nextLong( keySpace() ) );
+                value.setValue( i );
+                writer.put( key, value );
+            }
+        }
+        tree.checkpoint( IOLimiter.unlimited() );
+    }
+
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        tree.close();
+        pageCache.close();
+        fs.close();
+        FileUtils.deleteRecursively( directory );
+    }
+
+    @Benchmark
+    public long seekExact() throws IOException
+    {
+        long from = ThreadLocalRandom.current().nextLong( keySpace() );
+        return seek( from, from + 1 );
+    }
+
+    @Benchmark
+    public long seekRange() throws IOException
+    {
+        long from = ThreadLocalRandom.current().nextLong( keySpace() );
+        return seek( from, from + RANGE_SIZE * KEY_SPACE_FACTOR );
+    }
+
+    @Benchmark
+    @OperationsPerInvocation( INSERTS_PER_WRITER )
+    public void insert() throws IOException
+    {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        MutableLong key = new MutableLong();
+        MutableLong value = new MutableLong();
+        try ( Writer<MutableLong,MutableLong> writer = tree.writer() )
+        {
+            for ( int i = 0; i < INSERTS_PER_WRITER; i++ )
+            {
+                key.setValue( random.nextLong( keySpace() ) );
+                value.setValue( i );
+                writer.put( key, value );
+            }
+        }
+    }
+
+    private long seek( long fromInclusive, long toExclusive ) throws IOException
+    {
+        long sum = 0;
+        try ( RawCursor<Hit<MutableLong,MutableLong>,IOException> cursor =
+                tree.seek( new MutableLong( fromInclusive ), new MutableLong( toExclusive ) ) )
+        {
+            while ( cursor.next() )
+            {
+                sum += cursor.get().value().longValue();
+            }
+        }
+        return sum;
+    }
+
+    private long keySpace()
+    {
+        return (long) treeSize * KEY_SPACE_FACTOR;
+    }
+}
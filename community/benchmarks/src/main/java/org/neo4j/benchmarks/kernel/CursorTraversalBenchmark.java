@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.benchmarks.kernel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.internal.kernel.api.CursorFactory;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.Read;
+import org.neo4j.internal.kernel.api.RelationshipTraversalCursor;
+import org.neo4j.internal.kernel.api.Session;
+import org.neo4j.internal.kernel.api.Transaction;
+import org.neo4j.internal.kernel.api.Write;
+import org.neo4j.internal.kernel.api.exceptions.KernelException;
+import org.neo4j.values.storable.RandomValues;
+
+import static org.neo4j.internal.kernel.api.security.LoginContext.AUTH_DISABLED;
+
+/**
+ * Measures property and relationship traversal through kernel cursors, over a generated store of
+ * {@link #nodeCount} nodes with random property values from {@link RandomValues}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Fork( 1 )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 5 )
+public class CursorTraversalBenchmark
+{
+    private static final int NODES_PER_TRANSACTION = 10_000;
+
+    @Param( "100000" )
+    public int nodeCount;
+
+    @Param( "10" )
+    public int relationshipsPerNode;
+
+    @Param( "4" )
+    public int propertiesPerNode;
+
+    private TemporaryDatabase database;
+    private Session session;
+
+    @Setup
+    public void setUp() throws IOException, KernelException
+    {
+        database = new TemporaryDatabase( getClass() );
+        session = database.kernel().beginSession( AUTH_DISABLED );
+        RandomValues values = RandomValues.create( new SplittableRandom( 42 ) );
+
+        int[] propertyKeys = new int[propertiesPerNode];
+        int type;
+        try ( Transaction tx = session.beginTransaction() )
+        {
+            for ( int i = 0; i < propertiesPerNode; i++ )
+            {
+                propertyKeys[i] = tx.tokenWrite().propertyKeyGetOrCreateForName( "key" + i );
+            }
+            type = tx.tokenWrite().relationshipTypeGetOrCreateForName( "REL" );
+            tx.success();
+        }
+
+        long[] nodes = new long[nodeCount];
+        for ( int start = 0; start < nodeCount; start += NODES_PER_TRANSACTION )
+        {
+            try ( Transaction tx = session.beginTransaction() )
+            {
+                Write write = tx.dataWrite();
+                for ( int i = start; i < Math.min( nodeCount, start + NODES_PER_TRANSACTION ); i++ )
+                {
+                    nodes[i] = write.nodeCreate();
+                    for ( int propertyKey : propertyKeys )
+                    {
+                        write.nodeSetProperty( nodes[i], propertyKey, values.nextValue() );
+                    }
+                }
+                tx.success();
+            }
+        }
+
+        SplittableRandom random = new SplittableRandom( 42 );
+        int relationshipsPerTransaction = Math.max( 1, NODES_PER_TRANSACTION / Math.max( 1, relationshipsPerNode ) );
+        for ( int start = 0; start < nodeCount; start += relationshipsPerTransaction )
+        {
+            try ( Transaction tx = session.beginTransaction() )
+            {
+                Write write = tx.dataWrite();
+                for ( int i = start; i < Math.min( nodeCount, start + relationshipsPerTransaction ); i++ )
+                {
+                    for ( int r = 0; r < relationshipsPerNode; r++ )
+                    {
+                        write.relationshipCreate( nodes[i], type, nodes[random.nextInt( nodeCount )] );
+                    }
+                }
+                tx.success();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        session.close();
+        database.close();
+    }
+
+    /**
+     * A read transaction and its cursors, one per benchmark thread.
+     */
+    @State( Scope.Thread )
+    public static class Cursors
+    {
+        Transaction tx;
+        Read read;
+        NodeCursor node;
+        PropertyCursor property;
+        RelationshipTraversalCursor relationship;
+
+        @Setup
+        public void setUp( CursorTraversalBenchmark benchmark ) throws KernelException
+        {
+            tx = benchmark.session.beginTransaction();
+            read = tx.dataRead();
+            CursorFactory cursors = tx.cursors();
+            node = cursors.allocateNodeCursor();
+            property = cursors.allocatePropertyCursor();
+            relationship = cursors.allocateRelationshipTraversalCursor();
+        }
+
+        @TearDown
+        public void tearDown() throws KernelException
+        {
+            relationship.close();
+            property.close();
+            node.close();
+            tx.close();
+        }
+    }
+
+    @Benchmark
+    public void nodeProperties( Cursors cursors, Blackhole blackhole )
+    {
+        cursors.read.singleNode( randomNode(), cursors.node );
+        if ( cursors.node.next() )
+        {
+            cursors.node.properties( cursors.property );
+            while ( cursors.property.next() )
+            {
+                blackhole.consume( cursors.property.propertyValue() );
+            }
+        }
+    }
+
+    @Benchmark
+    public long nodeRelationships( Cursors cursors )
+    {
+        long sum = 0;
+        cursors.read.singleNode( randomNode(), cursors.node );
+        if ( cursors.node.next() )
+        {
+            cursors.node.allRelationships( cursors.relationship );
+            while ( cursors.relationship.next() )
+            {
+                sum += cursors.relationship.neighbourNodeReference();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @BenchmarkMode( Mode.AverageTime )
+    public long allNodesScan( Cursors cursors )
+    {
+        long sum = 0;
+        cursors.read.allNodesScan( cursors.node );
+        while ( cursors.node.next() )
+        {
+            sum += cursors.node.nodeReference();
+        }
+        return sum;
+    }
+
+    private long randomNode()
+    {
+        // Node ids are allocated from zero in a fresh store
+        return ThreadLocalRandom.current().nextInt( nodeCount );
+    }
+}
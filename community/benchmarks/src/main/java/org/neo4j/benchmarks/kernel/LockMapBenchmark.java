@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.benchmarks.kernel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.kernel.impl.util.collection.StripedLongObjectMap;
+
+/**
+ * Compares lock maps, as used by the Forseti lock manager to map resource ids to locks, under the access pattern of
+ * transactions that each take {@link #LOCKS_PER_TRANSACTION} locks and then release them: a {@code putIfAbsent},
+ * a {@code get} and a {@code remove} per lock. The {@link ConcurrentHashMap} is what the lock manager used before
+ * the {@link StripedLongObjectMap}. Run with {@code -t} and {@code -prof gc} to see scaling and allocation rate.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Fork( 1 )
+@Threads( 4 )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 5 )
+public class LockMapBenchmark
+{
+    private static final int LOCKS_PER_TRANSACTION = 50;
+    private static final long RESOURCE_ID_SPACE = 10_000_000;
+
+    @Param( {"concurrentHashMap", "striped"} )
+    public String map;
+
+    private ConcurrentMap<Long,Object> concurrentHashMap;
+    private StripedLongObjectMap<Object> stripedMap;
+
+    @State( Scope.Thread )
+    public static class Transaction
+    {
+        final SplittableRandom random = new SplittableRandom();
+        final long[] resourceIds = new long[LOCKS_PER_TRANSACTION];
+        final Object lock = new Object();
+    }
+
+    @Setup
+    public void setUp()
+    {
+        // Same configuration as the lock manager used for its maps
+        concurrentHashMap = new ConcurrentHashMap<>( 16, 0.6f, 512 );
+        stripedMap = new StripedLongObjectMap<>( 128 );
+    }
+
+    @Benchmark
+    @OperationsPerInvocation( LOCKS_PER_TRANSACTION )
+    public void lockAndRelease( Transaction tx, Blackhole blackhole )
+    {
+        long[] resourceIds = tx.resourceIds;
+        for ( int i = 0; i < resourceIds.length; i++ )
+        {
+            resourceIds[i] = tx.random.nextLong( RESOURCE_ID_SPACE );
+        }
+
+        if ( "striped".equals( map ) )
+        {
+            for ( long resourceId : resourceIds )
+            {
+                blackhole.consume( stripedMap.putIfAbsent( resourceId, tx.lock ) );
+                blackhole.consume( stripedMap.get( resourceId ) );
+            }
+            for ( long resourceId : resourceIds )
+            {
+                stripedMap.remove( resourceId );
+            }
+        }
+        else
+        {
+            for ( long resourceId : resourceIds )
+            {
+                blackhole.consume( concurrentHashMap.putIfAbsent( resourceId, tx.lock ) );
+                blackhole.consume( concurrentHashMap.get( resourceId ) );
+            }
+            for ( long resourceId : resourceIds )
+            {
+                concurrentHashMap.remove( resourceId );
+            }
+        }
+    }
+}
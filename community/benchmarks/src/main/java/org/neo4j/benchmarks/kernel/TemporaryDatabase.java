@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.benchmarks.kernel;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.neo4j.graphdb.factory.GraphDatabaseFactory;
+import org.neo4j.internal.kernel.api.Kernel;
+import org.neo4j.io.fs.FileUtils;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+
+/**
+ * An embedded database in a temporary directory, which is deleted again when the database is closed.
+ */
+final class TemporaryDatabase implements AutoCloseable
+{
+    private final File directory;
+    private final GraphDatabaseAPI db;
+
+    TemporaryDatabase( Class<?> benchmark ) throws IOException
+    {
+        directory = Files.createTempDirectory( benchmark.getSimpleName() ).toFile();
+        db = (GraphDatabaseAPI) new GraphDatabaseFactory().newEmbeddedDatabase( directory );
+    }
+
+    Kernel kernel()
+    {
+        return db.getDependencyResolver().resolveDependency( Kernel.class );
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        db.shutdown();
+        FileUtils.deleteRecursively( directory );
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.benchmarks.kernel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.internal.kernel.api.Session;
+import org.neo4j.internal.kernel.api.Transaction;
+import org.neo4j.internal.kernel.api.Write;
+import org.neo4j.internal.kernel.api.exceptions.KernelException;
+import org.neo4j.values.storable.RandomValues;
+
+import static org.neo4j.internal.kernel.api.security.LoginContext.AUTH_DISABLED;
+
+/**
+ * Measures committing small write transactions, i.e. command extraction, appending to the transaction log,
+ * forcing it and applying the commands to the store. Run with more threads to see batching of log forces.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Fork( 1 )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 5 )
+public class TransactionCommitBenchmark
+{
+    @Param( {"1", "100"} )
+    public int nodesPerTransaction;
+
+    private TemporaryDatabase database;
+    private Session session;
+    private int propertyKey;
+
+    @Setup
+    public void setUp() throws IOException, KernelException
+    {
+        database = new TemporaryDatabase( getClass() );
+        session = database.kernel().beginSession( AUTH_DISABLED );
+        try ( Transaction tx = session.beginTransaction() )
+        {
+            propertyKey = tx.tokenWrite().propertyKeyGetOrCreateForName( "key" );
+            tx.success();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        session.close();
+        database.close();
+    }
+
+    /**
+     * Random values for the properties written by one benchmark thread.
+     */
+    @State( Scope.Thread )
+    public static class Values
+    {
+        final RandomValues random = RandomValues.create( new SplittableRandom() );
+    }
+
+    @Benchmark
+    public long commit( Values values ) throws KernelException
+    {
+        Transaction tx = session.beginTransaction();
+        try
+        {
+            Write write = tx.dataWrite();
+            for ( int i = 0; i < nodesPerTransaction; i++ )
+            {
+                write.nodeSetProperty( write.nodeCreate(), propertyKey, values.random.nextValue() );
+            }
+            tx.success();
+        }
+        catch ( KernelException e )
+        {
+            tx.failure();
+            tx.close();
+            throw e;
+        }
+        return tx.closeTransaction();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.benchmarks.pagecache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.graphdb.config.Configuration;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.FileUtils;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PageSwapperFactory;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.impl.DirectIOPageSwapperFactory;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
+import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier;
+
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+
+/**
+ * Compares the {@code single} swapper, which does buffered IO through the operating system page cache, with the
+ * {@code direct} swapper, which does direct IO where the runtime and file system support it, when faulting pages
+ * in and when flushing dirty pages. Faulting only happens for pages not in the page cache, i.e. when the cache is
+ * smaller than the file.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Fork( 1 )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 5 )
+public class PageSwapperBenchmark
+{
+    @Param( {"single", "direct"} )
+    public String swapper;
+
+    @Param( "10000" )
+    public int filePages;
+
+    @Param( {"20000", "1000"} )
+    public int cachePages;
+
+    private File directory;
+    private FileSystemAbstraction fs;
+    private PageCache pageCache;
+    private PagedFile pagedFile;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory( getClass().getSimpleName() ).toFile();
+        fs = new DefaultFileSystemAbstraction();
+        PageSwapperFactory swapperFactory = "direct".equals( swapper ) ? new DirectIOPageSwapperFactory()
+                                                                       : new SingleFilePageSwapperFactory();
+        swapperFactory.open( fs, Configuration.EMPTY );
+        pageCache = new MuninnPageCache( swapperFactory, cachePages, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL,
+                EmptyVersionContextSupplier.EMPTY );
+        pagedFile = pageCache.map( new File( directory, "pages" ), pageCache.pageSize(), StandardOpenOption.CREATE );
+        try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+        {
+            for ( long pageId = 0; pageId < filePages; pageId++ )
+            {
+                cursor.next();
+                cursor.putLong( 0, pageId );
+            }
+        }
+        pagedFile.flushAndForce();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        pagedFile.close();
+        pageCache.close();
+        fs.close();
+        FileUtils.deleteRecursively( directory );
+    }
+
+    @Benchmark
+    public long pageFault() throws IOException
+    {
+        long pageId = ThreadLocalRandom.current().nextInt( filePages );
+        try ( PageCursor cursor = pagedFile.io( pageId, PF_SHARED_READ_LOCK ) )
+        {
+            long value = -1;
+            if ( cursor.next() )
+            {
+                do
+                {
+                    value = cursor.getLong( 0 );
+                }
+                while ( cursor.shouldRetry() );
+            }
+            return value;
+        }
+    }
+
+    @Benchmark
+    public void flush() throws IOException
+    {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+        {
+            for ( int i = 0; i < 100; i++ )
+            {
+                if ( cursor.next( random.nextInt( filePages ) ) )
+                {
+                    cursor.putLong( Long.BYTES, i );
+                }
+            }
+        }
+        pagedFile.flushAndForce();
+    }
+}
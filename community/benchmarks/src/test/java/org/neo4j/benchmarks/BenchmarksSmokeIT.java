@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.benchmarks;
+
+import org.junit.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.BenchmarkList;
+import org.openjdk.jmh.runner.BenchmarkListEntry;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.format.OutputFormatFactory;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.Collection;
+import java.util.Set;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Runs every benchmark once, in-process and on tiny data sets, so that benchmarks which no longer set up or run
+ * are found by the build rather than when someone tries to measure something.
+ * <p>
+ * Takes a few minutes, so it only runs when the {@code test-benchmarks} profile is active.
+ */
+public class BenchmarksSmokeIT
+{
+    private static final String BENCHMARKS = "org\\.neo4j\\.benchmarks\\..*";
+
+    @Test
+    public void allBenchmarksMustRun() throws RunnerException
+    {
+        Set<String> discoveredBenchmarks = BenchmarkList.defaultList()
+                .find( OutputFormatFactory.createFormatInstance( System.out, VerboseMode.SILENT ),
+                        singletonList( BENCHMARKS ), emptyList() )
+                .stream()
+                .map( BenchmarkListEntry::getUsername )
+                .collect( toSet() );
+        Options options = new OptionsBuilder()
+                .include( BENCHMARKS )
+                .forks( 0 )
+                .warmupIterations( 0 )
+                .measurementIterations( 1 )
+                .measurementTime( TimeValue.milliseconds( 100 ) )
+                .param( "filePages", "100" )
+                .param( "cachePages", "200", "50" )
+                .param( "treeSize", "1000" )
+                .param( "nodeCount", "100" )
+                .param( "nodesPerTransaction", "1" )
+                .shouldFailOnError( true )
+                .build();
+
+        Collection<RunResult> results = new Runner( options ).run();
+
+        assertFalse( discoveredBenchmarks.isEmpty() );
+        Set<String> ranBenchmarks = results.stream().map( result -> result.getParams().getBenchmark() ).collect( toSet() );
+        assertEquals( discoveredBenchmarks, ranBenchmarks );
+    }
+}
@@ -152,7 +152,8 @@ public class BoltKernelExtension extends KernelExtensionFactory<BoltKernelExtens
         BoltFactory boltFactory = life.add( new BoltFactoryImpl( api, dependencies.usageData(),
                 logService, dependencies.txBridge(), authentication, dependencies.sessionTracker(), config ) );
         BoltSchedulerProvider boltSchedulerProvider =
-                life.add( new ExecutorBoltSchedulerProvider( config, new CachedThreadPoolExecutorFactory( log ), scheduler, logService ) );
+                life.add( new ExecutorBoltSchedulerProvider( config, new CachedThreadPoolExecutorFactory( log ), scheduler, logService,
+                        dependencies.monitors(), clock ) );
         BoltConnectionFactory boltConnectionFactory =
                 createConnectionFactory( config, boltFactory, boltSchedulerProvider, throttleGroup, dependencies, logService, clock );
         ConnectorPortRegister connectionRegister = dependencies.connectionRegister();
@@ -178,7 +179,8 @@ public class BoltKernelExtension extends KernelExtensionFactory<BoltKernelExtens
         return new DefaultBoltConnectionFactory( boltFactory, schedulerProvider, throttleGroup, logService, clock,
                 new BoltConnectionReadLimiter( logService.getInternalLog( BoltConnectionReadLimiter.class ),
                         config.get( GraphDatabaseSettings.bolt_inbound_message_throttle_low_water_mark ),
-                        config.get( GraphDatabaseSettings.bolt_inbound_message_throttle_high_water_mark ) ), dependencies.monitors() );
+                        config.get( GraphDatabaseSettings.bolt_inbound_message_throttle_high_water_mark ) ), dependencies.monitors(),
+                config.get( GraphDatabaseSettings.bolt_auto_commit_batching ) );
     }
 
     private Map<BoltConnector,ProtocolInitializer> createConnectors( Config config, SslPolicyLoader sslPolicyFactory, LogService logService, Log log,
@@ -48,6 +48,10 @@ public interface BoltMessageLogger
 
     void logDiscardAll();
 
+    void logPull( long size );
+
+    void logDiscard( long size );
+
     void logAckFailure();
 
     void logReset();
@@ -128,6 +128,18 @@ class BoltMessageLoggerImpl implements BoltMessageLogger
         clientEvent( "DISCARD_ALL", PLACEHOLDER_DETAIL_SUPPLIER );
     }
 
+    @Override
+    public void logPull( long size )
+    {
+        clientEvent( "PULL", () -> String.valueOf( size ) );
+    }
+
+    @Override
+    public void logDiscard( long size )
+    {
+        clientEvent( "DISCARD", () -> String.valueOf( size ) );
+    }
+
     @Override
     public void logAckFailure()
     {
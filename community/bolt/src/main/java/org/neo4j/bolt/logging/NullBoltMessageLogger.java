@@ -92,6 +92,16 @@ public class NullBoltMessageLogger implements BoltMessageLogger
     {
     }
 
+    @Override
+    public void logPull( long size )
+    {
+    }
+
+    @Override
+    public void logDiscard( long size )
+    {
+    }
+
     @Override
     public void logAckFailure()
     {
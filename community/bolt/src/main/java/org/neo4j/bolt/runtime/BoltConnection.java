@@ -89,6 +89,16 @@ public interface BoltConnection
      */
     boolean processNextBatch();
 
+    /**
+     * Executes at most {@code batchCount} queued jobs. Unless {@code exitIfNoJobsAvailable} is set, this keeps waiting for
+     * more jobs for as long as the connection sticks to the current thread, i.e. during a transaction.
+     *
+     * @param batchCount maximum number of jobs to execute.
+     * @param exitIfNoJobsAvailable return as soon as there are no more queued jobs, instead of waiting for more to arrive.
+     * @return false when no more processing should take place (i.e. connection is closed)
+     */
+    boolean processNextBatch( int batchCount, boolean exitIfNoJobsAvailable );
+
     /**
      * Invoked when an exception is caught during the scheduling of the pending jobs. The caught exception would mostly
      * be {@link RejectedExecutionException} which is thrown by the thread pool executor when it fails to accept
@@ -36,6 +36,12 @@ public interface BoltConnectionMetricsMonitor
 
     void messageProcessingFailed();
 
+    /**
+     * A connection with queued jobs got a thread to execute them on, after having waited {@code queueTime}
+     * milliseconds for one. Only reported by schedulers that make connections yield their thread in between jobs.
+     */
+    void connectionScheduled( long queueTime );
+
     void connectionClosed();
 
 }
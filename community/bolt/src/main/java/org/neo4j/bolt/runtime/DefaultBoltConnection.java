@@ -22,6 +22,7 @@ package org.neo4j.bolt.runtime;
 import io.netty.channel.Channel;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
+import java.io.IOException;
 import java.net.SocketAddress;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,10 +34,12 @@ import org.neo4j.bolt.BoltChannel;
 import org.neo4j.bolt.BoltKernelExtension;
 import org.neo4j.bolt.v1.packstream.PackOutput;
 import org.neo4j.bolt.v1.runtime.BoltConnectionAuthFatality;
+import org.neo4j.bolt.v1.runtime.BoltConnectionFatality;
 import org.neo4j.bolt.v1.runtime.BoltProtocolBreachFatality;
 import org.neo4j.bolt.v1.runtime.BoltStateMachine;
 import org.neo4j.bolt.v1.runtime.Job;
 import org.neo4j.bolt.v1.runtime.Neo4jError;
+import org.neo4j.bolt.v1.runtime.StatementJob;
 import org.neo4j.kernel.api.exceptions.Status;
 import org.neo4j.kernel.impl.logging.LogService;
 import org.neo4j.logging.Log;
@@ -47,6 +50,7 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 public class DefaultBoltConnection implements BoltConnection
 {
     protected static final int DEFAULT_MAX_BATCH_SIZE = FeatureToggles.getInteger( BoltKernelExtension.class, "max_batch_size", 100 );
+    private static final int MAX_HELD_BYTES = FeatureToggles.getInteger( BoltKernelExtension.class, "max_held_batch_bytes", 1 << 20 );
 
     private final String id;
 
@@ -60,6 +64,7 @@ public class DefaultBoltConnection implements BoltConnection
     private final Log userLog;
 
     private final int maxBatchSize;
+    private final boolean autoCommitBatching;
     private final List<Job> batch;
     private final LinkedBlockingQueue<Job> queue = new LinkedBlockingQueue<>();
 
@@ -76,6 +81,13 @@ public class DefaultBoltConnection implements BoltConnection
     public DefaultBoltConnection( BoltChannel channel, PackOutput output, BoltStateMachine machine, LogService logService,
             BoltConnectionLifetimeListener listener,
             BoltConnectionQueueMonitor queueMonitor, int maxBatchSize )
+    {
+        this( channel, output, machine, logService, listener, queueMonitor, maxBatchSize, false );
+    }
+
+    public DefaultBoltConnection( BoltChannel channel, PackOutput output, BoltStateMachine machine, LogService logService,
+            BoltConnectionLifetimeListener listener,
+            BoltConnectionQueueMonitor queueMonitor, int maxBatchSize, boolean autoCommitBatching )
     {
         this.id = channel.id();
         this.channel = channel;
@@ -86,6 +98,7 @@ public class DefaultBoltConnection implements BoltConnection
         this.log = logService.getInternalLog( getClass() );
         this.userLog = logService.getUserLog( getClass() );
         this.maxBatchSize = maxBatchSize;
+        this.autoCommitBatching = autoCommitBatching;
         this.batch = new ArrayList<>( maxBatchSize );
     }
 
@@ -144,6 +157,12 @@ public class DefaultBoltConnection implements BoltConnection
     }
 
     protected boolean processNextBatch( int batchCount )
+    {
+        return processNextBatch( batchCount, false );
+    }
+
+    @Override
+    public boolean processNextBatch( int batchCount, boolean exitIfNoJobsAvailable )
     {
         try
         {
@@ -188,15 +207,23 @@ public class DefaultBoltConnection implements BoltConnection
                     // execute each job that's in the batch
                     while ( batch.size() > 0 )
                     {
-                        Job current = batch.remove( 0 );
+                        int statementJobs = autoCommitBatching ? countLeadingStatementJobs() : 0;
+                        if ( statementJobs > 1 && machine.startAutoCommitBatch() )
+                        {
+                            performAutoCommitBatch( batch.subList( 0, statementJobs ) );
+                        }
+                        else
+                        {
+                            Job current = batch.remove( 0 );
 
-                        current.perform( machine );
+                            current.perform( machine );
+                        }
                     }
 
                     // do we have any condition that require this connection to
                     // stick to the current thread (i.e. is there an open statement
                     // or an open transaction)?
-                    loop = machine.shouldStickOnThread();
+                    loop = !exitIfNoJobsAvailable && machine.shouldStickOnThread();
                     waitForMessage = loop;
                 }
 
@@ -208,10 +235,10 @@ public class DefaultBoltConnection implements BoltConnection
             }
             while ( loop );
 
-            // assert only if we'll stay alive
-            if ( !willClose() )
+            // assert only if we'll stay alive and didn't leave an open statement for the next batch
+            if ( !willClose() && !exitIfNoJobsAvailable )
             {
-                assert !machine.hasOpenStatement();
+                assert !machine.hasOpenStatement() || machine.hasSuspendedResult();
             }
         }
         catch ( BoltConnectionAuthFatality ex )
@@ -245,6 +272,70 @@ public class DefaultBoltConnection implements BoltConnection
         return !closed.get();
     }
 
+    private int countLeadingStatementJobs()
+    {
+        int count = 0;
+        while ( count < batch.size() && batch.get( count ) instanceof StatementJob )
+        {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Perform consecutive statement jobs as one batch, whose auto-commit statements share a transaction. Their responses
+     * are only valid once that transaction commits, so they are held back until then. At most {@link #MAX_HELD_BYTES}
+     * of responses are held: once reached, and as soon as no statement is left open, the jobs performed so far are
+     * committed and their responses flushed, leaving the rest of the jobs for the next batch.
+     * <p>
+     * If the batch can't commit because a statement failed, nothing has been committed and the jobs are performed
+     * again, one transaction each, like they otherwise would have been. If the commit itself failed, the machine is
+     * left failed, so performing the jobs again only responds with that failure, executing none of them.
+     */
+    private void performAutoCommitBatch( List<Job> jobs ) throws BoltConnectionFatality, IOException
+    {
+        output.holdMessages();
+        int performed = 0;
+        boolean committed;
+        try
+        {
+            while ( performed < jobs.size() )
+            {
+                jobs.get( performed++ ).perform( machine );
+                if ( output.heldMessagesSize() >= MAX_HELD_BYTES && !machine.hasOpenStatement() )
+                {
+                    break;
+                }
+            }
+            committed = machine.commitAutoCommitBatch();
+        }
+        catch ( BoltConnectionFatality ex )
+        {
+            // performed again below, outside of the batch, where it gets its response
+            machine.rollbackAutoCommitBatch();
+            committed = false;
+        }
+
+        List<Job> performedJobs = jobs.subList( 0, performed );
+        if ( committed )
+        {
+            output.releaseHeldMessages();
+            if ( performed < jobs.size() )
+            {
+                output.flush();
+            }
+        }
+        else
+        {
+            output.discardHeldMessages();
+            for ( Job job : performedJobs )
+            {
+                job.perform( machine );
+            }
+        }
+        performedJobs.clear();
+    }
+
     @Override
     public void handleSchedulingError( Throwable t )
     {
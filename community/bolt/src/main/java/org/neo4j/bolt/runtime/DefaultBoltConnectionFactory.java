@@ -38,10 +38,18 @@ public class DefaultBoltConnectionFactory implements BoltConnectionFactory
     private final BoltConnectionQueueMonitor queueMonitor;
     private final Monitors monitors;
     private final BoltConnectionMetricsMonitor metricsMonitor;
+    private final boolean autoCommitBatching;
 
     public DefaultBoltConnectionFactory( BoltFactory machineFactory, BoltSchedulerProvider schedulerProvider, TransportThrottleGroup throttleGroup,
             LogService logService, Clock clock,
             BoltConnectionQueueMonitor queueMonitor, Monitors monitors )
+    {
+        this( machineFactory, schedulerProvider, throttleGroup, logService, clock, queueMonitor, monitors, false );
+    }
+
+    public DefaultBoltConnectionFactory( BoltFactory machineFactory, BoltSchedulerProvider schedulerProvider, TransportThrottleGroup throttleGroup,
+            LogService logService, Clock clock,
+            BoltConnectionQueueMonitor queueMonitor, Monitors monitors, boolean autoCommitBatching )
     {
         this.machineFactory = machineFactory;
         this.schedulerProvider = schedulerProvider;
@@ -51,6 +59,7 @@ public class DefaultBoltConnectionFactory implements BoltConnectionFactory
         this.queueMonitor = queueMonitor;
         this.monitors = monitors;
         this.metricsMonitor = monitors.newMonitor( BoltConnectionMetricsMonitor.class );
+        this.autoCommitBatching = autoCommitBatching;
     }
 
     @Override
@@ -65,13 +74,13 @@ public class DefaultBoltConnectionFactory implements BoltConnectionFactory
         if ( monitors.hasListeners( BoltConnectionMetricsMonitor.class ) )
         {
             connection = new MetricsReportingBoltConnection( channel, chunkedOutput, machineFactory.newMachine( channel, clock ), logService, scheduler,
-                    connectionQueueMonitor,
+                    connectionQueueMonitor, DefaultBoltConnection.DEFAULT_MAX_BATCH_SIZE, autoCommitBatching,
                             metricsMonitor, clock );
         }
         else
         {
             connection = new DefaultBoltConnection( channel, chunkedOutput, machineFactory.newMachine( channel, clock ), logService, scheduler,
-                    connectionQueueMonitor );
+                    connectionQueueMonitor, DefaultBoltConnection.DEFAULT_MAX_BATCH_SIZE, autoCommitBatching );
         }
 
         connection.start();
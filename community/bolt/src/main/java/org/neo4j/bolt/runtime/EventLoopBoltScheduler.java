@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.runtime;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.neo4j.bolt.BoltKernelExtension;
+import org.neo4j.bolt.v1.runtime.BoltStateMachine;
+import org.neo4j.bolt.v1.runtime.Job;
+import org.neo4j.kernel.impl.logging.LogService;
+import org.neo4j.logging.Log;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.util.FeatureToggles;
+
+/**
+ * A {@link BoltScheduler} which multiplexes connections over a small pool of work stealing threads, shared by all connectors
+ * using this scheduler. Rather than having a thread for as long as it is active, a connection gets a turn of at most
+ * {@code maxJobsPerTurn} queued jobs after which it yields its thread, and goes to the back of the line if it has more jobs queued.
+ * A connection waiting for its next message doesn't hold on to a thread, unless it {@link BoltStateMachine#shouldStickOnThread() sticks}
+ * to it, i.e. it is in the middle of an explicit transaction or has a result open. Such a connection keeps its thread until it doesn't.
+ * <p>
+ * Jobs that block, e.g. on locks held by transactions of other connections, and connections in explicit transactions occupy one
+ * of the few threads for as long as they block or the transaction is open, which is why this scheduler suits many connections
+ * running short transactions.
+ */
+public class EventLoopBoltScheduler implements BoltScheduler
+{
+    static final int DEFAULT_MAX_JOBS_PER_TURN = FeatureToggles.getInteger( BoltKernelExtension.class, "max_jobs_per_turn", 10 );
+
+    private final String connector;
+    private final JobScheduler scheduler;
+    private final Log log;
+    private final int parallelism;
+    private final int maxJobsPerTurn;
+    private final BoltConnectionMetricsMonitor metricsMonitor;
+    private final Clock clock;
+    private final ConcurrentHashMap<String,BoltConnection> activeConnections = new ConcurrentHashMap<>();
+    // Time each connection with a pending turn got scheduled at, guarding against giving a connection two turns at once
+    private final ConcurrentHashMap<String,Long> scheduledConnections = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+
+    public EventLoopBoltScheduler( String connector, JobScheduler scheduler, LogService logService, int parallelism,
+            BoltConnectionMetricsMonitor metricsMonitor, Clock clock )
+    {
+        this( connector, scheduler, logService, parallelism, DEFAULT_MAX_JOBS_PER_TURN, metricsMonitor, clock );
+    }
+
+    EventLoopBoltScheduler( String connector, JobScheduler scheduler, LogService logService, int parallelism, int maxJobsPerTurn,
+            BoltConnectionMetricsMonitor metricsMonitor, Clock clock )
+    {
+        this.connector = connector;
+        this.scheduler = scheduler;
+        this.log = logService.getInternalLog( getClass() );
+        this.parallelism = parallelism;
+        this.maxJobsPerTurn = maxJobsPerTurn;
+        this.metricsMonitor = metricsMonitor;
+        this.clock = clock;
+    }
+
+    boolean isRegistered( BoltConnection connection )
+    {
+        return activeConnections.containsKey( connection.id() );
+    }
+
+    boolean isScheduled( BoltConnection connection )
+    {
+        return scheduledConnections.containsKey( connection.id() );
+    }
+
+    @Override
+    public String connector()
+    {
+        return connector;
+    }
+
+    @Override
+    public void start()
+    {
+        // The executor is owned, and eventually shut down, by the job scheduler
+        executor = scheduler.workStealingExecutor( JobScheduler.Groups.boltEventLoop, parallelism );
+    }
+
+    @Override
+    public void stop()
+    {
+        if ( executor != null )
+        {
+            activeConnections.values().forEach( this::stopConnection );
+        }
+    }
+
+    @Override
+    public void created( BoltConnection connection )
+    {
+        BoltConnection previous = activeConnections.put( connection.id(), connection );
+        // We do not expect the same (keyed) connection twice
+        assert previous == null;
+    }
+
+    @Override
+    public void closed( BoltConnection connection )
+    {
+        activeConnections.remove( connection.id() );
+    }
+
+    @Override
+    public void enqueued( BoltConnection to, Job job )
+    {
+        schedule( to );
+    }
+
+    @Override
+    public void drained( BoltConnection from, Collection<Job> batch )
+    {
+
+    }
+
+    private void schedule( BoltConnection connection )
+    {
+        if ( scheduledConnections.putIfAbsent( connection.id(), clock.millis() ) == null )
+        {
+            try
+            {
+                executor.execute( () -> takeTurn( connection ) );
+            }
+            catch ( RejectedExecutionException ex )
+            {
+                scheduledConnections.remove( connection.id() );
+                connection.handleSchedulingError( ex );
+            }
+        }
+    }
+
+    private void takeTurn( BoltConnection connection )
+    {
+        Long scheduledAt = scheduledConnections.get( connection.id() );
+        if ( scheduledAt != null )
+        {
+            metricsMonitor.connectionScheduled( clock.millis() - scheduledAt );
+        }
+
+        boolean shouldContinueScheduling = false;
+        try
+        {
+            shouldContinueScheduling = executeTurn( connection );
+        }
+        catch ( Throwable t )
+        {
+            log.error( String.format( "Unexpected error during job scheduling for session '%s'.", connection.id() ), t );
+            stopConnection( connection );
+        }
+        finally
+        {
+            scheduledConnections.remove( connection.id() );
+        }
+
+        // jobs enqueued after the turn drained the queue, but before it was marked as done, did not get scheduled
+        if ( shouldContinueScheduling && connection.hasPendingJobs() )
+        {
+            schedule( connection );
+        }
+    }
+
+    private boolean executeTurn( BoltConnection connection )
+    {
+        Thread currentThread = Thread.currentThread();
+        String originalName = currentThread.getName();
+        String newName = String.format( "%s [%s] [%s] ", originalName, connector, connection.remoteAddress() );
+
+        currentThread.setName( newName );
+        try
+        {
+            // a connection that sticks to its thread keeps it, waiting for more jobs, until it no longer does
+            return connection.processNextBatch( maxJobsPerTurn, false );
+        }
+        finally
+        {
+            currentThread.setName( originalName );
+        }
+    }
+
+    private void stopConnection( BoltConnection connection )
+    {
+        try
+        {
+            connection.stop();
+        }
+        catch ( Throwable t )
+        {
+            log.warn( String.format( "An unexpected error occurred while stopping BoltConnection [%s]", connection.id() ), t );
+        }
+    }
+}
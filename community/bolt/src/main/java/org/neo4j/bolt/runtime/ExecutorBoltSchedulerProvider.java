@@ -19,14 +19,17 @@
  */
 package org.neo4j.bolt.runtime;
 
+import java.time.Clock;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ForkJoinPool;
 
 import org.neo4j.bolt.BoltChannel;
+import org.neo4j.kernel.configuration.BoltConnector;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.logging.LogService;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.kernel.monitoring.Monitors;
 import org.neo4j.logging.Log;
 import org.neo4j.scheduler.JobScheduler;
 
@@ -36,17 +39,27 @@ public class ExecutorBoltSchedulerProvider extends LifecycleAdapter implements B
     private final ExecutorFactory executorFactory;
     private final JobScheduler scheduler;
     private final LogService logService;
+    private final BoltConnectionMetricsMonitor metricsMonitor;
+    private final Clock clock;
     private final Log internalLog;
     private final ConcurrentHashMap<String, BoltScheduler> boltSchedulers;
 
     private ExecutorService forkJoinThreadPool;
 
     public ExecutorBoltSchedulerProvider( Config config, ExecutorFactory executorFactory, JobScheduler scheduler, LogService logService )
+    {
+        this( config, executorFactory, scheduler, logService, new Monitors(), Clock.systemUTC() );
+    }
+
+    public ExecutorBoltSchedulerProvider( Config config, ExecutorFactory executorFactory, JobScheduler scheduler, LogService logService,
+            Monitors monitors, Clock clock )
     {
         this.config = config;
         this.executorFactory = executorFactory;
         this.scheduler = scheduler;
         this.logService = logService;
+        this.metricsMonitor = monitors.newMonitor( BoltConnectionMetricsMonitor.class );
+        this.clock = clock;
         this.internalLog = logService.getInternalLog( getClass() );
         this.boltSchedulers = new ConcurrentHashMap<>();
     }
@@ -57,15 +70,24 @@ public class ExecutorBoltSchedulerProvider extends LifecycleAdapter implements B
         forkJoinThreadPool = new ForkJoinPool();
         config.enabledBoltConnectors().forEach( connector ->
         {
-            BoltScheduler boltScheduler =
-                    new ExecutorBoltScheduler( connector.key(), executorFactory, scheduler, logService, config.get( connector.thread_pool_min_size ),
-                            config.get( connector.thread_pool_max_size ), config.get( connector.thread_pool_keep_alive ),
-                            config.get( connector.unsupported_thread_pool_queue_size ), forkJoinThreadPool );
+            BoltScheduler boltScheduler = newScheduler( connector );
             boltScheduler.start();
             boltSchedulers.put( connector.key(), boltScheduler );
         } );
     }
 
+    private BoltScheduler newScheduler( BoltConnector connector )
+    {
+        if ( config.get( connector.scheduler ) == BoltConnector.SchedulerType.EVENT_LOOP )
+        {
+            return new EventLoopBoltScheduler( connector.key(), scheduler, logService, Runtime.getRuntime().availableProcessors(),
+                    metricsMonitor, clock );
+        }
+        return new ExecutorBoltScheduler( connector.key(), executorFactory, scheduler, logService, config.get( connector.thread_pool_min_size ),
+                config.get( connector.thread_pool_max_size ), config.get( connector.thread_pool_keep_alive ),
+                config.get( connector.unsupported_thread_pool_queue_size ), forkJoinThreadPool );
+    }
+
     @Override
     public void stop()
     {
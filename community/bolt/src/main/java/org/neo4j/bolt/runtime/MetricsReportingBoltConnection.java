@@ -25,6 +25,7 @@ import org.neo4j.bolt.BoltChannel;
 import org.neo4j.bolt.v1.packstream.PackOutput;
 import org.neo4j.bolt.v1.runtime.BoltStateMachine;
 import org.neo4j.bolt.v1.runtime.Job;
+import org.neo4j.bolt.v1.runtime.StatementJob;
 import org.neo4j.kernel.impl.logging.LogService;
 
 public class MetricsReportingBoltConnection extends DefaultBoltConnection
@@ -43,7 +44,15 @@ public class MetricsReportingBoltConnection extends DefaultBoltConnection
             BoltConnectionQueueMonitor queueMonitor, int maxBatchSize, BoltConnectionMetricsMonitor metricsMonitor,
             Clock clock )
     {
-        super( channel, output, machine, logService, listener, queueMonitor, maxBatchSize );
+        this( channel, output, machine, logService, listener, queueMonitor, maxBatchSize, false, metricsMonitor, clock );
+    }
+
+    MetricsReportingBoltConnection( BoltChannel channel, PackOutput output, BoltStateMachine machine, LogService logService,
+            BoltConnectionLifetimeListener listener,
+            BoltConnectionQueueMonitor queueMonitor, int maxBatchSize, boolean autoCommitBatching, BoltConnectionMetricsMonitor metricsMonitor,
+            Clock clock )
+    {
+        super( channel, output, machine, logService, listener, queueMonitor, maxBatchSize, autoCommitBatching );
         this.metricsMonitor = metricsMonitor;
         this.clock = clock;
     }
@@ -60,7 +69,7 @@ public class MetricsReportingBoltConnection extends DefaultBoltConnection
     {
         metricsMonitor.messageReceived();
         long queuedAt = clock.millis();
-        super.enqueue( machine ->
+        Job measuredJob = machine ->
         {
             long queueTime = clock.millis() - queuedAt;
             metricsMonitor.messageProcessingStarted( queueTime );
@@ -74,17 +83,18 @@ public class MetricsReportingBoltConnection extends DefaultBoltConnection
                 metricsMonitor.messageProcessingFailed();
                 throw t;
             }
-       } );
+        };
+        super.enqueue( job instanceof StatementJob ? (StatementJob) measuredJob::perform : measuredJob );
     }
 
     @Override
-    public boolean processNextBatch( int batchCount )
+    public boolean processNextBatch( int batchCount, boolean exitIfNoJobsAvailable )
     {
         metricsMonitor.connectionActivated();
 
         try
         {
-            boolean continueProcessing = super.processNextBatch( batchCount );
+            boolean continueProcessing = super.processNextBatch( batchCount, exitIfNoJobsAvailable );
 
             if ( !continueProcessing )
             {
@@ -25,6 +25,7 @@ import org.neo4j.bolt.runtime.BoltConnectionFactory;
 import org.neo4j.bolt.v1.messaging.Neo4jPack;
 import org.neo4j.bolt.v1.messaging.Neo4jPackV1;
 import org.neo4j.bolt.v2.messaging.Neo4jPackV2;
+import org.neo4j.bolt.v2.messaging.Neo4jPackV2Batched;
 import org.neo4j.kernel.impl.logging.LogService;
 
 public class DefaultBoltProtocolPipelineInstallerFactory implements BoltProtocolPipelineInstallerFactory
@@ -52,6 +53,10 @@ public class DefaultBoltProtocolPipelineInstallerFactory implements BoltProtocol
         {
             return newProtocolPipelineInstaller( channel, new Neo4jPackV2() );
         }
+        else if ( protocolVersion == Neo4jPackV2Batched.VERSION )
+        {
+            return newProtocolPipelineInstaller( channel, new Neo4jPackV2Batched() );
+        }
         else
         {
             return null;
@@ -42,7 +42,7 @@ public class MessageDecoder extends SimpleChannelInboundHandler<ByteBuf>
     public MessageDecoder( Neo4jPack pack, BoltRequestMessageHandler messageHandler )
     {
         this.input = new ByteBufInput();
-        this.reader = new BoltRequestMessageReader( pack.newUnpacker( input ) );
+        this.reader = new BoltRequestMessageReader( pack.newUnpacker( input ), pack.version() );
         this.messageHandler = messageHandler;
     }
 
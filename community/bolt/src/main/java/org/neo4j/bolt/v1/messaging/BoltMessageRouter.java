@@ -25,10 +25,12 @@ import java.util.Map;
 import org.neo4j.bolt.logging.BoltMessageLogger;
 import org.neo4j.bolt.runtime.BoltConnection;
 import org.neo4j.bolt.v1.runtime.Neo4jError;
+import org.neo4j.bolt.v1.runtime.StatementJob;
 import org.neo4j.bolt.v1.runtime.spi.BoltResult;
 import org.neo4j.cypher.result.QueryResult;
 import org.neo4j.logging.Log;
 import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.Values;
 import org.neo4j.values.virtual.MapValue;
 
 /**
@@ -90,7 +92,7 @@ public class BoltMessageRouter implements BoltRequestMessageHandler
     public void onRun( String statement, MapValue params )
     {
         messageLogger.logRun();
-        connection.enqueue( session -> session.run( statement, params, runHandler ) );
+        connection.enqueue( (StatementJob) session -> session.run( statement, params, runHandler ) );
     }
 
     @Override
@@ -104,14 +106,28 @@ public class BoltMessageRouter implements BoltRequestMessageHandler
     public void onDiscardAll()
     {
         messageLogger.logDiscardAll();
-        connection.enqueue( session -> session.discardAll( resultHandler ) );
+        connection.enqueue( (StatementJob) session -> session.discardAll( resultHandler ) );
     }
 
     @Override
     public void onPullAll()
     {
         messageLogger.logPullAll();
-        connection.enqueue( session -> session.pullAll( resultHandler ) );
+        connection.enqueue( (StatementJob) session -> session.pullAll( resultHandler ) );
+    }
+
+    @Override
+    public void onDiscard( long size )
+    {
+        messageLogger.logDiscard( size );
+        connection.enqueue( session -> session.discard( size, resultHandler ) );
+    }
+
+    @Override
+    public void onPull( long size )
+    {
+        messageLogger.logPull( size );
+        connection.enqueue( session -> session.pull( size, resultHandler ) );
     }
 
     private static class InitHandler extends MessageProcessingHandler
@@ -143,7 +159,23 @@ public class BoltMessageRouter implements BoltRequestMessageHandler
         @Override
         public void onRecords( final BoltResult result, final boolean pull ) throws Exception
         {
-            result.accept( new BoltResult.Visitor()
+            result.accept( newVisitor( pull ) );
+        }
+
+        @Override
+        public boolean onRecords( BoltResult result, boolean pull, long size ) throws Exception
+        {
+            boolean hasMore = result.accept( newVisitor( pull ), size );
+            if ( hasMore )
+            {
+                metadata.put( "has_more", Values.TRUE );
+            }
+            return hasMore;
+        }
+
+        private BoltResult.Visitor newVisitor( boolean pull )
+        {
+            return new BoltResult.Visitor()
             {
                 @Override
                 public void visit( QueryResult.Record record ) throws Exception
@@ -160,7 +192,7 @@ public class BoltMessageRouter implements BoltRequestMessageHandler
                     metadata.put( key, value );
                 }
 
-            } );
+            };
         }
 
     }
@@ -19,6 +19,8 @@
  */
 package org.neo4j.bolt.v1.messaging;
 
+import org.neo4j.bolt.v2.messaging.Neo4jPackV2Batched;
+
 import static java.lang.String.format;
 
 /**
@@ -32,7 +34,9 @@ public enum BoltRequestMessage
     ACK_FAILURE( 0x0E ),
     RESET( 0x0F ),
     RUN( 0x10 ),
+    DISCARD( 0x2E, Neo4jPackV2Batched.VERSION ),
     DISCARD_ALL( 0x2F ),
+    PULL( 0x3E, Neo4jPackV2Batched.VERSION ),
     PULL_ALL( 0x3F );
 
     private static BoltRequestMessage[] valuesBySignature = new BoltRequestMessage[0x40];
@@ -62,10 +66,17 @@ public enum BoltRequestMessage
     }
 
     private final byte signature;
+    private final long since;
 
     BoltRequestMessage( int signature )
+    {
+        this( signature, 1 );
+    }
+
+    BoltRequestMessage( int signature, long since )
     {
         this.signature = (byte) signature;
+        this.since = since;
     }
 
     public byte signature()
@@ -73,4 +84,13 @@ public enum BoltRequestMessage
         return signature;
     }
 
+    /**
+     * @return the first protocol version in which this message is defined. Versions are compared by number, and the
+     * unofficial {@link Neo4jPackV2Batched#VERSION} is above all the others.
+     */
+    public long since()
+    {
+        return since;
+    }
+
 }
@@ -41,5 +41,15 @@ public interface BoltRequestMessageHandler
 
     void onPullAll();
 
+    /**
+     * @param size number of records to discard, or {@link BoltRequestMessageReader#ALL_RECORDS} for all remaining records.
+     */
+    void onDiscard( long size );
+
+    /**
+     * @param size number of records to pull, or {@link BoltRequestMessageReader#ALL_RECORDS} for all remaining records.
+     */
+    void onPull( long size );
+
     void onExternalError( Neo4jError error );
 }
@@ -33,11 +33,25 @@ import static java.util.stream.Collectors.toMap;
  */
 public class BoltRequestMessageReader
 {
+    /** Batch size of a PULL or DISCARD message asking for all remaining records. */
+    public static final long ALL_RECORDS = -1;
+
     private final Neo4jPack.Unpacker unpacker;
+    private final long protocolVersion;
 
     public BoltRequestMessageReader( Neo4jPack.Unpacker unpacker )
+    {
+        this( unpacker, Neo4jPackV1.VERSION );
+    }
+
+    /**
+     * @param unpacker unpacker to read messages from.
+     * @param protocolVersion negotiated protocol version, messages defined by later versions are not supported.
+     */
+    public BoltRequestMessageReader( Neo4jPack.Unpacker unpacker, long protocolVersion )
     {
         this.unpacker = unpacker;
+        this.protocolVersion = protocolVersion;
     }
 
     /**
@@ -53,6 +67,11 @@ public class BoltRequestMessageReader
             unpacker.unpackStructHeader();
             final int signature = (int) unpacker.unpackStructSignature();
             BoltRequestMessage message = BoltRequestMessage.withSignature( signature );
+            if ( message.since() > protocolVersion )
+            {
+                throw new BoltIOException( Status.Request.InvalidFormat,
+                        String.format( "Message 0x%s is not supported.", Integer.toHexString( signature ) ) );
+            }
             try
             {
                 switch ( message )
@@ -79,6 +98,12 @@ public class BoltRequestMessageReader
                 case PULL_ALL:
                     handler.onPullAll();
                     break;
+                case DISCARD:
+                    handler.onDiscard( readBatchSize( unpacker ) );
+                    break;
+                case PULL:
+                    handler.onPull( readBatchSize( unpacker ) );
+                    break;
                 default:
                     throw new BoltIOException( Status.Request.InvalidFormat,
                             String.format( "Message 0x%s is not supported.", Integer.toHexString( signature ) ) );
@@ -97,6 +122,17 @@ public class BoltRequestMessageReader
         }
     }
 
+    private static long readBatchSize( Neo4jPack.Unpacker unpacker ) throws IOException
+    {
+        long size = unpacker.unpackLong();
+        if ( size <= 0 && size != ALL_RECORDS )
+        {
+            throw new BoltIOException( Status.Request.Invalid,
+                    String.format( "Expecting batch size to be a positive number or %d for all records, but got: %d.", ALL_RECORDS, size ) );
+        }
+        return size;
+    }
+
     private static Map<String,Object> readAuthToken( Neo4jPack.Unpacker unpacker ) throws IOException
     {
         MapValue authTokenValue = unpacker.unpackMap();
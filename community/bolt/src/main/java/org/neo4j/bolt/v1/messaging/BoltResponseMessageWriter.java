@@ -57,7 +57,10 @@ public class BoltResponseMessageWriter implements BoltResponseMessageHandler<IOE
     @Override
     public void onRecord( QueryResult.Record item ) throws IOException
     {
-        packCompleteMessageOrFail( RECORD, () ->
+        // Same as packCompleteMessageOrFail, but without allocating an action for every record of every result
+        boolean packingFailed = true;
+        output.beginMessage();
+        try
         {
             AnyValue[] fields = item.fields();
             packer.packStructHeader( 1, RECORD.signature() );
@@ -66,7 +69,17 @@ public class BoltResponseMessageWriter implements BoltResponseMessageHandler<IOE
             {
                 packer.pack( field );
             }
-        } );
+            packingFailed = false;
+            output.messageSucceeded();
+        }
+        catch ( Throwable error )
+        {
+            if ( packingFailed )
+            {
+                packingFailed( RECORD, error );
+            }
+            throw error;
+        }
     }
 
     @Override
@@ -137,12 +150,17 @@ public class BoltResponseMessageWriter implements BoltResponseMessageHandler<IOE
         {
             if ( packingFailed )
             {
-                // packing failed, there might be some half-written data in the output buffer right now
-                // notify output about the failure so that it cleans up the buffer
-                output.messageFailed();
-                log.error( "Failed to write full %s message because: %s", message, error.getMessage() );
+                packingFailed( message, error );
             }
             throw error;
         }
     }
+
+    private void packingFailed( BoltResponseMessage message, Throwable error ) throws IOException
+    {
+        // packing failed, there might be some half-written data in the output buffer right now
+        // notify output about the failure so that it cleans up the buffer
+        output.messageFailed();
+        log.error( "Failed to write full %s message because: %s", message, error.getMessage() );
+    }
 }
@@ -36,6 +36,8 @@ public interface Neo4jPack
     {
         void pack( String value ) throws IOException;
 
+        void pack( long value ) throws IOException;
+
         void pack( AnyValue value ) throws IOException;
 
         void packStructHeader( int size, byte signature ) throws IOException;
@@ -53,6 +55,8 @@ public interface Neo4jPack
 
         String unpackString() throws IOException;
 
+        long unpackLong() throws IOException;
+
         MapValue unpackMap() throws IOException;
 
         long unpackStructHeader() throws IOException;
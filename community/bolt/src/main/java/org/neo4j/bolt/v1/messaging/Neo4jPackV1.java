@@ -39,6 +39,8 @@ import org.neo4j.kernel.api.exceptions.Status;
 import org.neo4j.values.AnyValue;
 import org.neo4j.values.AnyValueWriter;
 import org.neo4j.values.storable.CoordinateReferenceSystem;
+import org.neo4j.values.storable.FloatingPointValue;
+import org.neo4j.values.storable.IntegralValue;
 import org.neo4j.values.storable.TextArray;
 import org.neo4j.values.storable.TextValue;
 import org.neo4j.values.storable.Values;
@@ -109,10 +111,27 @@ public class Neo4jPackV1 implements Neo4jPack
             super( output );
         }
 
+        /**
+         * Packs numbers directly, without going through the double dispatch of {@link AnyValue#writeTo(AnyValueWriter)}.
+         * Everything else is written through the {@link AnyValueWriter} callbacks below. Strings are already encoded
+         * without garbage there, and nodes and relationships have to be, since their values know how to write
+         * entities that have been deleted.
+         */
         @Override
         public void pack( AnyValue value ) throws IOException
         {
-            value.writeTo( this );
+            if ( value instanceof IntegralValue )
+            {
+                pack( ((IntegralValue) value).longValue() );
+            }
+            else if ( value instanceof FloatingPointValue )
+            {
+                pack( ((FloatingPointValue) value).doubleValue() );
+            }
+            else
+            {
+                value.writeTo( this );
+            }
         }
 
         @Override
@@ -129,7 +148,7 @@ public class Neo4jPackV1 implements Neo4jPack
             packListHeader( labels.length() );
             for ( int i = 0; i < labels.length(); i++ )
             {
-                labels.value( i ).writeTo( this );
+                pack( labels.stringValue( i ) );
             }
             properties.writeTo( this );
         }
@@ -51,6 +51,43 @@ public interface PackOutput extends Closeable
     /** If implementation has been buffering data, it should flush those buffers now. */
     PackOutput flush() throws IOException;
 
+    /**
+     * Hold on to all messages written from now on, rather than flushing them, until they are either
+     * {@link #releaseHeldMessages() released} or {@link #discardHeldMessages() discarded}. Must not be called while
+     * writing a message.
+     */
+    default void holdMessages()
+    {
+        throw new UnsupportedOperationException( "Holding messages is not supported by " + getClass().getSimpleName() );
+    }
+
+    /**
+     * Let messages held since {@link #holdMessages()} be flushed like any other message.
+     *
+     * @throws IOException when messages can't be written to the network channel.
+     */
+    default void releaseHeldMessages() throws IOException
+    {
+        throw new UnsupportedOperationException( "Holding messages is not supported by " + getClass().getSimpleName() );
+    }
+
+    /**
+     * Discard all messages written since {@link #holdMessages()}, as if they were never written.
+     */
+    default void discardHeldMessages()
+    {
+        throw new UnsupportedOperationException( "Holding messages is not supported by " + getClass().getSimpleName() );
+    }
+
+    /**
+     * @return the number of bytes of the messages held since {@link #holdMessages()}, or {@code 0} if not holding
+     * messages.
+     */
+    default int heldMessagesSize()
+    {
+        return 0;
+    }
+
     /** Produce a single byte */
     PackOutput writeByte( byte value ) throws IOException;
 
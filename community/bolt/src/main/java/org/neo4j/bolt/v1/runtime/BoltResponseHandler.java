@@ -34,6 +34,20 @@ public interface BoltResponseHandler
 
     void onRecords( BoltResult result, boolean pull ) throws Exception;
 
+    /**
+     * Handle at most {@code size} records of the given result, leaving the rest of it for subsequent calls.
+     *
+     * @param result the result to handle records of.
+     * @param pull {@code true} if records should be sent, {@code false} if they should be discarded.
+     * @param size maximum number of records to handle, or {@code -1} for all remaining records.
+     * @return {@code true} if the result has more records after this call, otherwise {@code false}.
+     */
+    default boolean onRecords( BoltResult result, boolean pull, long size ) throws Exception
+    {
+        onRecords( result, pull );
+        return false;
+    }
+
     void onMetadata( String key, AnyValue value );
 
     /** Called when the state machine ignores an operation, because it is waiting for an error to be acknowledged */
@@ -32,6 +32,7 @@ import org.neo4j.bolt.security.auth.AuthenticationException;
 import org.neo4j.bolt.security.auth.AuthenticationResult;
 import org.neo4j.bolt.v1.runtime.spi.BoltResult;
 import org.neo4j.function.ThrowingConsumer;
+import org.neo4j.function.ThrowingFunction;
 import org.neo4j.graphdb.security.AuthorizationExpiredException;
 import org.neo4j.internal.kernel.api.exceptions.KernelException;
 import org.neo4j.kernel.api.bolt.ManagedBoltStateMachine;
@@ -51,7 +52,7 @@ import static org.neo4j.values.storable.Values.stringArray;
  * Central to this are the five active states -- CONNECTED, READY, STREAMING,
  * FAILED and INTERRUPTED -- as well as the transitions between them which
  * correspond to the Bolt protocol request messages INIT, ACK_FAILURE, RESET,
- * RUN, DISCARD_ALL and PULL_ALL. Of particular note is RESET which exhibits
+ * RUN, DISCARD_ALL, PULL_ALL, DISCARD and PULL. Of particular note is RESET which exhibits
  * dual behaviour in both marking the current query for termination and clearing
  * down the current connection state.
  * <p>
@@ -270,6 +271,50 @@ public class BoltStateMachine implements AutoCloseable, ManagedBoltStateMachine
         }
     }
 
+    /**
+     * Discard at most {@code size} entries of the current result stream. Unlike {@link #discardAll(BoltResponseHandler)}
+     * the statement stays open when there are more entries left, awaiting further PULL or DISCARD requests.
+     *
+     * @param size maximum number of entries to discard, or {@code -1} for all remaining entries.
+     */
+    public void discard( long size, BoltResponseHandler handler ) throws BoltConnectionFatality
+    {
+        before( handler );
+        try
+        {
+            if ( !hasPendingError() )
+            {
+                state = state.discard( this, size );
+            }
+        }
+        finally
+        {
+            after();
+        }
+    }
+
+    /**
+     * Retrieve at most {@code size} entries of the current result stream. Unlike {@link #pullAll(BoltResponseHandler)}
+     * the statement stays open when there are more entries left, awaiting further PULL or DISCARD requests.
+     *
+     * @param size maximum number of entries to retrieve, or {@code -1} for all remaining entries.
+     */
+    public void pull( long size, BoltResponseHandler handler ) throws BoltConnectionFatality
+    {
+        before( handler );
+        try
+        {
+            if ( !hasPendingError() )
+            {
+                state = state.pull( this, size );
+            }
+        }
+        finally
+        {
+            after();
+        }
+    }
+
     public void markFailed( Neo4jError error )
     {
         fail( this, error );
@@ -383,7 +428,10 @@ public class BoltStateMachine implements AutoCloseable, ManagedBoltStateMachine
         // We should not switch threads when there's an active statement (executing/streaming)
         // Also, we're currently sticking to the thread when there's an open transaction due to
         // cursor errors we receive when a transaction is picked up by another thread linearly.
-        return statementProcessor().hasTransaction() || statementProcessor().hasOpenStatement();
+        // This includes a suspended result waiting for the client to ask for more records, since the query
+        // execution it belongs to holds on to cursors of its transaction.
+        StatementProcessor statementProcessor = statementProcessor();
+        return statementProcessor.hasTransaction() || statementProcessor.hasOpenStatement();
     }
 
     public boolean hasOpenStatement()
@@ -391,6 +439,71 @@ public class BoltStateMachine implements AutoCloseable, ManagedBoltStateMachine
         return statementProcessor().hasOpenStatement();
     }
 
+    public boolean hasSuspendedResult()
+    {
+        return statementProcessor().hasSuspendedResult();
+    }
+
+    /**
+     * Start handling subsequent RUN, PULL_ALL and DISCARD_ALL messages as a batch, executing the auto-commit
+     * statements among them in one shared transaction. Only possible in the {@link State#READY READY} state and when
+     * not interrupted. Responses to the messages of the batch are only valid once
+     * {@link #commitAutoCommitBatch() committed}.
+     *
+     * @return {@code true} if a batch was started, otherwise {@code false}.
+     */
+    public boolean startAutoCommitBatch()
+    {
+        if ( state != State.READY || hasPendingError() || ctx.interruptCounter.get() > 0 || ctx.isTerminated.get() ||
+             ctx.statementProcessor.hasTransaction() || ctx.statementProcessor.hasOpenStatement() )
+        {
+            return false;
+        }
+        ctx.statementProcessor.startAutoCommitBatch();
+        return true;
+    }
+
+    /**
+     * Commit the batch of messages handled since {@link #startAutoCommitBatch()}.
+     *
+     * @return {@code true} if the batch has been committed and the responses to its messages are valid, or
+     * {@code false} if it has been {@link #rollbackAutoCommitBatch() rolled back}, in which case the responses
+     * should be discarded and the messages handled again, outside of any batch. If the shared transaction failed to
+     * commit, the machine is left {@link State#FAILED FAILED} with that failure pending, so that handling the
+     * messages again executes none of them, but responds with the failure to the first and ignores the rest.
+     */
+    public boolean commitAutoCommitBatch()
+    {
+        boolean committed;
+        try
+        {
+            committed = ctx.statementProcessor.commitAutoCommitBatch();
+        }
+        catch ( TransactionFailureException e )
+        {
+            markFailed( Neo4jError.from( e ) );
+            return false;
+        }
+        if ( !committed )
+        {
+            state = State.READY;
+            ctx.pendingError = null;
+        }
+        return committed;
+    }
+
+    /**
+     * Roll back the batch of messages handled since {@link #startAutoCommitBatch()}, bringing the machine back to the
+     * {@link State#READY READY} state it was in before the batch. Responses to the messages of the batch should be
+     * discarded and the messages handled again, outside of any batch.
+     */
+    public void rollbackAutoCommitBatch()
+    {
+        reset();
+        state = State.READY;
+        ctx.pendingError = null;
+    }
+
     public enum State
     {
         /**
@@ -538,6 +651,38 @@ public class BoltStateMachine implements AutoCloseable, ManagedBoltStateMachine
                             return handleFailure( machine, t );
                         }
                     }
+
+                    @Override
+                    public State pull( BoltStateMachine machine, long size ) throws BoltConnectionFatality
+                    {
+                        return streamResultPart( machine, true, size );
+                    }
+
+                    @Override
+                    public State discard( BoltStateMachine machine, long size ) throws BoltConnectionFatality
+                    {
+                        return streamResultPart( machine, false, size );
+                    }
+
+                    private State streamResultPart( BoltStateMachine machine, boolean pull, long size )
+                            throws BoltConnectionFatality
+                    {
+                        try
+                        {
+                            boolean hasMore = machine.ctx.statementProcessor.streamResultPart( recordStream ->
+                                    machine.ctx.responseHandler.onRecords( recordStream, pull, size ) );
+
+                            return hasMore ? STREAMING : READY;
+                        }
+                        catch ( AuthorizationExpiredException e )
+                        {
+                            return handleFailure( machine, e, true );
+                        }
+                        catch ( Throwable t )
+                        {
+                            return handleFailure( machine, t );
+                        }
+                    }
                 },
 
         /**
@@ -588,6 +733,20 @@ public class BoltStateMachine implements AutoCloseable, ManagedBoltStateMachine
                         machine.ctx.markIgnored();
                         return FAILED;
                     }
+
+                    @Override
+                    public State pull( BoltStateMachine machine, long size )
+                    {
+                        machine.ctx.markIgnored();
+                        return FAILED;
+                    }
+
+                    @Override
+                    public State discard( BoltStateMachine machine, long size )
+                    {
+                        machine.ctx.markIgnored();
+                        return FAILED;
+                    }
                 },
 
         /**
@@ -642,6 +801,20 @@ public class BoltStateMachine implements AutoCloseable, ManagedBoltStateMachine
                         machine.ctx.markIgnored();
                         return INTERRUPTED;
                     }
+
+                    @Override
+                    public State pull( BoltStateMachine machine, long size )
+                    {
+                        machine.ctx.markIgnored();
+                        return INTERRUPTED;
+                    }
+
+                    @Override
+                    public State discard( BoltStateMachine machine, long size )
+                    {
+                        machine.ctx.markIgnored();
+                        return INTERRUPTED;
+                    }
                 };
 
         public State init( BoltStateMachine machine, String userAgent, Map<String,Object> authToken )
@@ -697,6 +870,20 @@ public class BoltStateMachine implements AutoCloseable, ManagedBoltStateMachine
             throw new BoltProtocolBreachFatality( msg );
         }
 
+        public State discard( BoltStateMachine machine, long size ) throws BoltConnectionFatality
+        {
+            String msg = "DISCARD cannot be handled by a session in the " + name() + " state.";
+            fail( machine, Neo4jError.fatalFrom( Status.Request.Invalid, msg ) );
+            throw new BoltProtocolBreachFatality( msg );
+        }
+
+        public State pull( BoltStateMachine machine, long size ) throws BoltConnectionFatality
+        {
+            String msg = "PULL cannot be handled by a session in the " + name() + " state.";
+            fail( machine, Neo4jError.fatalFrom( Status.Request.Invalid, msg ) );
+            throw new BoltProtocolBreachFatality( msg );
+        }
+
         State resetMachine( BoltStateMachine machine ) throws BoltConnectionFatality
         {
             try
@@ -827,6 +1014,12 @@ public class BoltStateMachine implements AutoCloseable, ManagedBoltStateMachine
             }
         }
 
+        @Override
+        public boolean onRecords( BoltResult result, boolean pull, long size ) throws Exception
+        {
+            return responseHandler != null && responseHandler.onRecords( result, pull, size );
+        }
+
         @Override
         public void onMetadata( String key, AnyValue value )
         {
@@ -902,6 +1095,12 @@ public class BoltStateMachine implements AutoCloseable, ManagedBoltStateMachine
             throw new UnsupportedOperationException( "Unable to stream any results." );
         }
 
+        @Override
+        public boolean streamResultPart( ThrowingFunction<BoltResult,Boolean,Exception> resultConsumer )
+        {
+            throw new UnsupportedOperationException( "Unable to stream any results." );
+        }
+
         @Override
         public void reset()
         {
@@ -932,6 +1131,24 @@ public class BoltStateMachine implements AutoCloseable, ManagedBoltStateMachine
             return false;
         }
 
+        @Override
+        public boolean hasSuspendedResult()
+        {
+            return false;
+        }
+
+        @Override
+        public void startAutoCommitBatch()
+        {
+            throw new UnsupportedOperationException( "Unable to run any statements." );
+        }
+
+        @Override
+        public boolean commitAutoCommitBatch()
+        {
+            return true;
+        }
+
         @Override
         public void setQuerySource( BoltQuerySource querySource )
         {
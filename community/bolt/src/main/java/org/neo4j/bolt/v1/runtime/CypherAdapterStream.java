@@ -38,6 +38,7 @@ import org.neo4j.values.storable.Values;
 import org.neo4j.values.virtual.MapValue;
 import org.neo4j.values.virtual.VirtualValues;
 
+import static org.neo4j.bolt.v1.messaging.BoltRequestMessageReader.ALL_RECORDS;
 import static org.neo4j.values.storable.Values.intValue;
 import static org.neo4j.values.storable.Values.longValue;
 import static org.neo4j.values.storable.Values.stringValue;
@@ -48,6 +49,13 @@ class CypherAdapterStream extends BoltResult
     private final String[] fieldNames;
     private final Clock clock;
 
+    /**
+     * Once part of the result has been visited in a batch the rest of it has to be visited in batches as well,
+     * since {@link QueryResult#accept(QueryResult.QueryResultVisitor)} always starts from the first record.
+     */
+    private boolean partiallyVisited;
+    private long consumedMillis;
+
     CypherAdapterStream( QueryResult delegate, Clock clock )
     {
         this.delegate = delegate;
@@ -70,13 +78,46 @@ class CypherAdapterStream extends BoltResult
     @Override
     public void accept( final Visitor visitor ) throws Exception
     {
+        if ( partiallyVisited )
+        {
+            accept( visitor, ALL_RECORDS );
+            return;
+        }
         long start = clock.millis();
         delegate.accept( row ->
         {
             visitor.visit( row );
             return true;
         } );
-        visitor.addMetadata( "result_consumed_after", longValue( clock.millis() - start ) );
+        addMetadata( visitor, clock.millis() - start );
+    }
+
+    @Override
+    public boolean accept( Visitor visitor, long size ) throws Exception
+    {
+        if ( !partiallyVisited && size == ALL_RECORDS )
+        {
+            accept( visitor );
+            return false;
+        }
+
+        partiallyVisited = true;
+        long start = clock.millis();
+        BatchVisitor batchVisitor = new BatchVisitor( visitor, size );
+        boolean hasMore = delegate.acceptPartially( batchVisitor );
+        consumedMillis += clock.millis() - start;
+
+        if ( hasMore )
+        {
+            return true;
+        }
+        addMetadata( visitor, consumedMillis );
+        return false;
+    }
+
+    private void addMetadata( Visitor visitor, long consumedAfter )
+    {
+        visitor.addMetadata( "result_consumed_after", longValue( consumedAfter ) );
         QueryExecutionType qt = delegate.executionType();
         visitor.addMetadata( "type", Values.stringValue( queryTypeCode( qt.queryType() ) ) );
 
@@ -145,6 +186,27 @@ class CypherAdapterStream extends BoltResult
         }
     }
 
+    private static class BatchVisitor implements QueryResult.QueryResultVisitor<Exception>
+    {
+        private final Visitor visitor;
+        private final long size;
+        private long visited;
+
+        BatchVisitor( Visitor visitor, long size )
+        {
+            this.visitor = visitor;
+            this.size = size;
+        }
+
+        @Override
+        public boolean visit( QueryResult.Record row ) throws Exception
+        {
+            visitor.visit( row );
+            visited++;
+            return size == ALL_RECORDS || visited < size;
+        }
+    }
+
     private static class NotificationConverter
     {
         public static AnyValue convert( Iterable<Notification> notifications )
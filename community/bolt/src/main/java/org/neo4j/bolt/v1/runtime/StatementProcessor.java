@@ -21,6 +21,7 @@ package org.neo4j.bolt.v1.runtime;
 
 import org.neo4j.bolt.v1.runtime.spi.BoltResult;
 import org.neo4j.function.ThrowingConsumer;
+import org.neo4j.function.ThrowingFunction;
 import org.neo4j.internal.kernel.api.exceptions.KernelException;
 import org.neo4j.internal.kernel.api.exceptions.TransactionFailureException;
 import org.neo4j.values.virtual.MapValue;
@@ -31,6 +32,15 @@ public interface StatementProcessor
 
     void streamResult( ThrowingConsumer<BoltResult, Exception> resultConsumer ) throws Exception;
 
+    /**
+     * Stream a part of the current result. The result is kept open for subsequent calls for as long as
+     * {@code resultConsumer} reports that it has more records.
+     *
+     * @param resultConsumer consumer of the result, returning {@code true} if the result has more records.
+     * @return {@code true} if the result has more records and is suspended, otherwise {@code false}.
+     */
+    boolean streamResultPart( ThrowingFunction<BoltResult,Boolean,Exception> resultConsumer ) throws Exception;
+
     void reset() throws TransactionFailureException;
 
     void markCurrentTransactionForTermination();
@@ -39,7 +49,30 @@ public interface StatementProcessor
 
     boolean hasOpenStatement();
 
+    /**
+     * @return {@code true} if the open statement has been partially streamed and awaits a request for more records.
+     */
+    boolean hasSuspendedResult();
+
     void validateTransaction() throws KernelException;
 
+    /**
+     * Start executing subsequent auto-commit statements in one shared transaction, which is left open after their
+     * results have been consumed. The batch ends with {@link #commitAutoCommitBatch()}, or earlier when a statement
+     * which can not be part of it, like {@code BEGIN}, commits the batch before executing.
+     */
+    void startAutoCommitBatch();
+
+    /**
+     * Commit the shared transaction of the current batch of auto-commit statements, if not already committed.
+     *
+     * @return {@code true} if all statements of the batch have been committed, or {@code false} if any of them failed
+     * or the batch was left with an open statement. In the latter case everything the batch did has been rolled back
+     * and its statements should be executed again, one transaction each.
+     * @throws TransactionFailureException when the shared transaction fails to commit or to roll back. The batch is
+     * then over, and its statements must not be executed again.
+     */
+    boolean commitAutoCommitBatch() throws TransactionFailureException;
+
     void setQuerySource( BoltQuerySource querySource );
 }
@@ -30,6 +30,7 @@ import org.neo4j.bolt.v1.runtime.spi.BookmarkResult;
 import org.neo4j.cypher.InvalidSemanticsException;
 import org.neo4j.function.ThrowingAction;
 import org.neo4j.function.ThrowingConsumer;
+import org.neo4j.function.ThrowingFunction;
 import org.neo4j.graphdb.TransactionTerminatedException;
 import org.neo4j.internal.kernel.api.security.LoginContext;
 import org.neo4j.internal.kernel.api.exceptions.KernelException;
@@ -74,11 +75,13 @@ public class TransactionStateMachine implements StatementProcessor
     public StatementMetadata run( String statement, MapValue params ) throws KernelException
     {
         before();
+        boolean success = false;
         try
         {
             ensureNoPendingTerminationNotice();
 
             state = state.run( ctx, spi, statement, params );
+            success = true;
 
             return ctx.currentStatementMetadata;
         }
@@ -89,7 +92,7 @@ public class TransactionStateMachine implements StatementProcessor
         }
         finally
         {
-            after();
+            after( success );
         }
     }
 
@@ -97,15 +100,36 @@ public class TransactionStateMachine implements StatementProcessor
     public void streamResult( ThrowingConsumer<BoltResult, Exception> resultConsumer ) throws Exception
     {
         before();
+        boolean success = false;
         try
         {
             ensureNoPendingTerminationNotice();
 
             state.streamResult( ctx, resultConsumer );
+            success = true;
         }
         finally
         {
-            after();
+            after( success );
+        }
+    }
+
+    @Override
+    public boolean streamResultPart( ThrowingFunction<BoltResult,Boolean,Exception> resultConsumer ) throws Exception
+    {
+        before();
+        boolean success = false;
+        try
+        {
+            ensureNoPendingTerminationNotice();
+
+            boolean hasMore = state.streamResultPart( ctx, resultConsumer );
+            success = true;
+            return hasMore;
+        }
+        finally
+        {
+            after( success );
         }
     }
 
@@ -115,8 +139,15 @@ public class TransactionStateMachine implements StatementProcessor
         return ctx.currentResultHandle != null;
     }
 
+    @Override
+    public boolean hasSuspendedResult()
+    {
+        return ctx.currentResultSuspended;
+    }
+
     /**
-     * Rollback and close transaction. Move back to {@link State#AUTO_COMMIT}.
+     * Rollback and close transaction. Move back to {@link State#AUTO_COMMIT}. Any batch of auto-commit statements
+     * is rolled back along with it.
      * <p>
      * <b>Warning:</b>This method should only be called by the bolt worker thread during it's regular message
      * processing. It is wrong to call it from a different thread because kernel transactions are not thread-safe.
@@ -126,15 +157,79 @@ public class TransactionStateMachine implements StatementProcessor
     @Override
     public void reset() throws TransactionFailureException
     {
+        if ( ctx.autoCommitBatch )
+        {
+            ctx.lastStatement = ctx.lastStatementBeforeAutoCommitBatch;
+            ctx.autoCommitBatch = false;
+            ctx.autoCommitBatchFailed = true;
+        }
         state.terminateQueryAndRollbackTransaction( ctx );
         state = State.AUTO_COMMIT;
     }
 
+    @Override
+    public void startAutoCommitBatch()
+    {
+        assert state == State.AUTO_COMMIT && ctx.currentTransaction == null && ctx.currentResult == null;
+
+        ctx.autoCommitBatch = true;
+        ctx.autoCommitBatchFailed = false;
+        ctx.lastStatementBeforeAutoCommitBatch = ctx.lastStatement;
+    }
+
+    @Override
+    public boolean commitAutoCommitBatch() throws TransactionFailureException
+    {
+        // a statement left open can not be committed together with the ones before it
+        boolean committed = ctx.autoCommitBatchCommitFailure == null && !ctx.autoCommitBatchFailed &&
+                            (!ctx.autoCommitBatch || ctx.currentResult == null);
+        if ( committed && ctx.autoCommitBatch )
+        {
+            before();
+            try
+            {
+                state.endAutoCommitBatch( ctx );
+            }
+            catch ( TransactionFailureException e )
+            {
+                // recorded as the commit failure of the batch, see below
+                committed = false;
+            }
+            finally
+            {
+                after();
+            }
+        }
+
+        TransactionFailureException commitFailure = ctx.autoCommitBatchCommitFailure;
+        ctx.autoCommitBatchCommitFailure = null;
+        if ( !committed )
+        {
+            reset();
+        }
+        ctx.autoCommitBatchFailed = false;
+        if ( commitFailure != null )
+        {
+            throw commitFailure;
+        }
+        return committed;
+    }
+
     private void after()
     {
         spi.unbindTransactionFromCurrentThread();
     }
 
+    private void after( boolean success )
+    {
+        after();
+        if ( !success && ctx.autoCommitBatch )
+        {
+            // the statements before this one share its, by now rolled back or doomed, transaction
+            ctx.autoCommitBatchFailed = true;
+        }
+    }
+
     @Override
     public void markCurrentTransactionForTermination()
     {
@@ -201,6 +296,7 @@ public class TransactionStateMachine implements StatementProcessor
                     {
                         if ( BEGIN.matcher( statement ).matches() )
                         {
+                            endAutoCommitBatch( ctx );
                             ctx.currentTransaction = spi.beginTransaction( ctx.loginContext );
 
                             Bookmark bookmark = Bookmark.fromParamsOrNull( params );
@@ -237,7 +333,12 @@ public class TransactionStateMachine implements StatementProcessor
                                 ctx.lastStatement = statement;
                             }
 
-                            execute( ctx, spi, statement, params, spi.isPeriodicCommit( statement ) );
+                            boolean isPeriodicCommit = spi.isPeriodicCommit( statement );
+                            if ( isPeriodicCommit )
+                            {
+                                endAutoCommitBatch( ctx );
+                            }
+                            execute( ctx, spi, statement, params, isPeriodicCommit );
 
                             return AUTO_COMMIT;
                         }
@@ -246,8 +347,9 @@ public class TransactionStateMachine implements StatementProcessor
                     void execute( MutableTransactionState ctx, SPI spi, String statement, MapValue params, boolean isPeriodicCommit )
                             throws KernelException
                     {
-                        // only acquire a new transaction when the statement does not contain periodic commit
-                        if ( !isPeriodicCommit )
+                        // only acquire a new transaction when the statement does not contain periodic commit, and
+                        // not when joining the shared transaction of a batch of auto-commit statements
+                        if ( !isPeriodicCommit && !(ctx.autoCommitBatch && ctx.currentTransaction != null) )
                         {
                             ctx.currentTransaction = spi.beginTransaction( ctx.loginContext );
                         }
@@ -291,9 +393,38 @@ public class TransactionStateMachine implements StatementProcessor
                         }
                         finally
                         {
-                            closeTransaction( ctx, success );
+                            // a batch of auto-commit statements shares its transaction until the batch is committed
+                            if ( !success || !ctx.autoCommitBatch )
+                            {
+                                closeTransaction( ctx, success );
+                            }
                         }
                     }
+
+                    @Override
+                    boolean streamResultPart( MutableTransactionState ctx,
+                            ThrowingFunction<BoltResult,Boolean,Exception> resultConsumer ) throws Exception
+                    {
+                        assert ctx.currentResult != null;
+
+                        boolean hasMore = false;
+                        boolean success = false;
+                        try
+                        {
+                            hasMore = consumeResultPart( ctx, resultConsumer );
+                            success = true;
+                        }
+                        finally
+                        {
+                            // the transaction stays open for as long as the result is suspended, or the batch of
+                            // auto-commit statements sharing it is not yet committed
+                            if ( !hasMore && (!success || !ctx.autoCommitBatch) )
+                            {
+                                closeTransaction( ctx, success );
+                            }
+                        }
+                        return hasMore;
+                    }
                 },
         EXPLICIT_TRANSACTION
                 {
@@ -358,6 +489,14 @@ public class TransactionStateMachine implements StatementProcessor
                         assert ctx.currentResult != null;
                         consumeResult( ctx, resultConsumer );
                     }
+
+                    @Override
+                    boolean streamResultPart( MutableTransactionState ctx,
+                            ThrowingFunction<BoltResult,Boolean,Exception> resultConsumer ) throws Exception
+                    {
+                        assert ctx.currentResult != null;
+                        return consumeResultPart( ctx, resultConsumer );
+                    }
                 };
 
         abstract State run( MutableTransactionState ctx,
@@ -368,8 +507,12 @@ public class TransactionStateMachine implements StatementProcessor
         abstract void streamResult( MutableTransactionState ctx,
                                     ThrowingConsumer<BoltResult, Exception> resultConsumer ) throws Exception;
 
+        abstract boolean streamResultPart( MutableTransactionState ctx,
+                                           ThrowingFunction<BoltResult,Boolean,Exception> resultConsumer ) throws Exception;
+
         void terminateQueryAndRollbackTransaction( MutableTransactionState ctx ) throws TransactionFailureException
         {
+            ctx.currentResultSuspended = false;
             if ( ctx.currentResultHandle != null )
             {
                 ctx.currentResultHandle.terminate();
@@ -384,6 +527,28 @@ public class TransactionStateMachine implements StatementProcessor
            closeTransaction( ctx, false);
         }
 
+        /**
+         * Commit the transaction shared by a batch of auto-commit statements, which is then over. Called before
+         * executing a statement which can not be part of the batch.
+         */
+        void endAutoCommitBatch( MutableTransactionState ctx ) throws TransactionFailureException
+        {
+            if ( ctx.autoCommitBatch )
+            {
+                try
+                {
+                    closeTransaction( ctx, true );
+                }
+                catch ( TransactionFailureException e )
+                {
+                    // it is unknown what the failed commit left behind, so the batch must not be executed again
+                    ctx.autoCommitBatchCommitFailure = e;
+                    throw e;
+                }
+                ctx.autoCommitBatch = false;
+            }
+        }
+
         /*
          * This is overly careful about always closing and nulling the transaction since
          * reset can cause ctx.currentTransaction to be null we store in local variable.
@@ -426,16 +591,46 @@ public class TransactionStateMachine implements StatementProcessor
             }
             finally
             {
-                ctx.currentResult.close();
-                ctx.currentResult = null;
+                closeResult( ctx, success );
+            }
+            return success;
+        }
 
-                if ( ctx.currentResultHandle != null )
+        boolean consumeResultPart( MutableTransactionState ctx, ThrowingFunction<BoltResult,Boolean,Exception> resultConsumer )
+                throws Exception
+        {
+            boolean hasMore = false;
+            boolean success = false;
+            try
+            {
+                hasMore = resultConsumer.apply( ctx.currentResult );
+                success = true;
+            }
+            finally
+            {
+                if ( hasMore )
+                {
+                    ctx.currentResultSuspended = true;
+                }
+                else
                 {
-                    ctx.currentResultHandle.close( success );
-                    ctx.currentResultHandle = null;
+                    closeResult( ctx, success );
                 }
             }
-            return success;
+            return hasMore;
+        }
+
+        private void closeResult( MutableTransactionState ctx, boolean success )
+        {
+            ctx.currentResultSuspended = false;
+            ctx.currentResult.close();
+            ctx.currentResult = null;
+
+            if ( ctx.currentResultHandle != null )
+            {
+                ctx.currentResultHandle.close( success );
+                ctx.currentResultHandle = null;
+            }
         }
 
         void startExecution( MutableTransactionState ctx, BoltResultHandle resultHandle ) throws KernelException
@@ -489,6 +684,21 @@ public class TransactionStateMachine implements StatementProcessor
         /** The current pending result, if present */
         BoltResult currentResult;
 
+        /** Whether the current result has been partially streamed and awaits a request for more records */
+        boolean currentResultSuspended;
+
+        /** Whether auto-commit statements are executed in one shared transaction, committed as a batch */
+        boolean autoCommitBatch;
+
+        /** Whether a statement of the current batch of auto-commit statements failed, or the batch got rolled back */
+        boolean autoCommitBatchFailed;
+
+        /** Failure to commit the shared transaction of the current batch of auto-commit statements */
+        TransactionFailureException autoCommitBatchCommitFailure;
+
+        /** Last Cypher statement executed before the current batch of auto-commit statements */
+        String lastStatementBeforeAutoCommitBatch = "";
+
         final Clock clock;
 
         /** A re-usable statement metadata instance that always represents the currently running statement */
@@ -35,6 +35,20 @@ public abstract class BoltResult implements AutoCloseable
 
     public abstract void accept( Visitor visitor ) throws Exception;
 
+    /**
+     * Visit at most {@code size} records of this result. Metadata is added once the last record has been visited.
+     * Results which can not be suspended visit all their records.
+     *
+     * @param visitor visitor of records and metadata.
+     * @param size maximum number of records to visit, or {@code -1} for all remaining records.
+     * @return {@code true} if there are more records to visit, otherwise {@code false}.
+     */
+    public boolean accept( Visitor visitor, long size ) throws Exception
+    {
+        accept( visitor );
+        return false;
+    }
+
     @Override
     public abstract void close();
 
@@ -37,6 +37,11 @@ import org.neo4j.kernel.api.exceptions.Status;
 /**
  * A target output for {@link PackStream} which breaks the data into a continuous stream of chunks before pushing them into a netty
  * channel.
+ * <p>
+ * Instances are not thread safe. An output is owned by the {@link org.neo4j.bolt.runtime.BoltConnection} it belongs to and only
+ * used by the thread currently processing jobs of that connection, where handing the connection over from one thread to another
+ * goes through the scheduler. Writing a value is therefore only bounds checks and a write into a buffer from the pooled
+ * allocator of the channel.
  */
 public class ChunkedOutput implements PackOutput
 {
@@ -60,6 +65,7 @@ public class ChunkedOutput implements PackOutput
     /** Are currently in the middle of writing a chunk? */
     private boolean chunkOpen;
     private int currentMessageStartIndex = NO_MESSAGE;
+    private int heldMessagesStartIndex = NO_MESSAGE;
 
     public ChunkedOutput( Channel ch, TransportThrottleGroup throttleGroup )
     {
@@ -81,7 +87,7 @@ public class ChunkedOutput implements PackOutput
     }
 
     @Override
-    public synchronized void beginMessage()
+    public void beginMessage()
     {
         if ( currentMessageStartIndex != NO_MESSAGE )
         {
@@ -92,7 +98,7 @@ public class ChunkedOutput implements PackOutput
     }
 
     @Override
-    public synchronized void messageSucceeded() throws IOException
+    public void messageSucceeded() throws IOException
     {
         assertMessageStarted();
         currentMessageStartIndex = NO_MESSAGE;
@@ -100,7 +106,7 @@ public class ChunkedOutput implements PackOutput
         closeChunkIfOpen();
         buffer.writeShort( MESSAGE_BOUNDARY );
 
-        if ( buffer.readableBytes() >= maxBufferSize )
+        if ( buffer.readableBytes() >= maxBufferSize && heldMessagesStartIndex == NO_MESSAGE )
         {
             flush();
         }
@@ -108,7 +114,7 @@ public class ChunkedOutput implements PackOutput
     }
 
     @Override
-    public synchronized void messageFailed() throws IOException
+    public void messageFailed() throws IOException
     {
         assertMessageStarted();
         int writerIndex = currentMessageStartIndex;
@@ -119,12 +125,49 @@ public class ChunkedOutput implements PackOutput
         chunkOpen = false;
     }
 
-    //Flush can be called from a separate thread, we therefor need to synchronize
-    //on everything that touches the buffer
     @Override
-    public synchronized PackOutput flush() throws IOException
+    public void holdMessages()
     {
-        if ( buffer != null && buffer.readableBytes() > 0 )
+        if ( currentMessageStartIndex != NO_MESSAGE )
+        {
+            throw new IllegalStateException( "Message has already been started, index: " + currentMessageStartIndex );
+        }
+        heldMessagesStartIndex = buffer.writerIndex();
+    }
+
+    @Override
+    public int heldMessagesSize()
+    {
+        return heldMessagesStartIndex == NO_MESSAGE || buffer == null ? 0 : buffer.writerIndex() - heldMessagesStartIndex;
+    }
+
+    @Override
+    public void releaseHeldMessages() throws IOException
+    {
+        heldMessagesStartIndex = NO_MESSAGE;
+        if ( buffer != null && buffer.readableBytes() >= maxBufferSize )
+        {
+            flush();
+        }
+    }
+
+    @Override
+    public void discardHeldMessages()
+    {
+        if ( buffer != null && heldMessagesStartIndex != NO_MESSAGE )
+        {
+            buffer.writerIndex( heldMessagesStartIndex );
+            heldMessagesStartIndex = NO_MESSAGE;
+            currentMessageStartIndex = NO_MESSAGE;
+            chunkOpen = false;
+        }
+    }
+
+    @Override
+    public PackOutput flush() throws IOException
+    {
+        // held messages stay in the buffer, which outgrows its max size for as long as they are held
+        if ( buffer != null && buffer.readableBytes() > 0 && heldMessagesStartIndex == NO_MESSAGE )
         {
             closeChunkIfOpen();
 
@@ -150,7 +193,7 @@ public class ChunkedOutput implements PackOutput
     }
 
     @Override
-    public synchronized PackOutput writeByte( byte value ) throws IOException
+    public PackOutput writeByte( byte value ) throws IOException
     {
         ensure( 1 );
         buffer.writeByte( value );
@@ -158,7 +201,7 @@ public class ChunkedOutput implements PackOutput
     }
 
     @Override
-    public synchronized PackOutput writeShort( short value ) throws IOException
+    public PackOutput writeShort( short value ) throws IOException
     {
         ensure( 2 );
         buffer.writeShort( value );
@@ -166,7 +209,7 @@ public class ChunkedOutput implements PackOutput
     }
 
     @Override
-    public synchronized PackOutput writeInt( int value ) throws IOException
+    public PackOutput writeInt( int value ) throws IOException
     {
         ensure( 4 );
         buffer.writeInt( value );
@@ -174,7 +217,7 @@ public class ChunkedOutput implements PackOutput
     }
 
     @Override
-    public synchronized PackOutput writeLong( long value ) throws IOException
+    public PackOutput writeLong( long value ) throws IOException
     {
         ensure( 8 );
         buffer.writeLong( value );
@@ -182,7 +225,7 @@ public class ChunkedOutput implements PackOutput
     }
 
     @Override
-    public synchronized PackOutput writeDouble( double value ) throws IOException
+    public PackOutput writeDouble( double value ) throws IOException
     {
         ensure( 8 );
         buffer.writeDouble( value );
@@ -190,7 +233,7 @@ public class ChunkedOutput implements PackOutput
     }
 
     @Override
-    public synchronized PackOutput writeBytes( ByteBuffer data ) throws IOException
+    public PackOutput writeBytes( ByteBuffer data ) throws IOException
     {
         while ( data.remaining() > 0 )
         {
@@ -212,13 +255,25 @@ public class ChunkedOutput implements PackOutput
         {
             throw new IOException( "Asked to write " + length + " bytes, but there is only " + (data.length - offset) + " bytes available in data provided." );
         }
-        return writeBytes( ByteBuffer.wrap( data, offset, length ) );
+        while ( length > 0 )
+        {
+            // Ensure there is an open chunk, and that it has at least one byte of space left
+            ensure( 1 );
+
+            int amount = Math.min( availableBytesInCurrentChunk(), length );
+            buffer.writeBytes( data, offset, amount );
+            offset += amount;
+            length -= amount;
+        }
+        return this;
     }
 
-    public synchronized void close()
+    public void close()
     {
         if ( buffer != null )
         {
+            // held messages might never become valid, so they are never sent
+            discardHeldMessages();
             try
             {
                 flush();
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.v2.messaging;
+
+/**
+ * Has the same value format as {@link Neo4jPackV2}, but adds the PULL and DISCARD request messages which stream a result
+ * in batches of a size chosen by the client.
+ * <p>
+ * This is not an official version of the protocol, so its version number must never be one that an official version
+ * could take. Official versions leave the most significant byte of the version zero, so this one sets it.
+ */
+public class Neo4jPackV2Batched extends Neo4jPackV2
+{
+    public static final long VERSION = 0xFF00_0002L;
+
+    @Override
+    public long version()
+    {
+        return VERSION;
+    }
+}
@@ -24,6 +24,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.InOrder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -40,6 +41,7 @@ import org.neo4j.bolt.v1.runtime.BoltConnectionFatality;
 import org.neo4j.bolt.v1.runtime.BoltProtocolBreachFatality;
 import org.neo4j.bolt.v1.runtime.BoltStateMachine;
 import org.neo4j.bolt.v1.runtime.Job;
+import org.neo4j.bolt.v1.runtime.StatementJob;
 import org.neo4j.kernel.impl.logging.LogService;
 import org.neo4j.kernel.impl.logging.SimpleLogService;
 import org.neo4j.logging.AssertableLogProvider;
@@ -56,6 +58,8 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -71,6 +75,7 @@ public class DefaultBoltConnectionTest
     private final BoltConnectionQueueMonitor queueMonitor = mock( BoltConnectionQueueMonitor.class );
     private final EmbeddedChannel channel = new EmbeddedChannel();
     private final BoltMessageLogger messageLogger = BoltMessageLogging.none().newLogger( channel );
+    private final PackOutput output = mock( PackOutput.class );
 
     private BoltChannel boltChannel;
     private BoltStateMachine stateMachine;
@@ -232,6 +237,153 @@ public class DefaultBoltConnectionTest
         assertTrue( drainedJobs.containsAll( pushedJobs.subList( 10, 15 ) ) );
     }
 
+    @Test
+    public void processNextBatchShouldNotWaitForJobsWhenAskedToExitIfNoJobsAvailable() throws Exception
+    {
+        List<Job> drainedJobs = new ArrayList<>();
+        BoltConnection connection = newConnection( 10 );
+        doAnswer( inv -> drainedJobs.addAll( inv.getArgument( 1 ) ) ).when( queueMonitor ).drained( same( connection ), anyCollection() );
+        // would otherwise wait on the thread for the next message
+        when( stateMachine.shouldStickOnThread() ).thenReturn( true );
+        connection.enqueue( Jobs.noop() );
+
+        Future<Boolean> future = otherThread.execute( state -> connection.processNextBatch( 10, true ) );
+
+        assertTrue( otherThread.get().awaitFuture( future ) );
+        assertEquals( 1, drainedJobs.size() );
+    }
+
+    @Test
+    public void processNextBatchShouldPerformConsecutiveStatementJobsAsAutoCommitBatch() throws Exception
+    {
+        StatementJob firstStatementJob = mock( StatementJob.class );
+        StatementJob secondStatementJob = mock( StatementJob.class );
+        Job otherJob = mock( Job.class );
+        when( stateMachine.startAutoCommitBatch() ).thenReturn( true );
+        when( stateMachine.commitAutoCommitBatch() ).thenReturn( true );
+        BoltConnection connection = newAutoCommitBatchingConnection();
+        connection.enqueue( firstStatementJob );
+        connection.enqueue( secondStatementJob );
+        connection.enqueue( otherJob );
+
+        connection.processNextBatch();
+
+        InOrder inOrder = inOrder( output, stateMachine, firstStatementJob, secondStatementJob, otherJob );
+        inOrder.verify( stateMachine ).startAutoCommitBatch();
+        inOrder.verify( output ).holdMessages();
+        inOrder.verify( firstStatementJob ).perform( stateMachine );
+        inOrder.verify( secondStatementJob ).perform( stateMachine );
+        inOrder.verify( stateMachine ).commitAutoCommitBatch();
+        inOrder.verify( output ).releaseHeldMessages();
+        inOrder.verify( otherJob ).perform( stateMachine );
+        verify( output, never() ).discardHeldMessages();
+    }
+
+    @Test
+    public void processNextBatchShouldPerformStatementJobsAgainWhenAutoCommitBatchIsNotCommitted() throws Exception
+    {
+        StatementJob firstStatementJob = mock( StatementJob.class );
+        StatementJob secondStatementJob = mock( StatementJob.class );
+        when( stateMachine.startAutoCommitBatch() ).thenReturn( true );
+        when( stateMachine.commitAutoCommitBatch() ).thenReturn( false );
+        BoltConnection connection = newAutoCommitBatchingConnection();
+        connection.enqueue( firstStatementJob );
+        connection.enqueue( secondStatementJob );
+
+        connection.processNextBatch();
+
+        InOrder inOrder = inOrder( output, stateMachine, firstStatementJob, secondStatementJob );
+        inOrder.verify( output ).holdMessages();
+        inOrder.verify( firstStatementJob ).perform( stateMachine );
+        inOrder.verify( secondStatementJob ).perform( stateMachine );
+        inOrder.verify( stateMachine ).commitAutoCommitBatch();
+        inOrder.verify( output ).discardHeldMessages();
+        inOrder.verify( firstStatementJob ).perform( stateMachine );
+        inOrder.verify( secondStatementJob ).perform( stateMachine );
+        verify( output, never() ).releaseHeldMessages();
+    }
+
+    @Test
+    public void processNextBatchShouldCommitAutoCommitBatchWhenHeldMessagesGetTooLarge() throws Exception
+    {
+        StatementJob firstStatementJob = mock( StatementJob.class );
+        StatementJob secondStatementJob = mock( StatementJob.class );
+        StatementJob thirdStatementJob = mock( StatementJob.class );
+        when( stateMachine.startAutoCommitBatch() ).thenReturn( true );
+        when( stateMachine.commitAutoCommitBatch() ).thenReturn( true );
+        when( output.heldMessagesSize() ).thenReturn( Integer.MAX_VALUE );
+        BoltConnection connection = newAutoCommitBatchingConnection();
+        connection.enqueue( firstStatementJob );
+        connection.enqueue( secondStatementJob );
+        connection.enqueue( thirdStatementJob );
+
+        connection.processNextBatch();
+
+        InOrder inOrder = inOrder( output, stateMachine, firstStatementJob, secondStatementJob, thirdStatementJob );
+        inOrder.verify( output ).holdMessages();
+        inOrder.verify( firstStatementJob ).perform( stateMachine );
+        inOrder.verify( stateMachine ).commitAutoCommitBatch();
+        inOrder.verify( output ).releaseHeldMessages();
+        inOrder.verify( output ).flush();
+        inOrder.verify( output ).holdMessages();
+        inOrder.verify( secondStatementJob ).perform( stateMachine );
+        inOrder.verify( stateMachine ).commitAutoCommitBatch();
+        inOrder.verify( output ).releaseHeldMessages();
+        inOrder.verify( thirdStatementJob ).perform( stateMachine );
+        verify( firstStatementJob ).perform( stateMachine );
+        verify( secondStatementJob ).perform( stateMachine );
+        verify( output, never() ).discardHeldMessages();
+    }
+
+    @Test
+    public void processNextBatchShouldRollbackAutoCommitBatchAndPerformStatementJobsAgainOnFatality() throws Exception
+    {
+        StatementJob firstStatementJob = mock( StatementJob.class );
+        StatementJob secondStatementJob = mock( StatementJob.class );
+        doThrow( new BoltProtocolBreachFatality( "some error" ) ).doNothing().when( secondStatementJob ).perform( stateMachine );
+        when( stateMachine.startAutoCommitBatch() ).thenReturn( true );
+        BoltConnection connection = newAutoCommitBatchingConnection();
+        connection.enqueue( firstStatementJob );
+        connection.enqueue( secondStatementJob );
+
+        connection.processNextBatch();
+
+        verify( stateMachine ).rollbackAutoCommitBatch();
+        verify( stateMachine, never() ).commitAutoCommitBatch();
+        verify( output ).discardHeldMessages();
+        verify( firstStatementJob, times( 2 ) ).perform( stateMachine );
+        verify( secondStatementJob, times( 2 ) ).perform( stateMachine );
+    }
+
+    @Test
+    public void processNextBatchShouldNotBatchStatementJobsUnlessEnabled() throws Exception
+    {
+        when( stateMachine.startAutoCommitBatch() ).thenReturn( true );
+        BoltConnection connection = newConnection();
+        connection.enqueue( mock( StatementJob.class ) );
+        connection.enqueue( mock( StatementJob.class ) );
+
+        connection.processNextBatch();
+
+        verify( stateMachine, never() ).startAutoCommitBatch();
+        verify( output, never() ).holdMessages();
+    }
+
+    @Test
+    public void processNextBatchShouldNotBatchSingleStatementJob() throws Exception
+    {
+        when( stateMachine.startAutoCommitBatch() ).thenReturn( true );
+        BoltConnection connection = newAutoCommitBatchingConnection();
+        connection.enqueue( mock( StatementJob.class ) );
+        connection.enqueue( mock( Job.class ) );
+        connection.enqueue( mock( StatementJob.class ) );
+
+        connection.processNextBatch();
+
+        verify( stateMachine, never() ).startAutoCommitBatch();
+        verify( output, never() ).holdMessages();
+    }
+
     @Test
     public void interruptShouldInterruptStateMachine()
     {
@@ -377,7 +529,12 @@ public class DefaultBoltConnectionTest
 
     private DefaultBoltConnection newConnection( int maxBatchSize )
     {
-        return new DefaultBoltConnection( boltChannel, mock( PackOutput.class ), stateMachine, logService, connectionListener, queueMonitor, maxBatchSize );
+        return new DefaultBoltConnection( boltChannel, output, stateMachine, logService, connectionListener, queueMonitor, maxBatchSize );
+    }
+
+    private DefaultBoltConnection newAutoCommitBatchingConnection()
+    {
+        return new DefaultBoltConnection( boltChannel, output, stateMachine, logService, connectionListener, queueMonitor, 10, true );
     }
 
 }
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.runtime;
+
+import io.netty.channel.DefaultChannelId;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.neo4j.bolt.BoltChannel;
+import org.neo4j.bolt.BoltKernelExtension;
+import org.neo4j.bolt.logging.BoltMessageLogging;
+import org.neo4j.bolt.testing.Jobs;
+import org.neo4j.bolt.v1.packstream.PackOutput;
+import org.neo4j.bolt.v1.runtime.BoltStateMachine;
+import org.neo4j.function.Predicates;
+import org.neo4j.kernel.impl.logging.LogService;
+import org.neo4j.kernel.impl.logging.SimpleLogService;
+import org.neo4j.logging.AssertableLogProvider;
+import org.neo4j.scheduler.JobScheduler;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.neo4j.test.matchers.CommonMatchers.matchesExceptionMessage;
+
+public class EventLoopBoltSchedulerTest
+{
+    private static final String CONNECTOR_KEY = "connector-id";
+    private static final int MAX_JOBS_PER_TURN = 3;
+
+    private final AssertableLogProvider logProvider = new AssertableLogProvider();
+    private final LogService logService = new SimpleLogService( logProvider );
+    private final JobScheduler jobScheduler = mock( JobScheduler.class );
+    private final BoltConnectionMetricsMonitor metricsMonitor = mock( BoltConnectionMetricsMonitor.class );
+    private final ForkJoinPool pool = new ForkJoinPool( 1 );
+    private final EventLoopBoltScheduler boltScheduler =
+            new EventLoopBoltScheduler( CONNECTOR_KEY, jobScheduler, logService, 1, MAX_JOBS_PER_TURN, metricsMonitor, Clock.systemUTC() );
+
+    @Before
+    public void setup()
+    {
+        when( jobScheduler.workStealingExecutor( JobScheduler.Groups.boltEventLoop, 1 ) ).thenReturn( pool );
+    }
+
+    @After
+    public void cleanup()
+    {
+        boltScheduler.stop();
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void startShouldUseWorkStealingExecutorOfJobScheduler()
+    {
+        boltScheduler.start();
+
+        verify( jobScheduler ).workStealingExecutor( JobScheduler.Groups.boltEventLoop, 1 );
+    }
+
+    @Test
+    public void enqueuedShouldScheduleTurnWhichWaitsForMoreJobsOnlyWhileConnectionSticksToThread() throws Throwable
+    {
+        BoltConnection connection = newConnection();
+        AtomicBoolean exitCondition = new AtomicBoolean();
+        when( connection.processNextBatch( anyInt(), anyBoolean() ) ).thenAnswer( inv -> awaitExit( exitCondition ) );
+
+        boltScheduler.start();
+        boltScheduler.created( connection );
+        boltScheduler.enqueued( connection, Jobs.noop() );
+
+        Predicates.await( () -> boltScheduler.isScheduled( connection ), 1, MINUTES );
+        exitCondition.set( true );
+        Predicates.await( () -> !boltScheduler.isScheduled( connection ), 1, MINUTES );
+
+        verify( connection ).processNextBatch( MAX_JOBS_PER_TURN, false );
+        verify( metricsMonitor ).connectionScheduled( anyLong() );
+    }
+
+    @Test
+    public void enqueuedShouldNotScheduleConnectionWhichAlreadyHasTurnPending() throws Throwable
+    {
+        BoltConnection connection = newConnection();
+        AtomicBoolean exitCondition = new AtomicBoolean();
+        when( connection.processNextBatch( anyInt(), anyBoolean() ) ).thenAnswer( inv -> awaitExit( exitCondition ) );
+
+        boltScheduler.start();
+        boltScheduler.created( connection );
+        boltScheduler.enqueued( connection, Jobs.noop() );
+        boltScheduler.enqueued( connection, Jobs.noop() );
+
+        Predicates.await( () -> boltScheduler.isScheduled( connection ), 1, MINUTES );
+        exitCondition.set( true );
+        Predicates.await( () -> !boltScheduler.isScheduled( connection ), 1, MINUTES );
+
+        verify( connection ).processNextBatch( anyInt(), anyBoolean() );
+    }
+
+    @Test
+    public void connectionWithMoreJobsAfterItsTurnShouldBeScheduledAgain() throws Throwable
+    {
+        AtomicInteger turns = new AtomicInteger();
+        BoltConnection connection = newConnection();
+        when( connection.processNextBatch( anyInt(), anyBoolean() ) ).thenAnswer( inv -> turns.incrementAndGet() > 0 );
+        when( connection.hasPendingJobs() ).thenReturn( true ).thenReturn( false );
+
+        boltScheduler.start();
+        boltScheduler.created( connection );
+        boltScheduler.enqueued( connection, Jobs.noop() );
+
+        Predicates.await( () -> turns.get() > 1, 1, MINUTES );
+
+        verify( connection, times( 2 ) ).processNextBatch( MAX_JOBS_PER_TURN, false );
+    }
+
+    @Test
+    public void busyConnectionShouldNotStarveOtherConnections() throws Throwable
+    {
+        AtomicBoolean otherConnectionServed = new AtomicBoolean();
+        BoltConnection busyConnection = newConnection();
+        when( busyConnection.processNextBatch( anyInt(), anyBoolean() ) ).thenReturn( true );
+        when( busyConnection.hasPendingJobs() ).thenAnswer( inv -> !otherConnectionServed.get() );
+        BoltConnection otherConnection = newConnection();
+        when( otherConnection.processNextBatch( anyInt(), anyBoolean() ) ).thenAnswer( inv -> otherConnectionServed.getAndSet( true ) );
+
+        boltScheduler.start();
+        boltScheduler.created( busyConnection );
+        boltScheduler.created( otherConnection );
+        boltScheduler.enqueued( busyConnection, Jobs.noop() );
+        boltScheduler.enqueued( otherConnection, Jobs.noop() );
+
+        Predicates.await( otherConnectionServed::get, 1, MINUTES );
+        verify( busyConnection, atLeastOnce() ).processNextBatch( MAX_JOBS_PER_TURN, false );
+    }
+
+    @Test
+    public void connectionInExplicitTransactionShouldKeepItsThreadUntilTransactionEnds() throws Throwable
+    {
+        AtomicBoolean inTransaction = new AtomicBoolean();
+        Set<Thread> transactionThreads = ConcurrentHashMap.newKeySet();
+        AtomicBoolean otherConnectionServed = new AtomicBoolean();
+        BoltStateMachine machine = mock( BoltStateMachine.class );
+        when( machine.shouldStickOnThread() ).thenAnswer( inv -> inTransaction.get() );
+        DefaultBoltConnection connection = newDefaultConnection( machine );
+        DefaultBoltConnection otherConnection = newDefaultConnection( mock( BoltStateMachine.class ) );
+
+        boltScheduler.start();
+        connection.start();
+        otherConnection.start();
+
+        // BEGIN
+        connection.enqueue( m ->
+        {
+            inTransaction.set( true );
+            transactionThreads.add( Thread.currentThread() );
+        } );
+        Predicates.await( () -> !transactionThreads.isEmpty(), 1, MINUTES );
+        otherConnection.enqueue( m -> otherConnectionServed.set( true ) );
+
+        // RUN, PULL_ALL
+        connection.enqueue( m -> transactionThreads.add( Thread.currentThread() ) );
+        connection.enqueue( m -> transactionThreads.add( Thread.currentThread() ) );
+        Thread.sleep( 100 );
+        assertTrue( boltScheduler.isScheduled( connection ) );
+        assertFalse( otherConnectionServed.get() );
+
+        // COMMIT
+        connection.enqueue( m ->
+        {
+            transactionThreads.add( Thread.currentThread() );
+            inTransaction.set( false );
+        } );
+
+        Predicates.await( otherConnectionServed::get, 1, MINUTES );
+        Predicates.await( () -> !boltScheduler.isScheduled( connection ), 1, MINUTES );
+        assertEquals( 1, transactionThreads.size() );
+    }
+
+    @Test
+    public void failingTurnShouldLogAndStopConnection() throws Throwable
+    {
+        AtomicBoolean stopped = new AtomicBoolean();
+        BoltConnection connection = newConnection();
+        doThrow( new RuntimeException( "some unexpected error" ) ).when( connection ).processNextBatch( anyInt(), anyBoolean() );
+        doAnswer( inv -> stopped.getAndSet( true ) ).when( connection ).stop();
+
+        boltScheduler.start();
+        boltScheduler.created( connection );
+        boltScheduler.enqueued( connection, Jobs.noop() );
+
+        Predicates.await( stopped::get, 1, MINUTES );
+        Predicates.await( () -> !boltScheduler.isScheduled( connection ), 1, MINUTES );
+
+        verify( connection ).stop();
+        logProvider.assertExactly( AssertableLogProvider.inLog( containsString( BoltKernelExtension.class.getPackage().getName() ) ).error(
+                containsString( "Unexpected error during job scheduling for session" ),
+                matchesExceptionMessage( containsString( "some unexpected error" ) ) ) );
+    }
+
+    @Test
+    public void closedShouldRemoveConnection()
+    {
+        BoltConnection connection = newConnection();
+
+        boltScheduler.start();
+        boltScheduler.created( connection );
+        assertTrue( boltScheduler.isRegistered( connection ) );
+        boltScheduler.closed( connection );
+
+        assertFalse( boltScheduler.isRegistered( connection ) );
+    }
+
+    @Test
+    public void turnShouldRunWithConnectorNameAndRemoteAddressInThreadName() throws Throwable
+    {
+        AtomicBoolean nameChecked = new AtomicBoolean();
+        BoltConnection connection = newConnection();
+        when( connection.processNextBatch( eq( MAX_JOBS_PER_TURN ), eq( false ) ) ).thenAnswer( inv ->
+        {
+            String threadName = Thread.currentThread().getName();
+            nameChecked.set( threadName.contains( String.format( "[%s]", CONNECTOR_KEY ) ) &&
+                             threadName.contains( String.format( "[%s]", connection.remoteAddress() ) ) );
+            return true;
+        } );
+
+        boltScheduler.start();
+        boltScheduler.created( connection );
+        boltScheduler.enqueued( connection, Jobs.noop() );
+
+        Predicates.await( nameChecked::get, 1, MINUTES );
+    }
+
+    private DefaultBoltConnection newDefaultConnection( BoltStateMachine machine )
+    {
+        EmbeddedChannel channel = new EmbeddedChannel( DefaultChannelId.newInstance() );
+        BoltChannel boltChannel = BoltChannel.open( CONNECTOR_KEY, channel, BoltMessageLogging.none().newLogger( channel ) );
+        return new DefaultBoltConnection( boltChannel, mock( PackOutput.class ), machine, logService, boltScheduler, boltScheduler,
+                MAX_JOBS_PER_TURN );
+    }
+
+    private static BoltConnection newConnection()
+    {
+        BoltConnection result = mock( BoltConnection.class );
+        when( result.id() ).thenReturn( UUID.randomUUID().toString() );
+        when( result.remoteAddress() ).thenReturn( new InetSocketAddress( "localhost", 32_000 ) );
+        return result;
+    }
+
+    private static boolean awaitExit( AtomicBoolean exitCondition )
+    {
+        Predicates.awaitForever( () -> Thread.currentThread().isInterrupted() || exitCondition.get(), 500, MILLISECONDS );
+        return true;
+    }
+}
@@ -105,6 +105,12 @@ public class SynchronousBoltConnection implements BoltConnection
         return true;
     }
 
+    @Override
+    public boolean processNextBatch( int batchCount, boolean exitIfNoJobsAvailable )
+    {
+        return true;
+    }
+
     @Override
     public void handleSchedulingError( Throwable t )
     {
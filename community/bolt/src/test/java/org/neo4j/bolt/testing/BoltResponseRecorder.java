@@ -25,6 +25,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import org.neo4j.bolt.v1.runtime.BoltResponseHandler;
 import org.neo4j.bolt.v1.runtime.Neo4jError;
 import org.neo4j.bolt.v1.runtime.spi.BoltResult;
+import org.neo4j.bolt.v1.runtime.spi.ImmutableRecord;
 import org.neo4j.cypher.result.QueryResult;
 import org.neo4j.values.AnyValue;
 
@@ -33,6 +34,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.neo4j.bolt.v1.messaging.BoltResponseMessage.FAILURE;
 import static org.neo4j.bolt.v1.messaging.BoltResponseMessage.IGNORED;
 import static org.neo4j.bolt.v1.messaging.BoltResponseMessage.SUCCESS;
+import static org.neo4j.values.storable.Values.TRUE;
 import static org.neo4j.values.storable.Values.stringOrNoValue;
 import static org.neo4j.values.storable.Values.stringValue;
 
@@ -60,12 +62,29 @@ public class BoltResponseRecorder implements BoltResponseHandler
     @Override
     public void onRecords( BoltResult result, boolean pull ) throws Exception
     {
-        result.accept( new BoltResult.Visitor()
+        result.accept( newVisitor() );
+    }
+
+    @Override
+    public boolean onRecords( BoltResult result, boolean pull, long size ) throws Exception
+    {
+        boolean hasMore = result.accept( newVisitor(), size );
+        if ( hasMore )
+        {
+            currentResponse.addMetadata( "has_more", TRUE );
+        }
+        return hasMore;
+    }
+
+    private BoltResult.Visitor newVisitor()
+    {
+        return new BoltResult.Visitor()
         {
             @Override
             public void visit( QueryResult.Record record )
             {
-                currentResponse.addRecord( record );
+                // results are free to reuse record instances, so keep a copy of each record
+                currentResponse.addRecord( new ImmutableRecord( record.fields() ) );
             }
 
             @Override
@@ -73,7 +92,7 @@ public class BoltResponseRecorder implements BoltResponseHandler
             {
                 currentResponse.addMetadata( key, value );
             }
-        } );
+        };
     }
 
     @Override
@@ -28,6 +28,7 @@ import org.neo4j.bolt.runtime.BoltConnection;
 import org.neo4j.bolt.runtime.BoltConnectionFactory;
 import org.neo4j.bolt.v1.messaging.Neo4jPackV1;
 import org.neo4j.bolt.v2.messaging.Neo4jPackV2;
+import org.neo4j.bolt.v2.messaging.Neo4jPackV2Batched;
 import org.neo4j.kernel.impl.logging.NullLogService;
 
 import static org.junit.Assert.assertEquals;
@@ -53,6 +54,21 @@ public class DefaultBoltProtocolPipelineInstallerFactoryTest
         testHandlerCreation( Neo4jPackV2.VERSION );
     }
 
+    @Test
+    public void shouldCreateV2BatchedHandler()
+    {
+        testHandlerCreation( Neo4jPackV2Batched.VERSION );
+    }
+
+    @Test
+    public void shouldCreateNothingForOfficialProtocolVersion3()
+    {
+        BoltProtocolPipelineInstallerFactory factory = new DefaultBoltProtocolPipelineInstallerFactory( mock( BoltConnectionFactory.class ),
+                TransportThrottleGroup.NO_THROTTLE, NullLogService.getInstance() );
+
+        assertNull( factory.create( 3, mock( BoltChannel.class ) ) );
+    }
+
     @Test
     public void shouldCreateNothingForUnknownProtocolVersion()
     {
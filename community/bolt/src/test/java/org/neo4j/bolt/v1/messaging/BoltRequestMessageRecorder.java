@@ -27,8 +27,10 @@ import org.neo4j.values.virtual.MapValue;
 
 import static org.neo4j.bolt.v1.messaging.message.AckFailureMessage.ackFailure;
 import static org.neo4j.bolt.v1.messaging.message.DiscardAllMessage.discardAll;
+import static org.neo4j.bolt.v1.messaging.message.DiscardMessage.discard;
 import static org.neo4j.bolt.v1.messaging.message.InitMessage.init;
 import static org.neo4j.bolt.v1.messaging.message.PullAllMessage.pullAll;
+import static org.neo4j.bolt.v1.messaging.message.PullMessage.pull;
 import static org.neo4j.bolt.v1.messaging.message.ResetMessage.reset;
 import static org.neo4j.bolt.v1.messaging.message.RunMessage.run;
 
@@ -70,6 +72,18 @@ public class BoltRequestMessageRecorder extends MessageRecorder<RequestMessage>
         messages.add( pullAll() );
     }
 
+    @Override
+    public void onDiscard( long size )
+    {
+        messages.add( discard( size ) );
+    }
+
+    @Override
+    public void onPull( long size )
+    {
+        messages.add( pull( size ) );
+    }
+
     @Override
     public void onExternalError( Neo4jError error )
     {
@@ -30,6 +30,7 @@ import org.neo4j.bolt.v1.messaging.message.RequestMessage;
 import org.neo4j.bolt.v1.messaging.message.RunMessage;
 import org.neo4j.bolt.v1.packstream.BufferedChannelInput;
 import org.neo4j.bolt.v1.packstream.BufferedChannelOutput;
+import org.neo4j.bolt.v2.messaging.Neo4jPackV2Batched;
 import org.neo4j.kernel.impl.util.HexPrinter;
 import org.neo4j.kernel.impl.util.ValueUtils;
 import org.neo4j.values.AnyValue;
@@ -41,10 +42,13 @@ import org.neo4j.values.virtual.VirtualValues;
 import static java.lang.System.lineSeparator;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.neo4j.bolt.v1.messaging.BoltRequestMessageReader.ALL_RECORDS;
 import static org.neo4j.bolt.v1.messaging.message.AckFailureMessage.ackFailure;
 import static org.neo4j.bolt.v1.messaging.message.DiscardAllMessage.discardAll;
+import static org.neo4j.bolt.v1.messaging.message.DiscardMessage.discard;
 import static org.neo4j.bolt.v1.messaging.message.InitMessage.init;
 import static org.neo4j.bolt.v1.messaging.message.PullAllMessage.pullAll;
+import static org.neo4j.bolt.v1.messaging.message.PullMessage.pull;
 import static org.neo4j.bolt.v1.messaging.message.ResetMessage.reset;
 import static org.neo4j.bolt.v1.messaging.message.RunMessage.run;
 import static org.neo4j.bolt.v1.messaging.util.MessageMatchers.serialize;
@@ -89,6 +93,36 @@ public class BoltRequestMessageTest
         assertThat( params, equalTo( parameters ) );
     }
 
+    @Test
+    public void shouldHandleBatchedStreamingMessages() throws Throwable
+    {
+        Neo4jPack neo4jPackV2Batched = new Neo4jPackV2Batched();
+        assertThat( serializeAndDeserialize( neo4jPackV2Batched, pull( 100 ) ), equalTo( pull( 100 ) ) );
+        assertThat( serializeAndDeserialize( neo4jPackV2Batched, pull( ALL_RECORDS ) ), equalTo( pull( ALL_RECORDS ) ) );
+        assertThat( serializeAndDeserialize( neo4jPackV2Batched, discard( 1 ) ), equalTo( discard( 1 ) ) );
+    }
+
+    @Test
+    public void shouldNotSupportBatchedStreamingMessagesInOfficialVersions() throws Throwable
+    {
+        RecordingByteChannel channel = write( neo4jPack, pull( 100 ) );
+
+        exception.expect( BoltIOException.class );
+        exception.expectMessage( "Message 0x3e is not supported." );
+        read( neo4jPack, channel );
+    }
+
+    @Test
+    public void shouldRejectInvalidBatchSize() throws Throwable
+    {
+        Neo4jPack neo4jPackV2Batched = new Neo4jPackV2Batched();
+        RecordingByteChannel channel = write( neo4jPackV2Batched, discard( 0 ) );
+
+        exception.expect( BoltIOException.class );
+        exception.expectMessage( "Expecting batch size to be a positive number" );
+        read( neo4jPackV2Batched, channel );
+    }
+
     //"B1 71 91 B3 4E 0C 92 |84 55 73 65 72 | 86 42 61 6E\n61 6E 61 A284 6E 61 6D 65 83 42 6F 62 83 61 67\n65 0E"
     //"B1 71 91 B3 4E 0C 92 |86 42 61 6E 61 6E 61| 84 55\n73 65 72 A2 84 6E 61 6D 65 83 42 6F 62 83 61 67\n65 0E
     @Test
@@ -140,6 +174,28 @@ public class BoltRequestMessageTest
         return unpack( reader, channel );
     }
 
+    private <T extends RequestMessage> T serializeAndDeserialize( Neo4jPack pack, T msg ) throws IOException
+    {
+        RecordingByteChannel channel = write( pack, msg );
+        BoltRequestMessageReader reader = new BoltRequestMessageReader(
+                pack.newUnpacker( new BufferedChannelInput( 16 ).reset( channel ) ), pack.version() );
+        return unpack( reader, channel );
+    }
+
+    private static RecordingByteChannel write( Neo4jPack pack, RequestMessage msg ) throws IOException
+    {
+        RecordingByteChannel channel = new RecordingByteChannel();
+        new BoltRequestMessageWriter( pack.newPacker( new BufferedChannelOutput( channel ) ) ).write( msg ).flush();
+        channel.eof();
+        return channel;
+    }
+
+    private static void read( Neo4jPack pack, RecordingByteChannel channel ) throws IOException
+    {
+        new BoltRequestMessageReader( pack.newUnpacker( new BufferedChannelInput( 16 ).reset( channel ) ), pack.version() )
+                .read( new BoltRequestMessageRecorder() );
+    }
+
     private <T extends RequestMessage> T unpack( BoltRequestMessageReader reader, RecordingByteChannel channel )
     {
         // Unpack
@@ -29,8 +29,10 @@ import org.neo4j.kernel.impl.util.ValueUtils;
 import org.neo4j.values.virtual.MapValue;
 
 import static org.neo4j.bolt.v1.messaging.BoltRequestMessage.ACK_FAILURE;
+import static org.neo4j.bolt.v1.messaging.BoltRequestMessage.DISCARD;
 import static org.neo4j.bolt.v1.messaging.BoltRequestMessage.DISCARD_ALL;
 import static org.neo4j.bolt.v1.messaging.BoltRequestMessage.INIT;
+import static org.neo4j.bolt.v1.messaging.BoltRequestMessage.PULL;
 import static org.neo4j.bolt.v1.messaging.BoltRequestMessage.PULL_ALL;
 import static org.neo4j.bolt.v1.messaging.BoltRequestMessage.RESET;
 import static org.neo4j.bolt.v1.messaging.BoltRequestMessage.RUN;
@@ -132,6 +134,34 @@ public class BoltRequestMessageWriter implements BoltRequestMessageHandler
         }
     }
 
+    @Override
+    public void onDiscard( long size )
+    {
+        try
+        {
+            packer.packStructHeader( 1, DISCARD.signature() );
+            packer.pack( size );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    @Override
+    public void onPull( long size )
+    {
+        try
+        {
+            packer.packStructHeader( 1, PULL.signature() );
+            packer.pack( size );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
     public void flush()
     {
         try
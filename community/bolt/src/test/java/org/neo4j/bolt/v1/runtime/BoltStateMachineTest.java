@@ -39,6 +39,7 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -347,6 +348,34 @@ public class BoltStateMachineTest
         assertThat( machine, inState( FAILED ) );
     }
 
+    @Test
+    public void shouldFailAutoCommitBatchWithoutExecutingItAgainWhenCommitFails() throws Throwable
+    {
+        // Given a batch of auto-commit statements
+        BoltStateMachine machine = newMachine( READY );
+        assertTrue( machine.startAutoCommitBatch() );
+        machine.run( "CREATE ()", EMPTY_PARAMS, nullResponseHandler() );
+        machine.discardAll( nullResponseHandler() );
+
+        // And given that its transaction will fail to commit
+        TransactionStateMachine txMachine = (TransactionStateMachine) machine.ctx.statementProcessor;
+        when( txMachine.ctx.currentTransaction.isOpen() ).thenReturn( true );
+        doThrow( new org.neo4j.internal.kernel.api.exceptions.TransactionFailureException(
+                Status.Transaction.TransactionCommitFailed, "commit failed" ) ).when( txMachine.ctx.currentTransaction ).close();
+
+        // When
+        assertFalse( machine.commitAutoCommitBatch() );
+
+        // Then the messages of the batch are answered with the failure, rather than executed again
+        assertThat( machine, inState( FAILED ) );
+        BoltResponseRecorder recorder = new BoltResponseRecorder();
+        machine.run( "CREATE ()", EMPTY_PARAMS, recorder );
+        machine.discardAll( recorder );
+        assertThat( recorder.nextResponse(), failedWithStatus( Status.Transaction.TransactionCommitFailed ) );
+        assertThat( recorder.nextResponse(), wasIgnored() );
+        assertThat( machine, hasNoTransaction() );
+    }
+
     @Test
     public void testFailOnNestedTransactions() throws Throwable
     {
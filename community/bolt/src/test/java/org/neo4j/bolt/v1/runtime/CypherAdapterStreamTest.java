@@ -22,10 +22,12 @@ package org.neo4j.bolt.v1.runtime;
 import org.junit.Test;
 
 import java.time.Clock;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -47,7 +49,13 @@ import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.closeTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.neo4j.graphdb.QueryExecutionType.QueryType.READ_ONLY;
 import static org.neo4j.graphdb.QueryExecutionType.QueryType.READ_WRITE;
@@ -250,6 +258,64 @@ public class CypherAdapterStreamTest
                 equalTo( list( VirtualValues.map( msg1 ), VirtualValues.map( msg2 ) ) ) );
     }
 
+    @Test
+    public void shouldStreamResultInBatchesThroughPartialVisits() throws Throwable
+    {
+        // Given
+        QueryStatistics queryStatistics = mock( QueryStatistics.class );
+        when( queryStatistics.containsUpdates() ).thenReturn( false );
+        QueryResult result = mock( QueryResult.class );
+        when( result.fieldNames() ).thenReturn( new String[]{"n"} );
+        when( result.executionType() ).thenReturn( query( READ_ONLY ) );
+        when( result.queryStatistics() ).thenReturn( queryStatistics );
+        when( result.getNotifications() ).thenReturn( Collections.emptyList() );
+        Iterator<AnyValue> values = asList( (AnyValue) intValue( 1 ), intValue( 2 ), intValue( 3 ) ).iterator();
+        when( result.acceptPartially( any() ) ).then( invocation ->
+        {
+            QueryResult.QueryResultVisitor<?> visitor = invocation.getArgument( 0 );
+            boolean continueVisiting = true;
+            while ( continueVisiting && values.hasNext() )
+            {
+                AnyValue[] fields = {values.next()};
+                continueVisiting = visitor.visit( () -> fields );
+            }
+            return values.hasNext();
+        } );
+
+        CypherAdapterStream stream = new CypherAdapterStream( result, Clock.systemUTC() );
+        List<AnyValue> records = new ArrayList<>();
+        Map<String,AnyValue> meta = new HashMap<>();
+        BoltResult.Visitor visitor = new BoltResult.Visitor()
+        {
+            @Override
+            public void visit( QueryResult.Record record )
+            {
+                records.add( record.fields()[0] );
+            }
+
+            @Override
+            public void addMetadata( String key, AnyValue value )
+            {
+                meta.put( key, value );
+            }
+        };
+
+        // When
+        boolean hasMoreAfterFirstBatch = stream.accept( visitor, 2 );
+        int recordsInFirstBatch = records.size();
+        boolean metadataAfterFirstBatch = meta.containsKey( "type" );
+        boolean hasMoreAfterSecondBatch = stream.accept( visitor, 2 );
+
+        // Then
+        assertTrue( hasMoreAfterFirstBatch );
+        assertEquals( 2, recordsInFirstBatch );
+        assertFalse( metadataAfterFirstBatch );
+        assertFalse( hasMoreAfterSecondBatch );
+        assertEquals( asList( intValue( 1 ), intValue( 2 ), intValue( 3 ) ), records );
+        assertThat( meta.get( "type" ), equalTo( stringValue( "r" ) ) );
+        verify( result, never() ).accept( any() );
+    }
+
     private MapValue metadataOf( CypherAdapterStream stream ) throws Exception
     {
         final Map<String,AnyValue> meta = new HashMap<>();
@@ -29,6 +29,7 @@ import org.neo4j.bolt.v1.runtime.spi.BoltResult;
 import org.neo4j.graphdb.TransactionTerminatedException;
 import org.neo4j.helpers.collection.MapUtil;
 import org.neo4j.internal.kernel.api.exceptions.KernelException;
+import org.neo4j.internal.kernel.api.exceptions.TransactionFailureException;
 import org.neo4j.kernel.api.KernelTransaction;
 import org.neo4j.kernel.api.exceptions.Status;
 import org.neo4j.kernel.impl.query.QueryExecutionKernelException;
@@ -39,14 +40,17 @@ import org.neo4j.values.virtual.MapValue;
 import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -541,6 +545,172 @@ public class TransactionStateMachineTest
         assertNotNull( stateMachine.ctx.currentTransaction );
     }
 
+    @Test
+    public void shouldShareTransactionBetweenStatementsOfAutoCommitBatch() throws Exception
+    {
+        KernelTransaction transaction = newTransaction();
+        TransactionStateMachineSPI stateMachineSPI = newTransactionStateMachineSPI( transaction );
+        TransactionStateMachine stateMachine = newTransactionStateMachine( stateMachineSPI );
+
+        stateMachine.startAutoCommitBatch();
+        stateMachine.run( "SOME STATEMENT", null );
+        stateMachine.streamResult( boltResult -> {} );
+        stateMachine.run( "SOME OTHER STATEMENT", null );
+        stateMachine.streamResult( boltResult -> {} );
+
+        verify( stateMachineSPI ).beginTransaction( any() );
+        verify( transaction, never() ).close();
+        assertNotNull( stateMachine.ctx.currentTransaction );
+
+        assertTrue( stateMachine.commitAutoCommitBatch() );
+
+        verify( transaction ).success();
+        verify( transaction ).close();
+        assertNull( stateMachine.ctx.currentTransaction );
+        assertFalse( stateMachine.ctx.autoCommitBatch );
+    }
+
+    @Test
+    public void shouldRollbackAutoCommitBatchWhenStatementFails() throws Exception
+    {
+        KernelTransaction transaction = newTransaction();
+        TransactionStateMachineSPI stateMachineSPI = newTransactionStateMachineSPI( transaction );
+        when( stateMachineSPI.executeQuery( any(), any(), eq( "FAIL" ), any() ) ).thenThrow( new RuntimeException( "some error" ) );
+        TransactionStateMachine stateMachine = newTransactionStateMachine( stateMachineSPI );
+        stateMachine.run( "FIRST STATEMENT", null );
+        stateMachine.streamResult( boltResult -> {} );
+
+        stateMachine.startAutoCommitBatch();
+        stateMachine.run( "SOME STATEMENT", null );
+        stateMachine.streamResult( boltResult -> {} );
+        try
+        {
+            stateMachine.run( "FAIL", null );
+            fail( "exception expected" );
+        }
+        catch ( RuntimeException e )
+        {
+            assertEquals( "some error", e.getMessage() );
+        }
+
+        assertFalse( stateMachine.commitAutoCommitBatch() );
+
+        verify( transaction ).failure();
+        verify( transaction, times( 2 ) ).close();
+        assertNull( stateMachine.ctx.currentTransaction );
+        assertEquals( TransactionStateMachine.State.AUTO_COMMIT, stateMachine.state() );
+        assertEquals( "FIRST STATEMENT", stateMachine.ctx.lastStatement );
+        assertFalse( stateMachine.ctx.autoCommitBatch );
+    }
+
+    @Test
+    public void shouldRollbackAutoCommitBatchLeftWithOpenStatement() throws Exception
+    {
+        KernelTransaction transaction = newTransaction();
+        TransactionStateMachineSPI stateMachineSPI = newTransactionStateMachineSPI( transaction );
+        TransactionStateMachine stateMachine = newTransactionStateMachine( stateMachineSPI );
+
+        stateMachine.startAutoCommitBatch();
+        stateMachine.run( "SOME STATEMENT", null );
+        stateMachine.streamResult( boltResult -> {} );
+        stateMachine.run( "SOME OTHER STATEMENT", null );
+
+        assertFalse( stateMachine.commitAutoCommitBatch() );
+
+        verify( transaction, never() ).success();
+        verify( transaction ).failure();
+        assertNull( stateMachine.ctx.currentResult );
+        assertNull( stateMachine.ctx.currentTransaction );
+    }
+
+    @Test
+    public void shouldFailAutoCommitBatchWhenCommitFails() throws Exception
+    {
+        KernelTransaction transaction = newTransaction();
+        TransactionFailureException commitFailure =
+                new TransactionFailureException( Status.Transaction.TransactionCommitFailed, "commit failed" );
+        doThrow( commitFailure ).doNothing().when( transaction ).close();
+        TransactionStateMachineSPI stateMachineSPI = newTransactionStateMachineSPI( transaction );
+        TransactionStateMachine stateMachine = newTransactionStateMachine( stateMachineSPI );
+
+        stateMachine.startAutoCommitBatch();
+        stateMachine.run( "SOME STATEMENT", null );
+        stateMachine.streamResult( boltResult -> {} );
+
+        try
+        {
+            stateMachine.commitAutoCommitBatch();
+            fail( "exception expected" );
+        }
+        catch ( TransactionFailureException e )
+        {
+            assertEquals( commitFailure, e );
+        }
+        assertNull( stateMachine.ctx.currentTransaction );
+        assertFalse( stateMachine.ctx.autoCommitBatch );
+        assertEquals( TransactionStateMachine.State.AUTO_COMMIT, stateMachine.state() );
+    }
+
+    @Test
+    public void shouldFailAutoCommitBatchWhenCommitBeforeBeginningExplicitTransactionFails() throws Exception
+    {
+        KernelTransaction transaction = newTransaction();
+        TransactionFailureException commitFailure =
+                new TransactionFailureException( Status.Transaction.TransactionCommitFailed, "commit failed" );
+        doThrow( commitFailure ).when( transaction ).close();
+        TransactionStateMachineSPI stateMachineSPI = newTransactionStateMachineSPI( transaction );
+        TransactionStateMachine stateMachine = newTransactionStateMachine( stateMachineSPI );
+
+        stateMachine.startAutoCommitBatch();
+        stateMachine.run( "SOME STATEMENT", null );
+        stateMachine.streamResult( boltResult -> {} );
+        try
+        {
+            stateMachine.run( "BEGIN", EMPTY_MAP );
+            fail( "exception expected" );
+        }
+        catch ( TransactionFailureException e )
+        {
+            assertEquals( commitFailure, e );
+        }
+
+        try
+        {
+            stateMachine.commitAutoCommitBatch();
+            fail( "exception expected" );
+        }
+        catch ( TransactionFailureException e )
+        {
+            assertEquals( commitFailure, e );
+        }
+        verify( stateMachineSPI ).beginTransaction( any() );
+        assertNull( stateMachine.ctx.currentTransaction );
+        assertEquals( TransactionStateMachine.State.AUTO_COMMIT, stateMachine.state() );
+    }
+
+    @Test
+    public void shouldCommitAutoCommitBatchBeforeBeginningExplicitTransaction() throws Exception
+    {
+        KernelTransaction batchTransaction = newTransaction();
+        KernelTransaction explicitTransaction = newTransaction();
+        TransactionStateMachineSPI stateMachineSPI = newTransactionStateMachineSPI( batchTransaction );
+        when( stateMachineSPI.beginTransaction( any() ) ).thenReturn( batchTransaction, explicitTransaction );
+        TransactionStateMachine stateMachine = newTransactionStateMachine( stateMachineSPI );
+
+        stateMachine.startAutoCommitBatch();
+        stateMachine.run( "SOME STATEMENT", null );
+        stateMachine.streamResult( boltResult -> {} );
+        stateMachine.run( "BEGIN", EMPTY_MAP );
+
+        verify( batchTransaction ).success();
+        verify( batchTransaction ).close();
+        assertEquals( TransactionStateMachine.State.EXPLICIT_TRANSACTION, stateMachine.state() );
+
+        assertTrue( stateMachine.commitAutoCommitBatch() );
+        assertEquals( explicitTransaction, stateMachine.ctx.currentTransaction );
+        verify( explicitTransaction, never() ).close();
+    }
+
     private static KernelTransaction newTransaction()
     {
         KernelTransaction transaction = mock( KernelTransaction.class );
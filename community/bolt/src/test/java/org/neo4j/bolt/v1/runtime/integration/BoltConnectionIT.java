@@ -55,6 +55,7 @@ import static org.neo4j.bolt.testing.BoltMatchers.failedWithStatus;
 import static org.neo4j.bolt.testing.BoltMatchers.succeeded;
 import static org.neo4j.bolt.testing.BoltMatchers.verifyKillsConnection;
 import static org.neo4j.bolt.testing.NullResponseHandler.nullResponseHandler;
+import static org.neo4j.bolt.v1.messaging.BoltRequestMessageReader.ALL_RECORDS;
 import static org.neo4j.bolt.v1.messaging.BoltResponseMessage.IGNORED;
 import static org.neo4j.bolt.v1.messaging.BoltResponseMessage.SUCCESS;
 import static org.neo4j.values.storable.Values.longValue;
@@ -162,6 +163,160 @@ public class BoltConnectionIT
         //assertThat( pulling.next(), streamContaining( StreamMatchers.eqRecord( equalTo( "k" ) ) ) );
     }
 
+    @Test
+    public void shouldStreamResultInBatches() throws Throwable
+    {
+        // Given
+        BoltStateMachine machine = env.newMachine( boltChannel );
+        machine.init( USER_AGENT, emptyMap(), null );
+        machine.run( "UNWIND range(1, 5) AS x RETURN x", EMPTY_PARAMS, nullResponseHandler() );
+
+        // When
+        BoltResponseRecorder recorder = new BoltResponseRecorder();
+        machine.pull( 2, recorder );
+
+        // Then
+        RecordedBoltResponse response = recorder.nextResponse();
+        assertThat( response, succeeded() );
+        assertEquals( 2, response.records().length );
+        response.assertRecord( 0, longValue( 1L ) );
+        response.assertRecord( 1, longValue( 2L ) );
+        assertTrue( response.hasMetadata( "has_more" ) );
+        assertFalse( response.hasMetadata( "type" ) );
+        assertThat( machine.state(), equalTo( BoltStateMachine.State.STREAMING ) );
+        assertTrue( machine.hasSuspendedResult() );
+        assertTrue( machine.shouldStickOnThread() );
+
+        // When
+        machine.discard( 1, recorder );
+        machine.pull( ALL_RECORDS, recorder );
+
+        // Then
+        assertTrue( recorder.nextResponse().hasMetadata( "has_more" ) );
+        response = recorder.nextResponse();
+        assertThat( response, succeeded() );
+        assertEquals( 2, response.records().length );
+        response.assertRecord( 0, longValue( 4L ) );
+        response.assertRecord( 1, longValue( 5L ) );
+        assertFalse( response.hasMetadata( "has_more" ) );
+        assertTrue( response.hasMetadata( "type" ) );
+        assertThat( machine.state(), equalTo( BoltStateMachine.State.READY ) );
+        assertFalse( machine.hasOpenStatement() );
+    }
+
+    @Test
+    public void shouldPullAllAfterPullingBatch() throws Throwable
+    {
+        // Given
+        BoltStateMachine machine = env.newMachine( boltChannel );
+        machine.init( USER_AGENT, emptyMap(), null );
+        BoltResponseRecorder recorder = new BoltResponseRecorder();
+        machine.run( "UNWIND range(1, 3) AS x RETURN x", EMPTY_PARAMS, nullResponseHandler() );
+        machine.pull( 1, recorder );
+
+        // When
+        machine.pullAll( recorder );
+
+        // Then
+        recorder.nextResponse().assertRecord( 0, longValue( 1L ) );
+        RecordedBoltResponse response = recorder.nextResponse();
+        assertThat( response, succeeded() );
+        assertEquals( 2, response.records().length );
+        response.assertRecord( 0, longValue( 2L ) );
+        response.assertRecord( 1, longValue( 3L ) );
+        assertFalse( machine.hasOpenStatement() );
+    }
+
+    @Test
+    public void shouldStreamResultInBatchesInExplicitTransaction() throws Throwable
+    {
+        // Given
+        BoltStateMachine machine = env.newMachine( boltChannel );
+        machine.init( USER_AGENT, emptyMap(), null );
+        machine.run( "BEGIN", EMPTY_PARAMS, nullResponseHandler() );
+        machine.discardAll( nullResponseHandler() );
+        machine.run( "UNWIND range(1, 3) AS x CREATE (n {x: x}) RETURN n.x", EMPTY_PARAMS, nullResponseHandler() );
+
+        // When
+        BoltResponseRecorder recorder = new BoltResponseRecorder();
+        machine.pull( 2, recorder );
+
+        // Then
+        RecordedBoltResponse response = recorder.nextResponse();
+        assertEquals( 2, response.records().length );
+        assertTrue( response.hasMetadata( "has_more" ) );
+        assertTrue( machine.shouldStickOnThread() );
+
+        // When
+        machine.pull( ALL_RECORDS, recorder );
+        machine.run( "COMMIT", EMPTY_PARAMS, nullResponseHandler() );
+        machine.discardAll( nullResponseHandler() );
+
+        // Then
+        response = recorder.nextResponse();
+        response.assertRecord( 0, longValue( 3L ) );
+        assertTrue( response.hasMetadata( "stats" ) );
+        Record[] records = runAndPull( machine, "MATCH (n) RETURN count(n)", EMPTY_PARAMS );
+        assertThat( records[0].fields()[0], equalTo( longValue( 3L ) ) );
+    }
+
+    @Test
+    public void shouldCommitAutoCommitBatchInOneTransaction() throws Throwable
+    {
+        // Given
+        BoltStateMachine machine = env.newMachine( boltChannel );
+        machine.init( USER_AGENT, emptyMap(), null );
+        BoltStateMachine otherMachine = env.newMachine( boltChannel );
+        otherMachine.init( USER_AGENT, emptyMap(), null );
+
+        // When
+        assertTrue( machine.startAutoCommitBatch() );
+        runAndPull( machine, "CREATE (n:Batched)" );
+        runAndPull( machine, "CREATE (n:Batched)" );
+
+        // Then
+        Record[] records = runAndPull( otherMachine, "MATCH (n:Batched) RETURN count(n)", EMPTY_PARAMS );
+        assertThat( records[0].fields()[0], equalTo( longValue( 0L ) ) );
+
+        assertTrue( machine.commitAutoCommitBatch() );
+        records = runAndPull( otherMachine, "MATCH (n:Batched) RETURN count(n)", EMPTY_PARAMS );
+        assertThat( records[0].fields()[0], equalTo( longValue( 2L ) ) );
+    }
+
+    @Test
+    public void shouldRollbackAutoCommitBatchWhenStatementFails() throws Throwable
+    {
+        // Given
+        BoltStateMachine machine = env.newMachine( boltChannel );
+        machine.init( USER_AGENT, emptyMap(), null );
+        assertTrue( machine.startAutoCommitBatch() );
+        runAndPull( machine, "CREATE (n:Batched)" );
+
+        // When
+        machine.run( "UNWIND [1, 0] AS x CREATE (n:Batched) RETURN 1 / x", EMPTY_PARAMS, nullResponseHandler() );
+        machine.pullAll( nullResponseHandler() );
+
+        // Then
+        assertEquals( BoltStateMachine.State.FAILED, machine.state() );
+        assertFalse( machine.commitAutoCommitBatch() );
+        assertEquals( BoltStateMachine.State.READY, machine.state() );
+        assertFalse( machine.statementProcessor().hasTransaction() );
+        Record[] records = runAndPull( machine, "MATCH (n:Batched) RETURN count(n)", EMPTY_PARAMS );
+        assertThat( records[0].fields()[0], equalTo( longValue( 0L ) ) );
+    }
+
+    @Test
+    public void shouldNotStartAutoCommitBatchInExplicitTransaction() throws Throwable
+    {
+        // Given
+        BoltStateMachine machine = env.newMachine( boltChannel );
+        machine.init( USER_AGENT, emptyMap(), null );
+        runAndPull( machine, "BEGIN" );
+
+        // When & Then
+        assertFalse( machine.startAutoCommitBatch() );
+    }
+
     @Test
     public void shouldSucceedOn__run__pullAll__run() throws Throwable
     {
@@ -176,6 +176,22 @@ public class ChunkedOutputTest
         assertByteBufEqual( outboundMessage, chunkContaining( (byte) 2, (byte) 3, (byte) 4, (byte) 5, (byte) 6 ) + messageBoundary() );
     }
 
+    @Test
+    public void shouldSplitByteArrayOverMultipleChunks() throws Exception
+    {
+        out.beginMessage();
+        out.writeInt( 42 );
+        out.writeBytes( new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19}, 1, 18 );
+        out.messageSucceeded();
+        out.flush();
+
+        assertByteBufEqual( peekSingleOutboundMessage(),
+                chunkContaining( 42, (byte) 1, (byte) 2, (byte) 3, (byte) 4, (byte) 5, (byte) 6, (byte) 7, (byte) 8, (byte) 9,
+                        (byte) 10 ) +
+                chunkContaining( (byte) 11, (byte) 12, (byte) 13, (byte) 14, (byte) 15, (byte) 16, (byte) 17, (byte) 18 ) +
+                messageBoundary() );
+    }
+
     @Test
     public void shouldThrowWhenByteArrayContainsInsufficientBytes() throws Exception
     {
@@ -451,6 +467,88 @@ public class ChunkedOutputTest
         assertByteBufEqual( outboundMessages.get( 2 ), chunkContaining( (long) 5 ) + chunkContaining( (long) 6 ) + messageBoundary() );
     }
 
+    @Test
+    public void shouldNotAutoFlushHeldMessages() throws Exception
+    {
+        out.holdMessages();
+
+        out.beginMessage();
+        out.writeLong( 1 );
+        out.writeLong( 2 );
+        out.messageSucceeded();
+
+        out.beginMessage();
+        out.writeLong( 3 );
+        out.writeLong( 4 );
+        out.messageSucceeded();
+
+        out.flush();
+        assertEquals( 0, peekAllOutboundMessages().size() );
+
+        out.releaseHeldMessages();
+
+        ByteBuf outboundMessage = peekSingleOutboundMessage();
+        assertByteBufEqual( outboundMessage, chunkContaining( (long) 1 ) + chunkContaining( (long) 2 ) + messageBoundary() +
+                                             chunkContaining( (long) 3 ) + chunkContaining( (long) 4 ) + messageBoundary() );
+    }
+
+    @Test
+    public void shouldDiscardHeldMessages() throws Exception
+    {
+        out.beginMessage();
+        out.writeInt( 1 );
+        out.messageSucceeded();
+
+        out.holdMessages();
+        out.beginMessage();
+        out.writeInt( 2 );
+        out.messageSucceeded();
+        out.beginMessage();
+        out.writeInt( 3 );
+        out.discardHeldMessages();
+
+        out.beginMessage();
+        out.writeInt( 4 );
+        out.messageSucceeded();
+        out.flush();
+
+        ByteBuf outboundMessage = peekSingleOutboundMessage();
+        assertByteBufEqual( outboundMessage, chunkContaining( 1 ) + messageBoundary() + chunkContaining( 4 ) + messageBoundary() );
+    }
+
+    @Test
+    public void shouldNotFlushHeldMessagesOnClose() throws Exception
+    {
+        out.beginMessage();
+        out.writeInt( 1 );
+        out.messageSucceeded();
+
+        out.holdMessages();
+        out.beginMessage();
+        out.writeInt( 2 );
+        out.messageSucceeded();
+
+        out.close();
+
+        ByteBuf outboundMessage = peekSingleOutboundMessage();
+        assertByteBufEqual( outboundMessage, chunkContaining( 1 ) + messageBoundary() );
+    }
+
+    @Test
+    public void shouldFailToHoldMessagesInTheMiddleOfMessage()
+    {
+        out.beginMessage();
+
+        try
+        {
+            out.holdMessages();
+            fail( "Exception expected" );
+        }
+        catch ( IllegalStateException ignore )
+        {
+        }
+    }
+
     @Test
     public void shouldFailToBeginMultipleMessages()
     {
@@ -135,6 +135,11 @@ public interface JobScheduler extends Lifecycle
          */
         public static final Group queryLogRotation = new Group( "queryLogRotation" );
 
+        /**
+         * Writes query log entries in the background
+         */
+        public static final Group queryLogging = new Group( "QueryLogging" );
+
         /**
          * Rotates bolt message logs
          */
@@ -200,6 +205,16 @@ public interface JobScheduler extends Lifecycle
          */
         public static final Group recoveryCleanup = new Group( "RecoveryCleanup" );
 
+        /**
+         * Read-ahead and record appliers for parallel recovery.
+         */
+        public static final Group recovery = new Group( "Recovery" );
+
+        /**
+         * Forcing of the transaction log for group commit.
+         */
+        public static final Group logForcer = new Group( "LogForcer" );
+
         /**
          * Kernel transaction timeout monitor.
          */
@@ -225,6 +240,11 @@ public interface JobScheduler extends Lifecycle
          */
         public static Group boltWorker = new Group( "BoltWorker" );
 
+        /**
+         * Bolt event loop scheduler worker, shared by all connections of all connectors using it
+         */
+        public static final Group boltEventLoop = new Group( "BoltEventLoop" );
+
         private Groups()
         {
         }
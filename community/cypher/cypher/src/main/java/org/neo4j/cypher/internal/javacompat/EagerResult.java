@@ -246,16 +246,32 @@ class EagerResult implements Result, QueryResultProvider
         {
             while ( hasNext() )
             {
-                Map<String,Object> row = next();
-                AnyValue[] anyValues = new AnyValue[fields.length];
+                visitor.visit( nextRecord() );
+            }
+        }
 
-                for ( int i = 0; i < fields.length; i++ )
-                {
-                    anyValues[i] = ValueUtils.of( row.get( fields[i] ) );
-                }
+        @Override
+        public <E extends Exception> boolean acceptPartially( QueryResultVisitor<E> visitor ) throws E
+        {
+            boolean continueVisiting = true;
+            while ( continueVisiting && hasNext() )
+            {
+                continueVisiting = visitor.visit( nextRecord() );
+            }
+            return hasNext();
+        }
+
+        private Record nextRecord()
+        {
+            Map<String,Object> row = next();
+            AnyValue[] anyValues = new AnyValue[fields.length];
 
-                visitor.visit( () -> anyValues );
+            for ( int i = 0; i < fields.length; i++ )
+            {
+                anyValues[i] = ValueUtils.of( row.get( fields[i] ) );
             }
+
+            return () -> anyValues;
         }
 
         @Override
@@ -19,6 +19,8 @@
  */
 package org.neo4j.cypher.internal.compatibility
 
+import java.util.concurrent.ConcurrentHashMap
+
 import org.neo4j.cypher.internal.compiler.v3_5.{CacheCheckResult, FineToReuse, NeedsReplan}
 
 trait CacheAccessor[K <: AnyRef, T <: AnyRef] {
@@ -30,7 +32,14 @@ trait PlanProducer[T] {
   def produceWithExistingTX: T
 }
 
+/**
+  * Caches plans by key, replanning them when they are found to be stale. A stale plan is replanned by one query at a
+  * time, other queries looking the key up meanwhile keep using the stale plan instead of replanning it as well.
+  */
 class QueryCache[K <: AnyRef, T <: AnyRef](cacheAccessor: CacheAccessor[K, T], cache: LFUCache[K, T]) {
+
+  private val replanning = ConcurrentHashMap.newKeySet[K]()
+
   def getOrElseUpdate(key: K, userKey: String, checkPlanStillValid: T => CacheCheckResult, produce: PlanProducer[T]): (T, Boolean) = {
     if (cache.size == 0)
       (produce.produceWithExistingTX, false)
@@ -46,10 +55,17 @@ class QueryCache[K <: AnyRef, T <: AnyRef](cacheAccessor: CacheAccessor[K, T], c
       else {
         // We found a matching plan in the cache. let's make sure it's OK to use again.
         checkPlanStillValid(plan) match {
-          case NeedsReplan(secondsSinceReplan) =>
-            val newPlan = produce.produceWithExistingTX
-            cacheAccessor.put(cache)(key, newPlan, userKey, secondsSinceReplan)
-            (newPlan, true)
+          case NeedsReplan(secondsSinceReplan) if replanning.add(key) =>
+            try {
+              val newPlan = produce.produceWithExistingTX
+              cacheAccessor.put(cache)(key, newPlan, userKey, secondsSinceReplan)
+              (newPlan, true)
+            } finally {
+              replanning.remove(key)
+            }
+          case NeedsReplan(_) =>
+            // Someone else is already replanning, the stale plan is still correct to use until then
+            (plan, false)
           case FineToReuse =>
             (plan, false)
         }
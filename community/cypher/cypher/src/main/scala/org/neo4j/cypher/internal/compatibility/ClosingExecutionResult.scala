@@ -175,6 +175,14 @@ class ClosingExecutionResult(val query: ExecutingQuery, val inner: InternalExecu
     endQueryExecution()
   }
 
+  override def acceptPartially[EX <: Exception](visitor: QueryResultVisitor[EX]): Boolean = runSafely {
+    val hasMore = inner.acceptPartially(visitor)
+    if (!hasMore) {
+      endQueryExecution()
+    }
+    hasMore
+  }
+
   override def toString(): String = runSafely {
     inner.toString()
   }
@@ -108,16 +108,33 @@ class PipeExecutionResult(val result: ResultIterator,
 
   def accept[EX <: Exception](visitor: QueryResultVisitor[EX]): Unit = {
     try {
-      val maybeRecordIterator = result.recordIterator
-      if (maybeRecordIterator.isDefined)
-        javaValues.feedQueryResultRecordIteratorToVisitable(maybeRecordIterator.get).accept(visitor)
-      else
-        javaValues.feedIteratorToVisitable(result.map(r => fieldNames.map(r))).accept(visitor)
+      feedToVisitor(visitor)
     } finally {
       self.close()
     }
   }
 
+  override def acceptPartially[EX <: Exception](visitor: QueryResultVisitor[EX]): Boolean = {
+    try {
+      feedToVisitor(visitor)
+      val hasMore = result.hasNext
+      if (!hasMore) self.close()
+      hasMore
+    } catch {
+      case t: Throwable =>
+        self.close()
+        throw t
+    }
+  }
+
+  private def feedToVisitor[EX <: Exception](visitor: QueryResultVisitor[EX]): Unit = {
+    val maybeRecordIterator = result.recordIterator
+    if (maybeRecordIterator.isDefined)
+      javaValues.feedQueryResultRecordIteratorToVisitable(maybeRecordIterator.get).accept(visitor)
+    else
+      javaValues.feedIteratorToVisitable(result.map(r => fieldNames.map(r))).accept(visitor)
+  }
+
   override def accept[E <: Exception](visitor: ResultVisitor[E]): Unit = {
     accept(new QueryResultVisitor[E] {
       override def visit(record: QueryResult.Record): Boolean = {
@@ -22,7 +22,11 @@ package org.neo4j.cypher.internal.javacompat;
 import org.junit.Rule;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.neo4j.cypher.ArithmeticException;
+import org.neo4j.cypher.result.QueryResult;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.QueryExecutionException;
 import org.neo4j.graphdb.ResourceIterator;
@@ -34,8 +38,10 @@ import org.neo4j.kernel.impl.core.ThreadToStatementContextBridge;
 import org.neo4j.kernel.impl.coreapi.TopLevelTransaction;
 import org.neo4j.kernel.impl.query.QueryExecutionKernelException;
 import org.neo4j.test.rule.ImpermanentDatabaseRule;
+import org.neo4j.values.AnyValue;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
@@ -43,6 +49,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.IsNull.nullValue;
 import static org.neo4j.helpers.collection.MapUtil.map;
+import static org.neo4j.values.storable.Values.longValue;
 
 public class ExecutionResultTest
 {
@@ -86,6 +93,35 @@ public class ExecutionResultTest
         assertThat( activeTransaction(), is( nullValue() ) );
     }
 
+    @Test
+    public void shouldVisitResultPartiallyAndCloseTransactionWhenExhausted()
+    {
+        // Given a result that has been partially visited
+        Result executionResult = db.execute( "CYPHER runtime=interpreted UNWIND range(1, 3) AS i RETURN i" );
+        QueryResult queryResult = ((QueryResultProvider) executionResult).queryResult();
+        List<AnyValue> visited = new ArrayList<>();
+        boolean hasMore = queryResult.acceptPartially( row ->
+        {
+            visited.add( row.fields()[0] );
+            return false;
+        } );
+        assertThat( hasMore, is( true ) );
+        assertThat( visited, equalTo( singletonList( longValue( 1 ) ) ) );
+        assertThat( activeTransaction(), is( notNullValue() ) );
+
+        // When
+        hasMore = queryResult.acceptPartially( row ->
+        {
+            visited.add( row.fields()[0] );
+            return true;
+        } );
+
+        // Then
+        assertThat( hasMore, is( false ) );
+        assertThat( visited, equalTo( asList( longValue( 1 ), longValue( 2 ), longValue( 3 ) ) ) );
+        assertThat( activeTransaction(), is( nullValue() ) );
+    }
+
     @Test
     public void shouldThrowAppropriateException()
     {
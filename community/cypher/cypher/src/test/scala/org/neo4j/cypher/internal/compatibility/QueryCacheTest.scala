@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.compatibility
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit.SECONDS
+
+import org.neo4j.cypher.internal.compiler.v3_5.{CacheCheckResult, FineToReuse, NeedsReplan}
+import org.neo4j.cypher.internal.util.v3_5.test_helpers.CypherFunSuite
+
+import scala.concurrent.ExecutionContext.Implicits.global
+import scala.concurrent.duration.Duration
+import scala.concurrent.{Await, Future}
+
+class QueryCacheTest extends CypherFunSuite {
+
+  private def newCache() = new QueryCache[String, String](
+    new MonitoringCacheAccessor[String, String](new CypherCacheHitMonitor[String] {}), new LFUCache[String, String](5))
+
+  private def producer(f: => String) = new PlanProducer[String] {
+    override def produceWithExistingTX: String = f
+  }
+
+  test("should plan on miss and reuse on hit") {
+    val cache = newCache()
+
+    cache.getOrElseUpdate("key", "query", _ => FineToReuse, producer("plan")) should equal(("plan", true))
+    cache.getOrElseUpdate("key", "query", _ => FineToReuse, producer("other plan")) should equal(("plan", false))
+  }
+
+  test("should replan stale plan") {
+    val cache = newCache()
+    cache.getOrElseUpdate("key", "query", _ => FineToReuse, producer("plan"))
+
+    cache.getOrElseUpdate("key", "query", _ => NeedsReplan(1), producer("new plan")) should equal(("new plan", true))
+    cache.getOrElseUpdate("key", "query", _ => FineToReuse, producer("other plan")) should equal(("new plan", false))
+  }
+
+  test("should keep using stale plan while it is being replanned by someone else") {
+    val cache = newCache()
+    cache.getOrElseUpdate("key", "query", _ => FineToReuse, producer("plan"))
+    val stale: String => CacheCheckResult = _ => NeedsReplan(1)
+    val replanningStarted = new CountDownLatch(1)
+    val finishReplanning = new CountDownLatch(1)
+
+    val replanning = Future {
+      cache.getOrElseUpdate("key", "query", stale, producer {
+        replanningStarted.countDown()
+        finishReplanning.await()
+        "new plan"
+      })
+    }
+    replanningStarted.await(10, SECONDS) should be(true)
+
+    cache.getOrElseUpdate("key", "query", stale, producer(fail("should not replan"))) should equal(("plan", false))
+
+    finishReplanning.countDown()
+    Await.result(replanning, Duration(10, SECONDS)) should equal(("new plan", true))
+    cache.getOrElseUpdate("key", "query", _ => FineToReuse, producer("other plan")) should equal(("new plan", false))
+  }
+}
@@ -30,6 +30,7 @@ import org.neo4j.graphdb.{Node, Path, PropertyContainer}
 import org.neo4j.internal.kernel.api.helpers.RelationshipSelectionCursor
 import org.neo4j.internal.kernel.api.{CursorFactory, IndexReference, Read, Write, _}
 import org.neo4j.kernel.api.dbms.DbmsOperations
+import org.neo4j.kernel.api.query.ExecutingQuery
 import org.neo4j.kernel.impl.api.store.RelationshipIterator
 import org.neo4j.kernel.impl.core.EmbeddedProxySPI
 import org.neo4j.kernel.impl.factory.DatabaseInfo
@@ -307,6 +308,8 @@ class DelegatingQueryTransactionalContext(val inner: QueryTransactionalContext)
 
   override def databaseInfo: DatabaseInfo = inner.databaseInfo
 
+  override def executingQuery: ExecutingQuery = inner.executingQuery
+
   override def cursors: CursorFactory = inner.cursors
 
   override def dataRead: Read = inner.dataRead
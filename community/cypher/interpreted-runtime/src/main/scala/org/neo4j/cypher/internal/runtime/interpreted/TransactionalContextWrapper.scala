@@ -27,7 +27,7 @@ import org.neo4j.internal.kernel.api.security.SecurityContext
 import org.neo4j.kernel.GraphDatabaseQueryService
 import org.neo4j.kernel.api.KernelTransaction.Revertable
 import org.neo4j.kernel.api.dbms.DbmsOperations
-import org.neo4j.kernel.api.query.PlannerInfo
+import org.neo4j.kernel.api.query.{ExecutingQuery, PlannerInfo}
 import org.neo4j.kernel.api.txstate.TxStateHolder
 import org.neo4j.kernel.api.{KernelTransaction, ResourceTracker, Statement}
 import org.neo4j.kernel.impl.factory.DatabaseInfo
@@ -82,6 +82,8 @@ case class TransactionalContextWrapper(tc: TransactionalContext) extends QueryTr
 
   def notifyPlanningCompleted(plannerInfo: PlannerInfo): Unit = tc.executingQuery().planningCompleted(plannerInfo)
 
+  override def executingQuery: ExecutingQuery = tc.executingQuery()
+
   def kernelStatisticProvider: KernelStatisticProvider = new ProfileKernelStatisticProvider(tc.kernelStatisticProvider())
 
   override def databaseInfo: DatabaseInfo = tc.graph().getDependencyResolver.resolveDependency(classOf[DatabaseInfo])
@@ -35,6 +35,17 @@ public interface QueryResult
     <E extends Exception> void accept( QueryResultVisitor<E> visitor )
             throws E;
 
+    /**
+     * Visits records until the visitor returns {@code false} or there are no more records. Unlike
+     * {@link #accept(QueryResultVisitor)} the result is left open when the visitor stops, so that the remaining
+     * records can be visited by a later call. The result is closed once all records have been visited.
+     *
+     * @param visitor the visitor to feed records to.
+     * @return {@code true} if there are more records to visit, otherwise {@code false}.
+     */
+    <E extends Exception> boolean acceptPartially( QueryResultVisitor<E> visitor )
+            throws E;
+
     interface QueryResultVisitor<E extends Exception>
     {
         boolean visit( Record row ) throws E;
@@ -26,6 +26,8 @@ import org.neo4j.cypher.internal.runtime.planDescription.InternalPlanDescription
 import org.neo4j.cypher.result.QueryResult
 import org.neo4j.graphdb.Result.ResultVisitor
 import org.neo4j.graphdb._
+import org.neo4j.kernel.impl.util.ValueUtils
+import org.neo4j.values.AnyValue
 
 import scala.collection.JavaConverters._
 
@@ -58,6 +60,24 @@ trait InternalExecutionResult extends Iterator[Map[String, Any]] with QueryResul
 
   def accept[E <: Exception](visitor: ResultVisitor[E]): Unit
 
+  // Converts rows of the java iterator, results that can hand out records directly override this.
+  // The QueryResult types are qualified, since the inherited java member types can not be read back by dependants
+  override def acceptPartially[E <: Exception](visitor: QueryResult.QueryResultVisitor[E]): Boolean = {
+    val names = fieldNames()
+    val rows = javaIterator
+    var continue = true
+    while (continue && rows.hasNext) {
+      val row = rows.next()
+      val values: Array[AnyValue] = names.map(name => ValueUtils.of(row.get(name)))
+      continue = visitor.visit(new QueryResult.Record {
+        override def fields(): Array[AnyValue] = values
+      })
+    }
+    val hasMore = rows.hasNext
+    if (!hasMore) close()
+    hasMore
+  }
+
   def withNotifications(notification: Notification*): InternalExecutionResult
 
   def executionType: QueryExecutionType = {
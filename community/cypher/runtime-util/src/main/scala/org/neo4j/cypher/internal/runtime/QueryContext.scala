@@ -29,6 +29,7 @@ import org.neo4j.graphdb.{Node, Path, PropertyContainer}
 import org.neo4j.internal.kernel.api.helpers.RelationshipSelectionCursor
 import org.neo4j.internal.kernel.api.{CursorFactory, IndexReference, Read, Write, _}
 import org.neo4j.kernel.api.dbms.DbmsOperations
+import org.neo4j.kernel.api.query.ExecutingQuery
 import org.neo4j.kernel.impl.api.store.RelationshipIterator
 import org.neo4j.kernel.impl.core.EmbeddedProxySPI
 import org.neo4j.kernel.impl.factory.DatabaseInfo
@@ -264,6 +265,8 @@ trait QueryTransactionalContext extends CloseableResource {
   def kernelStatisticProvider: KernelStatisticProvider
 
   def databaseInfo: DatabaseInfo
+
+  def executingQuery: ExecutingQuery
 }
 
 trait KernelPredicate[T] {
@@ -0,0 +1,483 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.memory.GlobalMemoryTracker;
+import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
+
+import static java.lang.String.format;
+import static org.neo4j.index.internal.gbptree.Layout.FIXED_SIZE_KEY;
+import static org.neo4j.index.internal.gbptree.Layout.FIXED_SIZE_VALUE;
+
+/**
+ * Collects entries, in any order, to later {@link #load(GBPTree, double, ValueMerger) load} them into an empty
+ * {@link GBPTree} using its {@link GBPTree#bulkWriter(double) bulk writer}, which builds the tree bottom-up in one
+ * sequential pass. This is typically used when populating a new index, where building the tree bottom-up from sorted
+ * entries is much faster than inserting the entries one by one.
+ * <p>
+ * Entries are written, using the {@link Layout}, into an off-heap buffer of fixed size. When the buffer is full its
+ * entries are sorted and written as a sorted run to a temporary file next to the tree file, after which the buffer
+ * is reused. When loading, the sorted runs are merged, external merge sort style, into one stream of entries
+ * in ascending key order. Entries with equal keys are given to the {@link ValueMerger} in the order they were added.
+ * <p>
+ * Instances are not thread-safe and the entries can only be loaded once. The loader must be {@link #close() closed}
+ * after use, to delete the temporary file and free the off-heap buffer.
+ *
+ * @param <KEY> type of keys
+ * @param <VALUE> type of values
+ */
+public class BulkLoader<KEY,VALUE> implements Closeable
+{
+    private static final int ENTRY_HEADER_SIZE = Integer.BYTES * 2;
+    private static final int RUN_BUFFER_SIZE = 64 * 1024;
+
+    private final FileSystemAbstraction fs;
+    private final File runsFile;
+    private final Layout<KEY,VALUE> layout;
+    private final int bufferSize;
+    private final long bufferAddress;
+    private final ByteBuffer buffer;
+    private final PageCursor bufferCursor;
+    private final KEY firstSortKey;
+    private final KEY secondSortKey;
+    private int[] entryOffsets = new int[1_024];
+    private int[] mergeOffsets = new int[1_024];
+    private int entryCount;
+    private StoreChannel runsChannel;
+    private final MutableLongList runEnds = new LongArrayList();
+    private boolean loaded;
+    private boolean closed;
+
+    /**
+     * @param fs {@link FileSystemAbstraction} for the temporary file keeping sorted runs.
+     * @param fileBase the tree file, or some other file, which the temporary file will be placed next to.
+     * @param layout {@link Layout} of the tree to load entries into.
+     * @param bufferSize size, in bytes, of the off-heap buffer to collect entries in before writing them
+     * as a sorted run to the temporary file.
+     * @throws IOException if the off-heap buffer couldn't be allocated.
+     */
+    public BulkLoader( FileSystemAbstraction fs, File fileBase, Layout<KEY,VALUE> layout, int bufferSize ) throws IOException
+    {
+        this.fs = fs;
+        this.runsFile = new File( fileBase.getParentFile(), fileBase.getName() + ".bulk" );
+        this.layout = layout;
+        this.bufferSize = bufferSize;
+        this.bufferAddress = UnsafeUtil.allocateMemory( bufferSize, GlobalMemoryTracker.INSTANCE );
+        try
+        {
+            this.buffer = UnsafeUtil.newDirectByteBuffer( bufferAddress, bufferSize );
+        }
+        catch ( Exception e )
+        {
+            UnsafeUtil.free( bufferAddress, bufferSize, GlobalMemoryTracker.INSTANCE );
+            throw new IOException( e );
+        }
+        this.bufferCursor = new ByteBufferPageCursor( buffer );
+        this.firstSortKey = layout.newKey();
+        this.secondSortKey = layout.newKey();
+    }
+
+    /**
+     * Adds an entry to be loaded. Neither {@code key} nor {@code value} are kept by this loader.
+     *
+     * @param key key of the entry.
+     * @param value value of the entry.
+     * @throws IOException on error writing a sorted run to the temporary file.
+     */
+    public void add( KEY key, VALUE value ) throws IOException
+    {
+        if ( loaded )
+        {
+            throw new IllegalStateException( "Entries have already been loaded" );
+        }
+        int keySize = layout.keySize( key );
+        int valueSize = layout.valueSize( value );
+        int entrySize = ENTRY_HEADER_SIZE + keySize + valueSize;
+        if ( entrySize > bufferSize )
+        {
+            throw new IllegalArgumentException( format( "Entry of %d bytes doesn't fit in bulk load buffer of %d bytes",
+                    entrySize, bufferSize ) );
+        }
+        if ( bufferCursor.getOffset() + entrySize > bufferSize )
+        {
+            writeSortedRun();
+        }
+
+        int offset = bufferCursor.getOffset();
+        bufferCursor.putInt( keySize );
+        bufferCursor.putInt( valueSize );
+        layout.writeKey( bufferCursor, key );
+        layout.writeValue( bufferCursor, value );
+        bufferCursor.setOffset( offset + entrySize );
+
+        if ( entryCount == entryOffsets.length )
+        {
+            entryOffsets = Arrays.copyOf( entryOffsets, entryCount * 2 );
+        }
+        entryOffsets[entryCount++] = offset;
+    }
+
+    /**
+     * @return a {@link Writer} which {@link #add(Object, Object) adds} entries to this loader,
+     * for code which produces entries for a {@link Writer}. Any {@link ValueMerger} given to it is ignored in favor of
+     * the one given to {@link #load(GBPTree, double, ValueMerger)}. {@link Writer#remove(Object)} is not supported.
+     */
+    public Writer<KEY,VALUE> writer()
+    {
+        return new Writer<KEY,VALUE>()
+        {
+            @Override
+            public void put( KEY key, VALUE value ) throws IOException
+            {
+                add( key, value );
+            }
+
+            @Override
+            public void merge( KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger ) throws IOException
+            {
+                add( key, value );
+            }
+
+            @Override
+            public VALUE remove( KEY key )
+            {
+                throw new UnsupportedOperationException( "Bulk loader can only add entries" );
+            }
+
+            @Override
+            public void close()
+            {   // Nothing to close
+            }
+        };
+    }
+
+    /**
+     * Loads all added entries, in ascending key order, into the given empty {@code tree}.
+     *
+     * @param tree empty {@link GBPTree} to load entries into.
+     * @param fillFactor how full to make each tree node, see {@link GBPTree#bulkWriter(double)}.
+     * @param valueMerger {@link ValueMerger} for entries with equal keys. The existing value is that of the entry
+     * added before the new value.
+     * @throws IOException on error reading sorted runs or writing to the tree.
+     */
+    public void load( GBPTree<KEY,VALUE> tree, double fillFactor, ValueMerger<KEY,VALUE> valueMerger ) throws IOException
+    {
+        try ( Writer<KEY,VALUE> writer = tree.bulkWriter( fillFactor ) )
+        {
+            load( writer, valueMerger );
+        }
+    }
+
+    /**
+     * Loads all added entries, in ascending key order, into the given {@code writer}, typically acquired from
+     * {@link GBPTree#bulkWriter(double)} before entries were added, so that the tree is known to be changing.
+     * The writer is not closed by this method.
+     *
+     * @param writer {@link Writer} to write all entries to, in ascending key order.
+     * @param valueMerger {@link ValueMerger} for entries with equal keys. The existing value is that of the entry
+     * added before the new value.
+     * @throws IOException on error reading sorted runs or writing to the tree.
+     */
+    public void load( Writer<KEY,VALUE> writer, ValueMerger<KEY,VALUE> valueMerger ) throws IOException
+    {
+        if ( loaded )
+        {
+            throw new IllegalStateException( "Entries have already been loaded" );
+        }
+        loaded = true;
+
+        sortBuffer();
+        List<Run> runs = new ArrayList<>();
+        long runStart = 0;
+        for ( int i = 0; i < runEnds.size(); i++ )
+        {
+            runs.add( new FileRun( runs.size(), runStart, runEnds.get( i ) ) );
+            runStart = runEnds.get( i );
+        }
+        runs.add( new BufferRun( runs.size() ) );
+
+        PriorityQueue<Run> queue = new PriorityQueue<>( runs.size(), ( first, second ) ->
+        {
+            int comparison = layout.compare( first.key, second.key );
+            return comparison != 0 ? comparison : Integer.compare( first.order, second.order );
+        } );
+        for ( Run run : runs )
+        {
+            if ( run.next() )
+            {
+                queue.add( run );
+            }
+        }
+
+        Run run;
+        while ( (run = queue.poll()) != null )
+        {
+            writer.merge( run.key, run.value, valueMerger );
+            if ( run.next() )
+            {
+                queue.add( run );
+            }
+        }
+    }
+
+    private void writeSortedRun() throws IOException
+    {
+        sortBuffer();
+        if ( runsChannel == null )
+        {
+            runsChannel = fs.create( runsFile );
+        }
+
+        ByteBuffer runBuffer = ByteBuffer.allocate( RUN_BUFFER_SIZE );
+        ByteBuffer entries = buffer.duplicate();
+        for ( int i = 0; i < entryCount; i++ )
+        {
+            int offset = entryOffsets[i];
+            entries.limit( offset + entrySize( offset ) ).position( offset );
+            if ( runBuffer.remaining() < entries.remaining() )
+            {
+                runBuffer.flip();
+                runsChannel.writeAll( runBuffer );
+                runBuffer.clear();
+            }
+            if ( runBuffer.remaining() < entries.remaining() )
+            {
+                runsChannel.writeAll( entries );
+            }
+            else
+            {
+                runBuffer.put( entries );
+            }
+        }
+        runBuffer.flip();
+        runsChannel.writeAll( runBuffer );
+
+        runEnds.add( runsChannel.position() );
+        entryCount = 0;
+        bufferCursor.setOffset( 0 );
+    }
+
+    private int entrySize( int offset )
+    {
+        return ENTRY_HEADER_SIZE + buffer.getInt( offset ) + buffer.getInt( offset + Integer.BYTES );
+    }
+
+    /**
+     * Stable merge sort of the offsets of the entries in the buffer, by key.
+     */
+    private void sortBuffer() throws IOException
+    {
+        if ( mergeOffsets.length < entryCount )
+        {
+            mergeOffsets = new int[entryOffsets.length];
+        }
+        for ( int width = 1; width < entryCount; width *= 2 )
+        {
+            for ( int low = 0; low < entryCount; low += 2 * width )
+            {
+                int middle = Math.min( low + width, entryCount );
+                int high = Math.min( low + 2 * width, entryCount );
+                int left = low;
+                int right = middle;
+                for ( int i = low; i < high; i++ )
+                {
+                    if ( left < middle && (right >= high || compareEntries( entryOffsets[left], entryOffsets[right] ) <= 0) )
+                    {
+                        mergeOffsets[i] = entryOffsets[left++];
+                    }
+                    else
+                    {
+                        mergeOffsets[i] = entryOffsets[right++];
+                    }
+                }
+            }
+            int[] sorted = mergeOffsets;
+            mergeOffsets = entryOffsets;
+            entryOffsets = sorted;
+        }
+    }
+
+    private int compareEntries( int firstOffset, int secondOffset ) throws IOException
+    {
+        readKey( firstOffset, firstSortKey );
+        readKey( secondOffset, secondSortKey );
+        return layout.compare( firstSortKey, secondSortKey );
+    }
+
+    private void readKey( int offset, KEY into ) throws IOException
+    {
+        int keySize = buffer.getInt( offset );
+        bufferCursor.setOffset( offset + ENTRY_HEADER_SIZE );
+        layout.readKey( bufferCursor, into, layout.fixedSize() ? FIXED_SIZE_KEY : keySize );
+        bufferCursor.checkAndClearCursorException();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        if ( closed )
+        {
+            return;
+        }
+        closed = true;
+        UnsafeUtil.free( bufferAddress, bufferSize, GlobalMemoryTracker.INSTANCE );
+        if ( runsChannel != null )
+        {
+            runsChannel.close();
+            fs.deleteFile( runsFile );
+        }
+    }
+
+    /**
+     * Sorted entries, read one by one into {@link #key} and {@link #value}.
+     */
+    private abstract class Run
+    {
+        final int order;
+        final KEY key = layout.newKey();
+        final VALUE value = layout.newValue();
+
+        Run( int order )
+        {
+            this.order = order;
+        }
+
+        abstract boolean next() throws IOException;
+
+        void readEntry( PageCursor cursor, int keySize, int valueSize ) throws IOException
+        {
+            int offset = cursor.getOffset();
+            layout.readKey( cursor, key, layout.fixedSize() ? FIXED_SIZE_KEY : keySize );
+            cursor.setOffset( offset + keySize );
+            layout.readValue( cursor, value, layout.fixedSize() ? FIXED_SIZE_VALUE : valueSize );
+            cursor.setOffset( offset + keySize + valueSize );
+            cursor.checkAndClearCursorException();
+        }
+    }
+
+    /**
+     * Entries in the buffer, which are not written to the temporary file.
+     */
+    private class BufferRun extends Run
+    {
+        private int index;
+
+        BufferRun( int order )
+        {
+            super( order );
+        }
+
+        @Override
+        boolean next() throws IOException
+        {
+            if ( index >= entryCount )
+            {
+                return false;
+            }
+            int offset = entryOffsets[index++];
+            bufferCursor.setOffset( offset );
+            int keySize = bufferCursor.getInt();
+            int valueSize = bufferCursor.getInt();
+            readEntry( bufferCursor, keySize, valueSize );
+            return true;
+        }
+    }
+
+    /**
+     * A sorted run in the temporary file, read through a small buffer of its own.
+     */
+    private class FileRun extends Run
+    {
+        private final long end;
+        private long position;
+        private ByteBuffer runBuffer;
+        private PageCursor runCursor;
+
+        FileRun( int order, long start, long end )
+        {
+            super( order );
+            this.position = start;
+            this.end = end;
+            this.runBuffer = ByteBuffer.allocate( RUN_BUFFER_SIZE );
+            this.runBuffer.limit( 0 );
+            this.runCursor = new ByteBufferPageCursor( runBuffer );
+        }
+
+        @Override
+        boolean next() throws IOException
+        {
+            if ( position == end && !runBuffer.hasRemaining() )
+            {
+                return false;
+            }
+            ensureBuffered( ENTRY_HEADER_SIZE );
+            int keySize = runCursor.getInt();
+            int valueSize = runCursor.getInt();
+            ensureBuffered( keySize + valueSize );
+            readEntry( runCursor, keySize, valueSize );
+            return true;
+        }
+
+        private void ensureBuffered( int bytes ) throws IOException
+        {
+            if ( runBuffer.remaining() >= bytes )
+            {
+                return;
+            }
+            if ( bytes > runBuffer.capacity() )
+            {
+                ByteBuffer largerBuffer = ByteBuffer.allocate( bytes );
+                largerBuffer.put( runBuffer );
+                runBuffer = largerBuffer;
+                runCursor = new ByteBufferPageCursor( runBuffer );
+            }
+            else
+            {
+                runBuffer.compact();
+            }
+            while ( runBuffer.position() < bytes )
+            {
+                runBuffer.limit( (int) Math.min( runBuffer.capacity(), runBuffer.position() + end - position ) );
+                int read = runsChannel.read( runBuffer, position );
+                if ( read <= 0 )
+                {
+                    throw new IOException( format( "Unexpected end of sorted run at %d in %s", position, runsFile ) );
+                }
+                position += read;
+            }
+            runBuffer.flip();
+        }
+    }
+}
@@ -29,13 +29,19 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 import org.neo4j.cursor.RawCursor;
 import org.neo4j.helpers.Exceptions;
+import org.neo4j.index.internal.gbptree.InternalTreeLogic.LeafChange;
 import org.neo4j.io.pagecache.IOLimiter;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.PageCursor;
@@ -51,6 +57,8 @@ import static org.neo4j.index.internal.gbptree.Header.CARRY_OVER_PREVIOUS_HEADER
 import static org.neo4j.index.internal.gbptree.Header.replace;
 import static org.neo4j.index.internal.gbptree.PageCursorUtil.checkOutOfBounds;
 import static org.neo4j.index.internal.gbptree.PointerChecking.assertNoSuccessor;
+import static org.neo4j.index.internal.gbptree.TreeNode.Type.INTERNAL;
+import static org.neo4j.index.internal.gbptree.TreeNode.Type.LEAF;
 
 /**
  * A generation-aware B+tree (GB+Tree) implementation directly atop a {@link PageCache} with no caching in between.
@@ -76,6 +84,8 @@ import static org.neo4j.index.internal.gbptree.PointerChecking.assertNoSuccessor
  * <p>
  * A single writer w/ multiple concurrent readers is supported. Assuming usage adheres to this
  * constraint neither writer nor readers are blocking. Readers are virtually garbage-free.
+ * Alternatively multiple {@link #concurrentWriter() concurrent writers} can modify the tree at the same time,
+ * blocking each other only when changing the same leaf or when changing the structure of the tree.
  * <p>
  * An reader of GB+Tree is a {@link SeekCursor} that returns result as it finds them.
  * As the cursor move over keys/values, returned results are considered "behind" it
@@ -257,6 +267,20 @@ public class GBPTree<KEY,VALUE> implements Closeable
      */
     private final GBPTreeLock lock = new GBPTreeLock();
 
+    /**
+     * Used by {@link #concurrentWriter() concurrent writers}. Changes which only touch a single leaf are made
+     * holding the read lock, which guarantees that internal nodes don't change and leaves stay where they are.
+     * Changes which change structure of the tree, i.e. splits, merges, rebalancing or successors of nodes,
+     * are made holding the write lock.
+     */
+    private final ReadWriteLock structureLock = new ReentrantReadWriteLock();
+
+    /**
+     * Used by {@link #concurrentWriter() concurrent writers} to serialize changes in the same leaf,
+     * striped by leaf id.
+     */
+    private final Object[] leafLatches = newLeafLatches();
+
     /**
      * Page size, i.e. tree node size, of the tree nodes in this tree. The page size is determined on
      * tree creation, stored in meta page and read when opening tree later.
@@ -966,6 +990,72 @@ public class GBPTree<KEY,VALUE> implements Closeable
         return writer;
     }
 
+    /**
+     * Returns a {@link Writer} able to modify the index, i.e. insert and remove keys/values, at the same time
+     * as other writers returned from this method. Each writer is meant to be used by a single thread.
+     * After usage the returned writer must be closed, typically by using try-with-resource clause.
+     * <p>
+     * Writers find the leaf to change without locking, and only lock that leaf while changing it.
+     * Changes to the structure of the tree, which are comparatively rare, are made by one writer at a time.
+     * Concurrent writers can not be used at the same time as the {@link #writer() single writer},
+     * and will wait for it to be closed.
+     *
+     * @return a new {@link Writer} which can be used at the same time as other concurrent writers.
+     * The returned writer must be {@link Writer#close() closed} before the next {@link #checkpoint(IOLimiter)}
+     * can happen.
+     * @throws IOException on error accessing the index.
+     */
+    public Writer<KEY,VALUE> concurrentWriter() throws IOException
+    {
+        assertRecoveryCleanSuccessful();
+        ConcurrentWriter concurrentWriter = new ConcurrentWriter( new InternalTreeLogic<>( freeList, bTreeNode, layout ) );
+        concurrentWriter.initialize();
+        changesSinceLastCheckpoint = true;
+        return concurrentWriter;
+    }
+
+    /**
+     * Returns a {@link Writer} which builds the tree bottom-up from entries given in ascending key order,
+     * filling each leaf, one after the other, before moving on to the next and adding the keys separating them
+     * to internal nodes as they fill up in the same way. This is much faster than inserting the same entries
+     * using {@link #writer()}, both because no tree traversal, split or rebalance take place and because
+     * pages are written sequentially. Nodes are filled to about {@code fillFactor}, leaving space
+     * for future inserts to not immediately cause splits.
+     * <p>
+     * The bulk writer can only be used on an empty tree and excludes all other writers while it's open.
+     * Entries with the same key as the previous entry are merged with it, using the given {@link ValueMerger},
+     * but entries with key less than the previous entry are not allowed. The built tree replaces the empty
+     * tree when the bulk writer is {@link Writer#close() closed}.
+     *
+     * @param fillFactor how full, in the range {@code (0,1]}, to make each node before moving on to the next.
+     * @return a {@link Writer} for inserting entries in ascending key order into this empty tree.
+     * {@link Writer#remove(Object)} is not supported.
+     * @throws IOException on error accessing the index.
+     * @throws IllegalStateException if this tree isn't empty.
+     */
+    public Writer<KEY,VALUE> bulkWriter( double fillFactor ) throws IOException
+    {
+        if ( fillFactor <= 0 || fillFactor > 1 )
+        {
+            throw new IllegalArgumentException( "Fill factor must be in the range (0,1], was " + fillFactor );
+        }
+        assertRecoveryCleanSuccessful();
+        BulkWriter bulkWriter = new BulkWriter( fillFactor );
+        bulkWriter.initialize();
+        changesSinceLastCheckpoint = true;
+        return bulkWriter;
+    }
+
+    private static Object[] newLeafLatches()
+    {
+        Object[] latches = new Object[64];
+        for ( int i = 0; i < latches.length; i++ )
+        {
+            latches[i] = new Object();
+        }
+        return latches;
+    }
+
     private void setRoot( long rootId, long rootGeneration )
     {
         this.root = new Root( rootId, rootGeneration );
@@ -1213,13 +1303,6 @@ public class GBPTree<KEY,VALUE> implements Closeable
             checkOutOfBounds( cursor );
         }
 
-        private void setRoot( long rootPointer )
-        {
-            long rootId = GenerationSafePointerPair.pointer( rootPointer );
-            GBPTree.this.setRoot( rootId, unstableGeneration );
-            treeLogic.initialize( cursor );
-        }
-
         @Override
         public VALUE remove( KEY key ) throws IOException
         {
@@ -1243,25 +1326,7 @@ public class GBPTree<KEY,VALUE> implements Closeable
 
         private void handleStructureChanges() throws IOException
         {
-            if ( structurePropagation.hasRightKeyInsert )
-            {
-                // New root
-                long newRootId = freeList.acquireNewId( stableGeneration, unstableGeneration );
-                PageCursorUtil.goTo( cursor, "new root", newRootId );
-
-                bTreeNode.initializeInternal( cursor, stableGeneration, unstableGeneration );
-                bTreeNode.setChildAt( cursor, structurePropagation.midChild, 0,
-                        stableGeneration, unstableGeneration );
-                bTreeNode.insertKeyAndRightChildAt( cursor, structurePropagation.rightKey, structurePropagation.rightChild, 0, 0,
-                        stableGeneration, unstableGeneration );
-                TreeNode.setKeyCount( cursor, 1 );
-                setRoot( newRootId );
-            }
-            else if ( structurePropagation.hasMidChildUpdate )
-            {
-                setRoot( structurePropagation.midChild );
-            }
-            structurePropagation.clear();
+            handleRootChanges( cursor, structurePropagation, treeLogic, stableGeneration, unstableGeneration );
         }
 
         @Override
@@ -1286,6 +1351,515 @@ public class GBPTree<KEY,VALUE> implements Closeable
         }
     }
 
+    /**
+     * Handles structure changes which propagated all the way up to the root, i.e. a split root or a successor of it.
+     */
+    private void handleRootChanges( PageCursor cursor, StructurePropagation<KEY> structurePropagation,
+            InternalTreeLogic<KEY,VALUE> treeLogic, long stableGeneration, long unstableGeneration ) throws IOException
+    {
+        if ( structurePropagation.hasRightKeyInsert )
+        {
+            // New root
+            long newRootId = freeList.acquireNewId( stableGeneration, unstableGeneration );
+            PageCursorUtil.goTo( cursor, "new root", newRootId );
+
+            bTreeNode.initializeInternal( cursor, stableGeneration, unstableGeneration );
+            bTreeNode.setChildAt( cursor, structurePropagation.midChild, 0,
+                    stableGeneration, unstableGeneration );
+            bTreeNode.insertKeyAndRightChildAt( cursor, structurePropagation.rightKey, structurePropagation.rightChild, 0, 0,
+                    stableGeneration, unstableGeneration );
+            TreeNode.setKeyCount( cursor, 1 );
+            setRoot( GenerationSafePointerPair.pointer( newRootId ), unstableGeneration );
+            treeLogic.initialize( cursor );
+        }
+        else if ( structurePropagation.hasMidChildUpdate )
+        {
+            setRoot( GenerationSafePointerPair.pointer( structurePropagation.midChild ), unstableGeneration );
+            treeLogic.initialize( cursor );
+        }
+        structurePropagation.clear();
+    }
+
+    /**
+     * One of possibly many writers modifying the tree at the same time. Changes local to a single leaf are made
+     * concurrently with other writers, holding the read lock of {@link #structureLock} and the latch of that leaf.
+     * All other changes are made as the {@link SingleWriter} would make them, holding the write lock of
+     * {@link #structureLock}.
+     */
+    private class ConcurrentWriter implements Writer<KEY,VALUE>
+    {
+        private final InternalTreeLogic<KEY,VALUE> treeLogic;
+        private final StructurePropagation<KEY> structurePropagation;
+        private final VALUE removed;
+        private PageCursor readCursor;
+        private boolean locked;
+
+        // Writer can't live past a checkpoint because of the mutex with checkpoint,
+        // therefore safe to locally cache these generation fields from the volatile generation in the tree
+        private long stableGeneration;
+        private long unstableGeneration;
+
+        ConcurrentWriter( InternalTreeLogic<KEY,VALUE> treeLogic )
+        {
+            this.structurePropagation = new StructurePropagation<>( layout.newKey(), layout.newKey(), layout.newKey() );
+            this.treeLogic = treeLogic;
+            this.removed = layout.newValue();
+        }
+
+        void initialize() throws IOException
+        {
+            lock.sharedWriterLock();
+            locked = true;
+            boolean success = false;
+            try
+            {
+                readCursor = pagedFile.io( 0L /*Ignored*/, PagedFile.PF_SHARED_READ_LOCK );
+                stableGeneration = stableGeneration( generation );
+                unstableGeneration = unstableGeneration( generation );
+                success = true;
+            }
+            catch ( Throwable e )
+            {
+                appendTreeInformation( e );
+                throw e;
+            }
+            finally
+            {
+                if ( !success )
+                {
+                    close();
+                }
+            }
+        }
+
+        @Override
+        public void put( KEY key, VALUE value ) throws IOException
+        {
+            merge( key, value, ValueMergers.overwrite() );
+        }
+
+        @Override
+        public void merge( KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger ) throws IOException
+        {
+            try
+            {
+                structureLock.readLock().lock();
+                try
+                {
+                    long leafId = treeLogic.leafIdFor( readCursor, root.id(), key, stableGeneration, unstableGeneration );
+                    synchronized ( leafLatch( leafId ) )
+                    {
+                        try ( PageCursor cursor = openLeafCursor( leafId ) )
+                        {
+                            LeafChange change = treeLogic.tryInsertInLeaf( cursor, key, value, valueMerger, unstableGeneration );
+                            checkOutOfBounds( cursor );
+                            if ( change != LeafChange.NOT_LEAF_LOCAL )
+                            {
+                                return;
+                            }
+                        }
+                    }
+                }
+                finally
+                {
+                    structureLock.readLock().unlock();
+                }
+
+                structureLock.writeLock().lock();
+                try ( PageCursor cursor = openRootCursor( PagedFile.PF_SHARED_WRITE_LOCK ) )
+                {
+                    treeLogic.initialize( cursor );
+                    treeLogic.insert( cursor, structurePropagation, key, value, valueMerger,
+                            stableGeneration, unstableGeneration );
+                    handleRootChanges( cursor, structurePropagation, treeLogic, stableGeneration, unstableGeneration );
+                    checkOutOfBounds( cursor );
+                }
+                finally
+                {
+                    structureLock.writeLock().unlock();
+                }
+            }
+            catch ( Throwable e )
+            {
+                appendTreeInformation( e );
+                throw e;
+            }
+        }
+
+        @Override
+        public VALUE remove( KEY key ) throws IOException
+        {
+            try
+            {
+                structureLock.readLock().lock();
+                try
+                {
+                    long leafId = treeLogic.leafIdFor( readCursor, root.id(), key, stableGeneration, unstableGeneration );
+                    synchronized ( leafLatch( leafId ) )
+                    {
+                        try ( PageCursor cursor = openLeafCursor( leafId ) )
+                        {
+                            LeafChange change = treeLogic.tryRemoveFromLeaf( cursor, key, removed, unstableGeneration );
+                            checkOutOfBounds( cursor );
+                            if ( change != LeafChange.NOT_LEAF_LOCAL )
+                            {
+                                return change == LeafChange.CHANGED ? removed : null;
+                            }
+                        }
+                    }
+                }
+                finally
+                {
+                    structureLock.readLock().unlock();
+                }
+
+                structureLock.writeLock().lock();
+                try ( PageCursor cursor = openRootCursor( PagedFile.PF_SHARED_WRITE_LOCK ) )
+                {
+                    treeLogic.initialize( cursor );
+                    VALUE result = treeLogic.remove( cursor, structurePropagation, key, removed,
+                            stableGeneration, unstableGeneration );
+                    handleRootChanges( cursor, structurePropagation, treeLogic, stableGeneration, unstableGeneration );
+                    checkOutOfBounds( cursor );
+                    return result;
+                }
+                finally
+                {
+                    structureLock.writeLock().unlock();
+                }
+            }
+            catch ( Throwable e )
+            {
+                appendTreeInformation( e );
+                throw e;
+            }
+        }
+
+        private Object leafLatch( long leafId )
+        {
+            return leafLatches[(int) (leafId & (leafLatches.length - 1))];
+        }
+
+        private PageCursor openLeafCursor( long leafId ) throws IOException
+        {
+            PageCursor cursor = pagedFile.io( leafId, PagedFile.PF_SHARED_WRITE_LOCK );
+            try
+            {
+                PageCursorUtil.goTo( cursor, "leaf", leafId );
+            }
+            catch ( Throwable e )
+            {
+                cursor.close();
+                throw e;
+            }
+            return cursor;
+        }
+
+        @Override
+        public void close()
+        {
+            if ( !locked )
+            {
+                throw new IllegalStateException( "Tried to close writer of " + GBPTree.this +
+                        ", but writer is already closed." );
+            }
+            if ( readCursor != null )
+            {
+                readCursor.close();
+                readCursor = null;
+            }
+            locked = false;
+            lock.sharedWriterUnlock();
+        }
+    }
+
+    /**
+     * Builds a new tree bottom-up from entries arriving in ascending key order, see {@link #bulkWriter(double)}.
+     * Keeps one cursor per level of the tree, placed at the right-most node of that level. When the leaf is full
+     * a new leaf is started to the right of it and the key separating the two is added to the parent,
+     * which in turn may start a new node to its right, and so on. The top-most level always has a single node,
+     * which becomes the new root on {@link #close()}.
+     */
+    private class BulkWriter implements Writer<KEY,VALUE>
+    {
+        private final double fillFactor;
+        private final List<PageCursor> cursors = new ArrayList<>();
+        private final List<Long> nodeIds = new ArrayList<>();
+        private int[] keyCounts = new int[8];
+        private final KEY lastKey;
+        private final VALUE lastValue;
+        private final KEY splitter;
+        private boolean hasLastKey;
+        private boolean compacted;
+        private boolean locked;
+        private long oldRootId;
+
+        // Writer can't live past a checkpoint because of the mutex with checkpoint,
+        // therefore safe to locally cache these generation fields from the volatile generation in the tree
+        private long stableGeneration;
+        private long unstableGeneration;
+
+        BulkWriter( double fillFactor )
+        {
+            this.fillFactor = fillFactor;
+            this.lastKey = layout.newKey();
+            this.lastValue = layout.newValue();
+            this.splitter = layout.newKey();
+        }
+
+        void initialize() throws IOException
+        {
+            lock.writerLock();
+            locked = true;
+            boolean success = false;
+            try
+            {
+                stableGeneration = stableGeneration( generation );
+                unstableGeneration = unstableGeneration( generation );
+                try ( PageCursor cursor = openRootCursor( PagedFile.PF_SHARED_READ_LOCK ) )
+                {
+                    boolean empty;
+                    do
+                    {
+                        empty = TreeNode.isLeaf( cursor ) && TreeNode.keyCount( cursor ) == 0;
+                    }
+                    while ( cursor.shouldRetry() );
+                    checkOutOfBounds( cursor );
+                    if ( !empty )
+                    {
+                        throw new IllegalStateException( "Bulk writer can only be used on an empty tree, " + GBPTree.this );
+                    }
+                }
+                oldRootId = root.id();
+                newNode( 0 );
+                success = true;
+            }
+            finally
+            {
+                if ( !success )
+                {
+                    closeCursors();
+                    locked = false;
+                    lock.writerUnlock();
+                }
+            }
+        }
+
+        @Override
+        public void put( KEY key, VALUE value ) throws IOException
+        {
+            merge( key, value, ValueMergers.overwrite() );
+        }
+
+        @Override
+        public void merge( KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger ) throws IOException
+        {
+            if ( hasLastKey )
+            {
+                int comparison = layout.compare( key, lastKey );
+                if ( comparison < 0 )
+                {
+                    throw new IllegalArgumentException( "Bulk writer needs keys in ascending order, got " + key +
+                            " after " + lastKey );
+                }
+                if ( comparison == 0 )
+                {
+                    mergeWithLast( key, value, valueMerger );
+                    return;
+                }
+            }
+            append( key, value );
+            layout.copyKey( key, lastKey );
+            hasLastKey = true;
+        }
+
+        @Override
+        public VALUE remove( KEY key )
+        {
+            throw new UnsupportedOperationException( "Bulk writer can only add entries" );
+        }
+
+        private void mergeWithLast( KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger ) throws IOException
+        {
+            PageCursor cursor = cursors.get( 0 );
+            int pos = keyCounts[0] - 1;
+            bTreeNode.valueAt( cursor, lastValue, pos );
+            VALUE mergedValue = valueMerger.merge( lastKey, key, lastValue, value );
+            if ( mergedValue != null && !bTreeNode.setValueAt( cursor, mergedValue, pos ) )
+            {
+                // Merged value has different size, so take the entry out and append it again
+                bTreeNode.removeKeyValueAt( cursor, pos, pos + 1 );
+                keyCounts[0] = pos;
+                TreeNode.setKeyCount( cursor, pos );
+                if ( pos > 0 )
+                {
+                    // Any new leaf needs a splitter between the entry before this one and this one
+                    bTreeNode.keyAt( cursor, lastKey, pos - 1, LEAF );
+                }
+                append( key, mergedValue );
+                layout.copyKey( key, lastKey );
+            }
+            checkOutOfBounds( cursor );
+        }
+
+        private void append( KEY key, VALUE value ) throws IOException
+        {
+            PageCursor cursor = cursors.get( 0 );
+            int keyCount = keyCounts[0];
+            if ( !fitsInLeaf( cursor, keyCount, key, value ) )
+            {
+                layout.minimalSplitter( lastKey, key, splitter );
+                long leftId = nodeIds.get( 0 );
+                newNode( 0 );
+                addToParent( 1, leftId, splitter, nodeIds.get( 0 ) );
+                keyCount = 0;
+            }
+            bTreeNode.insertKeyValueAt( cursor, key, value, keyCount, keyCount );
+            keyCounts[0] = keyCount + 1;
+            TreeNode.setKeyCount( cursor, keyCount + 1 );
+            checkOutOfBounds( cursor );
+        }
+
+        private boolean fitsInLeaf( PageCursor cursor, int keyCount, KEY key, VALUE value )
+        {
+            if ( keyCount == 0 )
+            {
+                return true;
+            }
+            while ( true )
+            {
+                if ( !bTreeNode.reachedFillFactor( cursor, keyCount, LEAF, fillFactor ) )
+                {
+                    TreeNode.Overflow overflow = bTreeNode.leafOverflow( cursor, keyCount, key, value );
+                    if ( overflow == TreeNode.Overflow.NO )
+                    {
+                        return true;
+                    }
+                    if ( overflow == TreeNode.Overflow.NO_NEED_DEFRAG )
+                    {
+                        bTreeNode.defragmentLeaf( cursor );
+                        return true;
+                    }
+                }
+                // Compact each leaf at most once, entries appended after that are as compact as they can be
+                if ( compacted )
+                {
+                    return false;
+                }
+                compacted = true;
+                if ( !bTreeNode.compactLeaf( cursor, keyCount ) )
+                {
+                    return false;
+                }
+            }
+        }
+
+        /**
+         * Adds {@code key}, separating {@code leftChild} and {@code rightChild}, to the right-most node of {@code level},
+         * creating that level if it doesn't exist and starting a new node to the right if that node is full.
+         */
+        private void addToParent( int level, long leftChild, KEY key, long rightChild ) throws IOException
+        {
+            if ( level == cursors.size() )
+            {
+                newNode( level );
+                bTreeNode.setChildAt( cursors.get( level ), leftChild, 0, stableGeneration, unstableGeneration );
+            }
+
+            PageCursor cursor = cursors.get( level );
+            int keyCount = keyCounts[level];
+            if ( keyCount > 0 && (bTreeNode.reachedFillFactor( cursor, keyCount, INTERNAL, fillFactor ) ||
+                    bTreeNode.internalOverflow( cursor, keyCount, key ) != TreeNode.Overflow.NO) )
+            {
+                // The key separating the full node and the new node goes to the parent, not into any of the two
+                long leftId = nodeIds.get( level );
+                newNode( level );
+                bTreeNode.setChildAt( cursor, rightChild, 0, stableGeneration, unstableGeneration );
+                addToParent( level + 1, leftId, key, nodeIds.get( level ) );
+            }
+            else
+            {
+                bTreeNode.insertKeyAndRightChildAt( cursor, key, rightChild, keyCount, keyCount,
+                        stableGeneration, unstableGeneration );
+                keyCounts[level] = keyCount + 1;
+                TreeNode.setKeyCount( cursor, keyCount + 1 );
+            }
+            checkOutOfBounds( cursor );
+        }
+
+        /**
+         * Starts a new node at {@code level}, as right sibling of the current right-most node of that level, if any.
+         */
+        private void newNode( int level ) throws IOException
+        {
+            long newId = freeList.acquireNewId( stableGeneration, unstableGeneration );
+            PageCursor cursor;
+            long leftId = TreeNode.NO_NODE_FLAG;
+            if ( level == cursors.size() )
+            {
+                cursor = pagedFile.io( newId, PagedFile.PF_SHARED_WRITE_LOCK );
+                cursors.add( cursor );
+                nodeIds.add( newId );
+                if ( level == keyCounts.length )
+                {
+                    keyCounts = Arrays.copyOf( keyCounts, level * 2 );
+                }
+            }
+            else
+            {
+                cursor = cursors.get( level );
+                leftId = nodeIds.get( level );
+                TreeNode.setRightSibling( cursor, newId, stableGeneration, unstableGeneration );
+                checkOutOfBounds( cursor );
+                nodeIds.set( level, newId );
+            }
+
+            PageCursorUtil.goTo( cursor, "new node", newId );
+            if ( level == 0 )
+            {
+                bTreeNode.initializeLeaf( cursor, stableGeneration, unstableGeneration );
+                compacted = false;
+            }
+            else
+            {
+                bTreeNode.initializeInternal( cursor, stableGeneration, unstableGeneration );
+            }
+            TreeNode.setLeftSibling( cursor, leftId, stableGeneration, unstableGeneration );
+            keyCounts[level] = 0;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            if ( !locked )
+            {
+                throw new IllegalStateException( "Tried to close bulk writer of " + GBPTree.this +
+                        ", but writer is already closed." );
+            }
+            try
+            {
+                long rootId = nodeIds.get( nodeIds.size() - 1 );
+                closeCursors();
+                setRoot( GenerationSafePointerPair.pointer( rootId ), unstableGeneration );
+                freeList.releaseId( stableGeneration, unstableGeneration, oldRootId );
+            }
+            finally
+            {
+                locked = false;
+                lock.writerUnlock();
+            }
+        }
+
+        private void closeCursors()
+        {
+            for ( PageCursor cursor : cursors )
+            {
+                cursor.close();
+            }
+            cursors.clear();
+        }
+    }
+
     public boolean wasDirtyOnStartup()
     {
         return dirtyOnStartup;
@@ -24,11 +24,19 @@ import java.util.concurrent.locks.LockSupport;
 
 import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
 
+/**
+ * Lock with two individual parts, writer lock and cleaner lock. The writer lock can also be held in a shared mode,
+ * by any number of {@link GBPTree#concurrentWriter() concurrent writers} at the same time. A thread waiting for the
+ * exclusive writer lock stops new shared holders from coming in, so that it doesn't wait forever.
+ */
 class GBPTreeLock
 {
     private static final long stateOffset = UnsafeUtil.getFieldOffset( GBPTreeLock.class, "state" );
     private static final long writerLockBit = 0x00000000_00000001L;
     private static final long cleanerLockBit = 0x00000000_00000002L;
+    private static final long sharedWriterDrainBit = 0x00000000_00000004L;
+    private static final long sharedWriterUnit = 0x00000001_00000000L;
+    private static final long sharedWriterMask = 0x7FFFFFFF_00000000L;
     private volatile long state;
 
     // Used for testing
@@ -49,6 +57,35 @@ class GBPTreeLock
         doUnlock( writerLockBit );
     }
 
+    void sharedWriterLock()
+    {
+        long currentState;
+        do
+        {
+            currentState = state;
+            while ( (currentState & (writerLockBit | sharedWriterDrainBit)) != 0 )
+            {
+                sleep();
+                currentState = state;
+            }
+        }
+        while ( !UnsafeUtil.compareAndSwapLong( this, stateOffset, currentState, currentState + sharedWriterUnit ) );
+    }
+
+    void sharedWriterUnlock()
+    {
+        long currentState;
+        do
+        {
+            currentState = state;
+            if ( (currentState & sharedWriterMask) == 0 )
+            {
+                throw new IllegalStateException( "Can not unlock lock that is already locked" );
+            }
+        }
+        while ( !UnsafeUtil.compareAndSwapLong( this, stateOffset, currentState, currentState - sharedWriterUnit ) );
+    }
+
     void cleanerLock()
     {
         doLock( cleanerLockBit );
@@ -78,11 +115,21 @@ class GBPTreeLock
             currentState = state;
             while ( !canLock( currentState, targetLockBit ) )
             {
+                if ( (currentState & targetLockBit) == 0 && isWaitingForSharedWriters( currentState, targetLockBit ) )
+                {
+                    // Keep new shared writers out while waiting for the current ones to finish
+                    UnsafeUtil.compareAndSwapLong( this, stateOffset, currentState, currentState | sharedWriterDrainBit );
+                }
                 // sleep
                 sleep();
                 currentState = state;
             }
             newState = currentState | targetLockBit;
+            if ( (targetLockBit & writerLockBit) != 0 )
+            {
+                // Holding the writer lock keeps shared writers out from here on
+                newState &= ~sharedWriterDrainBit;
+            }
         } while ( !UnsafeUtil.compareAndSwapLong( this, stateOffset, currentState, newState ) );
     }
 
@@ -104,7 +151,12 @@ class GBPTreeLock
 
     private boolean canLock( long state, long targetLockBit )
     {
-        return (state & targetLockBit) == 0;
+        return (state & targetLockBit) == 0 && !isWaitingForSharedWriters( state, targetLockBit );
+    }
+
+    private boolean isWaitingForSharedWriters( long state, long targetLockBit )
+    {
+        return (targetLockBit & writerLockBit) != 0 && (state & sharedWriterMask) != 0;
     }
 
     private boolean canUnlock( long state, long targetLockBit )
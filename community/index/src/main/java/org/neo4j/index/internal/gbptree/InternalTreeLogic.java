@@ -84,6 +84,27 @@ import static org.neo4j.index.internal.gbptree.TreeNode.Type.LEAF;
  */
 class InternalTreeLogic<KEY,VALUE>
 {
+    /**
+     * Outcome of {@link #tryInsertInLeaf(PageCursor, Object, Object, ValueMerger, long)} and
+     * {@link #tryRemoveFromLeaf(PageCursor, Object, Object, long)}, which never change anything but the leaf
+     * the cursor is at.
+     */
+    enum LeafChange
+    {
+        /**
+         * Leaf was changed.
+         */
+        CHANGED,
+        /**
+         * Leaf didn't need to change, e.g. the key to remove wasn't there.
+         */
+        UNCHANGED,
+        /**
+         * Change involves more than this leaf, or would need to defragment it. Nothing was changed.
+         */
+        NOT_LEAF_LOCAL
+    }
+
     private final IdProvider idProvider;
     private final TreeNode<KEY,VALUE> bTreeNode;
     private final Layout<KEY,VALUE> layout;
@@ -316,6 +337,135 @@ class InternalTreeLogic<KEY,VALUE>
                 key + ", cursor is at " + cursor.getCurrentPageId();
     }
 
+    /**
+     * Finds id of the leaf covering {@code key} by searching from root and down through internal nodes,
+     * using a cursor which only reads. This doesn't change or use the path remembered from previous changes.
+     * <p>
+     * Internal nodes are expected to be left unchanged while searching, and so a read only has to be retried
+     * if the page cache says so. The returned leaf id is only valid for as long as that is true.
+     *
+     * @param readCursor {@link PageCursor} opened with a read lock, moved to the leaf when this method returns.
+     * @param rootId id of the current root.
+     * @param key KEY to find leaf for.
+     * @param stableGeneration stable generation.
+     * @param unstableGeneration unstable generation.
+     * @return id of the leaf which covers {@code key}.
+     * @throws IOException on {@link PageCursor} error.
+     */
+    long leafIdFor( PageCursor readCursor, long rootId, KEY key, long stableGeneration, long unstableGeneration )
+            throws IOException
+    {
+        TreeNode.goTo( readCursor, "root", rootId );
+        while ( true )
+        {
+            boolean isInternal;
+            int searchResult;
+            long childId;
+            do
+            {
+                isInternal = TreeNode.isInternal( readCursor );
+                searchResult = 0;
+                childId = TreeNode.NO_NODE_FLAG;
+                if ( isInternal )
+                {
+                    int keyCount = TreeNode.keyCount( readCursor );
+                    searchResult = KeySearch.search( readCursor, bTreeNode, INTERNAL, key, readKey, keyCount );
+                    int childPos = positionOf( searchResult );
+                    if ( isHit( searchResult ) )
+                    {
+                        childPos++;
+                    }
+                    childId = bTreeNode.childAt( readCursor, childPos, stableGeneration, unstableGeneration );
+                }
+            }
+            while ( readCursor.shouldRetry() );
+            PageCursorUtil.checkOutOfBounds( readCursor );
+
+            if ( !isInternal )
+            {
+                return readCursor.getCurrentPageId();
+            }
+            KeySearch.assertSuccess( searchResult );
+            PointerChecking.checkPointer( childId, false );
+            TreeNode.goTo( readCursor, "child", childId );
+        }
+    }
+
+    /**
+     * Insert {@code key} and associate it with {@code value} in the leaf where {@code cursor} is, but only if
+     * that doesn't change anything else than that leaf, i.e. no split or successor of it is needed.
+     * <p>
+     * If {@code key} already exists in the leaf, {@code valueMerger} will be used to decide how to merge existing
+     * value with {@code value}. The merger may be asked again if the change ends up not being leaf local.
+     *
+     * @param cursor {@link PageCursor} pinned to the leaf which covers {@code key}.
+     * @param key key to be inserted
+     * @param value value to be associated with key
+     * @param valueMerger {@link ValueMerger} for deciding what to do with existing keys
+     * @param unstableGeneration unstable generation, i.e. generation which is under development right now.
+     * @return {@link LeafChange} telling whether or not the change could be made.
+     */
+    LeafChange tryInsertInLeaf( PageCursor cursor, KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger,
+            long unstableGeneration )
+    {
+        if ( TreeNode.generation( cursor ) != unstableGeneration )
+        {
+            // Would need a successor
+            return LeafChange.NOT_LEAF_LOCAL;
+        }
+
+        int keyCount = TreeNode.keyCount( cursor );
+        int search = search( cursor, LEAF, key, readKey, keyCount );
+        int pos = positionOf( search );
+        if ( isHit( search ) )
+        {
+            bTreeNode.valueAt( cursor, readValue, pos );
+            VALUE mergedValue = valueMerger.merge( readKey, key, readValue, value );
+            if ( mergedValue == null )
+            {
+                return LeafChange.UNCHANGED;
+            }
+            // Values of different size can not be overwritten in place, in which case nothing is written
+            return bTreeNode.setValueAt( cursor, mergedValue, pos ) ? LeafChange.CHANGED : LeafChange.NOT_LEAF_LOCAL;
+        }
+
+        if ( bTreeNode.leafOverflow( cursor, keyCount, key, value ) != Overflow.NO )
+        {
+            return LeafChange.NOT_LEAF_LOCAL;
+        }
+        bTreeNode.insertKeyValueAt( cursor, key, value, pos, keyCount );
+        TreeNode.setKeyCount( cursor, keyCount + 1 );
+        return LeafChange.CHANGED;
+    }
+
+    /**
+     * Remove {@code key} and its associated value from the leaf where {@code cursor} is, but only if that doesn't
+     * change anything else than that leaf, i.e. no successor of it is needed and it won't underflow.
+     *
+     * @param cursor {@link PageCursor} pinned to the leaf which covers {@code key}.
+     * @param key key to be removed
+     * @param into {@code VALUE} instance to write removed value to
+     * @param unstableGeneration unstable generation, i.e. generation which is under development right now.
+     * @return {@link LeafChange} telling whether or not the key was removed.
+     */
+    LeafChange tryRemoveFromLeaf( PageCursor cursor, KEY key, VALUE into, long unstableGeneration )
+    {
+        int keyCount = TreeNode.keyCount( cursor );
+        int search = search( cursor, LEAF, key, readKey, keyCount );
+        if ( !isHit( search ) )
+        {
+            return LeafChange.UNCHANGED;
+        }
+
+        int pos = positionOf( search );
+        if ( TreeNode.generation( cursor ) != unstableGeneration || bTreeNode.leafUnderflowAfterRemove( cursor, keyCount, pos ) )
+        {
+            return LeafChange.NOT_LEAF_LOCAL;
+        }
+        simplyRemoveFromLeaf( cursor, into, keyCount, pos );
+        return LeafChange.CHANGED;
+    }
+
     /**
      * Insert {@code key} and associate it with {@code value} if {@code key} does not already exist in
      * tree.
@@ -193,6 +193,98 @@ public interface Layout<KEY, VALUE> extends Comparator<KEY>
      */
     boolean compatibleWith( long layoutIdentifier, int majorVersion, int minorVersion );
 
+    /**
+     * Produces the shortest key which sorts after {@code left} and not after {@code right}, to be used as separator
+     * between the two in internal nodes of the tree. Keys that are cheaper to store than {@code right} makes for
+     * more keys per internal node and so shallower trees.
+     *
+     * @param left key which sorts before {@code right}, i.e. last key of a left node.
+     * @param right key which sorts after {@code left}, i.e. first key of a right node.
+     * @param into key (changed as part of this call) to write the separator into.
+     */
+    default void minimalSplitter( KEY left, KEY right, KEY into )
+    {
+        copyKey( right, into );
+    }
+
+    /**
+     * Indicates whether or not keys can be prefix compressed. If they can then the keys in a leaf node, which all sort
+     * close to each other, share their common prefix and each key only stores what comes after it.
+     * <p>
+     * The prefix of a key is the start of its {@link #keySize(Object) keySize} bytes, as the layout sees them, such that
+     * a key which sorts between two keys has at least as long prefix in common with them as they have with each other.
+     * Layouts returning {@code true} must implement {@link #keyPrefixLength(Object, Object)},
+     * {@link #keyPrefixLength(PageCursor, Object, int)}, {@link #writeKeyPrefix(PageCursor, Object, int)},
+     * {@link #writeKeySuffix(PageCursor, Object, int)} and {@link #readKey(PageCursor, Object, int, int, int)}.
+     *
+     * @return {@code true} if keys of this layout can be prefix compressed, otherwise {@code false}.
+     */
+    default boolean compressibleKeys()
+    {
+        return false;
+    }
+
+    /**
+     * @param first key to compare prefix of.
+     * @param second key to compare prefix of.
+     * @return number of prefix bytes that {@code first} and {@code second} have in common.
+     */
+    default int keyPrefixLength( KEY first, KEY second )
+    {
+        return 0;
+    }
+
+    /**
+     * @param cursor {@link PageCursor} at a prefix written by {@link #writeKeyPrefix(PageCursor, Object, int)}.
+     * @param key key to compare prefix of.
+     * @param prefixLength length of the prefix at {@code cursor}.
+     * @return number of prefix bytes, at most {@code prefixLength}, that {@code key} has in common with the prefix at {@code cursor}.
+     */
+    default int keyPrefixLength( PageCursor cursor, KEY key, int prefixLength )
+    {
+        return 0;
+    }
+
+    /**
+     * Writes the first {@code prefixLength} prefix bytes of {@code key} into {@code cursor} at its current offset.
+     *
+     * @param cursor {@link PageCursor} to write into, at current offset.
+     * @param key key containing prefix to write.
+     * @param prefixLength number of prefix bytes to write.
+     */
+    default void writeKeyPrefix( PageCursor cursor, KEY key, int prefixLength )
+    {
+        throw new UnsupportedOperationException( "Keys of " + this + " can not be prefix compressed" );
+    }
+
+    /**
+     * Writes what comes after the first {@code prefixLength} prefix bytes of {@code key}, that is
+     * {@code keySize(key) - prefixLength} bytes, into {@code cursor} at its current offset.
+     *
+     * @param cursor {@link PageCursor} to write into, at current offset.
+     * @param key key containing data to write.
+     * @param prefixLength number of prefix bytes to leave out.
+     */
+    default void writeKeySuffix( PageCursor cursor, KEY key, int prefixLength )
+    {
+        writeKey( cursor, key );
+    }
+
+    /**
+     * Reads a key written by {@link #writeKeySuffix(PageCursor, Object, int)} at {@code cursor} at its current offset,
+     * whose first {@code prefixLength} bytes are read from the prefix at {@code prefixOffset}.
+     *
+     * @param cursor {@link PageCursor} to read from, at current offset.
+     * @param into key instances to read into.
+     * @param suffixSize size of what comes after the prefix, at current offset.
+     * @param prefixOffset offset of prefix written by {@link #writeKeyPrefix(PageCursor, Object, int)}.
+     * @param prefixLength number of prefix bytes to read from {@code prefixOffset}.
+     */
+    default void readKey( PageCursor cursor, KEY into, int suffixSize, int prefixOffset, int prefixLength )
+    {
+        readKey( cursor, into, suffixSize );
+    }
+
     /**
      * Adapter for {@link Layout}, which contains convenient standard implementations of some methods.
      *
@@ -163,10 +163,9 @@ class Meta
                     layout.identifier(), layout.majorVersion(), layout.minorVersion() );
         }
 
-        Factory formatByLayout = TreeNodeSelector.selectByLayout( layout );
-        if ( formatByLayout.formatIdentifier() != formatIdentifier ||
-             formatByLayout.formatVersion() != formatVersion )
+        if ( !TreeNodeSelector.isCompatible( layout, formatIdentifier, formatVersion ) )
         {
+            Factory formatByLayout = TreeNodeSelector.selectByLayout( layout );
             throw new MetadataMismatchException( "Tried to open using layout not compatible with what index was created with. " +
                     "Created with formatIdentifier:%d,formatVersion:%d. Opened with formatIdentifier:%d,formatVersion%d",
                     formatIdentifier, formatVersion, formatByLayout.formatIdentifier(), formatByLayout.formatVersion() );
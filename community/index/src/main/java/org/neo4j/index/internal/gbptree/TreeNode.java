@@ -322,6 +322,26 @@ abstract class TreeNode<KEY,VALUE>
 
     abstract boolean leafUnderflow( PageCursor cursor, int keyCount );
 
+    /**
+     * Whether or not node is filled to at least {@code fillFactor} of what it can hold, used when bulk loading
+     * nodes, one after the other.
+     */
+    abstract boolean reachedFillFactor( PageCursor cursor, int keyCount, Type type, double fillFactor );
+
+    /**
+     * Make leaf take less space, if possible, used when bulk loading before moving on to next leaf.
+     * @return true if space was freed, else false.
+     */
+    boolean compactLeaf( PageCursor cursor, int keyCount )
+    {
+        return false;
+    }
+
+    /**
+     * Whether or not leaf would underflow if the key and value at {@code pos} were removed, without removing them.
+     */
+    abstract boolean leafUnderflowAfterRemove( PageCursor cursor, int keyCount, int pos );
+
     /**
      * How do we best rebalance left and right leaf?
      * Can we move keys from underflowing left to right so that none of them underflow?
@@ -88,25 +88,41 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
      */
     private static final int BYTE_POS_ALLOCOFFSET = BASE_HEADER_LENGTH;
     private static final int BYTE_POS_DEADSPACE = BYTE_POS_ALLOCOFFSET + bytesPageOffset();
-    private static final int HEADER_LENGTH_DYNAMIC = BYTE_POS_DEADSPACE + bytesPageOffset();
+    static final int HEADER_LENGTH_DYNAMIC = BYTE_POS_DEADSPACE + bytesPageOffset();
 
     private static final int LEAST_NUMBER_OF_ENTRIES_PER_PAGE = 2;
     private static final int MINIMUM_ENTRY_SIZE_CAP = Long.SIZE;
+    private final int headerLength;
     private final int keyValueSizeCap;
     private final MutableIntStack deadKeysOffset = new IntArrayStack();
     private final MutableIntStack aliveKeysOffset = new IntArrayStack();
-    private final int maxKeyCount = pageSize / (bytesKeyOffset() + SIZE_KEY_SIZE + SIZE_VALUE_SIZE);
+    final int maxKeyCount = pageSize / (bytesKeyOffset() + SIZE_KEY_SIZE + SIZE_VALUE_SIZE);
     private final int[] oldOffset = new int[maxKeyCount];
     private final int[] newOffset = new int[maxKeyCount];
-    private final int totalSpace;
+    final int totalSpace;
     private final int halfSpace;
+    // Last key in left and first key in right leaf when picking the splitter in a split
+    private final KEY splitLeftKey;
+    private final KEY splitRightKey;
 
     TreeNodeDynamicSize( int pageSize, Layout<KEY,VALUE> layout )
+    {
+        this( pageSize, layout, HEADER_LENGTH_DYNAMIC, 0 );
+    }
+
+    /**
+     * @param headerLength length of header, for formats adding to the header of this format.
+     * @param reservedSpace space in each node which formats extending this format keep for other things than key-value entries.
+     */
+    TreeNodeDynamicSize( int pageSize, Layout<KEY,VALUE> layout, int headerLength, int reservedSpace )
     {
         super( pageSize, layout );
-        totalSpace = pageSize - HEADER_LENGTH_DYNAMIC;
+        this.headerLength = headerLength;
+        totalSpace = pageSize - headerLength;
         halfSpace = totalSpace / 2;
-        keyValueSizeCap = totalSpace / LEAST_NUMBER_OF_ENTRIES_PER_PAGE - SIZE_TOTAL_OVERHEAD;
+        keyValueSizeCap = (totalSpace - reservedSpace) / LEAST_NUMBER_OF_ENTRIES_PER_PAGE - SIZE_TOTAL_OVERHEAD;
+        splitLeftKey = layout.newKey();
+        splitRightKey = layout.newKey();
 
         if ( keyValueSizeCap < MINIMUM_ENTRY_SIZE_CAP )
         {
@@ -139,7 +155,14 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
                     keySize, keyValueSizeCap, extractTombstone( keyValueSize ), offset, pos ) );
             return into;
         }
-        layout.readKey( cursor, into, keySize );
+        if ( type == LEAF )
+        {
+            readLeafKey( cursor, into, keySize );
+        }
+        else
+        {
+            layout.readKey( cursor, into, keySize );
+        }
         return into;
     }
 
@@ -158,7 +181,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
                     keySize, valueSize, keyValueSizeCap, extractTombstone( keyValueSize ), offset, pos ) );
             return;
         }
-        layout.readKey( cursor, intoKey, keySize );
+        readLeafKey( cursor, intoKey, keySize );
         layout.readValue( cursor, intoValue, valueSize );
     }
 
@@ -191,14 +214,14 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
     {
         // Where to write key?
         int currentKeyValueOffset = getAllocOffset( cursor );
-        int keySize = layout.keySize( key );
+        int keySize = leafKeySize( cursor, key );
         int valueSize = layout.valueSize( value );
         int newKeyValueOffset = currentKeyValueOffset - keySize - valueSize - getOverhead( keySize, valueSize );
 
         // Write key and value
         cursor.setOffset( newKeyValueOffset );
         putKeyValueSize( cursor, keySize, valueSize );
-        layout.writeKey( cursor, key );
+        writeLeafKey( cursor, key, keySize );
         layout.writeValue( cursor, value );
 
         // Update alloc space
@@ -397,7 +420,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         int allocSpace = getAllocSpace( cursor, currentKeyCount, LEAF );
 
         // How much space do we need?
-        int neededSpace = totalSpaceOfKeyValue( newKey, newValue );
+        int neededSpace = totalSpaceOfKeyValue( cursor, newKey, newValue );
 
         // There is your answer!
         return neededSpace < allocSpace ? Overflow.NO :
@@ -470,7 +493,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         int oldOffsetCursor = 0;
         int newOffsetCursor = 0;
 
-        int aliveRangeOffset = pageSize; // Everything after this point is alive
+        int aliveRangeOffset = keyAreaEnd( cursor, type ); // Everything after this point is alive
         int deadRangeOffset; // Everything between this point and aliveRangeOffset is dead space
 
         // Rightmost alive keys does not need to move
@@ -575,6 +598,21 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         return availableSpace > halfSpace;
     }
 
+    @Override
+    boolean reachedFillFactor( PageCursor cursor, int keyCount, Type type, double fillFactor )
+    {
+        int availableSpace = getAllocSpace( cursor, keyCount, type ) + getDeadSpace( cursor );
+        return totalSpace - availableSpace >= totalSpace * fillFactor;
+    }
+
+    @Override
+    boolean leafUnderflowAfterRemove( PageCursor cursor, int keyCount, int pos )
+    {
+        // Removing a key and value frees its slot in the offset array and turns the key and value into dead space
+        int availableSpace = getAllocSpace( cursor, keyCount, LEAF ) + getDeadSpace( cursor ) + totalSpaceOfKeyValue( cursor, pos );
+        return availableSpace > halfSpace;
+    }
+
     @Override
     int canRebalanceLeaves( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int rightKeyCount )
     {
@@ -633,14 +671,9 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         int keyCountAfterInsert = leftKeyCount + 1;
         int middlePos = middleLeaf( leftCursor, insertPos, newKey, newValue, keyCountAfterInsert );
 
-        if ( middlePos == insertPos )
-        {
-            layout.copyKey( newKey, newSplitter );
-        }
-        else
-        {
-            keyAt( leftCursor, newSplitter, insertPos < middlePos ? middlePos - 1 : middlePos, LEAF );
-        }
+        KEY leftKey = keyAtAfterInsert( leftCursor, splitLeftKey, middlePos - 1, insertPos, newKey );
+        KEY rightKey = keyAtAfterInsert( leftCursor, splitRightKey, middlePos, insertPos, newKey );
+        layout.minimalSplitter( leftKey, rightKey, newSplitter );
         int rightKeyCount = keyCountAfterInsert - middlePos;
 
         if ( insertPos < middlePos )
@@ -672,6 +705,18 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         TreeNode.setKeyCount( rightCursor, rightKeyCount );
     }
 
+    /**
+     * @return key at {@code pos} in leaf as it would look after inserting {@code newKey} at {@code insertPos}.
+     */
+    private KEY keyAtAfterInsert( PageCursor cursor, KEY into, int pos, int insertPos, KEY newKey )
+    {
+        if ( pos == insertPos )
+        {
+            return newKey;
+        }
+        return keyAt( cursor, into, pos < insertPos ? pos : pos - 1, LEAF );
+    }
+
     @Override
     void doSplitInternal( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int insertPos, KEY newKey,
             long newRightChild, long stableGeneration, long unstableGeneration, KEY newSplitter )
@@ -871,7 +916,8 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
     private void recordDeadAndAliveLeaf( PageCursor cursor, MutableIntStack deadKeysOffset, MutableIntStack aliveKeysOffset )
     {
         int currentOffset = getAllocOffset( cursor );
-        while ( currentOffset < pageSize )
+        int keyAreaEnd = keyAreaEnd( cursor, LEAF );
+        while ( currentOffset < keyAreaEnd )
         {
             cursor.setOffset( currentOffset );
             long keyValueSize = readKeyValueSize( cursor );
@@ -894,7 +940,8 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
     private void recordDeadAndAliveInternal( PageCursor cursor, MutableIntStack deadKeysOffset, MutableIntStack aliveKeysOffset )
     {
         int currentOffset = getAllocOffset( cursor );
-        while ( currentOffset < pageSize )
+        int keyAreaEnd = keyAreaEnd( cursor, INTERNAL );
+        while ( currentOffset < keyAreaEnd )
         {
             cursor.setOffset( currentOffset );
             long keyValueSize = readKeyValueSize( cursor );
@@ -946,7 +993,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         zeroPad( fromCursor, childFromOffset, lengthInBytes );
     }
 
-    private void zeroPad( PageCursor fromCursor, int fromOffset, int lengthInBytes )
+    void zeroPad( PageCursor fromCursor, int fromOffset, int lengthInBytes )
     {
         fromCursor.setOffset( fromOffset );
         fromCursor.putBytes( lengthInBytes, (byte) 0 );
@@ -1005,7 +1052,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         return middle;
     }
 
-    private int middleLeaf( PageCursor cursor, int insertPos, KEY newKey, VALUE newValue, int keyCountAfterInsert )
+    int middleLeaf( PageCursor cursor, int insertPos, KEY newKey, VALUE newValue, int keyCountAfterInsert )
     {
         int halfSpace = this.halfSpace;
         int middle = 0;
@@ -1021,7 +1068,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
             int space;
             if ( currentPos == insertPos & !includedNew )
             {
-                space = totalSpaceOfKeyValue( newKey, newValue );
+                space = totalSpaceOfKeyValue( cursor, newKey, newValue );
                 includedNew = true;
                 currentPos--;
             }
@@ -1047,9 +1094,9 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         return totalSpace - deadSpace - allocSpace;
     }
 
-    private int totalSpaceOfKeyValue( KEY key, VALUE value )
+    private int totalSpaceOfKeyValue( PageCursor cursor, KEY key, VALUE value )
     {
-        int keySize = layout.keySize( key );
+        int keySize = leafKeySize( cursor, key );
         int valueSize = layout.valueSize( value );
         return bytesKeyOffset() + getOverhead( keySize, valueSize ) + keySize + valueSize;
     }
@@ -1076,7 +1123,40 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         return bytesKeyOffset() + getOverhead( keySize, 0 ) + childSize() + keySize;
     }
 
-    private void setAllocOffset( PageCursor cursor, int allocOffset )
+    /**
+     * @return size of {@code key} as written by {@link #writeLeafKey(PageCursor, Object, int)} into the leaf at {@code cursor}.
+     */
+    int leafKeySize( PageCursor cursor, KEY key )
+    {
+        return layout.keySize( key );
+    }
+
+    /**
+     * Writes {@code key} into leaf at {@code cursor}, at current offset.
+     */
+    void writeLeafKey( PageCursor cursor, KEY key, int leafKeySize )
+    {
+        layout.writeKey( cursor, key );
+    }
+
+    /**
+     * Reads key written by {@link #writeLeafKey(PageCursor, Object, int)} from leaf at {@code cursor}, at current offset,
+     * leaving the cursor right after the key.
+     */
+    void readLeafKey( PageCursor cursor, KEY into, int leafKeySize )
+    {
+        layout.readKey( cursor, into, leafKeySize );
+    }
+
+    /**
+     * @return offset where the keys of the node at {@code cursor} ends.
+     */
+    int keyAreaEnd( PageCursor cursor, Type type )
+    {
+        return pageSize;
+    }
+
+    void setAllocOffset( PageCursor cursor, int allocOffset )
     {
         PageCursorUtil.putUnsignedShort( cursor, BYTE_POS_ALLOCOFFSET, allocOffset );
     }
@@ -1086,7 +1166,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         return PageCursorUtil.getUnsignedShort( cursor, BYTE_POS_ALLOCOFFSET );
     }
 
-    private void setDeadSpace( PageCursor cursor, int deadSpace )
+    void setDeadSpace( PageCursor cursor, int deadSpace )
     {
         putUnsignedShort( cursor, BYTE_POS_DEADSPACE, deadSpace );
     }
@@ -1096,7 +1176,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         return PageCursorUtil.getUnsignedShort( cursor, BYTE_POS_DEADSPACE );
     }
 
-    private void placeCursorAtActualKey( PageCursor cursor, int pos, Type type )
+    void placeCursorAtActualKey( PageCursor cursor, int pos, Type type )
     {
         // Set cursor to correct place in offset array
         int keyPosOffset = keyPosOffset( pos, type );
@@ -1106,10 +1186,10 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         int keyOffset = readKeyOffset( cursor );
 
         // Verify offset is reasonable
-        if ( keyOffset >= pageSize || keyOffset < HEADER_LENGTH_DYNAMIC )
+        if ( keyOffset >= pageSize || keyOffset < headerLength )
         {
             cursor.setCursorException( format( "Tried to read key on offset=%d, headerLength=%d, pageSize=%d, pos=%d",
-                    keyOffset, HEADER_LENGTH_DYNAMIC, pageSize, pos ) );
+                    keyOffset, headerLength, pageSize, pos ) );
             return;
         }
 
@@ -1129,15 +1209,15 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         }
     }
 
-    private int keyPosOffsetLeaf( int pos )
+    int keyPosOffsetLeaf( int pos )
     {
-        return HEADER_LENGTH_DYNAMIC + pos * bytesKeyOffset();
+        return headerLength + pos * bytesKeyOffset();
     }
 
     private int keyPosOffsetInternal( int pos )
     {
         // header + childPointer + pos * (keyPosOffsetSize + childPointer)
-        return HEADER_LENGTH_DYNAMIC + childSize() + pos * keyChildSize();
+        return headerLength + childSize() + pos * keyChildSize();
     }
 
     private int keyChildSize()
@@ -1150,7 +1230,7 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         return SIZE_PAGE_REFERENCE;
     }
 
-    private static int bytesKeyOffset()
+    static int bytesKeyOffset()
     {
         return SIZE_OFFSET;
     }
@@ -1195,8 +1275,9 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
         KEY readKey = layout.newKey();
         VALUE readValue = layout.newValue();
         StringJoiner keys = new StringJoiner( " " );
+        int keyAreaEnd = keyAreaEnd( cursor, type );
         cursor.setOffset( allocOffset );
-        while ( cursor.getOffset() < cursor.getCurrentPageSize() )
+        while ( cursor.getOffset() < keyAreaEnd )
         {
             StringJoiner singleKey = new StringJoiner( "|" );
             singleKey.add( Integer.toString( cursor.getOffset() ) );
@@ -1215,11 +1296,15 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
             {
                 singleKey.add( "_" );
             }
-            layout.readKey( cursor, readKey, keySize );
             if ( type == LEAF )
             {
+                readLeafKey( cursor, readKey, keySize );
                 layout.readValue( cursor, readValue, valueSize );
             }
+            else
+            {
+                layout.readKey( cursor, readKey, keySize );
+            }
             singleKey.add( Integer.toString( keySize ) );
             if ( type == LEAF && includeValue )
             {
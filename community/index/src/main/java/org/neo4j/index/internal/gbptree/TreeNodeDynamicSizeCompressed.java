@@ -0,0 +1,388 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.neo4j.io.pagecache.PageCursor;
+
+import static java.lang.String.format;
+import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.extractKeySize;
+import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.extractValueSize;
+import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.getOverhead;
+import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.readKeyValueSize;
+import static org.neo4j.index.internal.gbptree.TreeNode.Type.LEAF;
+
+/**
+ * Same as {@link TreeNodeDynamicSize}, but with prefix compressed keys in leaves, for {@link Layout layouts} with
+ * {@link Layout#compressibleKeys() compressible keys}. Internal nodes look the same, apart from the header.
+ *
+ * # = empty space
+ * K* = offset to key or key and value
+ * P = prefix of keys in this leaf
+ *
+ * LEAF
+ * [                                   HEADER   87B                                                                 ]|[KEY_OFFSETS]######[KEYS_VALUES][P]
+ * [NODETYPE][TYPE][GENERATION][KEYCOUNT][RIGHTSIBLING][LEFTSIBLING][SUCCESSOR][ALLOCOFFSET][DEADSPACE][PREFIXLENGTH]|[K0*,K1*,K2*]->  <-[KV0,KV2,KV1][P]
+ *  0         1     2           6         10            34           58         82           84         86            87
+ *
+ * The key of each key_value entry is written as [SHAREDLENGTH 1B|suffix], where shared length is how many bytes of
+ * the leaf prefix the key starts with and suffix is the rest of the key. Inserting a key never rewrites other keys,
+ * a key can simply share less of the prefix than the others. A new prefix is picked for a leaf when it is split,
+ * merged or rebalanced, as the prefix the keys in it have in common, unless keeping the current prefix takes less space.
+ */
+class TreeNodeDynamicSizeCompressed<KEY, VALUE> extends TreeNodeDynamicSize<KEY,VALUE>
+{
+    static final byte FORMAT_IDENTIFIER = 4;
+    static final byte FORMAT_VERSION = 0;
+
+    /**
+     * Longest prefix of a leaf, limited by shared length of each key being one byte.
+     */
+    static final int MAX_PREFIX_LENGTH = 0xFF;
+
+    /**
+     * Prefix of a leaf takes at most this part of the page, so that small pages still fit as large keys as they can.
+     */
+    private static final int PAGE_SIZE_PER_PREFIX_BYTE = 32;
+
+    private static final int BYTE_POS_PREFIXLENGTH = HEADER_LENGTH_DYNAMIC;
+    private static final int HEADER_LENGTH_COMPRESSED = BYTE_POS_PREFIXLENGTH + 1;
+    private static final int SIZE_SHARED_LENGTH = 1;
+
+    // Keys and values of leaves being split, merged or rebalanced, only used by the writer.
+    // Entries are pooled instances, except for new key and value in a split.
+    private final int maxPrefixLength;
+    private final Object[] pooledKeys;
+    private final Object[] pooledValues;
+    private final Object[] entryKeys;
+    private final Object[] entryValues;
+    private final int[] entrySharedLengths;
+
+    TreeNodeDynamicSizeCompressed( int pageSize, Layout<KEY,VALUE> layout )
+    {
+        super( pageSize, layout, HEADER_LENGTH_COMPRESSED, maxPrefixLength( pageSize ) );
+        maxPrefixLength = maxPrefixLength( pageSize );
+        int maxEntries = maxKeyCount + 1;
+        pooledKeys = new Object[maxEntries];
+        pooledValues = new Object[maxEntries];
+        entryKeys = new Object[maxEntries];
+        entryValues = new Object[maxEntries];
+        entrySharedLengths = new int[maxEntries];
+    }
+
+    @Override
+    void writeAdditionalHeader( PageCursor cursor )
+    {
+        super.writeAdditionalHeader( cursor );
+        setPrefixLength( cursor, 0 );
+    }
+
+    @Override
+    int leafKeySize( PageCursor cursor, KEY key )
+    {
+        return SIZE_SHARED_LENGTH + layout.keySize( key ) - sharedLength( cursor, key );
+    }
+
+    @Override
+    void writeLeafKey( PageCursor cursor, KEY key, int leafKeySize )
+    {
+        int sharedLength = SIZE_SHARED_LENGTH + layout.keySize( key ) - leafKeySize;
+        cursor.putByte( (byte) sharedLength );
+        layout.writeKeySuffix( cursor, key, sharedLength );
+    }
+
+    @Override
+    void readLeafKey( PageCursor cursor, KEY into, int leafKeySize )
+    {
+        int prefixLength = prefixLength( cursor );
+        int sharedLength = cursor.getByte() & 0xFF;
+        int suffixSize = leafKeySize - SIZE_SHARED_LENGTH;
+        if ( sharedLength > prefixLength || suffixSize < 0 )
+        {
+            cursor.setCursorException( format( "Read unreliable key, sharedLength=%d, prefixLength=%d, keySize=%d",
+                    sharedLength, prefixLength, leafKeySize ) );
+            return;
+        }
+        int suffixOffset = cursor.getOffset();
+        layout.readKey( cursor, into, suffixSize, pageSize - prefixLength, sharedLength );
+        cursor.setOffset( suffixOffset + suffixSize );
+    }
+
+    @Override
+    int keyAreaEnd( PageCursor cursor, Type type )
+    {
+        return type == LEAF ? pageSize - prefixLength( cursor ) : pageSize;
+    }
+
+    @Override
+    boolean compactLeaf( PageCursor cursor, int keyCount )
+    {
+        int allocSpaceBefore = getAllocOffset( cursor ) - keyPosOffsetLeaf( keyCount );
+        readEntries( cursor, 0, keyCount, 0 );
+        writeLeaf( cursor, 0, keyCount, cursor );
+        return getAllocOffset( cursor ) - keyPosOffsetLeaf( keyCount ) > allocSpaceBefore;
+    }
+
+    @Override
+    void doSplitLeaf( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int insertPos, KEY newKey,
+            VALUE newValue, KEY newSplitter )
+    {
+        int keyCountAfterInsert = leftKeyCount + 1;
+        int middlePos = middleLeaf( leftCursor, insertPos, newKey, newValue, keyCountAfterInsert );
+
+        readEntries( leftCursor, 0, insertPos, 0 );
+        entryKeys[insertPos] = newKey;
+        entryValues[insertPos] = newValue;
+        entrySharedLengths[insertPos] = sharedLength( leftCursor, newKey );
+        readEntries( leftCursor, insertPos, leftKeyCount, insertPos + 1 );
+        layout.minimalSplitter( entryKey( middlePos - 1 ), entryKey( middlePos ), newSplitter );
+
+        // Right first, it may want the prefix of left
+        writeLeaf( rightCursor, middlePos, keyCountAfterInsert, leftCursor );
+        writeLeaf( leftCursor, 0, middlePos, leftCursor );
+    }
+
+    @Override
+    boolean canMergeLeaves( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int rightKeyCount )
+    {
+        return spaceOfMerged( leftCursor, 0, leftKeyCount, rightCursor, rightKeyCount ) <= totalSpace;
+    }
+
+    @Override
+    int canRebalanceLeaves( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int rightKeyCount )
+    {
+        if ( canMergeLeaves( leftCursor, leftKeyCount, rightCursor, rightKeyCount ) )
+        {
+            return -1;
+        }
+        int keysToMove = super.canRebalanceLeaves( leftCursor, leftKeyCount, rightCursor, rightKeyCount );
+        if ( keysToMove <= 0 )
+        {
+            // Would merge going by the current size of keys, but they do not fit with the prefix they would share
+            return 0;
+        }
+        // Keys moved to right will share a new prefix with the keys there, make sure they still fit
+        int fromPos = leftKeyCount - keysToMove;
+        return spaceOfMerged( leftCursor, fromPos, leftKeyCount, rightCursor, rightKeyCount ) <= totalSpace ? keysToMove : 0;
+    }
+
+    @Override
+    void moveKeyValuesFromLeftToRight( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int rightKeyCount,
+            int fromPosInLeftNode )
+    {
+        int entries = readEntries( leftCursor, fromPosInLeftNode, leftKeyCount, 0 );
+        entries = readEntries( rightCursor, 0, rightKeyCount, entries );
+        writeLeaf( rightCursor, 0, entries, writeCommonPrefix( rightCursor, 0, entries ) );
+
+        entries = readEntries( leftCursor, 0, fromPosInLeftNode, 0 );
+        writeLeaf( leftCursor, 0, entries, leftCursor );
+    }
+
+    @Override
+    void copyKeyValuesFromLeftToRight( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int rightKeyCount )
+    {
+        int entries = readEntries( leftCursor, 0, leftKeyCount, 0 );
+        entries = readEntries( rightCursor, 0, rightKeyCount, entries );
+        writeLeaf( rightCursor, 0, entries, writeCommonPrefix( rightCursor, 0, entries ) );
+    }
+
+    /**
+     * Reads keys and values at positions [fromPos,toPos) in leaf at {@code cursor} into entries, starting at {@code entry}.
+     *
+     * @return entry after the last one read.
+     */
+    private int readEntries( PageCursor cursor, int fromPos, int toPos, int entry )
+    {
+        for ( int pos = fromPos; pos < toPos; pos++, entry++ )
+        {
+            if ( pooledKeys[entry] == null )
+            {
+                pooledKeys[entry] = layout.newKey();
+                pooledValues[entry] = layout.newValue();
+            }
+            entryKeys[entry] = pooledKeys[entry];
+            entryValues[entry] = pooledValues[entry];
+            keyValueAt( cursor, entryKey( entry ), entryValue( entry ), pos );
+            placeCursorAtActualKey( cursor, pos, LEAF );
+            readKeyValueSize( cursor );
+            entrySharedLengths[entry] = cursor.getByte() & 0xFF;
+        }
+        return entry;
+    }
+
+    /**
+     * Writes entries [from,to) into the leaf at {@code cursor}. They share the prefix of the leaf at {@code prefixCursor},
+     * which they are read from, or the prefix they all have in common, whichever takes less space.
+     */
+    private void writeLeaf( PageCursor cursor, int from, int to, PageCursor prefixCursor )
+    {
+        int prefixLength = prefixLength( prefixCursor );
+        int commonPrefixLength = commonPrefixLength( from, to );
+        int spaceKeepingPrefix = prefixLength;
+        int spaceWithCommonPrefix = commonPrefixLength;
+        for ( int entry = from; entry < to; entry++ )
+        {
+            spaceKeepingPrefix += spaceOfEntry( entry, entrySharedLengths[entry] );
+            spaceWithCommonPrefix += spaceOfEntry( entry, commonPrefixLength );
+        }
+
+        if ( spaceKeepingPrefix <= spaceWithCommonPrefix )
+        {
+            if ( prefixCursor != cursor && prefixLength > 0 )
+            {
+                prefixCursor.copyTo( pageSize - prefixLength, cursor, pageSize - prefixLength, prefixLength );
+            }
+        }
+        else
+        {
+            prefixLength = writeCommonPrefix( cursor, from, to );
+        }
+        writeLeaf( cursor, from, to, prefixLength );
+    }
+
+    /**
+     * Writes entries [from,to) into the leaf at {@code cursor}, which has a prefix of {@code prefixLength} already written.
+     */
+    private void writeLeaf( PageCursor cursor, int from, int to, int prefixLength )
+    {
+        setPrefixLength( cursor, prefixLength );
+        setAllocOffset( cursor, pageSize - prefixLength );
+        setDeadSpace( cursor, 0 );
+        int keyCount = to - from;
+        for ( int pos = 0; pos < keyCount; pos++ )
+        {
+            insertKeyValueAt( cursor, entryKey( from + pos ), entryValue( from + pos ), pos, pos );
+        }
+        int endOfOffsetArray = keyPosOffsetLeaf( keyCount );
+        zeroPad( cursor, endOfOffsetArray, getAllocOffset( cursor ) - endOfOffsetArray );
+        setKeyCount( cursor, keyCount );
+    }
+
+    /**
+     * Writes the prefix which entries [from,to) have in common as prefix of the leaf at {@code cursor}.
+     *
+     * @return length of the written prefix.
+     */
+    private int writeCommonPrefix( PageCursor cursor, int from, int to )
+    {
+        int prefixLength = commonPrefixLength( from, to );
+        if ( prefixLength > 0 )
+        {
+            cursor.setOffset( pageSize - prefixLength );
+            layout.writeKeyPrefix( cursor, entryKey( from ), prefixLength );
+        }
+        return prefixLength;
+    }
+
+    private int commonPrefixLength( int from, int to )
+    {
+        return to > from ? Math.min( layout.keyPrefixLength( entryKey( from ), entryKey( to - 1 ) ), maxPrefixLength ) : 0;
+    }
+
+    private int spaceOfEntry( int entry, int sharedLength )
+    {
+        int keySize = SIZE_SHARED_LENGTH + layout.keySize( entryKey( entry ) ) - sharedLength;
+        int valueSize = layout.valueSize( entryValue( entry ) );
+        return bytesKeyOffset() + getOverhead( keySize, valueSize ) + keySize + valueSize;
+    }
+
+    /**
+     * @return space that keys and values at [leftFromPos,leftKeyCount) in left leaf and all in right leaf would take in one leaf,
+     * sharing the prefix they have in common.
+     */
+    private int spaceOfMerged( PageCursor leftCursor, int leftFromPos, int leftKeyCount, PageCursor rightCursor, int rightKeyCount )
+    {
+        if ( leftFromPos == leftKeyCount && rightKeyCount == 0 )
+        {
+            return 0;
+        }
+        int entries = leftFromPos < leftKeyCount ? readEntries( leftCursor, leftFromPos, leftFromPos + 1, 0 )
+                                                 : readEntries( rightCursor, 0, 1, 0 );
+        entries = rightKeyCount > 0 ? readEntries( rightCursor, rightKeyCount - 1, rightKeyCount, entries )
+                                    : readEntries( leftCursor, leftKeyCount - 1, leftKeyCount, entries );
+        int prefixLength = commonPrefixLength( 0, entries );
+        return prefixLength + spaceOfEntries( leftCursor, leftFromPos, leftKeyCount, prefixLength ) +
+                spaceOfEntries( rightCursor, 0, rightKeyCount, prefixLength );
+    }
+
+    /**
+     * @return space that keys and values at [fromPos,toPos) in leaf at {@code cursor} would take sharing a prefix of {@code prefixLength}.
+     */
+    private int spaceOfEntries( PageCursor cursor, int fromPos, int toPos, int prefixLength )
+    {
+        int space = 0;
+        for ( int pos = fromPos; pos < toPos; pos++ )
+        {
+            placeCursorAtActualKey( cursor, pos, LEAF );
+            long keyValueSize = readKeyValueSize( cursor );
+            int sharedLength = cursor.getByte() & 0xFF;
+            int keySize = extractKeySize( keyValueSize ) + sharedLength - prefixLength;
+            int valueSize = extractValueSize( keyValueSize );
+            space += bytesKeyOffset() + getOverhead( keySize, valueSize ) + keySize + valueSize;
+        }
+        return space;
+    }
+
+    /**
+     * @return number of bytes of the prefix of the leaf at {@code cursor} that {@code key} starts with.
+     */
+    private int sharedLength( PageCursor cursor, KEY key )
+    {
+        int prefixLength = prefixLength( cursor );
+        if ( prefixLength == 0 )
+        {
+            return 0;
+        }
+        cursor.setOffset( pageSize - prefixLength );
+        return Math.min( layout.keyPrefixLength( cursor, key, prefixLength ), prefixLength );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private KEY entryKey( int entry )
+    {
+        return (KEY) entryKeys[entry];
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private VALUE entryValue( int entry )
+    {
+        return (VALUE) entryValues[entry];
+    }
+
+    private static int maxPrefixLength( int pageSize )
+    {
+        return Math.min( pageSize / PAGE_SIZE_PER_PREFIX_BYTE, MAX_PREFIX_LENGTH );
+    }
+
+    private static int prefixLength( PageCursor cursor )
+    {
+        return cursor.getByte( BYTE_POS_PREFIXLENGTH ) & 0xFF;
+    }
+
+    private static void setPrefixLength( PageCursor cursor, int prefixLength )
+    {
+        cursor.putByte( BYTE_POS_PREFIXLENGTH, (byte) prefixLength );
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TreeNodeDynamicSizeCompressed[pageSize:" + pageSize + "]";
+    }
+}
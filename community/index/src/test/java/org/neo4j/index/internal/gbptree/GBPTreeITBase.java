@@ -25,8 +25,11 @@ import org.junit.rules.RuleChain;
 
 import java.io.IOException;
 import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.TreeMap;
@@ -34,13 +37,17 @@ import java.util.TreeMap;
 import org.neo4j.cursor.RawCursor;
 import org.neo4j.io.pagecache.IOLimiter;
 import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.test.Race;
 import org.neo4j.test.rule.PageCacheRule;
 import org.neo4j.test.rule.RandomRule;
 import org.neo4j.test.rule.TestDirectory;
 import org.neo4j.test.rule.fs.DefaultFileSystemRule;
 
 import static java.lang.Integer.max;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.rules.RuleChain.outerRule;
@@ -204,6 +211,86 @@ public abstract class GBPTreeITBase<KEY,VALUE>
         }
     }
 
+    @Test
+    public void shouldStayCorrectAfterRandomModificationsByConcurrentWriters() throws Throwable
+    {
+        // GIVEN
+        try ( GBPTree<KEY,VALUE> index = createIndex() )
+        {
+            int threads = 4;
+            int keysPerThread = 2_000;
+            List<Map<Long,Long>> data = new ArrayList<>();
+            for ( int i = 0; i < threads; i++ )
+            {
+                data.add( new HashMap<>() );
+            }
+
+            // WHEN
+            for ( int round = 0; round < 5; round++ )
+            {
+                Race race = new Race();
+                for ( int i = 0; i < threads; i++ )
+                {
+                    // Each thread changes its own keys, so that the outcome is known
+                    int thread = i;
+                    long seed = random.nextLong();
+                    race.addContestant( Race.throwing( () ->
+                    {
+                        Random threadRandom = new Random( seed );
+                        Map<Long,Long> threadData = data.get( thread );
+                        try ( Writer<KEY,VALUE> writer = index.concurrentWriter() )
+                        {
+                            for ( int change = 0; change < 1_000; change++ )
+                            {
+                                long keySeed = (long) threadRandom.nextInt( keysPerThread ) * threads + thread;
+                                if ( threadRandom.nextInt( 3 ) == 0 )
+                                {
+                                    Long expected = threadData.remove( keySeed );
+                                    VALUE removed = writer.remove( key( keySeed ) );
+                                    if ( expected == null )
+                                    {
+                                        assertNull( removed );
+                                    }
+                                    else
+                                    {
+                                        assertNotNull( removed );
+                                        assertEquals( expected.longValue(), layout.valueSeed( removed ) );
+                                    }
+                                }
+                                else
+                                {
+                                    long valueSeed = threadRandom.nextInt( 1_000 );
+                                    writer.put( key( keySeed ), value( valueSeed ) );
+                                    threadData.put( keySeed, valueSeed );
+                                }
+                            }
+                        }
+                    } ) );
+                }
+                race.go();
+                index.checkpoint( IOLimiter.unlimited() );
+            }
+
+            // THEN
+            Map<Long,Long> expected = new HashMap<>();
+            data.forEach( expected::putAll );
+            int hits = 0;
+            try ( RawCursor<Hit<KEY,VALUE>,IOException> seek = index.seek( key( 0 ), key( (long) keysPerThread * threads ) ) )
+            {
+                while ( seek.next() )
+                {
+                    long keySeed = layout.keySeed( seek.get().key() );
+                    Long expectedValue = expected.get( keySeed );
+                    assertNotNull( "Unexpected hit " + keySeed, expectedValue );
+                    assertEquals( expectedValue.longValue(), layout.valueSeed( seek.get().value() ) );
+                    hits++;
+                }
+            }
+            assertEquals( expected.size(), hits );
+            index.consistencyCheck();
+        }
+    }
+
     private void randomlyModifyIndex( GBPTree<KEY,VALUE> index, Map<KEY,VALUE> data, Random random, double removeProbability )
             throws IOException
     {
@@ -50,6 +50,8 @@ public class GBPTreeLockTest
 
     @Rule
     public final OtherThreadRule<Void> executor = new OtherThreadRule<>();
+    @Rule
+    public final OtherThreadRule<Void> secondExecutor = new OtherThreadRule<>();
 
     @Test
     public void test_UU_UL_UU() throws Exception
@@ -161,6 +163,65 @@ public class GBPTreeLockTest
         assertOnlyOneSucceeds( lock::writerAndCleanerLock, lock::writerAndCleanerLock );
     }
 
+    @Test
+    public void test_race_SharedWritervsSharedWriter() throws Throwable
+    {
+        assertBothSucceeds( lock::sharedWriterLock, lock::sharedWriterLock );
+    }
+
+    @Test
+    public void test_race_SharedWritervsUL() throws Throwable
+    {
+        assertBothSucceeds( lock::sharedWriterLock, lock::cleanerLock );
+    }
+
+    @Test( timeout = 10_000 )
+    public void test_race_SharedWritervsLU() throws Throwable
+    {
+        assertOnlyOneSucceeds( lock::sharedWriterLock, lock::writerLock );
+    }
+
+    @Test( timeout = 10_000 )
+    public void test_race_SharedWritervsLL() throws Throwable
+    {
+        assertOnlyOneSucceeds( lock::sharedWriterLock, lock::writerAndCleanerLock );
+    }
+
+    @Test
+    public void shouldNotUnlockSharedWriterLockThatIsNotLocked()
+    {
+        assertThrow( lock::sharedWriterUnlock );
+    }
+
+    @Test( timeout = 10_000 )
+    public void writerLockShouldKeepNewSharedWritersOutWhileWaitingForCurrentOnes() throws Exception
+    {
+        // given
+        lock.sharedWriterLock();
+        Future<Object> writer = executor.execute( state ->
+        {
+            lock.writerLock();
+            return null;
+        } );
+        executor.get().waitUntilWaiting( details -> details.isAt( GBPTreeLock.class, "doLock" ) );
+
+        // when
+        Future<Object> sharedWriter = secondExecutor.execute( state ->
+        {
+            lock.sharedWriterLock();
+            return null;
+        } );
+        secondExecutor.get().waitUntilWaiting( details -> details.isAt( GBPTreeLock.class, "sharedWriterLock" ) );
+        lock.sharedWriterUnlock();
+
+        // then
+        writer.get();
+        lock.writerUnlock();
+        sharedWriter.get();
+        lock.sharedWriterUnlock();
+        assertUU();
+    }
+
     private void assertOnlyOneSucceeds( Runnable lockAction1, Runnable lockAction2 ) throws Throwable
     {
         assertUU();
@@ -27,12 +27,14 @@ import org.junit.rules.RuleChain;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.neo4j.cursor.RawCursor;
 import org.neo4j.test.rule.PageCacheAndDependenciesRule;
 import org.neo4j.test.rule.RandomRule;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -160,6 +162,140 @@ public abstract class GBPTreeReadWriteTestBase<KEY,VALUE>
         }
     }
 
+    @Test
+    public void shouldSeeBulkLoadedEntries() throws Exception
+    {
+        // GIVEN
+        int count = 5_000;
+        List<Long> seeds = new ArrayList<>( count );
+        for ( long seed = 0; seed < count; seed++ )
+        {
+            seeds.add( seed * 3 );
+        }
+        Collections.shuffle( seeds, random.random() );
+
+        try ( GBPTree<KEY,VALUE> index = index();
+              BulkLoader<KEY,VALUE> loader = new BulkLoader<>( deps.fileSystem(), indexFile, layout, 4096 ) )
+        {
+            // WHEN
+            for ( long seed : seeds )
+            {
+                loader.add( key( seed ), value( seed ) );
+            }
+            loader.load( index, 0.5 + random.nextDouble() / 2, ValueMergers.overwrite() );
+
+            // THEN
+            assertTrue( index.consistencyCheck() );
+            assertSeedsInOrder( index, count, 3 );
+
+            // and WHEN inserting in between bulk loaded entries
+            try ( Writer<KEY,VALUE> writer = index.writer() )
+            {
+                for ( long seed = 0; seed < count; seed++ )
+                {
+                    writer.put( key( seed * 3 + 1 ), value( seed * 3 + 1 ) );
+                    writer.put( key( seed * 3 + 2 ), value( seed * 3 + 2 ) );
+                }
+            }
+
+            // THEN
+            assertTrue( index.consistencyCheck() );
+            assertSeedsInOrder( index, count * 3, 1 );
+        }
+    }
+
+    @Test
+    public void shouldMergeEqualKeysWhenBulkLoading() throws Exception
+    {
+        // GIVEN
+        try ( GBPTree<KEY,VALUE> index = index();
+              BulkLoader<KEY,VALUE> loader = new BulkLoader<>( deps.fileSystem(), indexFile, layout, 1024 ) )
+        {
+            int count = 1_000;
+            for ( long seed = 0; seed < count; seed++ )
+            {
+                loader.add( key( seed ), value( seed + 10 ) );
+            }
+            for ( long seed = count - 1; seed >= 0; seed-- )
+            {
+                loader.add( key( seed ), value( seed ) );
+            }
+
+            // WHEN
+            loader.load( index, 1, ValueMergers.overwrite() );
+
+            // THEN the value added last wins
+            assertTrue( index.consistencyCheck() );
+            assertSeedsInOrder( index, count, 1 );
+        }
+    }
+
+    @Test
+    public void shouldNotBulkLoadIntoNonEmptyTree() throws Exception
+    {
+        // GIVEN
+        try ( GBPTree<KEY,VALUE> index = index() )
+        {
+            try ( Writer<KEY,VALUE> writer = index.writer() )
+            {
+                writer.put( key( 0 ), value( 0 ) );
+            }
+
+            // WHEN
+            try
+            {
+                index.bulkWriter( 1 );
+                fail( "Should have failed" );
+            }
+            catch ( IllegalStateException e )
+            {
+                // THEN good
+            }
+
+            // and the writer lock is released
+            try ( Writer<KEY,VALUE> writer = index.writer() )
+            {
+                writer.put( key( 1 ), value( 1 ) );
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotBulkWriteKeysInDescendingOrder() throws Exception
+    {
+        // GIVEN
+        try ( GBPTree<KEY,VALUE> index = index();
+              Writer<KEY,VALUE> writer = index.bulkWriter( 1 ) )
+        {
+            writer.put( key( 1 ), value( 1 ) );
+
+            // WHEN
+            try
+            {
+                writer.put( key( 0 ), value( 0 ) );
+                fail( "Should have failed" );
+            }
+            catch ( IllegalArgumentException e )
+            {
+                // THEN good
+            }
+        }
+    }
+
+    private void assertSeedsInOrder( GBPTree<KEY,VALUE> index, long count, long step ) throws IOException
+    {
+        try ( RawCursor<Hit<KEY,VALUE>,IOException> cursor = index.seek( key( 0 ), key( Long.MAX_VALUE ) ) )
+        {
+            for ( long i = 0; i < count; i++ )
+            {
+                assertTrue( cursor.next() );
+                assertEquals( i * step, layout.keySeed( cursor.get().key() ) );
+                assertEquals( i * step, layout.valueSeed( cursor.get().value() ) );
+            }
+            assertFalse( cursor.next() );
+        }
+    }
+
     private GBPTree<KEY,VALUE> index() throws IOException
     {
         return new GBPTreeBuilder<>( deps.pageCache(), indexFile, layout ).build();
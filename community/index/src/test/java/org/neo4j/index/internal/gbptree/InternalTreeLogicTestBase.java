@@ -48,6 +48,9 @@ import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeTrue;
 import static org.neo4j.index.internal.gbptree.ConsistencyChecker.assertNoCrashOrBrokenPointerInGSPP;
 import static org.neo4j.index.internal.gbptree.GenerationSafePointerPair.pointer;
+import static org.neo4j.index.internal.gbptree.InternalTreeLogic.LeafChange.CHANGED;
+import static org.neo4j.index.internal.gbptree.InternalTreeLogic.LeafChange.NOT_LEAF_LOCAL;
+import static org.neo4j.index.internal.gbptree.InternalTreeLogic.LeafChange.UNCHANGED;
 import static org.neo4j.index.internal.gbptree.TreeNode.Overflow.NO;
 import static org.neo4j.index.internal.gbptree.TreeNode.Type.INTERNAL;
 import static org.neo4j.index.internal.gbptree.TreeNode.Type.LEAF;
@@ -1446,6 +1449,116 @@ public abstract class InternalTreeLogicTestBase<KEY,VALUE>
         }
     }
 
+    @Test
+    public void tryInsertInLeafMustInsertUntilLeafWouldOverflow() throws Exception
+    {
+        // given
+        initialize();
+        int keyCount = 0;
+        KEY key = key( keyCount );
+        VALUE value = value( keyCount );
+        while ( node.leafOverflow( cursor, keyCount, key, value ) == NO )
+        {
+            // when
+            assertEquals( CHANGED, treeLogic.tryInsertInLeaf( cursor, key, value, overwrite(), unstableGeneration ) );
+
+            // then
+            goTo( readCursor, rootId );
+            assertEquals( keyCount + 1, keyCount() );
+            assertKeyAssociatedWithValue( key, value );
+
+            keyCount++;
+            key = key( keyCount );
+            value = value( keyCount );
+        }
+
+        // when
+        assertEquals( NOT_LEAF_LOCAL, treeLogic.tryInsertInLeaf( cursor, key, value, overwrite(), unstableGeneration ) );
+
+        // then
+        goTo( readCursor, rootId );
+        assertEquals( keyCount, keyCount() );
+        assertKeyNotFound( key, LEAF );
+    }
+
+    @Test
+    public void tryInsertInLeafMustNotChangeStableLeaf() throws Exception
+    {
+        // given
+        assumeTrue( isCheckpointing );
+        initialize();
+        insert( key( 1 ), value( 1 ) );
+        generationManager.checkpoint();
+
+        // when
+        assertEquals( NOT_LEAF_LOCAL, treeLogic.tryInsertInLeaf( cursor, key( 2 ), value( 2 ), overwrite(), unstableGeneration ) );
+        assertEquals( NOT_LEAF_LOCAL, treeLogic.tryInsertInLeaf( cursor, key( 1 ), value( 3 ), overwrite(), unstableGeneration ) );
+
+        // then
+        goTo( readCursor, rootId );
+        assertEquals( 1, keyCount() );
+        assertKeyAssociatedWithValue( key( 1 ), value( 1 ) );
+    }
+
+    @Test
+    public void tryRemoveFromLeafMustRemoveUntilLeafWouldUnderflow() throws Exception
+    {
+        // given
+        initialize();
+        int keyCount = 0;
+        while ( node.leafOverflow( cursor, keyCount, key( keyCount ), value( keyCount ) ) == NO )
+        {
+            insert( key( keyCount ), value( keyCount ) );
+            keyCount++;
+        }
+        VALUE into = layout.newValue();
+        assertEquals( UNCHANGED, treeLogic.tryRemoveFromLeaf( cursor, key( keyCount ), into, unstableGeneration ) );
+
+        // when
+        int removed = 0;
+        InternalTreeLogic.LeafChange change;
+        while ( (change = treeLogic.tryRemoveFromLeaf( cursor, key( removed ), into, unstableGeneration )) == CHANGED )
+        {
+            assertEqualsValue( value( removed ), into );
+            removed++;
+            goTo( readCursor, rootId );
+            assertFalse( node.leafUnderflow( readCursor, keyCount() ) );
+            assertKeyNotFound( key( removed - 1 ), LEAF );
+        }
+
+        // then
+        assertEquals( NOT_LEAF_LOCAL, change );
+        goTo( readCursor, rootId );
+        assertEquals( keyCount - removed, keyCount() );
+        assertKeyAssociatedWithValue( key( removed ), value( removed ) );
+    }
+
+    @Test
+    public void leafIdForMustFindLeafCoveringKey() throws Exception
+    {
+        // given
+        initialize();
+        List<KEY> keys = new ArrayList<>();
+        while ( numberOfRootSplits < 2 )
+        {
+            long seed = random.nextLong( 1_000_000 );
+            insert( key( seed ), value( seed ) );
+            keys.add( key( seed ) );
+        }
+        PageCursor searchCursor = cursor.duplicate();
+
+        for ( KEY key : keys )
+        {
+            // when
+            long leafId = treeLogic.leafIdFor( searchCursor, rootId, key, stableGeneration, unstableGeneration );
+
+            // then
+            goTo( readCursor, leafId );
+            assertTrue( TreeNode.isLeaf( readCursor ) );
+            assertKeyAssociatedWithValue( key, value( getSeed( key ) ) );
+        }
+    }
+
     private void remove( KEY toRemove, List<KEY> list, Comparator<KEY> comparator )
     {
         int i = indexOf( toRemove, list, comparator );
@@ -25,6 +25,18 @@ import org.neo4j.io.pagecache.PageCursor;
 
 public class SimpleByteArrayLayout extends TestLayout<RawBytes,RawBytes>
 {
+    private final boolean compressibleKeys;
+
+    public SimpleByteArrayLayout()
+    {
+        this( false );
+    }
+
+    public SimpleByteArrayLayout( boolean compressibleKeys )
+    {
+        this.compressibleKeys = compressibleKeys;
+    }
+
     @Override
     public RawBytes newKey()
     {
@@ -99,6 +111,57 @@ public class SimpleByteArrayLayout extends TestLayout<RawBytes,RawBytes>
         return false;
     }
 
+    @Override
+    public boolean compressibleKeys()
+    {
+        return compressibleKeys;
+    }
+
+    @Override
+    public int keyPrefixLength( RawBytes first, RawBytes second )
+    {
+        int length = Math.min( first.bytes.length, second.bytes.length );
+        int prefixLength = 0;
+        while ( prefixLength < length && first.bytes[prefixLength] == second.bytes[prefixLength] )
+        {
+            prefixLength++;
+        }
+        return prefixLength;
+    }
+
+    @Override
+    public int keyPrefixLength( PageCursor cursor, RawBytes key, int prefixLength )
+    {
+        int length = Math.min( prefixLength, key.bytes.length );
+        int sharedLength = 0;
+        while ( sharedLength < length && cursor.getByte() == key.bytes[sharedLength] )
+        {
+            sharedLength++;
+        }
+        return sharedLength;
+    }
+
+    @Override
+    public void writeKeyPrefix( PageCursor cursor, RawBytes key, int prefixLength )
+    {
+        cursor.putBytes( key.bytes, 0, prefixLength );
+    }
+
+    @Override
+    public void writeKeySuffix( PageCursor cursor, RawBytes key, int prefixLength )
+    {
+        cursor.putBytes( key.bytes, prefixLength, key.bytes.length - prefixLength );
+    }
+
+    @Override
+    public void readKey( PageCursor cursor, RawBytes into, int suffixSize, int prefixOffset, int prefixLength )
+    {
+        into.bytes = new byte[prefixLength + suffixSize];
+        cursor.getBytes( into.bytes, prefixLength, suffixSize );
+        cursor.setOffset( prefixOffset );
+        cursor.getBytes( into.bytes, 0, prefixLength );
+    }
+
     @Override
     public long identifier()
     {
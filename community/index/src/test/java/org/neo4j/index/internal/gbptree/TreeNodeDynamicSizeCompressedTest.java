@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.junit.Test;
+
+import org.neo4j.io.pagecache.PageCursor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.index.internal.gbptree.TreeNode.Overflow.YES;
+import static org.neo4j.index.internal.gbptree.TreeNode.Type.LEAF;
+
+public class TreeNodeDynamicSizeCompressedTest extends TreeNodeTestBase<RawBytes,RawBytes>
+{
+    private SimpleByteArrayLayout layout = new SimpleByteArrayLayout( true );
+
+    @Override
+    protected TestLayout<RawBytes,RawBytes> getLayout()
+    {
+        return layout;
+    }
+
+    @Override
+    protected TreeNodeDynamicSizeCompressed<RawBytes,RawBytes> getNode( int pageSize, Layout<RawBytes,RawBytes> layout )
+    {
+        return new TreeNodeDynamicSizeCompressed<>( pageSize, layout );
+    }
+
+    @Override
+    void assertAdditionalHeader( PageCursor cursor, TreeNode<RawBytes,RawBytes> node, int pageSize )
+    {
+        // When
+        TreeNodeDynamicSizeCompressed<RawBytes,RawBytes> compressedNode = (TreeNodeDynamicSizeCompressed<RawBytes,RawBytes>) node;
+        int currentAllocSpace = compressedNode.getAllocOffset( cursor );
+
+        // Then
+        assertEquals( "allocSpace point to end of page", pageSize, currentAllocSpace );
+        assertEquals( "no prefix", pageSize, compressedNode.keyAreaEnd( cursor, LEAF ) );
+    }
+
+    @Test
+    public void shouldShareCommonPrefixOfKeysAfterSplit() throws Exception
+    {
+        // given a full leaf of keys sharing a prefix
+        TreeNodeDynamicSizeCompressed<RawBytes,RawBytes> node = getNode( PAGE_SIZE, layout );
+        node.initializeLeaf( cursor, STABLE_GENERATION, UNSTABLE_GENERATION );
+        long seed = 1_000_000;
+        int keyCount = 0;
+        RawBytes key = layout.key( seed );
+        while ( node.leafOverflow( cursor, keyCount, key, key ) != YES )
+        {
+            node.insertKeyValueAt( cursor, key, key, keyCount, keyCount );
+            TreeNode.setKeyCount( cursor, ++keyCount );
+            key = layout.key( ++seed );
+        }
+
+        // when
+        PageCursor rightCursor = new PageAwareByteArrayCursor( PAGE_SIZE );
+        rightCursor.next();
+        node.initializeLeaf( rightCursor, STABLE_GENERATION, UNSTABLE_GENERATION );
+        RawBytes splitter = layout.newKey();
+        node.doSplitLeaf( cursor, keyCount, rightCursor, keyCount, key, key, splitter );
+
+        // then both halves share a prefix and all keys and values are still there, in order
+        assertTrue( node.keyAreaEnd( cursor, LEAF ) < PAGE_SIZE );
+        assertTrue( node.keyAreaEnd( rightCursor, LEAF ) < PAGE_SIZE );
+        int leftKeyCount = TreeNode.keyCount( cursor );
+        int rightKeyCount = TreeNode.keyCount( rightCursor );
+        assertEquals( keyCount + 1, leftKeyCount + rightKeyCount );
+        assertEquals( 0, layout.compare( splitter, node.keyAt( rightCursor, layout.newKey(), 0, LEAF ) ) );
+        long expectedSeed = 1_000_000;
+        for ( PageCursor leaf : new PageCursor[]{cursor, rightCursor} )
+        {
+            for ( int pos = 0; pos < TreeNode.keyCount( leaf ); pos++, expectedSeed++ )
+            {
+                RawBytes readKey = layout.newKey();
+                RawBytes readValue = layout.newValue();
+                node.keyValueAt( leaf, readKey, readValue, pos );
+                assertEquals( expectedSeed, layout.keySeed( readKey ) );
+                assertEquals( expectedSeed, layout.valueSeed( readValue ) );
+                assertEquals( 0, layout.compare( layout.key( expectedSeed ), readKey ) );
+            }
+        }
+    }
+
+    @Test
+    public void shouldSelectCompressedFormatAndStillOpenDynamicFormat()
+    {
+        SimpleByteArrayLayout compressible = new SimpleByteArrayLayout( true );
+        SimpleByteArrayLayout notCompressible = new SimpleByteArrayLayout( false );
+        TreeNodeSelector.Factory dynamic = TreeNodeSelector.DYNAMIC;
+        TreeNodeSelector.Factory compressed = TreeNodeSelector.DYNAMIC_COMPRESSED;
+
+        assertSame( compressed, TreeNodeSelector.selectByLayout( compressible ) );
+        assertSame( compressed, TreeNodeSelector.selectByFormat( compressed.formatIdentifier(), compressed.formatVersion() ) );
+        assertTrue( TreeNodeSelector.isCompatible( compressible, compressed.formatIdentifier(), compressed.formatVersion() ) );
+        assertTrue( TreeNodeSelector.isCompatible( compressible, dynamic.formatIdentifier(), dynamic.formatVersion() ) );
+        assertFalse( TreeNodeSelector.isCompatible( notCompressible, compressed.formatIdentifier(), compressed.formatVersion() ) );
+    }
+}
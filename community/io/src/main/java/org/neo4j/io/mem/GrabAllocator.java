@@ -98,7 +98,7 @@ public final class GrabAllocator implements MemoryAllocator
                 grabSize = bytes;
                 Grab nextGrab = grabs == null ? null : grabs.next;
                 Grab allocationGrab = new Grab( nextGrab, grabSize, memoryTracker );
-                if ( !allocationGrab.canAllocate( bytes ) )
+                if ( !allocationGrab.canAllocate( bytes, alignment ) )
                 {
                     allocationGrab.free();
                     grabSize = bytes + alignment;
@@ -110,13 +110,13 @@ public final class GrabAllocator implements MemoryAllocator
                 return allocation;
             }
 
-            if ( grabs == null || !grabs.canAllocate( bytes ) )
+            if ( grabs == null || !grabs.canAllocate( bytes, alignment ) )
             {
-                if ( grabSize < bytes )
+                if ( grabSize < bytes + alignment )
                 {
                     grabSize = bytes;
                     Grab grab = new Grab( grabs, grabSize, memoryTracker );
-                    if ( grab.canAllocate( bytes ) )
+                    if ( grab.canAllocate( bytes, alignment ) )
                     {
                         memoryReserve -= grabSize;
                         grabs = grab;
@@ -223,9 +223,9 @@ public final class GrabAllocator implements MemoryAllocator
             UnsafeUtil.free( address, limit - address, memoryTracker );
         }
 
-        boolean canAllocate( long bytes )
+        boolean canAllocate( long bytes, long alignment )
         {
-            return nextPointer + bytes <= limit;
+            return nextAligned( nextPointer, alignment ) + bytes <= limit;
         }
 
         Grab setNext( Grab grab )
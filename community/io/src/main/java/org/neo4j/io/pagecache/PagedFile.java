@@ -60,8 +60,12 @@ public interface PagedFile extends AutoCloseable
     int PF_NO_GROW = 1 << 2;
     /**
      * Read-ahead hint for sequential forward scanning.
+     * <p>
+     * When the cursor is found to be moving sequentially forward through the file, the pages ahead of it will be
+     * faulted in the background, in batches, using vectored reads. This has no effect on cursors that do not access
+     * the pages sequentially, and is ignored when combined with {@link #PF_NO_FAULT}.
      */
-    int PF_READ_AHEAD = 1 << 3; // TBD
+    int PF_READ_AHEAD = 1 << 3;
     /**
      * Do not load in the page if it is not loaded already. The methods {@link PageCursor#next()} and
      * {@link PageCursor#next(long)} will always return {@code true} for pages that are within the range of the file,
@@ -74,8 +78,13 @@ public interface PagedFile extends AutoCloseable
     int PF_NO_FAULT = 1 << 4;
     /**
      * Do not update page access statistics.
+     * <p>
+     * Pinning a page with a transient cursor does not count as a use of that page, so pages that are only touched
+     * by transient cursors will be evicted the first time the eviction clock passes them, no matter how many times
+     * they were pinned. This is useful for large one-off scans, where we don't want the scanned pages to compete with
+     * the hot working set for space in the cache.
      */
-    int PF_TRANSIENT = 1 << 5; // TBD
+    int PF_TRANSIENT = 1 << 5;
     /**
      * Flush pages more aggressively, after they have been dirtied by a write cursor.
      */
@@ -174,6 +183,20 @@ public interface PagedFile extends AutoCloseable
      */
     long getLastPageId() throws IOException;
 
+    /**
+     * Load the given range of pages into memory, if they are not already in memory.
+     * <p>
+     * This is a best-effort operation, meant for warming up the page cache. Pages that are already in memory, or that
+     * are concurrently being faulted in by other threads, are skipped, and the range is truncated at the end of the
+     * file. Contiguous runs of pages are read with vectored IO, where the implementation supports it.
+     *
+     * @param startPageId The file-page-id of the first page to load.
+     * @param pageCount The number of pages, from the {@code startPageId} and forward, to load.
+     * @return The number of pages that were read from the file by this call.
+     * @throws IOException if reading the file failed, or if this file has been unmapped.
+     */
+    long loadPages( long startPageId, int pageCount ) throws IOException;
+
     /**
      * Release a handle to a paged file.
      * <p>
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.fs.StoreFileChannel;
+import org.neo4j.io.pagecache.PageEvictionCallback;
+
+/**
+ * A {@link SingleFilePageSwapper} which opens its file for direct IO, i.e. with {@code O_DIRECT} on Linux, such that
+ * pages are read and written straight between the page cache memory and the storage device. This way pages are not
+ * cached a second time by the operating system, which leaves that memory to the page cache instead.
+ * <p>
+ * Direct IO requires memory addresses, file offsets and sizes of all IO to be aligned to the block size of the device,
+ * which is why these swappers are only created by the {@link DirectIOPageSwapperFactory}, when that is the case.
+ * Since the file size then always is a multiple of the file page size, and whole pages are always written, reads
+ * never stop at unaligned offsets either.
+ */
+class DirectIOPageSwapper extends SingleFilePageSwapper
+{
+    DirectIOPageSwapper( File file, FileSystemAbstraction fs, int filePageSize, PageEvictionCallback onEviction )
+            throws IOException
+    {
+        super( file, fs, filePageSize, onEviction );
+    }
+
+    @Override
+    protected StoreChannel openChannel( File file, FileSystemAbstraction fs ) throws IOException
+    {
+        return new StoreFileChannel( DirectIOPageSwapperFactory.openDirect( file ) );
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DirectIOPageSwapper{file=" + file() + '}';
+    }
+}
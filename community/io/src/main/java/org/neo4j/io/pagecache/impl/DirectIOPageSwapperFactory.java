@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
+
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageEvictionCallback;
+import org.neo4j.io.pagecache.PageSwapper;
+import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
+
+/**
+ * A factory for {@link DirectIOPageSwapper} instances, which do their IO directly between the page cache memory and
+ * the storage device, bypassing the operating system page cache.
+ * <p>
+ * Direct IO is only possible where the Java runtime supports opening files for direct IO, which is Java 10 and
+ * later, for files on the {@link DefaultFileSystemAbstraction real file system} whose file system supports it, and
+ * when all IO is aligned to the block size of the device. This factory therefore requires buffers to be aligned to
+ * the block size, and creates a {@link DirectIOPageSwapper} only for files whose page size and current size are
+ * multiples of the block size. All other files get a plain {@link SingleFilePageSwapper}.
+ * <p>
+ * Note that record stores trim their file page size to a whole number of records, e.g. 8190 bytes for the node store
+ * and 8160 bytes for the relationship store, so those files are never aligned and always fall back to buffered IO.
+ * Supporting them would need aligned read-modify-write of the blocks that neighbouring pages share, which would have to
+ * lock both pages and could write past the logical end of the file, so it is deliberately not done.
+ *
+ * @see org.neo4j.io.pagecache.impl.DirectIOPageSwapper
+ */
+public class DirectIOPageSwapperFactory extends SingleFilePageSwapperFactory
+{
+    private static final OpenOption DIRECT = findDirectOpenOption();
+    private static final long BLOCK_SIZE = UnsafeUtil.pageSize();
+
+    private static OpenOption findDirectOpenOption()
+    {
+        try
+        {
+            // Looked up reflectively since com.sun.nio.file.ExtendedOpenOption.DIRECT was only added in Java 10.
+            Class<?> extendedOpenOption = Class.forName( "com.sun.nio.file.ExtendedOpenOption" );
+            for ( Object option : extendedOpenOption.getEnumConstants() )
+            {
+                if ( "DIRECT".equals( ((Enum<?>) option).name() ) )
+                {
+                    return (OpenOption) option;
+                }
+            }
+        }
+        catch ( ClassNotFoundException ignore )
+        {
+            // Not a JDK, or not one that can do direct IO.
+        }
+        return null;
+    }
+
+    /**
+     * @return {@code true} if the Java runtime can open files for direct IO, otherwise {@code false}.
+     */
+    public static boolean isDirectIOSupported()
+    {
+        return DIRECT != null;
+    }
+
+    static FileChannel openDirect( File file ) throws IOException
+    {
+        return FileChannel.open( file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, DIRECT );
+    }
+
+    @Override
+    protected PageSwapper newSwapper( File file, FileSystemAbstraction fs, int filePageSize,
+            PageEvictionCallback onEviction ) throws IOException
+    {
+        if ( canUseDirectIO( file, fs, filePageSize ) )
+        {
+            return new DirectIOPageSwapper( file, fs, filePageSize, onEviction );
+        }
+        return super.newSwapper( file, fs, filePageSize, onEviction );
+    }
+
+    private static boolean canUseDirectIO( File file, FileSystemAbstraction fs, int filePageSize )
+    {
+        if ( !isDirectIOSupported() || !(fs instanceof DefaultFileSystemAbstraction) ||
+             filePageSize % BLOCK_SIZE != 0 || fs.getFileSize( file ) % filePageSize != 0 )
+        {
+            return false;
+        }
+        try ( FileChannel ignore = openDirect( file ) )
+        {
+            return true;
+        }
+        catch ( IOException e )
+        {
+            // Typically because the file system doesn't support direct IO, e.g. tmpfs on older kernels.
+            return false;
+        }
+    }
+
+    @Override
+    public String implementationName()
+    {
+        return "direct";
+    }
+
+    @Override
+    public long getRequiredBufferAlignment()
+    {
+        return isDirectIOSupported() ? BLOCK_SIZE : 1;
+    }
+}
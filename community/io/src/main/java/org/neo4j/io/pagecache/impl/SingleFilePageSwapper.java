@@ -151,7 +151,7 @@ public class SingleFilePageSwapper implements PageSwapper
         this.channels = new StoreChannel[channelStripeCount];
         for ( int i = 0; i < channelStripeCount; i++ )
         {
-            channels[i] = fs.open( file, OpenMode.READ_WRITE );
+            channels[i] = openChannel( file, fs );
         }
         this.filePageSize = filePageSize;
         this.onEviction = onEviction;
@@ -169,6 +169,15 @@ public class SingleFilePageSwapper implements PageSwapper
                 && StoreFileChannelUnwrapper.unwrap( channels[0] ).getClass() == sun.nio.ch.FileChannelImpl.class;
     }
 
+    /**
+     * Opens one of the striped channels to the given file. Called from the constructor, as well as when reopening
+     * channels that were closed by interrupts, so implementations must not rely on the state of this instance.
+     */
+    protected StoreChannel openChannel( File file, FileSystemAbstraction fs ) throws IOException
+    {
+        return fs.open( file, OpenMode.READ_WRITE );
+    }
+
     private void increaseFileSizeTo( long newFileSize )
     {
         long currentFileSize;
@@ -355,9 +364,9 @@ public class SingleFilePageSwapper implements PageSwapper
         long bytesRead = lockPositionReadVectorAndRetryIfInterrupted( startFilePageId, channel, fileOffset, srcs, MAX_INTERRUPTED_CHANNEL_REOPEN_ATTEMPTS );
         if ( bytesRead == -1 )
         {
-            for ( long address : bufferAddresses )
+            for ( int i = 0; i < length; i++ )
             {
-                UnsafeUtil.setMemory( address, filePageSize, MuninnPageCache.ZERO_BYTE );
+                UnsafeUtil.setMemory( bufferAddresses[arrayOffset + i], filePageSize, MuninnPageCache.ZERO_BYTE );
             }
             return 0;
         }
@@ -654,7 +663,7 @@ public class SingleFilePageSwapper implements PageSwapper
 
         try
         {
-            channels[stripe] = fs.open( file, OpenMode.READ_WRITE );
+            channels[stripe] = openChannel( file, fs );
             if ( stripe == tokenChannelStripe )
             {
                 // The closing of a FileChannel also releases all associated file locks.
@@ -62,6 +62,15 @@ public class SingleFilePageSwapperFactory implements PageSwapperFactory
                 throw new NoSuchFileException( file.getPath(), null, "Cannot map non-existing file" );
             }
         }
+        return newSwapper( file, fs, filePageSize, onEviction );
+    }
+
+    /**
+     * Creates the swapper for an existing file.
+     */
+    protected PageSwapper newSwapper( File file, FileSystemAbstraction fs, int filePageSize,
+            PageEvictionCallback onEviction ) throws IOException
+    {
         return new SingleFilePageSwapper( file, fs, filePageSize, onEviction );
     }
 
@@ -104,6 +104,30 @@ final class LatchMap
         return null;
     }
 
+    /**
+     * Like {@link #takeOrAwaitLatch(long)}, except this method never waits. If a latch is currently installed for the
+     * given (or any colliding) identifier, then {@code null} is returned immediately.
+     *
+     * This is useful for speculative page faults, such as read-ahead, where a thread might already be holding latches
+     * for other identifiers, and waiting on a colliding latch could otherwise end up waiting on itself.
+     */
+    Latch tryTakeLatch( long identifier )
+    {
+        int index = index( identifier );
+        if ( getLatch( index ) != null )
+        {
+            return null;
+        }
+        Latch latch = new Latch();
+        if ( compareAndSetLatch( index, null, latch ) )
+        {
+            latch.latchMap = this;
+            latch.index = index;
+            return latch;
+        }
+        return null;
+    }
+
     private int index( long identifier )
     {
         return (int) (mix( identifier ) & faultLockMask);
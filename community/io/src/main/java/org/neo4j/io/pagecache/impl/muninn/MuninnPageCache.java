@@ -30,6 +30,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -123,6 +124,16 @@ public class MuninnPageCache implements PageCache
     private static final int cooperativeEvictionLiveLockThreshold = getInteger(
             MuninnPageCache.class, "cooperativeEvictionLiveLockThreshold", 100 );
 
+    // The maximum number of read-ahead tasks that can be in flight at the same time, for this page cache. Read-ahead
+    // requests beyond this limit are dropped, since read-ahead is only a hint.
+    private static final int maxConcurrentReadAheads = getInteger(
+            MuninnPageCache.class, "maxConcurrentReadAheads", 8 );
+
+    // A single read-ahead will never fault in more than this fraction of the cache in one go, since the pages are
+    // exclusively locked while they are being read. Read-ahead is effectively disabled for very small caches.
+    private static final int readAheadMaxCacheFraction = getInteger(
+            MuninnPageCache.class, "readAheadMaxCacheFraction", 16 );
+
     // This is a pre-allocated constant, so we can throw it without allocating any objects:
     @SuppressWarnings( "ThrowableInstanceNeverThrown" )
     private static final IOException oomException = new IOException(
@@ -188,6 +199,9 @@ public class MuninnPageCache implements PageCache
     private volatile boolean evictorParked;
     private volatile IOException evictorException;
 
+    // The number of read-ahead tasks that have been scheduled, but not yet completed.
+    private final AtomicInteger readAheadsInFlight = new AtomicInteger();
+
     // Flag for when page cache is closed - writes guarded by synchronized(this), reads can be unsynchronized
     private volatile boolean closed;
 
@@ -620,7 +634,15 @@ public class MuninnPageCache implements PageCache
     }
 
     @Override
-    public synchronized void close()
+    public void close()
+    {
+        // Read-aheads hold references to their files, which have to be released before the mappings are checked below.
+        // Waiting for them must not hold the monitor, since releasing a reference takes it.
+        awaitReadAheads();
+        closeAfterReadAheads();
+    }
+
+    private synchronized void closeAfterReadAheads()
     {
         if ( closed )
         {
@@ -709,6 +731,82 @@ public class MuninnPageCache implements PageCache
         return pageCacheId;
     }
 
+    /**
+     * @return the maximum number of pages that should be read ahead in one go, for this page cache.
+     */
+    int maxReadAheadPageCount()
+    {
+        return pages.getPageCount() / readAheadMaxCacheFraction;
+    }
+
+    /**
+     * Schedule a background read-ahead of the given range of pages in the given file.
+     * If {@code transientAccess} is {@code true}, then the read-ahead pages will not have their usage stamps raised.
+     * The read-ahead holds a reference to the file until it completes, so the file is not closed underneath it.
+     * @return the number of pages that will be read ahead, which might be less than requested for small caches, or
+     * zero if too many read-aheads are already in flight, or the file or the page cache is closed.
+     */
+    int scheduleReadAhead( MuninnPagedFile pagedFile, long startFilePageId, int pageCount, boolean transientAccess )
+    {
+        pageCount = Math.min( pageCount, maxReadAheadPageCount() );
+        if ( closed || pageCount < 2 )
+        {
+            return 0;
+        }
+        int inFlight;
+        do
+        {
+            inFlight = readAheadsInFlight.get();
+            if ( inFlight >= maxConcurrentReadAheads )
+            {
+                return 0;
+            }
+        }
+        while ( !readAheadsInFlight.compareAndSet( inFlight, inFlight + 1 ) );
+
+        if ( !pagedFile.tryIncrementRefCount() )
+        {
+            readAheadsInFlight.decrementAndGet();
+            return 0;
+        }
+
+        try
+        {
+            backgroundThreadExecutor.execute(
+                    new ReadAheadTask( this, pagedFile, startFilePageId, pageCount, transientAccess ) );
+            return pageCount;
+        }
+        catch ( RejectedExecutionException e )
+        {
+            readAheadCompleted( pagedFile );
+            return 0;
+        }
+    }
+
+    /**
+     * Release the reference a read-ahead has been holding to the given file, which closes the file if it has been
+     * unmapped in the meantime.
+     */
+    void readAheadCompleted( MuninnPagedFile pagedFile )
+    {
+        try
+        {
+            unmap( pagedFile );
+        }
+        finally
+        {
+            readAheadsInFlight.decrementAndGet();
+        }
+    }
+
+    private void awaitReadAheads()
+    {
+        while ( readAheadsInFlight.get() > 0 )
+        {
+            LockSupport.parkNanos( TimeUnit.MICROSECONDS.toNanos( 100 ) );
+        }
+    }
+
     long grabFreeAndExclusivelyLockedPage( PageFaultEvent faultEvent ) throws IOException
     {
         // Review the comment on the freelist field before making changes to
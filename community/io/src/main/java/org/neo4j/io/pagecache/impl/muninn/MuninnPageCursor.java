@@ -38,9 +38,12 @@ import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
 
 import static org.neo4j.io.pagecache.PagedFile.PF_EAGER_FLUSH;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_FAULT;
+import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_TRANSIENT;
 import static org.neo4j.io.pagecache.impl.muninn.MuninnPagedFile.UNMAPPED_TTE;
 import static org.neo4j.util.FeatureToggles.flag;
+import static org.neo4j.util.FeatureToggles.getInteger;
 
 abstract class MuninnPageCursor extends PageCursor
 {
@@ -49,6 +52,12 @@ abstract class MuninnPageCursor extends PageCursor
 
     private static final boolean boundsCheck = flag( MuninnPageCursor.class, "boundsCheck", true );
 
+    // The number of pages that a PF_READ_AHEAD cursor will ask to have faulted in ahead of itself, in one go.
+    private static final int readAheadWindow = getInteger( MuninnPageCursor.class, "readAheadWindow", 32 );
+
+    // The number of consecutive sequential pins a PF_READ_AHEAD cursor must make before read-ahead kicks in.
+    private static final int readAheadThreshold = getInteger( MuninnPageCursor.class, "readAheadThreshold", 4 );
+
     // Size of the respective primitive types in bytes.
     private static final int SIZE_OF_BYTE = Byte.BYTES;
     private static final int SIZE_OF_SHORT = Short.BYTES;
@@ -67,6 +76,8 @@ abstract class MuninnPageCursor extends PageCursor
     protected boolean eagerFlush;
     protected boolean noFault;
     protected boolean noGrow;
+    protected boolean readAhead;
+    protected boolean transientAccess;
     protected long currentPageId;
     protected long nextPageId;
     protected MuninnPageCursor linkedCursor;
@@ -77,6 +88,11 @@ abstract class MuninnPageCursor extends PageCursor
     private int offset;
     private boolean outOfBounds;
     private boolean isLinkedCursor;
+    // Read-ahead state: the previously pinned file page id, how many pins in a row have been sequential, and the file
+    // page id up to which (exclusive) we have already requested read-ahead.
+    private long readAheadPreviousPageId;
+    private int readAheadSequentialPins;
+    private long readAheadHorizon;
     // This is a String with the exception message if usePreciseCursorErrorStackTraces is false, otherwise it is a
     // CursorExceptionWithPreciseStackTrace with the message and stack trace pointing more or less directly at the
     // offending code.
@@ -105,6 +121,11 @@ abstract class MuninnPageCursor extends PageCursor
         this.eagerFlush = isFlagRaised( pf_flags, PF_EAGER_FLUSH );
         this.noFault = isFlagRaised( pf_flags, PF_NO_FAULT );
         this.noGrow = noFault | isFlagRaised( pf_flags, PagedFile.PF_NO_GROW );
+        this.readAhead = !noFault & isFlagRaised( pf_flags, PF_READ_AHEAD );
+        this.transientAccess = isFlagRaised( pf_flags, PF_TRANSIENT );
+        this.readAheadPreviousPageId = UNBOUND_PAGE_ID;
+        this.readAheadSequentialPins = 0;
+        this.readAheadHorizon = 0;
     }
 
     private boolean isFlagRaised( int flagSet, int flag )
@@ -263,6 +284,43 @@ abstract class MuninnPageCursor extends PageCursor
         return currentPageId == UNBOUND_PAGE_ID ? null : pagedFile.file();
     }
 
+    /**
+     * Called by {@link #next()} implementations on {@link PagedFile#PF_READ_AHEAD} cursors, before pinning the given
+     * file page.
+     * <p>
+     * Once the cursor has been moving sequentially forward for a while, we ask the page cache to fault in the next
+     * window of pages in the background, using vectored reads. When the cursor gets within half a window of the pages
+     * we have already asked for, the next window is requested. Any non-sequential access resets the detection.
+     * @param filePageId The file page id that is about to be pinned.
+     * @param lastPageId The id of the last page in the file.
+     */
+    final void maybeReadAhead( long filePageId, long lastPageId )
+    {
+        if ( filePageId == readAheadPreviousPageId + 1 )
+        {
+            readAheadSequentialPins++;
+        }
+        else
+        {
+            readAheadSequentialPins = 0;
+            readAheadHorizon = filePageId + 1;
+        }
+        readAheadPreviousPageId = filePageId;
+
+        if ( readAheadSequentialPins >= readAheadThreshold &&
+             filePageId + readAheadWindow / 2 >= readAheadHorizon &&
+             readAheadHorizon <= lastPageId )
+        {
+            long startFilePageId = Math.max( readAheadHorizon, filePageId + 1 );
+            int scheduledPages = pagedFile.pageCache.scheduleReadAhead(
+                    pagedFile, startFilePageId, readAheadWindow, transientAccess );
+            if ( scheduledPages > 0 )
+            {
+                readAheadHorizon = startFilePageId + scheduledPages;
+            }
+        }
+    }
+
     /**
      * Pin the desired file page to this cursor, page faulting it into memory if it isn't there already.
      * @param filePageId The file page id we want to pin this cursor to.
@@ -24,6 +24,7 @@ import java.io.Flushable;
 import java.io.IOException;
 import java.nio.channels.ClosedChannelException;
 import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.neo4j.io.pagecache.IOLimiter;
 import org.neo4j.io.pagecache.PageCursor;
@@ -77,6 +78,17 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
     // Used to trace the causes of any exceptions from getLastPageId.
     private volatile Exception closeStackTrace;
 
+    // Whether or not any page of this file may have been modified since the last flush of it started.
+    // Set by write cursors after they've released their write locks, and cleared before a flush starts
+    // looking for dirty pages. Any page modified while this is false will have been found by the previous flush,
+    // so a flush can skip both looking for dirty pages and forcing the file. Starts out as true, because
+    // the file may have been modified without being forced before it was mapped.
+    private volatile boolean modifiedSinceLastFlush = true;
+    // Flushes of this file are done one at a time, except the one when closing it. A flush that finds nothing
+    // modified since the last flush started must still wait for that flush to complete, since it is only then
+    // that the pages are durable.
+    private final ReentrantLock flushLock = new ReentrantLock();
+
     // max modifier transaction id among evicted pages for this file
     private static final long evictedTransactionIdOffset = UnsafeUtil.getFieldOffset( MuninnPagedFile.class, "highestEvictedTransactionId" );
     @SuppressWarnings( "unused" ) // accessed using unsafe
@@ -334,6 +346,51 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
 
     void flushAndForceInternal( FlushEventOpportunity flushes, boolean forClosing, IOLimiter limiter )
             throws IOException
+    {
+        if ( forClosing )
+        {
+            // Closing a file must not wait for a flush of the whole page cache, which may be held up indefinitely by
+            // its IO limiter while it is flushing this file. Such a flush gives up on the pages it has yet to write
+            // once the file is closed, and has already cleared modifiedSinceLastFlush, so the closing thread flushes
+            // every page that is still dirty, without the flush lock, just like it did before there was one.
+            flush( flushes, true, limiter );
+            return;
+        }
+
+        flushLock.lock();
+        try
+        {
+            flushIfModifiedSinceLastFlush( flushes, limiter );
+        }
+        finally
+        {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushIfModifiedSinceLastFlush( FlushEventOpportunity flushes, IOLimiter limiter ) throws IOException
+    {
+        if ( !modifiedSinceLastFlush )
+        {
+            return;
+        }
+        modifiedSinceLastFlush = false;
+        boolean success = false;
+        try
+        {
+            flush( flushes, false, limiter );
+            success = true;
+        }
+        finally
+        {
+            if ( !success )
+            {
+                modifiedSinceLastFlush = true;
+            }
+        }
+    }
+
+    private void flush( FlushEventOpportunity flushes, boolean forClosing, IOLimiter limiter ) throws IOException
     {
         try
         {
@@ -346,6 +403,17 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         }
     }
 
+    /**
+     * Called by write cursors after having released the write lock of a page they may have modified.
+     */
+    void markModifiedSinceLastFlush()
+    {
+        if ( !modifiedSinceLastFlush )
+        {
+            modifiedSinceLastFlush = true;
+        }
+    }
+
     private void doFlushAndForceInternal( FlushEventOpportunity flushes, boolean forClosing, IOLimiter limiter )
             throws IOException
     {
@@ -598,6 +666,30 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         while ( !UnsafeUtil.compareAndSwapLong( this, headerStateOffset, current, update ) );
     }
 
+    /**
+     * Atomically increment the reference count for this mapped file, unless it has already dropped to zero, meaning
+     * the file has been, or is being, unmapped and closed.
+     *
+     * @return {@code true} if the reference count was incremented, otherwise {@code false}.
+     */
+    boolean tryIncrementRefCount()
+    {
+        long current;
+        long update;
+        do
+        {
+            current = getHeaderState();
+            long count = refCountOf( current );
+            if ( count == 0 || count == headerStateRefCountMax )
+            {
+                return false;
+            }
+            update = (current & headerStateLastPageIdMask) + ((count + 1) << headerStateRefCountShift);
+        }
+        while ( !UnsafeUtil.compareAndSwapLong( this, headerStateOffset, current, update ) );
+        return true;
+    }
+
     /**
      * Atomically decrement the reference count. Returns true if this was the
      * last reference.
@@ -646,6 +738,156 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         return pageCache.grabFreeAndExclusivelyLockedPage( faultEvent );
     }
 
+    @Override
+    public long loadPages( long startPageId, int pageCount ) throws IOException
+    {
+        // The read-ahead keeps all the pages it reads exclusively locked until the read completes, so we load the
+        // range in batches that are small enough to not starve the rest of the page cache.
+        int batchSize = Math.max( 1, pageCache.maxReadAheadPageCount() );
+        long endPageId = startPageId + pageCount;
+        long pagesLoaded = 0;
+        for ( long pageId = startPageId; pageId < endPageId; pageId += batchSize )
+        {
+            pagesLoaded += readAhead( pageId, (int) Math.min( batchSize, endPageId - pageId ), false );
+        }
+        return pagesLoaded;
+    }
+
+    /**
+     * Speculatively fault in up to {@code pageCount} pages, starting from the given {@code startFilePageId}.
+     * <p>
+     * Pages that are already in memory, or that are concurrently being faulted in by some other thread, are skipped.
+     * The remaining pages are faulted in with as few vectored reads as possible. This never waits on page fault latches
+     * held by other threads, and never goes beyond the end of the file.
+     * @param startFilePageId The file page id of the first page to read ahead.
+     * @param pageCount The maximum number of pages to read ahead.
+     * @param transientAccess {@code true} if the pages should be left cold, as if faulted in by a
+     * {@link PagedFile#PF_TRANSIENT} cursor.
+     * @return The number of pages that were faulted in.
+     * @throws IOException If the read failed, or the file is no longer mapped.
+     */
+    long readAhead( long startFilePageId, int pageCount, boolean transientAccess ) throws IOException
+    {
+        long pagesLoaded = 0;
+        long endFilePageId = Math.min( startFilePageId + pageCount, getLastPageId() + 1 );
+        long[] pageRefs = new long[pageCount];
+        long[] bufferAddresses = new long[pageCount];
+        LatchMap.Latch[] latches = new LatchMap.Latch[pageCount];
+        long runStartFilePageId = startFilePageId;
+        int runLength = 0;
+        for ( long filePageId = startFilePageId; filePageId < endFilePageId; filePageId++ )
+        {
+            int chunkId = computeChunkId( filePageId );
+            int[][] tt = translationTable;
+            if ( tt.length <= chunkId )
+            {
+                tt = expandCapacity( chunkId );
+            }
+            int[] chunk = tt[chunkId];
+            long chunkOffset = computeChunkOffset( filePageId );
+            if ( UnsafeUtil.getIntVolatile( chunk, chunkOffset ) == UNMAPPED_TTE )
+            {
+                LatchMap.Latch latch = pageFaultLatches.tryTakeLatch( filePageId );
+                if ( latch != null )
+                {
+                    // Double-check that we didn't race with a page fault, just like MuninnPageCursor does.
+                    if ( UnsafeUtil.getIntVolatile( chunk, chunkOffset ) == UNMAPPED_TTE )
+                    {
+                        if ( runLength == 0 )
+                        {
+                            runStartFilePageId = filePageId;
+                        }
+                        latches[runLength] = latch;
+                        try
+                        {
+                            pageRefs[runLength] = grabFreeAndExclusivelyLockedPage( PageFaultEvent.NULL );
+                        }
+                        catch ( Throwable throwable )
+                        {
+                            abortReadAhead( pageRefs, latches, runLength, runLength + 1 );
+                            throw throwable;
+                        }
+                        runLength++;
+                        continue;
+                    }
+                    latch.release();
+                }
+            }
+            // This page is either already in memory, or is being faulted in by someone else, so our run ends here.
+            if ( runLength > 0 )
+            {
+                readAheadRun( runStartFilePageId, pageRefs, bufferAddresses, latches, runLength, transientAccess );
+                pagesLoaded += runLength;
+                runLength = 0;
+            }
+        }
+        if ( runLength > 0 )
+        {
+            readAheadRun( runStartFilePageId, pageRefs, bufferAddresses, latches, runLength, transientAccess );
+            pagesLoaded += runLength;
+        }
+        return pagesLoaded;
+    }
+
+    private void readAheadRun( long startFilePageId, long[] pageRefs, long[] bufferAddresses, LatchMap.Latch[] latches,
+            int length, boolean transientAccess ) throws IOException
+    {
+        long bytesRead;
+        try
+        {
+            // Check if we're racing with unmapping, before we touch the swapper. See MuninnPageCursor.pageFault.
+            getLastPageId();
+            for ( int i = 0; i < length; i++ )
+            {
+                initBuffer( pageRefs[i] );
+            }
+            bytesRead = faultRange( pageRefs, bufferAddresses, length, swapper, swapperId, startFilePageId );
+        }
+        catch ( Throwable throwable )
+        {
+            abortReadAhead( pageRefs, latches, length, length );
+            throw throwable;
+        }
+        for ( int i = 0; i < length; i++ )
+        {
+            long filePageId = startFilePageId + i;
+            long pageRef = pageRefs[i];
+            // Publish the page in the translation table before unlocking it, just like a normal page fault does.
+            int[] chunk = translationTable[computeChunkId( filePageId )];
+            UnsafeUtil.putIntVolatile( chunk, computeChunkOffset( filePageId ), toId( pageRef ) );
+            if ( !transientAccess )
+            {
+                incrementUsage( pageRef );
+            }
+            unlockExclusive( pageRef );
+            latches[i].release();
+        }
+        pageCacheTracer.faults( length );
+        pageCacheTracer.bytesRead( bytesRead );
+    }
+
+    private void abortReadAhead( long[] pageRefs, LatchMap.Latch[] latches, int pagesGrabbed, int latchesTaken )
+    {
+        for ( int i = 0; i < pagesGrabbed; i++ )
+        {
+            long pageRef = pageRefs[i];
+            if ( isLoaded( pageRef ) )
+            {
+                // The page got a file page id, but no swapper, so it is not bound. Eviction will pick it up.
+                unlockExclusive( pageRef );
+            }
+            else
+            {
+                // The page is still exclusively locked and unused, so we can give it straight back.
+                pageCache.addFreePageToFreelist( pageRef );
+            }
+        }
+        for ( int i = 0; i < latchesTaken; i++ )
+        {
+            latches[i].release();
+        }
+    }
+
     /**
      * Remove the mapping of the given filePageId from the translation table, and return the evicted page object.
      * @param filePageId The id of the file page to evict.
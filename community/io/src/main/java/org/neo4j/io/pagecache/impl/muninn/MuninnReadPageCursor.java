@@ -60,6 +60,10 @@ final class MuninnReadPageCursor extends MuninnPageCursor
         }
         currentPageId = nextPageId;
         nextPageId++;
+        if ( readAhead )
+        {
+            maybeReadAhead( currentPageId, lastPageId );
+        }
         pin( currentPageId, false );
         verifyContext();
         return true;
@@ -81,7 +85,10 @@ final class MuninnReadPageCursor extends MuninnPageCursor
     protected void pinCursorToPage( long pageRef, long filePageId, PageSwapper swapper )
     {
         reset( pageRef );
-        pagedFile.incrementUsage( pageRef );
+        if ( !transientAccess )
+        {
+            pagedFile.incrementUsage( pageRef );
+        }
     }
 
     @Override
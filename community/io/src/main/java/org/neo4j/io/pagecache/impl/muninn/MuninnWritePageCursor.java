@@ -54,6 +54,7 @@ final class MuninnWritePageCursor extends MuninnPageCursor
             {
                 pagedFile.unlockWrite( pinnedPageRef );
             }
+            pagedFile.markModifiedSinceLastFlush();
         }
         clearPageCursorState();
     }
@@ -97,6 +98,10 @@ final class MuninnWritePageCursor extends MuninnPageCursor
         }
         currentPageId = nextPageId;
         nextPageId++;
+        if ( readAhead )
+        {
+            maybeReadAhead( currentPageId, lastPageId );
+        }
         pin( currentPageId, true );
         return true;
     }
@@ -125,7 +130,10 @@ final class MuninnWritePageCursor extends MuninnPageCursor
         // after the reset() call, which means that if we throw, the cursor will
         // be closed and the page lock will be released.
         assertPagedFileStillMappedAndGetIdOfLastPage();
-        pagedFile.incrementUsage( pageRef );
+        if ( !transientAccess )
+        {
+            pagedFile.incrementUsage( pageRef );
+        }
         pagedFile.setLastModifiedTxId( pageRef, versionContextSupplier.getVersionContext().committingTransactionId() );
     }
 
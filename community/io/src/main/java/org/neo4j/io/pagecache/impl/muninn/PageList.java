@@ -471,6 +471,45 @@ class PageList
         setSwapperId( pageRef, swapperId ); // Page now considered isBoundTo( swapper, filePageId )
     }
 
+    /**
+     * Fault in a range of consecutive file pages with a single vectored read.
+     * <p>
+     * All the given pages must be exclusively locked and unbound, just like for {@link #fault(long, PageSwapper, short,
+     * long, PageFaultEvent)}. The page at index {@code i} in the {@code pageRefs} array will be bound to the file page
+     * {@code startFilePageId + i}.
+     *
+     * @return the number of bytes read from the file.
+     */
+    public long faultRange( long[] pageRefs, long[] bufferAddresses, int length, PageSwapper swapper, short swapperId,
+            long startFilePageId ) throws IOException
+    {
+        if ( swapper == null )
+        {
+            throw swapperCannotBeNull();
+        }
+        for ( int i = 0; i < length; i++ )
+        {
+            long pageRef = pageRefs[i];
+            long filePageId = startFilePageId + i;
+            int currentSwapper = getSwapperId( pageRef );
+            long currentFilePageId = getFilePageId( pageRef );
+            if ( !isExclusivelyLocked( pageRef ) || currentSwapper != 0 || currentFilePageId != PageCursor.UNBOUND_PAGE_ID )
+            {
+                throw cannotFaultException( pageRef, swapper, swapperId, filePageId, currentSwapper, currentFilePageId );
+            }
+            // Same as in fault(): assign the file page id before swapping in, so a failed read leaves pages that are
+            // loaded, but not bound.
+            setFilePageId( pageRef, filePageId );
+            bufferAddresses[i] = getAddress( pageRef );
+        }
+        long bytesRead = swapper.read( startFilePageId, bufferAddresses, cachePageSize, 0, length );
+        for ( int i = 0; i < length; i++ )
+        {
+            setSwapperId( pageRefs[i], swapperId );
+        }
+        return bytesRead;
+    }
+
     private static IllegalArgumentException swapperCannotBeNull()
     {
         return new IllegalArgumentException( "swapper cannot be null" );
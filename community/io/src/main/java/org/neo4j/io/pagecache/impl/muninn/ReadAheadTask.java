@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+/**
+ * Faults in a range of pages of a {@link MuninnPagedFile} in the background, on behalf of a
+ * {@link org.neo4j.io.pagecache.PagedFile#PF_READ_AHEAD} cursor.
+ * <p>
+ * Read-ahead is only a hint, so any exception is ignored here. If there is a real problem with the file, then the cursor
+ * will run into it when it faults the page in by itself.
+ * <p>
+ * The task holds a reference to the file, taken when it was scheduled, and releases it when it completes. A file that
+ * gets unmapped in the meantime is only flushed and closed once the read-ahead is done with it.
+ */
+final class ReadAheadTask extends BackgroundTask
+{
+    private final MuninnPagedFile pagedFile;
+    private final long startFilePageId;
+    private final int pageCount;
+    private final boolean transientAccess;
+
+    ReadAheadTask( MuninnPageCache pageCache, MuninnPagedFile pagedFile, long startFilePageId, int pageCount,
+            boolean transientAccess )
+    {
+        super( pageCache );
+        this.pagedFile = pagedFile;
+        this.startFilePageId = startFilePageId;
+        this.pageCount = pageCount;
+        this.transientAccess = transientAccess;
+    }
+
+    @Override
+    protected void run( MuninnPageCache pageCache )
+    {
+        try
+        {
+            pagedFile.readAhead( startFilePageId, pageCount, transientAccess );
+        }
+        catch ( Exception ignore )
+        {
+            // Best effort; see class comment. Errors are not ignored, they propagate to the thread running the task.
+        }
+        finally
+        {
+            pageCache.readAheadCompleted( pagedFile );
+        }
+    }
+}
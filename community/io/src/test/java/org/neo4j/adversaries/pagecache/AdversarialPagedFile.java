@@ -100,6 +100,13 @@ public class AdversarialPagedFile implements PagedFile
         return delegate.getLastPageId();
     }
 
+    @Override
+    public long loadPages( long startPageId, int pageCount ) throws IOException
+    {
+        adversary.injectFailure( FileNotFoundException.class, IOException.class, SecurityException.class );
+        return delegate.loadPages( startPageId, pageCount );
+    }
+
     @Override
     public void close() throws IOException
     {
@@ -70,6 +70,19 @@ public class MemoryAllocatorTest
         // Also asserts that no OutOfMemoryError is thrown.
     }
 
+    @Test
+    public void alignedAllocationsMustFitWithinAllocatedMemory()
+    {
+        MemoryAllocator mman = createAllocator( EIGHT_PAGES );
+        for ( int i = 0; i < 8; i++ )
+        {
+            long address = mman.allocateAligned( PageCache.PAGE_SIZE, UnsafeUtil.pageSize() );
+            assertThat( address % UnsafeUtil.pageSize(), is( 0L ) );
+            // The padding needed for aligning the allocations must not make them overrun the allocated memory.
+            assertThat( mman.availableMemory(), greaterThanOrEqualTo( 0L ) );
+        }
+    }
+
     @Test( expected = IllegalArgumentException.class )
     public void alignmentCannotBeZero()
     {
@@ -67,6 +67,12 @@ public class DelegatingPagedFile implements PagedFile
         return delegate.file();
     }
 
+    @Override
+    public long loadPages( long startPageId, int pageCount ) throws IOException
+    {
+        return delegate.loadPages( startPageId, pageCount );
+    }
+
     @Override
     public void close() throws IOException
     {
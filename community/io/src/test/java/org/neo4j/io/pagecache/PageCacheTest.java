@@ -519,6 +519,54 @@ public abstract class PageCacheTest<T extends PageCache> extends PageCacheTestSu
         flusher.get(); // This must not throw.
     }
 
+    @Test( timeout = SHORT_TIMEOUT_MILLIS )
+    public void closingFileMustFlushPagesNotYetWrittenByRateLimitedFlush() throws Exception
+    {
+        configureStandardPageCache();
+        File file = file( "a" );
+
+        BinaryLatch limiterStartLatch = new BinaryLatch();
+        BinaryLatch limiterBlockLatch = new BinaryLatch();
+        Future<?> flusher;
+
+        try ( PagedFile pagedFile = pageCache.map( file, filePageSize ) )
+        {
+            // Dirty every other page, so that the flush writes them one by one, consulting its IO limiter in between.
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+            {
+                for ( long pageId = 0; pageId < maxPages; pageId += 2 )
+                {
+                    assertTrue( cursor.next( pageId ) );
+                    writeRecords( cursor );
+                }
+            }
+            flusher = executor.submit( () ->
+            {
+                pageCache.flushAndForce( ( stamp, ios, flushable ) ->
+                {
+                    limiterStartLatch.release();
+                    limiterBlockLatch.await();
+                    return 0;
+                } );
+                return null;
+            } );
+
+            limiterStartLatch.await(); // Flusher has written the first page and is now stuck in its IO limiter.
+        } // Closing the file must write the pages the flusher has yet to get to.
+        limiterBlockLatch.release();
+        flusher.get();
+
+        try ( PagedFile pagedFile = pageCache.map( file, filePageSize );
+              PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK ) )
+        {
+            for ( long pageId = 0; pageId < maxPages; pageId += 2 )
+            {
+                assertTrue( cursor.next( pageId ) );
+                verifyRecordsMatchExpected( cursor );
+            }
+        }
+    }
+
     @Test( timeout = SHORT_TIMEOUT_MILLIS )
     public void writesFlushedFromPageCacheMustBeExternallyObservable() throws IOException
     {
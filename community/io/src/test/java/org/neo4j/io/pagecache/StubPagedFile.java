@@ -85,6 +85,12 @@ public class StubPagedFile implements PagedFile
         return lastPageId;
     }
 
+    @Override
+    public long loadPages( long startPageId, int pageCount )
+    {
+        return 0;
+    }
+
     @Override
     public void close()
     {
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.neo4j.graphdb.config.Configuration;
+import org.neo4j.graphdb.mockfs.EphemeralFileSystemAbstraction;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PageSwapper;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
+import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier;
+import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.test.rule.fs.DefaultFileSystemRule;
+import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static org.neo4j.io.pagecache.PageSwapperTest.NO_CALLBACK;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+
+public class DirectIOPageSwapperFactoryTest
+{
+    private static final int PAGE_SIZE = (int) UnsafeUtil.pageSize();
+
+    private final DefaultFileSystemRule fs = new DefaultFileSystemRule();
+    private final TestDirectory directory = TestDirectory.testDirectory( fs.get() );
+    @Rule
+    public final RuleChain rules = RuleChain.outerRule( fs ).around( directory );
+
+    private PageSwapper swapper;
+
+    @After
+    public void closeSwapper() throws IOException
+    {
+        if ( swapper != null )
+        {
+            swapper.close();
+        }
+    }
+
+    @Test
+    public void mustUseDirectIOForAlignedFilesOnRealFileSystem() throws IOException
+    {
+        File file = directory.file( "file" );
+        fs.create( file ).close();
+        assumeTrue( "Direct IO not supported here", canOpenDirect( file ) );
+
+        swapper = createSwapper( fs.get(), file, PAGE_SIZE );
+
+        assertThat( swapper, instanceOf( DirectIOPageSwapper.class ) );
+    }
+
+    @Test
+    public void mustFallBackToBufferedIOForUnalignedPageSize() throws IOException
+    {
+        File file = directory.file( "file" );
+
+        swapper = createSwapper( fs.get(), file, PAGE_SIZE - 1 );
+
+        assertThat( swapper, not( instanceOf( DirectIOPageSwapper.class ) ) );
+    }
+
+    @Test
+    public void mustFallBackToBufferedIOForRecordTrimmedPageSizes() throws IOException
+    {
+        // Node records are 15 bytes and relationship records are 34 bytes, see CommonAbstractStore
+        for ( int recordSize : new int[]{15, 34} )
+        {
+            File file = directory.file( "file" + recordSize );
+            int filePageSize = PageCache.PAGE_SIZE - PageCache.PAGE_SIZE % recordSize;
+
+            PageSwapper recordStoreSwapper = createSwapper( fs.get(), file, filePageSize );
+            try
+            {
+                assertThat( recordStoreSwapper, not( instanceOf( DirectIOPageSwapper.class ) ) );
+            }
+            finally
+            {
+                recordStoreSwapper.close();
+            }
+        }
+    }
+
+    @Test
+    public void mustFallBackToBufferedIOForUnalignedFileSize() throws IOException
+    {
+        File file = directory.file( "file" );
+        fs.create( file ).close();
+        try ( FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.WRITE ) )
+        {
+            channel.truncate( 0 );
+            channel.write( ByteBuffer.allocate( PAGE_SIZE + 1 ) );
+        }
+
+        swapper = createSwapper( fs.get(), file, PAGE_SIZE );
+
+        assertThat( swapper, not( instanceOf( DirectIOPageSwapper.class ) ) );
+    }
+
+    @Test
+    public void mustFallBackToBufferedIOForOtherFileSystems() throws IOException
+    {
+        try ( EphemeralFileSystemAbstraction ephemeralFs = new EphemeralFileSystemAbstraction() )
+        {
+            File file = new File( "file" ).getCanonicalFile();
+            swapper = createSwapper( ephemeralFs, file, PAGE_SIZE );
+
+            assertThat( swapper, not( instanceOf( DirectIOPageSwapper.class ) ) );
+        }
+    }
+
+    @Test
+    public void mustRequireBlockAlignedBuffersWhenDirectIOIsSupported()
+    {
+        long expectedAlignment = DirectIOPageSwapperFactory.isDirectIOSupported() ? UnsafeUtil.pageSize() : 1;
+        assertEquals( expectedAlignment, new DirectIOPageSwapperFactory().getRequiredBufferAlignment() );
+    }
+
+    @Test
+    public void mustReadBackPagesWrittenThroughPageCache() throws IOException
+    {
+        File file = directory.file( "file" );
+        int filePages = 100;
+        try ( PageCache pageCache = createPageCache( 10 );
+              PagedFile pagedFile = pageCache.map( file, PAGE_SIZE, StandardOpenOption.CREATE );
+              PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+        {
+            for ( long pageId = 0; pageId < filePages; pageId++ )
+            {
+                assertTrue( cursor.next() );
+                cursor.putLong( 0, pageId );
+                cursor.putLong( PAGE_SIZE - Long.BYTES, ~pageId );
+            }
+        }
+
+        assertEquals( (long) filePages * PAGE_SIZE, fs.getFileSize( file ) );
+        try ( PageCache pageCache = createPageCache( 10 );
+              PagedFile pagedFile = pageCache.map( file, PAGE_SIZE );
+              PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK ) )
+        {
+            for ( long pageId = 0; pageId < filePages; pageId++ )
+            {
+                assertTrue( cursor.next() );
+                long first;
+                long last;
+                do
+                {
+                    first = cursor.getLong( 0 );
+                    last = cursor.getLong( PAGE_SIZE - Long.BYTES );
+                }
+                while ( cursor.shouldRetry() );
+                assertEquals( pageId, first );
+                assertEquals( ~pageId, last );
+            }
+        }
+    }
+
+    private static PageSwapper createSwapper( FileSystemAbstraction fs, File file, int filePageSize )
+            throws IOException
+    {
+        DirectIOPageSwapperFactory factory = new DirectIOPageSwapperFactory();
+        factory.open( fs, Configuration.EMPTY );
+        return factory.createPageSwapper( file, filePageSize, NO_CALLBACK, true );
+    }
+
+    private PageCache createPageCache( int maxPages )
+    {
+        DirectIOPageSwapperFactory factory = new DirectIOPageSwapperFactory();
+        factory.open( fs.get(), Configuration.EMPTY );
+        return new MuninnPageCache( factory, maxPages, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL,
+                EmptyVersionContextSupplier.EMPTY );
+    }
+
+    private static boolean canOpenDirect( File file )
+    {
+        if ( !DirectIOPageSwapperFactory.isDirectIOSupported() )
+        {
+            return false;
+        }
+        try ( FileChannel ignore = DirectIOPageSwapperFactory.openDirect( file ) )
+        {
+            return true;
+        }
+        catch ( IOException e )
+        {
+            return false;
+        }
+    }
+}
@@ -25,19 +25,28 @@ import org.junit.Test;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.IntSupplier;
 import java.util.function.LongSupplier;
 
+import org.neo4j.graphdb.config.Configuration;
 import org.neo4j.graphdb.mockfs.DelegatingFileSystemAbstraction;
 import org.neo4j.graphdb.mockfs.DelegatingStoreChannel;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.fs.OpenMode;
 import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.pagecache.DelegatingPageSwapper;
 import org.neo4j.io.pagecache.PageCacheTest;
 import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PageEvictionCallback;
+import org.neo4j.io.pagecache.PageSwapper;
 import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
 import org.neo4j.io.pagecache.tracing.ConfigurablePageCursorTracerSupplier;
 import org.neo4j.io.pagecache.tracing.DelegatingPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.EvictionRunEvent;
@@ -45,6 +54,7 @@ import org.neo4j.io.pagecache.tracing.MajorFlushEvent;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.io.pagecache.tracing.cursor.DefaultPageCursorTracerSupplier;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
+import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContext;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
 import org.neo4j.io.pagecache.tracing.recording.RecordingPageCacheTracer;
@@ -52,15 +62,19 @@ import org.neo4j.io.pagecache.tracing.recording.RecordingPageCursorTracer;
 import org.neo4j.io.pagecache.tracing.recording.RecordingPageCursorTracer.Fault;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.neo4j.io.pagecache.PagedFile.PF_NO_FAULT;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_GROW;
+import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_TRANSIENT;
 import static org.neo4j.io.pagecache.tracing.recording.RecordingPageCacheTracer.Evict;
 
 public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache>
@@ -119,6 +133,216 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache>
         }
     }
 
+    @Test
+    public void readAheadMustFaultInPagesThatAreNotInMemory() throws Exception
+    {
+        try ( MuninnPageCache pageCache = createPageCache( fs, 1024, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL ) )
+        {
+            generateFileWithRecords( file( "a" ), recordsPerFilePage * 100, recordSize );
+            try ( PagedFile pagedFile = pageCache.map( file( "a" ), filePageSize ) )
+            {
+                // Fault in a page in the middle of the range, which read-ahead must skip over.
+                try ( PageCursor cursor = pagedFile.io( 10, PF_SHARED_READ_LOCK ) )
+                {
+                    assertTrue( cursor.next() );
+                }
+
+                ((MuninnPagedFile) pagedFile).readAhead( 0, 32, false );
+
+                try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK | PF_NO_FAULT ) )
+                {
+                    for ( long pageId = 0; pageId < 32; pageId++ )
+                    {
+                        assertTrue( cursor.next() );
+                        assertEquals( pageId, cursor.getCurrentPageId() );
+                        verifyRecordsMatchExpected( cursor );
+                    }
+                    assertTrue( cursor.next() );
+                    assertEquals( PageCursor.UNBOUND_PAGE_ID, cursor.getCurrentPageId() );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void readAheadMustNotGoBeyondEndOfFile() throws Exception
+    {
+        try ( MuninnPageCache pageCache = createPageCache( fs, 1024, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL ) )
+        {
+            generateFileWithRecords( file( "a" ), recordsPerFilePage * 10, recordSize );
+            try ( PagedFile pagedFile = pageCache.map( file( "a" ), filePageSize ) )
+            {
+                ((MuninnPagedFile) pagedFile).readAhead( 5, 32, false );
+
+                assertEquals( 9, pagedFile.getLastPageId() );
+                try ( PageCursor cursor = pagedFile.io( 5, PF_SHARED_READ_LOCK | PF_NO_FAULT ) )
+                {
+                    while ( cursor.next() )
+                    {
+                        assertThat( cursor.getCurrentPageId(), is( not( PageCursor.UNBOUND_PAGE_ID ) ) );
+                        verifyRecordsMatchExpected( cursor );
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void readAheadCursorMustReadAllPagesDuringSequentialScan() throws Exception
+    {
+        try ( MuninnPageCache pageCache = createPageCache( fs, 1024, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL ) )
+        {
+            int pageCount = 300;
+            generateFileWithRecords( file( "a" ), recordsPerFilePage * pageCount, recordSize );
+            try ( PagedFile pagedFile = pageCache.map( file( "a" ), filePageSize );
+                  PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK | PF_READ_AHEAD ) )
+            {
+                int pagesSeen = 0;
+                while ( cursor.next() )
+                {
+                    assertEquals( pagesSeen, cursor.getCurrentPageId() );
+                    verifyRecordsMatchExpected( cursor );
+                    pagesSeen++;
+                }
+                assertEquals( pageCount, pagesSeen );
+            }
+        }
+    }
+
+    @Test
+    public void scheduledReadAheadMustKeepFileOpenUntilItCompletes() throws Exception
+    {
+        CountDownLatch readStarted = new CountDownLatch( 1 );
+        CountDownLatch releaseRead = new CountDownLatch( 1 );
+        AtomicBoolean swapperClosed = new AtomicBoolean();
+        SingleFilePageSwapperFactory swapperFactory = new SingleFilePageSwapperFactory()
+        {
+            @Override
+            public PageSwapper createPageSwapper( File file, int filePageSize, PageEvictionCallback onEviction,
+                    boolean createIfNotExist ) throws IOException
+            {
+                return new DelegatingPageSwapper( super.createPageSwapper( file, filePageSize, onEviction, createIfNotExist ) )
+                {
+                    @Override
+                    public long read( long startFilePageId, long[] bufferAddresses, int bufferSize, int arrayOffset, int length )
+                            throws IOException
+                    {
+                        readStarted.countDown();
+                        try
+                        {
+                            releaseRead.await();
+                        }
+                        catch ( InterruptedException e )
+                        {
+                            throw new IOException( e );
+                        }
+                        return super.read( startFilePageId, bufferAddresses, bufferSize, arrayOffset, length );
+                    }
+
+                    @Override
+                    public void close() throws IOException
+                    {
+                        swapperClosed.set( true );
+                        super.close();
+                    }
+                };
+            }
+        };
+        swapperFactory.open( fs, Configuration.EMPTY );
+        try ( MuninnPageCache pageCache = createPageCache( swapperFactory, 1024, PageCacheTracer.NULL,
+                PageCursorTracerSupplier.NULL, EmptyVersionContextSupplier.EMPTY ) )
+        {
+            generateFileWithRecords( file( "a" ), recordsPerFilePage * 100, recordSize );
+            MuninnPagedFile pagedFile = (MuninnPagedFile) pageCache.map( file( "a" ), filePageSize );
+            assertEquals( 32, pageCache.scheduleReadAhead( pagedFile, 0, 32, false ) );
+            readStarted.await();
+
+            // Unmapping the file while the read-ahead is reading from it must leave the file open
+            pagedFile.close();
+            assertEquals( 1, pagedFile.getRefCount() );
+            assertFalse( swapperClosed.get() );
+
+            releaseRead.countDown();
+        }
+        // Closing the page cache waits for the read-ahead, which closes the file
+        assertTrue( swapperClosed.get() );
+    }
+
+    @Test
+    public void readAheadMustNotBeScheduledForUnmappedFile() throws Exception
+    {
+        try ( MuninnPageCache pageCache = createPageCache( fs, 1024, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL ) )
+        {
+            generateFileWithRecords( file( "a" ), recordsPerFilePage * 100, recordSize );
+            MuninnPagedFile pagedFile = (MuninnPagedFile) pageCache.map( file( "a" ), filePageSize );
+            pagedFile.close();
+
+            assertEquals( 0, pageCache.scheduleReadAhead( pagedFile, 0, 32, false ) );
+            assertEquals( 0, pagedFile.getRefCount() );
+        }
+    }
+
+    @Test
+    public void loadPagesMustLoadAllPagesInRangeThatAreNotInMemory() throws Exception
+    {
+        try ( MuninnPageCache pageCache = createPageCache( fs, 1024, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL ) )
+        {
+            generateFileWithRecords( file( "a" ), recordsPerFilePage * 200, recordSize );
+            try ( PagedFile pagedFile = pageCache.map( file( "a" ), filePageSize ) )
+            {
+                try ( PageCursor cursor = pagedFile.io( 20, PF_SHARED_READ_LOCK ) )
+                {
+                    assertTrue( cursor.next() );
+                }
+
+                // The range is larger than a single read-ahead batch, and goes beyond the end of the file.
+                assertEquals( 189, pagedFile.loadPages( 10, 500 ) );
+
+                try ( PageCursor cursor = pagedFile.io( 10, PF_SHARED_READ_LOCK | PF_NO_FAULT ) )
+                {
+                    for ( long pageId = 10; pageId < 200; pageId++ )
+                    {
+                        assertTrue( cursor.next() );
+                        assertEquals( pageId, cursor.getCurrentPageId() );
+                        verifyRecordsMatchExpected( cursor );
+                    }
+                    assertFalse( cursor.next() );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void transientCursorsMustNotProtectPagesFromEviction() throws Exception
+    {
+        writeInitialDataTo( file( "a" ) );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 2, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL );
+              PagedFile pagedFile = pageCache.map( file( "a" ), 8 ) )
+        {
+            for ( int i = 0; i < 3; i++ )
+            {
+                try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK ) )
+                {
+                    assertTrue( cursor.next() );
+                }
+                try ( PageCursor cursor = pagedFile.io( 1, PF_SHARED_READ_LOCK | PF_TRANSIENT ) )
+                {
+                    assertTrue( cursor.next() );
+                }
+            }
+
+            pageCache.evictPages( 1, 0, EvictionRunEvent.NULL );
+
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK | PF_NO_FAULT ) )
+            {
+                assertTrue( cursor.next() );
+                assertEquals( 0, cursor.getCurrentPageId() );
+                assertTrue( cursor.next() );
+                assertEquals( PageCursor.UNBOUND_PAGE_ID, cursor.getCurrentPageId() );
+            }
+        }
+    }
+
     @Test
     public void mustEvictCleanPageWithoutFlushing() throws Exception
     {
@@ -679,6 +903,124 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache>
         }
     }
 
+    @Test
+    public void flushAndForceMustSkipFilesWithoutModifiedPagesSinceLastFlush() throws Exception
+    {
+        Map<String,AtomicInteger> forces = new ConcurrentHashMap<>();
+        SingleFilePageSwapperFactory swapperFactory = new SingleFilePageSwapperFactory()
+        {
+            @Override
+            public PageSwapper createPageSwapper( File file, int filePageSize, PageEvictionCallback onEviction,
+                    boolean createIfNotExist ) throws IOException
+            {
+                AtomicInteger counter = forces.computeIfAbsent( file.getName(), name -> new AtomicInteger() );
+                return new DelegatingPageSwapper( super.createPageSwapper( file, filePageSize, onEviction, createIfNotExist ) )
+                {
+                    @Override
+                    public void force() throws IOException
+                    {
+                        super.force();
+                        counter.incrementAndGet();
+                    }
+                };
+            }
+        };
+        swapperFactory.open( fs, Configuration.EMPTY );
+        try ( MuninnPageCache pageCache = createPageCache( swapperFactory, 8, PageCacheTracer.NULL,
+                PageCursorTracerSupplier.NULL, EmptyVersionContextSupplier.EMPTY );
+              PagedFile a = pageCache.map( existingFile( "a" ), 8 );
+              PagedFile b = pageCache.map( existingFile( "b" ), 8 ) )
+        {
+            // Files may have been modified before being mapped, so the first flush forces them regardless
+            pageCache.flushAndForce();
+            assertEquals( 1, forces.get( "a" ).get() );
+            assertEquals( 1, forces.get( "b" ).get() );
+
+            try ( PageCursor cursor = a.io( 0, PF_SHARED_WRITE_LOCK ) )
+            {
+                assertTrue( cursor.next() );
+                cursor.putLong( x );
+            }
+            pageCache.flushAndForce();
+            assertEquals( 2, forces.get( "a" ).get() );
+            assertEquals( 1, forces.get( "b" ).get() );
+
+            b.flushAndForce();
+            pageCache.flushAndForce();
+            assertEquals( 2, forces.get( "a" ).get() );
+            assertEquals( 1, forces.get( "b" ).get() );
+        }
+    }
+
+    @Test
+    public void flushAndForceMustWaitForConcurrentFlushOfSameFileToComplete() throws Exception
+    {
+        CountDownLatch forceStarted = new CountDownLatch( 1 );
+        CountDownLatch releaseForce = new CountDownLatch( 1 );
+        AtomicInteger forces = new AtomicInteger();
+        SingleFilePageSwapperFactory swapperFactory = new SingleFilePageSwapperFactory()
+        {
+            @Override
+            public PageSwapper createPageSwapper( File file, int filePageSize, PageEvictionCallback onEviction,
+                    boolean createIfNotExist ) throws IOException
+            {
+                return new DelegatingPageSwapper( super.createPageSwapper( file, filePageSize, onEviction, createIfNotExist ) )
+                {
+                    @Override
+                    public void force() throws IOException
+                    {
+                        if ( forces.incrementAndGet() == 2 )
+                        {
+                            forceStarted.countDown();
+                            try
+                            {
+                                releaseForce.await();
+                            }
+                            catch ( InterruptedException e )
+                            {
+                                throw new IOException( e );
+                            }
+                        }
+                        super.force();
+                    }
+                };
+            }
+        };
+        swapperFactory.open( fs, Configuration.EMPTY );
+        try ( MuninnPageCache pageCache = createPageCache( swapperFactory, 8, PageCacheTracer.NULL,
+                PageCursorTracerSupplier.NULL, EmptyVersionContextSupplier.EMPTY );
+              PagedFile pagedFile = pageCache.map( existingFile( "a" ), 8 ) )
+        {
+            pagedFile.flushAndForce();
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+            {
+                assertTrue( cursor.next() );
+                cursor.putLong( x );
+            }
+
+            Future<?> firstFlush = executor.submit( () ->
+            {
+                pagedFile.flushAndForce();
+                return null;
+            } );
+            forceStarted.await();
+            Future<?> secondFlush = executor.submit( () ->
+            {
+                pagedFile.flushAndForce();
+                return null;
+            } );
+
+            // Nothing was modified since the first flush started, but that flush is not done forcing the file yet
+            Thread.sleep( 100 );
+            assertFalse( secondFlush.isDone() );
+
+            releaseForce.countDown();
+            firstFlush.get();
+            secondFlush.get();
+            assertEquals( 2, forces.get() );
+        }
+    }
+
     private void evictAllPages( MuninnPageCache pageCache ) throws IOException
     {
         PageList pages = pageCache.pages;
@@ -79,6 +79,12 @@ public interface Read
      */
     void nodeLabelIntersectionScan( NodeLabelIndexCursor cursor, int... labels );
 
+    /**
+     * Return all nodes with the given label, split into batches that can be read from multiple threads in parallel.
+     *
+     * @param label the label token id.
+     * @return a {@link Scan} handing out batches of the nodes to {@link NodeLabelIndexCursor node label index cursors}.
+     */
     Scan<NodeLabelIndexCursor> nodeLabelScan( int label );
 
     /**
@@ -88,6 +94,11 @@ public interface Read
      */
     void allNodesScan( NodeCursor cursor );
 
+    /**
+     * Return all nodes in the graph, split into batches that can be read from multiple threads in parallel.
+     *
+     * @return a {@link Scan} handing out batches of the nodes to {@link NodeCursor node cursors}.
+     */
     Scan<NodeCursor> allNodesScan();
 
     /**
@@ -259,10 +270,21 @@ public interface Read
 
     void allRelationshipsScan( RelationshipScanCursor cursor );
 
+    /**
+     * Return all relationships in the graph, split into batches that can be read from multiple threads in parallel.
+     *
+     * @return a {@link Scan} handing out batches of the relationships to {@link RelationshipScanCursor relationship cursors}.
+     */
     Scan<RelationshipScanCursor> allRelationshipsScan();
 
     void relationshipTypeScan( int type, RelationshipScanCursor cursor );
 
+    /**
+     * Return all relationships of the given type, split into batches that can be read from multiple threads in parallel.
+     *
+     * @param type the relationship type token id.
+     * @return a {@link Scan} handing out batches of the relationships to {@link RelationshipScanCursor relationship cursors}.
+     */
     Scan<RelationshipScanCursor> relationshipTypeScan( int type );
 
     /**
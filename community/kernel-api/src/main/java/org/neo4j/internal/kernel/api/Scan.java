@@ -21,11 +21,23 @@ package org.neo4j.internal.kernel.api;
 
 /**
  * Initializer for spreading a scan operator over multiple cursors for use from different threads in parallel.
+ * <p>
+ * The scan is split into batches which are handed out to cursors through {@link #reserveBatch(Cursor, int)}.
+ * Every entity of the scan is seen in exactly one batch, regardless of how many threads are reserving batches.
+ * The transaction state is captured when the scan is created, and all batches see that same state.
  *
  * @param <Cursor>
  *         the type of cursor this object initializes.
  */
 public interface Scan<Cursor extends org.neo4j.internal.kernel.api.Cursor>
 {
-    void initialize( Cursor cursor );
+    /**
+     * Reserves the next batch of this scan and initializes the given cursor to iterate over it. Safe to call
+     * concurrently from multiple threads, as long as each thread uses its own cursor.
+     *
+     * @param cursor the cursor to initialize for the reserved batch.
+     * @param sizeHint the number of entity ids the batch should span, must be positive.
+     * @return {@code true} if a batch was reserved, {@code false} if the scan has no more batches to hand out.
+     */
+    boolean reserveBatch( Cursor cursor, int sizeHint );
 }
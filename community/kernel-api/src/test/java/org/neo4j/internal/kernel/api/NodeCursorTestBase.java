@@ -92,6 +92,38 @@ public abstract class NodeCursorTestBase<G extends KernelAPIReadTestSupport> ext
         assertEquals( NODE_IDS, ids );
     }
 
+    @Test
+    public void shouldScanNodesInBatches()
+    {
+        // given
+        List<Long> ids = new ArrayList<>();
+        Scan<NodeCursor> scan = read.allNodesScan();
+        try ( NodeCursor first = cursors.allocateNodeCursor();
+              NodeCursor second = cursors.allocateNodeCursor() )
+        {
+            // when
+            boolean reservedFirst;
+            boolean reservedSecond;
+            do
+            {
+                reservedFirst = scan.reserveBatch( first, 2 );
+                reservedSecond = scan.reserveBatch( second, 2 );
+                while ( first.next() )
+                {
+                    ids.add( first.nodeReference() );
+                }
+                while ( second.next() )
+                {
+                    ids.add( second.nodeReference() );
+                }
+            }
+            while ( reservedFirst && reservedSecond );
+        }
+
+        // then
+        assertEquals( NODE_IDS, ids );
+    }
+
     @Test
     public void shouldAccessNodesByReference()
     {
@@ -112,6 +112,38 @@ public abstract class NodeIndexTransactionStateTestBase<G extends KernelAPIWrite
         }
     }
 
+    @Test
+    public void shouldNotSeeNodesAddedWhileIteratingSeekResult() throws Exception
+    {
+        // given
+        createIndex();
+        MutableLongSet expected = new LongHashSet();
+
+        // when
+        try ( Transaction tx = session.beginTransaction() )
+        {
+            int label = tx.tokenRead().nodeLabel( "Node" );
+            int prop = tx.tokenRead().propertyKey( "prop" );
+            for ( int i = 0; i < 10; i++ )
+            {
+                expected.add( nodeWithProp( tx, "value" ) );
+            }
+            CapableIndexReference index = tx.schemaRead().index( label, prop );
+            try ( NodeValueIndexCursor nodes = tx.cursors().allocateNodeValueIndexCursor() )
+            {
+                tx.dataRead().nodeIndexSeek( index, nodes, IndexOrder.NONE, IndexQuery.exact( prop, "value" ) );
+                MutableLongSet found = new LongHashSet();
+                while ( nodes.next() )
+                {
+                    found.add( nodes.nodeReference() );
+                    nodeWithProp( tx, "value" );
+                }
+
+                assertThat( found, equalTo( expected ) );
+            }
+        }
+    }
+
     @Test
     public void shouldThrowIfTransactionTerminated() throws Exception
     {
@@ -25,6 +25,7 @@ import org.junit.Test;
 
 import org.neo4j.internal.kernel.api.exceptions.KernelException;
 
+import static org.junit.Assert.assertEquals;
 import static org.neo4j.internal.kernel.api.IndexReadAsserts.assertNodeCount;
 import static org.neo4j.internal.kernel.api.IndexReadAsserts.assertNodes;
 
@@ -132,6 +133,110 @@ public abstract class NodeLabelIndexCursorTestBase<G extends KernelAPIWriteTestS
         }
     }
 
+    @Test
+    public void shouldFindNodesByLabelInBatches() throws Exception
+    {
+        // GIVEN
+        MutableLongSet expected = new LongHashSet();
+        try ( Transaction tx = session.beginTransaction() )
+        {
+            for ( int i = 0; i < 200; i++ )
+            {
+                if ( i % 3 == 0 )
+                {
+                    expected.add( createNode( tx.dataWrite(), labelOne ) );
+                }
+                else
+                {
+                    createNode( tx.dataWrite(), labelTwo );
+                }
+            }
+            tx.success();
+        }
+
+        try ( Transaction tx = session.beginTransaction() )
+        {
+            Scan<NodeLabelIndexCursor> scan = tx.dataRead().nodeLabelScan( labelOne );
+            MutableLongSet uniqueIds = new LongHashSet();
+            int count = 0;
+            try ( NodeLabelIndexCursor first = tx.cursors().allocateNodeLabelIndexCursor();
+                  NodeLabelIndexCursor second = tx.cursors().allocateNodeLabelIndexCursor() )
+            {
+                // WHEN
+                boolean reservedFirst;
+                boolean reservedSecond;
+                do
+                {
+                    reservedFirst = scan.reserveBatch( first, 10 );
+                    reservedSecond = scan.reserveBatch( second, 10 );
+                    while ( first.next() )
+                    {
+                        uniqueIds.add( first.nodeReference() );
+                        count++;
+                    }
+                    while ( second.next() )
+                    {
+                        uniqueIds.add( second.nodeReference() );
+                        count++;
+                    }
+                }
+                while ( reservedFirst && reservedSecond );
+            }
+
+            // THEN
+            assertEquals( expected, uniqueIds );
+            assertEquals( expected.size(), count );
+        }
+    }
+
+    @Test
+    public void shouldFindNodesByLabelInTxInBatches() throws Exception
+    {
+        long inStore;
+        long deletedInTx;
+        long removedLabelInTx;
+        long createdInTx;
+        long addedLabelInTx;
+
+        try ( Transaction tx = session.beginTransaction() )
+        {
+            inStore = createNode( tx.dataWrite(), labelOne );
+            addedLabelInTx = createNode( tx.dataWrite(), labelTwo );
+            deletedInTx = createNode( tx.dataWrite(), labelOne );
+            removedLabelInTx = createNode( tx.dataWrite(), labelOne );
+            tx.success();
+        }
+
+        try ( Transaction tx = session.beginTransaction() )
+        {
+            tx.dataWrite().nodeDelete( deletedInTx );
+            tx.dataWrite().nodeRemoveLabel( removedLabelInTx, labelOne );
+            tx.dataWrite().nodeAddLabel( addedLabelInTx, labelOne );
+            createdInTx = createNode( tx.dataWrite(), labelOne );
+            createNode( tx.dataWrite(), labelTwo );
+
+            Scan<NodeLabelIndexCursor> scan = tx.dataRead().nodeLabelScan( labelOne );
+            MutableLongSet uniqueIds = new LongHashSet();
+            int count = 0;
+            try ( NodeLabelIndexCursor cursor = tx.cursors().allocateNodeLabelIndexCursor() )
+            {
+                // when
+                while ( scan.reserveBatch( cursor, 1 ) )
+                {
+                    while ( cursor.next() )
+                    {
+                        uniqueIds.add( cursor.nodeReference() );
+                        count++;
+                    }
+                }
+            }
+
+            // then
+            assertEquals( LongHashSet.newSetWith( inStore, addedLabelInTx, createdInTx ), uniqueIds );
+            assertEquals( 3, count );
+        }
+    }
+
     private long createNode( Write write, int... labels ) throws KernelException
     {
         long nodeId = write.nodeCreate();
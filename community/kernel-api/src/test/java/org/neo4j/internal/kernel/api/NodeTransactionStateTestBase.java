@@ -22,7 +22,9 @@ package org.neo4j.internal.kernel.api;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.neo4j.helpers.collection.Iterables;
 
@@ -62,6 +64,38 @@ public abstract class NodeTransactionStateTestBase<G extends KernelAPIWriteTestS
         }
     }
 
+    @Test
+    public void shouldSeeNodeChangesOfTransactionInBatchedScan() throws Exception
+    {
+        long kept, deleted, created;
+        try ( Transaction tx = session.beginTransaction() )
+        {
+            kept = tx.dataWrite().nodeCreate();
+            deleted = tx.dataWrite().nodeCreate();
+            tx.success();
+        }
+
+        try ( Transaction tx = session.beginTransaction() )
+        {
+            created = tx.dataWrite().nodeCreate();
+            tx.dataWrite().nodeDelete( deleted );
+
+            Scan<NodeCursor> scan = tx.dataRead().allNodesScan();
+            List<Long> ids = new ArrayList<>();
+            try ( NodeCursor node = tx.cursors().allocateNodeCursor() )
+            {
+                while ( scan.reserveBatch( node, 1 ) )
+                {
+                    while ( node.next() )
+                    {
+                        ids.add( node.nodeReference() );
+                    }
+                }
+            }
+            assertThat( ids, containsInAnyOrder( kept, created ) );
+        }
+    }
+
     @Test
     public void shouldSeeNewLabeledNodeInTransaction() throws Exception
     {
@@ -105,6 +105,50 @@ public abstract class RelationshipScanCursorTestBase<G extends KernelAPIReadTest
         assertEquals( RELATIONSHIP_IDS, ids );
     }
 
+    @Test
+    public void shouldScanRelationshipsInBatches()
+    {
+        // given
+        List<Long> ids = new ArrayList<>();
+        Scan<RelationshipScanCursor> scan = read.allRelationshipsScan();
+        try ( RelationshipScanCursor relationships = cursors.allocateRelationshipScanCursor() )
+        {
+            // when
+            while ( scan.reserveBatch( relationships, 3 ) )
+            {
+                while ( relationships.next() )
+                {
+                    ids.add( relationships.relationshipReference() );
+                }
+            }
+        }
+
+        assertEquals( RELATIONSHIP_IDS, ids );
+    }
+
+    @Test
+    public void shouldScanRelationshipsOfTypeInBatches()
+    {
+        // given
+        int circle = token.relationshipType( "CIRCLE" );
+        int count = 0;
+        Scan<RelationshipScanCursor> scan = read.relationshipTypeScan( circle );
+        try ( RelationshipScanCursor relationships = cursors.allocateRelationshipScanCursor() )
+        {
+            // when
+            while ( scan.reserveBatch( relationships, 4 ) )
+            {
+                while ( relationships.next() )
+                {
+                    assertEquals( circle, relationships.type() );
+                    count++;
+                }
+            }
+        }
+
+        assertEquals( 6, count );
+    }
+
     @Test
     public void shouldAccessRelationshipByReference()
     {
@@ -461,6 +461,25 @@ public class GraphDatabaseSettings implements LoadableConfig
                   "Set this to -1 to disable the IOPS limit." )
     public static final Setting<Integer> check_point_iops_limit = setting( "dbms.checkpoint.iops.limit", INTEGER, "300" );
 
+    @Description( "Configures the duration the background checkpoint process should aim to spread the flushing of the " +
+                  "store files over, instead of flushing as fast as 'dbms.checkpoint.iops.limit' allows. The number of " +
+                  "pages to flush is estimated from the previous checkpoint, and flushing is paused whenever it is " +
+                  "ahead of schedule, which smooths out the IO load that checkpoints place on the system. Pacing " +
+                  "never makes a checkpoint take longer than this duration, and is abandoned as soon as a checkpoint " +
+                  "is requested to complete, e.g. on shutdown or backup. The duration should be well below " +
+                  "'dbms.checkpoint.interval.time'. The default is '0s', which disables pacing." )
+    public static final Setting<Duration> check_point_flush_target_duration =
+            setting( "dbms.checkpoint.flush.target_duration", DURATION, "0s" );
+
+    @Description( "The number of threads used for replaying the transaction log during recovery. With a value greater " +
+                  "than 1, transactions are read and decoded ahead of being applied, are applied in batches, and the " +
+                  "record updates in each batch are spread over this many threads, partitioned by record id so that " +
+                  "updates to any given record are still applied in log order. This can make recovery of a long " +
+                  "transaction log tail, e.g. with a high 'dbms.checkpoint.interval.tx', considerably faster. " +
+                  "The default is '1', which replays one transaction at a time." )
+    public static final Setting<Integer> recovery_parallelism =
+            buildSetting( "dbms.recovery.parallelism", INTEGER, "1" ).constraint( min( 1 ) ).build();
+
     // Auto Indexing
     @Description( "Controls the auto indexing feature for nodes. Setting it to `false` shuts it down, " +
             "while `true` enables it by default for properties listed in the dbms.auto_index.nodes.keys setting." )
@@ -595,6 +614,18 @@ public class GraphDatabaseSettings implements LoadableConfig
     public static final Setting<Long> logical_log_rotation_threshold =
             buildSetting( "dbms.tx_log.rotation.size", BYTES, "250M" ).constraint( min( ByteUnit.mebiBytes( 1 ) ) ).build();
 
+    @Description( "Max time a committed transaction waits for more transactions to commit, so that the transaction log " +
+            "can be forced once for all of them. A longer delay means fewer forces, at the cost of higher commit " +
+            "latency. Zero means that committing threads force the transaction log themselves, batching only " +
+            "transactions that happen to commit concurrently." )
+    public static final Setting<Duration> group_commit_max_delay =
+            buildSetting( "dbms.tx_log.group_commit.max_delay", DURATION, "0s" ).constraint( min( Duration.ZERO ) ).build();
+
+    @Description( "Number of transactions waiting for the transaction log to be forced, at which the log is forced " +
+            "without waiting for the rest of `dbms.tx_log.group_commit.max_delay`." )
+    public static final Setting<Integer> group_commit_max_batch_size =
+            buildSetting( "dbms.tx_log.group_commit.max_batch_size", INTEGER, "1000" ).constraint( min( 1 ) ).build();
+
     @Description( "Use a quick approach for rebuilding the ID generators. This give quicker recovery time, " +
             "but will limit the ability to reuse the space of deleted entities." )
     @Internal
@@ -630,23 +661,28 @@ public class GraphDatabaseSettings implements LoadableConfig
     public static final Setting<String> pagecache_memory =
             buildSetting( "dbms.memory.pagecache.size", STRING, null ).build();
 
-    @Description( "Specify which page swapper to use for doing paged IO. " +
-                  "This is only used when integrating with proprietary storage technology." )
+    @Description( "Specify which page swapper to use for doing paged IO. Set to 'direct' to read and write store " +
+                  "files with direct IO, bypassing the operating system page cache, so that pages aren't cached twice. " +
+                  "Direct IO requires Java 10 or later and a file system that supports it, and is only used for " +
+                  "files whose page size is a multiple of the block size, other files use the default swapper. " +
+                  "Record stores whose record size does not divide the page cache page size, such as the node, " +
+                  "relationship and property stores, trim their pages to whole records (8190 bytes for nodes, " +
+                  "8160 bytes for relationships) and therefore always use the default swapper; the native index " +
+                  "files and the dynamic string and array stores are the ones that benefit from direct IO. " +
+                  "Other values are only used when integrating with proprietary storage technology." )
     public static final Setting<String> pagecache_swapper =
             setting( "dbms.memory.pagecache.swapper", STRING, null );
 
     @Internal
     @Description( "The profiling frequency for the page cache. Accurate profiles allow the page cache to do active " +
-                  "warmup after a restart, reducing the mean time to performance. " +
-                  "This feature available in Neo4j Enterprise Edition." )
+                  "warmup after a restart, reducing the mean time to performance." )
     public static final Setting<Duration> pagecache_warmup_profiling_interval =
             setting( "unsupported.dbms.memory.pagecache.warmup.profile.interval", DURATION, "1m" );
 
     @Internal
     @Description( "Page cache can be configured to perform usage sampling of loaded pages that can be used to construct active load profile. " +
             "According to that profile pages can be reloaded on the restart, replication, etc. " +
-            "This setting allows disabling that behavior. " +
-            "This feature available in Neo4j Enterprise Edition." )
+            "This setting allows disabling that behavior." )
     public static final Setting<Boolean> pagecache_warmup_enabled = setting( "unsupported.dbms.memory.pagecache.warmup.enable", BOOLEAN, TRUE );
 
     /**
@@ -772,6 +808,30 @@ public class GraphDatabaseSettings implements LoadableConfig
     public static final Setting<Integer> log_queries_max_archives = buildSetting( "dbms.logs.query.rotation.keep_number",
             INTEGER, "7" ).constraint( min( 1 ) ).build();
 
+    @Description( "Write the query log from a background thread. Completed queries are handed over to the " +
+            "background thread, which formats and writes them in batches, instead of being written by the thread " +
+            "that executed the query." )
+    @Dynamic
+    public static final Setting<Boolean> log_queries_async_enabled =
+            setting( "dbms.logs.query.async.enabled", BOOLEAN, FALSE );
+
+    @Description( "Maximum number of query log entries waiting to be written by the background thread, when " +
+            "dbms.logs.query.async.enabled is set." )
+    public static final Setting<Integer> log_queries_async_buffer_size =
+            buildSetting( "dbms.logs.query.async.buffer_size", INTEGER, "8192" ).constraint( min( 1 ) ).build();
+
+    @Description( "What to do with query log entries when dbms.logs.query.async.buffer_size entries are already " +
+            "waiting to be written. DROP discards the entry and counts it, the number of dropped entries is " +
+            "reported in the query log. BLOCK makes the query wait until there is room for its entry." )
+    public static final Setting<QueryLogOverflowPolicy> log_queries_async_overflow_policy =
+            setting( "dbms.logs.query.async.overflow_policy", options( QueryLogOverflowPolicy.class ),
+                    QueryLogOverflowPolicy.DROP.name() );
+
+    public enum QueryLogOverflowPolicy
+    {
+        DROP, BLOCK
+    }
+
     @Description( "Specifies number of operations that batch inserter will try to group into one batch before " +
                   "flushing data into underlying storage." )
     @Internal
@@ -910,6 +970,15 @@ public class GraphDatabaseSettings implements LoadableConfig
             buildSetting( "unsupported.dbms.bolt.inbound_message_throttle.low_watermark", INTEGER, String.valueOf( 100 ) ).constraint(
                     range( 1, Integer.MAX_VALUE ) ).build();
 
+    @Description( "Whether auto-commit statements pipelined by a bolt client should be executed in batches, one " +
+            "transaction and so one commit per batch rather than per statement. Each statement still gets a response " +
+            "of its own, which is sent once the batch has been committed. If any statement of a batch fails, or the " +
+            "batch fails to commit, the batch is rolled back and its statements are executed again, one transaction " +
+            "each. Batched statements hold on to their locks until the whole batch is committed." )
+    @Internal
+    public static final Setting<Boolean> bolt_auto_commit_batching =
+            setting( "unsupported.dbms.bolt.auto_commit_batching", BOOLEAN, FALSE );
+
     @Description( "Create an archive of an index before re-creating it if failing to load on startup." )
     @Internal
     public static final Setting<Boolean> archive_failed_index = setting(
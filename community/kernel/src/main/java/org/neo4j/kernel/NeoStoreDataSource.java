@@ -607,7 +607,10 @@ public class NeoStoreDataSource implements Lifecycle, IndexProviders
 
         final TransactionAppender appender = life.add( new BatchingTransactionAppender(
                 logFiles, logRotation, transactionMetadataCache, transactionIdStore, explicitIndexTransactionOrdering,
-                databaseHealth ) );
+                databaseHealth, monitors.newMonitor( BatchingTransactionAppender.Monitor.class ),
+                scheduler.threadFactory( JobScheduler.Groups.logForcer ),
+                config.get( GraphDatabaseSettings.group_commit_max_delay ).toNanos(),
+                config.get( GraphDatabaseSettings.group_commit_max_batch_size ) ) );
         final LogicalTransactionStore logicalTransactionStore =
                 new PhysicalLogicalTransactionStore( logFiles, transactionMetadataCache, logEntryReader, monitors,
                         failOnCorruptedLogFiles );
@@ -616,7 +619,8 @@ public class NeoStoreDataSource implements Lifecycle, IndexProviders
 
         final CheckPointerImpl checkPointer = new CheckPointerImpl(
                 transactionIdStore, threshold, storageEngine, logPruning, appender, databaseHealth, logProvider,
-                tracers.checkPointTracer, ioLimiter, storeCopyCheckPointMutex );
+                tracers.checkPointTracer, ioLimiter, storeCopyCheckPointMutex,
+                config.get( GraphDatabaseSettings.check_point_flush_target_duration ) );
 
         long recurringPeriod = threshold.checkFrequencyMillis();
         CheckPointScheduler checkPointScheduler = new CheckPointScheduler( checkPointer, ioLimiter, scheduler,
@@ -642,7 +646,8 @@ public class NeoStoreDataSource implements Lifecycle, IndexProviders
             LogVersionRepository logVersionRepository )
     {
         RecoveryService recoveryService = new DefaultRecoveryService( storageEngine, tailScanner, transactionIdStore,
-                logicalTransactionStore, logVersionRepository, positionMonitor );
+                logicalTransactionStore, logVersionRepository, positionMonitor,
+                config.get( GraphDatabaseSettings.recovery_parallelism ), scheduler.executor( JobScheduler.Groups.recovery ) );
         CorruptedLogsTruncator logsTruncator = new CorruptedLogsTruncator( storeDir, logFiles, fileSystemAbstraction );
         ProgressReporter progressReporter = new LogProgressReporter( logService.getInternalLog( Recovery.class ) );
         Recovery recovery = new Recovery( recoveryService, startupStatistics, logsTruncator, recoveryMonitor,
@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.function.LongSupplier;
 
+import org.neo4j.graphdb.Resource;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorCounters;
 import org.neo4j.kernel.impl.locking.ActiveLock;
 import org.neo4j.kernel.impl.locking.LockTracer;
@@ -48,6 +49,10 @@ public class ExecutingQuery
 {
     private static final AtomicLongFieldUpdater<ExecutingQuery> WAIT_TIME =
             newUpdater( ExecutingQuery.class, "waitTimeNanos" );
+    private static final AtomicLongFieldUpdater<ExecutingQuery> WORKER_CPU_TIME =
+            newUpdater( ExecutingQuery.class, "workerCpuTimeNanos" );
+    private static final AtomicLongFieldUpdater<ExecutingQuery> WORKER_HEAP_ALLOCATION =
+            newUpdater( ExecutingQuery.class, "workerHeapAllocatedBytes" );
     private final long queryId;
     private final LockTracer lockTracer = this::waitForLock;
     private final PageCursorCounters pageCursorCounters;
@@ -76,6 +81,12 @@ public class ExecutingQuery
     /** Updated through {@link #WAIT_TIME} */
     @SuppressWarnings( "unused" )
     private volatile long waitTimeNanos;
+    /** Updated through {@link #WORKER_CPU_TIME} */
+    @SuppressWarnings( "unused" )
+    private volatile long workerCpuTimeNanos;
+    /** Updated through {@link #WORKER_HEAP_ALLOCATION} */
+    @SuppressWarnings( "unused" )
+    private volatile long workerHeapAllocatedBytes;
 
     public ExecutingQuery(
             long queryId,
@@ -141,6 +152,37 @@ public class ExecutingQuery
         }
     }
 
+    /**
+     * Accounts the CPU time and heap allocation of the current thread to this query, from now until the returned
+     * {@link Resource} is closed. To be used by worker threads executing parts of this query on behalf of the thread
+     * that started it, whose work is accounted to the query anyway. The work of a worker is included in snapshots
+     * taken after it is closed.
+     *
+     * @return a {@link Resource} to close when the current thread is done working on this query.
+     */
+    public Resource trackWorkerThread()
+    {
+        long threadId = Thread.currentThread().getId();
+        if ( threadId == threadExecutingTheQueryId )
+        {
+            return Resource.EMPTY;
+        }
+        long cpuTimeNanosWhenStarted = cpuClock.cpuTimeNanos( threadId );
+        long heapAllocatedBytesWhenStarted = heapAllocation.allocatedBytes( threadId );
+        return () ->
+        {
+            if ( cpuTimeNanosWhenStarted >= 0 )
+            {
+                WORKER_CPU_TIME.addAndGet( this, cpuClock.cpuTimeNanos( threadId ) - cpuTimeNanosWhenStarted );
+            }
+            if ( heapAllocatedBytesWhenStarted >= 0 )
+            {
+                WORKER_HEAP_ALLOCATION.addAndGet( this,
+                        heapAllocation.allocatedBytes( threadId ) - heapAllocatedBytesWhenStarted );
+            }
+        };
+    }
+
     // snapshot state
 
     public QuerySnapshot snapshot()
@@ -173,12 +215,13 @@ public class ExecutingQuery
         long planningTimeNanos = (status.isPlanning() ? currentTimeNanos : planningDoneNanos) - startTimeNanos;
         long elapsedTimeNanos = currentTimeNanos - startTimeNanos;
         cpuTimeNanos -= cpuTimeNanosWhenQueryStarted;
+        cpuTimeNanos += workerCpuTimeNanos;
         waitTimeNanos += status.waitTimeNanos( currentTimeNanos );
         // TODO: when we start allocating native memory as well during query execution,
         // we should have a tracer that keeps track of how much memory we have allocated for the query,
         // and get the value from that here.
         heapAllocatedBytes = heapAllocatedBytesWhenQueryStarted < 0 ? -1 : // mark that we were unable to measure
-                heapAllocatedBytes - heapAllocatedBytesWhenQueryStarted;
+                heapAllocatedBytes - heapAllocatedBytesWhenQueryStarted + workerHeapAllocatedBytes;
 
         return new QuerySnapshot(
                 this,
@@ -188,7 +188,8 @@ public class QuerySnapshot
      */
     public Long idleTimeMillis()
     {
-        return cpuTimeMillis < 0 ? null : (elapsedTimeMillis - cpuTimeMillis - waitTimeMillis);
+        // cpu time includes the time of worker threads, which may run in parallel and add up to more than the elapsed time
+        return cpuTimeMillis < 0 ? null : Math.max( 0, elapsedTimeMillis - cpuTimeMillis - waitTimeMillis );
     }
 
     /**
@@ -70,6 +70,13 @@ public class BoltConnector extends Connector
     @Internal
     public final Setting<Integer> unsupported_thread_pool_queue_size;
 
+    @Description( "How connections of this connector are scheduled onto threads. `EXECUTOR` gives each connection a thread from " +
+            "the thread pool bound to this connector for as long as it is active, including in between the messages of a transaction. " +
+            "`EVENT_LOOP` multiplexes all connections over a shared pool with one thread per CPU core, letting a connection yield its " +
+            "thread in between messages. The thread pool settings of this connector do not apply to `EVENT_LOOP`, which suits " +
+            "many connections running short transactions." )
+    public final Setting<SchedulerType> scheduler;
+
     // Used by config doc generator
     public BoltConnector()
     {
@@ -92,6 +99,7 @@ public class BoltConnector extends Connector
         this.thread_pool_max_size = group.scope( setting( "thread_pool_max_size", INTEGER, String.valueOf( 400 ) ) );
         this.thread_pool_keep_alive = group.scope( setting( "thread_pool_keep_alive", DURATION, "5m" ) );
         this.unsupported_thread_pool_queue_size = group.scope( setting( "unsupported_thread_pool_queue_size", INTEGER, String.valueOf( 0 ) ) );
+        this.scheduler = group.scope( setting( "scheduler", options( SchedulerType.class ), SchedulerType.EXECUTOR.name() ) );
     }
 
     public enum EncryptionLevel
@@ -100,4 +108,10 @@ public class BoltConnector extends Connector
         OPTIONAL,
         DISABLED
     }
+
+    public enum SchedulerType
+    {
+        EXECUTOR,
+        EVENT_LOOP
+    }
 }
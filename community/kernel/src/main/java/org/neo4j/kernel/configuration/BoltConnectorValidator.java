@@ -106,6 +106,10 @@ public class BoltConnectorValidator extends ConnectorValidator
             setting = (BaseSetting) setting( settingName, INTEGER, NO_DEFAULT );
             setting.setDescription( "The queue size of the thread pool bound to this connector (-1 for unbounded, 0 for direct handoff, > 0 for bounded)" );
             break;
+        case "scheduler":
+            setting = (BaseSetting) setting( settingName, options( BoltConnector.SchedulerType.class ), NO_DEFAULT );
+            setting.setDescription( "How connections of this connector are scheduled onto threads." );
+            break;
         default:
             return Optional.empty();
         }
@@ -1209,6 +1209,7 @@ public class TxState implements TransactionState, RelationshipVisitor.Home
     private PrimitiveLongDiffSets getIndexUpdatesForSeek( Map<ValueTuple,PrimitiveLongDiffSets> updates,
             ValueTuple values, boolean create )
     {
+        // Kept on heap, since there is one per updated value and most of them hold just a few nodes
         return create ? updates.computeIfAbsent( values, value -> new PrimitiveLongDiffSets() ) : updates.get( values );
     }
 
@@ -1284,7 +1285,10 @@ public class TxState implements TransactionState, RelationshipVisitor.Home
      */
     public void release()
     {
-        // nop
+        if ( collectionsFactory.collectionsMustBeReleased() )
+        {
+            collectionsFactory.release();
+        }
     }
 
     private static class ConstraintDiffSetsVisitor implements DiffSetsVisitor<ConstraintDescriptor>
@@ -31,19 +31,31 @@ import org.neo4j.storageengine.api.schema.IndexProgressor;
 /**
  * {@link IndexProgressor} which steps over multiple {@link LabelScanValue} and for each
  * iterate over each set bit, returning actual node ids, i.e. {@code nodeIdRange+bitOffset}.
- *
+ * Node ids outside of the range given to it, which are in the same {@link LabelScanValue} as ids in the range,
+ * are skipped.
  */
 public class LabelScanValueIndexProgressor extends LabelScanValueIndexAccessor implements IndexProgressor, Resource
 {
 
     private final NodeLabelClient client;
+    private final long fromId;
+    private final long toId;
 
     LabelScanValueIndexProgressor( RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException> cursor,
             Collection<RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException>> toRemoveFromWhenClosed,
             NodeLabelClient client )
+    {
+        this( cursor, toRemoveFromWhenClosed, client, 0, Long.MAX_VALUE );
+    }
+
+    LabelScanValueIndexProgressor( RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException> cursor,
+            Collection<RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException>> toRemoveFromWhenClosed,
+            NodeLabelClient client, long fromId, long toId )
     {
         super( toRemoveFromWhenClosed, cursor );
         this.client = client;
+        this.fromId = fromId;
+        this.toId = toId;
     }
 
     /**
@@ -56,13 +68,23 @@ public class LabelScanValueIndexProgressor extends LabelScanValueIndexAccessor i
     @Override
     public boolean next()
     {
+        if ( closed )
+        {
+            return false;
+        }
         for ( ; ; )
         {
             while ( bits != 0 )
             {
                 int delta = Long.numberOfTrailingZeros( bits );
                 bits &= bits - 1;
-                if ( client.acceptNode( baseNodeId + delta, null ) )
+                long nodeId = baseNodeId + delta;
+                if ( nodeId >= toId )
+                {
+                    close();
+                    return false;
+                }
+                if ( nodeId >= fromId && client.acceptNode( nodeId, null ) )
                 {
                     return true;
                 }
@@ -24,9 +24,9 @@ import org.eclipse.collections.api.iterator.LongIterator;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.neo4j.collection.PrimitiveLongResourceIterator;
 import org.neo4j.cursor.RawCursor;
@@ -43,6 +43,9 @@ import org.neo4j.storageengine.api.schema.LabelScanReader;
  * <p>
  * The returned {@link LongIterator} aren't closable so the cursors retrieved are managed
  * inside of this reader and closed between each new query and on {@link #close()}.
+ * <p>
+ * Range scans, through {@link #nodesWithLabel(IndexProgressor.NodeLabelClient, int, long, long)}, can be started
+ * concurrently, so the open cursors are kept in a concurrent set.
  */
 class NativeLabelScanReader implements LabelScanReader
 {
@@ -60,7 +63,7 @@ class NativeLabelScanReader implements LabelScanReader
     NativeLabelScanReader( GBPTree<LabelScanKey,LabelScanValue> index )
     {
         this.index = index;
-        this.openCursors = new HashSet<>();
+        this.openCursors = ConcurrentHashMap.newKeySet();
     }
 
     /**
@@ -127,6 +130,25 @@ class NativeLabelScanReader implements LabelScanReader
         client.scan( new LabelScanValueIndexProgressor( cursor, openCursors, client ), false, labelId );
     }
 
+    @Override
+    public void nodesWithLabel( IndexProgressor.NodeLabelClient client, int labelId, long fromId, long toId )
+    {
+        RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException> cursor;
+        try
+        {
+            long toRange = toId == Long.MAX_VALUE ? Long.MAX_VALUE : (toId - 1) / LabelScanValue.RANGE_SIZE + 1;
+            cursor = index.seek( new LabelScanKey( labelId, fromId / LabelScanValue.RANGE_SIZE ),
+                    new LabelScanKey( labelId, toRange ) );
+            openCursors.add( cursor );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+
+        client.scan( new LabelScanValueIndexProgressor( cursor, openCursors, client, fromId, toId ), false, labelId );
+    }
+
     private List<PrimitiveLongResourceIterator> iteratorsForLabels( int[] labelIds )
     {
         List<PrimitiveLongResourceIterator> iterators = new ArrayList<>();
@@ -30,12 +30,15 @@ import java.util.function.IntFunction;
 
 import org.neo4j.cursor.RawCursor;
 import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.index.internal.gbptree.BulkLoader;
 import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Header;
 import org.neo4j.index.internal.gbptree.Hit;
 import org.neo4j.index.internal.gbptree.Layout;
 import org.neo4j.index.internal.gbptree.MetadataMismatchException;
 import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.index.internal.gbptree.Writer;
+import org.neo4j.io.ByteUnit;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.pagecache.IOLimiter;
 import org.neo4j.io.pagecache.PageCache;
@@ -47,6 +50,7 @@ import org.neo4j.kernel.impl.api.scan.FullStoreChangeStream;
 import org.neo4j.kernel.impl.store.UnderlyingStorageException;
 import org.neo4j.kernel.monitoring.Monitors;
 import org.neo4j.storageengine.api.schema.LabelScanReader;
+import org.neo4j.util.FeatureToggles;
 
 import static org.neo4j.helpers.Format.duration;
 import static org.neo4j.helpers.collection.Iterators.asResourceIterator;
@@ -93,6 +97,18 @@ public class NativeLabelScanStore implements LabelScanStore
      */
     private static final byte NEEDS_REBUILDING = (byte) 0x01;
 
+    /**
+     * Size of off-heap buffer used to sort entries when rebuilding, see {@link BulkLoader}.
+     */
+    private static final int REBUILD_BUFFER_SIZE =
+            FeatureToggles.getInteger( NativeLabelScanStore.class, "rebuild_buffer_size", (int) ByteUnit.mebiBytes( 8 ) );
+
+    /**
+     * How full to make tree nodes when rebuilding, leaving room for updates coming after that.
+     */
+    private static final double REBUILD_FILL_FACTOR =
+            FeatureToggles.getDouble( NativeLabelScanStore.class, "rebuild_fill_factor", 0.9 );
+
     /**
      * Whether or not this label scan store is read-only.
      */
@@ -428,9 +444,17 @@ public class NativeLabelScanStore implements LabelScanStore
             long numberOfNodes;
 
             // Intentionally ignore read-only flag here when rebuilding.
-            try ( LabelScanWriter writer = writer() )
+            if ( isEmpty() )
             {
-                numberOfNodes = fullStoreChangeStream.applyTo( writer );
+                numberOfNodes = rebuildBottomUp();
+            }
+            else
+            {
+                // Recovery may have applied updates to the tree after it was created, so it can't be built bottom-up
+                try ( LabelScanWriter writer = writer() )
+                {
+                    numberOfNodes = fullStoreChangeStream.applyTo( writer );
+                }
             }
 
             index.checkpoint( IOLimiter.unlimited(), writeClean );
@@ -440,6 +464,27 @@ public class NativeLabelScanStore implements LabelScanStore
         }
     }
 
+    /**
+     * Builds the empty tree bottom-up from all entries in the store, sorted.
+     *
+     * @return number of nodes in the store.
+     */
+    private long rebuildBottomUp() throws IOException
+    {
+        try ( Writer<LabelScanKey,LabelScanValue> bulkWriter = index.bulkWriter( REBUILD_FILL_FACTOR );
+              BulkLoader<LabelScanKey,LabelScanValue> loader =
+                      new BulkLoader<>( fileSystem, storeFile, new LabelScanLayout(), REBUILD_BUFFER_SIZE ) )
+        {
+            long numberOfNodes;
+            try ( LabelScanWriter writer = singleWriter.initialize( loader.writer() ) )
+            {
+                numberOfNodes = fullStoreChangeStream.applyTo( writer );
+            }
+            loader.load( bulkWriter, NativeLabelScanWriter.ADD_MERGER );
+            return numberOfNodes;
+        }
+    }
+
     private NativeLabelScanWriter writer() throws IOException
     {
         return singleWriter.initialize( index.writer() );
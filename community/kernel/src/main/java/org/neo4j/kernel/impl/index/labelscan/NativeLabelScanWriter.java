@@ -62,7 +62,7 @@ class NativeLabelScanWriter implements LabelScanWriter
     /**
      * {@link ValueMerger} used for adding label->node mappings, see {@link LabelScanValue#add(LabelScanValue)}.
      */
-    private static final ValueMerger<LabelScanKey,LabelScanValue> ADD_MERGER =
+    static final ValueMerger<LabelScanKey,LabelScanValue> ADD_MERGER =
             ( existingKey, newKey, existingValue, newValue ) -> existingValue.add( newValue );
 
     /**
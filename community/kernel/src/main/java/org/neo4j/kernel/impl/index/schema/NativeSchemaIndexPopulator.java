@@ -27,14 +27,17 @@ import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import org.neo4j.concurrent.Work;
 import org.neo4j.concurrent.WorkSync;
+import org.neo4j.index.internal.gbptree.BulkLoader;
 import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Layout;
 import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
 import org.neo4j.index.internal.gbptree.Writer;
+import org.neo4j.io.ByteUnit;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.pagecache.IOLimiter;
 import org.neo4j.io.pagecache.PageCache;
@@ -52,6 +55,8 @@ import org.neo4j.kernel.impl.api.index.sampling.NonUniqueIndexSampler;
 import org.neo4j.kernel.impl.api.index.sampling.UniqueIndexSampler;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.IndexSample;
+import org.neo4j.util.FeatureToggles;
+import org.neo4j.util.VisibleForTesting;
 
 import static org.neo4j.index.internal.gbptree.GBPTree.NO_HEADER_WRITER;
 import static org.neo4j.kernel.api.schema.index.SchemaIndexDescriptor.Type.GENERAL;
@@ -59,6 +64,14 @@ import static org.neo4j.kernel.api.schema.index.SchemaIndexDescriptor.Type.UNIQU
 
 /**
  * {@link IndexPopulator} backed by a {@link GBPTree}.
+ * <p>
+ * Entries added to non-unique indexes are collected in a {@link BulkLoader} and loaded into the tree, which is built
+ * bottom-up from sorted entries, when population completes. Updates made during population are applied after that,
+ * in the order they came in. If too many updates pile up, the collected entries are loaded right away and population
+ * continues by inserting into the tree, like for unique indexes. The off-heap buffers of the bulk loaders of all
+ * populators share a fixed budget and a populator which can't get a buffer from it also inserts into the tree.
+ * Unique indexes are populated by inserting entries into the tree as they come in, since conflicts need to be
+ * detected right away.
  *
  * @param <KEY> type of {@link NativeSchemaKey}.
  * @param <VALUE> type of {@link NativeSchemaValue}.
@@ -70,6 +83,23 @@ public abstract class NativeSchemaIndexPopulator<KEY extends NativeSchemaKey<KEY
     static final byte BYTE_ONLINE = 1;
     static final byte BYTE_POPULATING = 2;
 
+    private static final boolean BULK_LOAD = FeatureToggles.flag( NativeSchemaIndexPopulator.class, "bulk_load", true );
+    private static final int BULK_LOAD_BUFFER_SIZE =
+            FeatureToggles.getInteger( NativeSchemaIndexPopulator.class, "bulk_load_buffer_size", (int) ByteUnit.mebiBytes( 8 ) );
+    private static final double BULK_LOAD_FILL_FACTOR =
+            FeatureToggles.getDouble( NativeSchemaIndexPopulator.class, "bulk_load_fill_factor", 0.9 );
+    private static final int BULK_LOAD_MAX_DEFERRED_UPDATES =
+            FeatureToggles.getInteger( NativeSchemaIndexPopulator.class, "bulk_load_max_deferred_updates", 100_000 );
+    private static final long BULK_LOAD_MAX_MEMORY =
+            FeatureToggles.getLong( NativeSchemaIndexPopulator.class, "bulk_load_max_memory", ByteUnit.mebiBytes( 64 ) );
+
+    /**
+     * Off-heap memory, in bytes, left for {@link BulkLoader} buffers, shared by all populators since many indexes
+     * can be populated at the same time.
+     */
+    @VisibleForTesting
+    static final AtomicLong bulkLoadMemoryAvailable = new AtomicLong( BULK_LOAD_MAX_MEMORY );
+
     private final KEY treeKey;
     private final VALUE treeValue;
     private final UniqueIndexSampler uniqueSampler;
@@ -78,6 +108,11 @@ public abstract class NativeSchemaIndexPopulator<KEY extends NativeSchemaKey<KEY
 
     private WorkSync<IndexUpdateApply<KEY,VALUE>,IndexUpdateWork<KEY,VALUE>> additionsWorkSync;
     private WorkSync<IndexUpdateApply<KEY,VALUE>,IndexUpdateWork<KEY,VALUE>> updatesWorkSync;
+    private volatile boolean bulkLoad;
+    private BulkLoader<KEY,VALUE> bulkLoader;
+    private final Collection<IndexEntryUpdate<?>> deferredUpdates = new ArrayList<>();
+    @VisibleForTesting
+    int maxDeferredUpdates = BULK_LOAD_MAX_DEFERRED_UPDATES;
 
     private byte[] failureBytes;
     private boolean dropped;
@@ -90,6 +125,7 @@ public abstract class NativeSchemaIndexPopulator<KEY extends NativeSchemaKey<KEY
         this.treeKey = layout.newKey();
         this.treeValue = layout.newValue();
         this.samplingConfig = samplingConfig;
+        this.bulkLoad = BULK_LOAD && descriptor.type() == GENERAL;
         switch ( descriptor.type() )
         {
         case GENERAL:
@@ -139,6 +175,7 @@ public abstract class NativeSchemaIndexPopulator<KEY extends NativeSchemaKey<KEY
     {
         try
         {
+            closeBulkLoader();
             closeTree();
             deleteFileIfPresent( fileSystem, storeFile );
         }
@@ -156,7 +193,85 @@ public abstract class NativeSchemaIndexPopulator<KEY extends NativeSchemaKey<KEY
     @Override
     public void add( Collection<? extends IndexEntryUpdate<?>> updates ) throws IOException, IndexEntryConflictException
     {
-        applyWithWorkSync( additionsWorkSync, updates );
+        if ( !bulkLoad || !addToBulkLoader( updates ) )
+        {
+            applyWithWorkSync( additionsWorkSync, updates );
+        }
+    }
+
+    /**
+     * @return whether or not the updates were added to the {@link BulkLoader}, they weren't if bulk loading has stopped.
+     */
+    private synchronized boolean addToBulkLoader( Collection<? extends IndexEntryUpdate<?>> updates ) throws IOException
+    {
+        assertNotClosed();
+        if ( !bulkLoad )
+        {
+            return false;
+        }
+        if ( bulkLoader == null )
+        {
+            if ( !reserveBulkLoadMemory() )
+            {
+                // Apply any updates deferred so far before the updates coming after them
+                loadBulkEntries();
+                bulkLoad = false;
+                return false;
+            }
+            try
+            {
+                bulkLoader = new BulkLoader<>( fileSystem, storeFile, layout, BULK_LOAD_BUFFER_SIZE );
+            }
+            catch ( Throwable e )
+            {
+                bulkLoadMemoryAvailable.addAndGet( BULK_LOAD_BUFFER_SIZE );
+                throw e;
+            }
+        }
+        for ( IndexEntryUpdate<?> update : updates )
+        {
+            treeKey.from( update.getEntityId(), update.values() );
+            treeValue.from( update.values() );
+            bulkLoader.add( treeKey, treeValue );
+        }
+        return true;
+    }
+
+    private static boolean reserveBulkLoadMemory()
+    {
+        long available;
+        do
+        {
+            available = bulkLoadMemoryAvailable.get();
+            if ( available < BULK_LOAD_BUFFER_SIZE )
+            {
+                return false;
+            }
+        }
+        while ( !bulkLoadMemoryAvailable.compareAndSet( available, available - BULK_LOAD_BUFFER_SIZE ) );
+        return true;
+    }
+
+    /**
+     * Keeps the updates until the tree has been loaded. If that makes too many deferred updates the tree is loaded
+     * right away and bulk loading stops, so that the updates don't take up an unbounded amount of heap.
+     *
+     * @return whether or not the updates have been taken care of, they haven't if bulk loading had already stopped.
+     */
+    private synchronized boolean deferUpdates( Collection<IndexEntryUpdate<?>> updates ) throws IOException
+    {
+        if ( !bulkLoad )
+        {
+            return false;
+        }
+        deferredUpdates.addAll( updates );
+        if ( deferredUpdates.size() > maxDeferredUpdates )
+        {
+            loadBulkEntries();
+            closeBulkLoader();
+            bulkLoad = false;
+        }
+        return true;
     }
 
     @Override
@@ -183,7 +298,11 @@ public abstract class NativeSchemaIndexPopulator<KEY extends NativeSchemaKey<KEY
             @Override
             public void close() throws IOException, IndexEntryConflictException
             {
-                applyWithWorkSync( updatesWorkSync, updates );
+                // The tree is built from the added entries when population completes, these updates come after them
+                if ( !bulkLoad || !deferUpdates( updates ) )
+                {
+                    applyWithWorkSync( updatesWorkSync, updates );
+                }
                 closed = true;
             }
 
@@ -220,6 +339,7 @@ public abstract class NativeSchemaIndexPopulator<KEY extends NativeSchemaKey<KEY
             if ( populationCompletedSuccessfully )
             {
                 assertPopulatorOpen();
+                loadBulkEntries();
                 markTreeAsOnline();
             }
             else
@@ -231,11 +351,49 @@ public abstract class NativeSchemaIndexPopulator<KEY extends NativeSchemaKey<KEY
         }
         finally
         {
+            closeBulkLoader();
             closeTree();
             closed = true;
         }
     }
 
+    private void loadBulkEntries() throws IOException
+    {
+        if ( bulkLoader != null )
+        {
+            // Entries are unique by (value,entityId), so equal keys are the same entry added more than once
+            bulkLoader.load( tree, BULK_LOAD_FILL_FACTOR, new ConflictDetectingValueMerger<>( true ) );
+        }
+        if ( !deferredUpdates.isEmpty() )
+        {
+            try
+            {
+                applyWithWorkSync( updatesWorkSync, deferredUpdates );
+            }
+            catch ( IndexEntryConflictException e )
+            {
+                throw new IllegalStateException( "Unexpected conflict in non-unique index " + descriptor, e );
+            }
+            deferredUpdates.clear();
+        }
+    }
+
+    private void closeBulkLoader() throws IOException
+    {
+        if ( bulkLoader != null )
+        {
+            try
+            {
+                bulkLoader.close();
+            }
+            finally
+            {
+                bulkLoader = null;
+                bulkLoadMemoryAvailable.addAndGet( BULK_LOAD_BUFFER_SIZE );
+            }
+        }
+    }
+
     private void applyWithWorkSync( WorkSync<IndexUpdateApply<KEY,VALUE>,IndexUpdateWork<KEY,VALUE>> workSync,
             Collection<? extends IndexEntryUpdate<?>> updates ) throws IOException, IndexEntryConflictException
     {
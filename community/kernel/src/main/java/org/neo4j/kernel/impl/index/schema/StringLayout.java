@@ -82,6 +82,68 @@ class StringLayout extends SchemaLayout<StringSchemaKey>
         return false;
     }
 
+    @Override
+    public void minimalSplitter( StringSchemaKey left, StringSchemaKey right, StringSchemaKey into )
+    {
+        // Enough of right to sort after left, the entity id only decides between keys with the same bytes
+        int splitterLength = Math.min( left.commonPrefixLength( right ) + 1, right.bytesLength );
+        into.copyFrom( right, splitterLength );
+    }
+
+    @Override
+    public boolean compressibleKeys()
+    {
+        return true;
+    }
+
+    @Override
+    public int keyPrefixLength( StringSchemaKey first, StringSchemaKey second )
+    {
+        return first.commonPrefixLength( second );
+    }
+
+    @Override
+    public int keyPrefixLength( PageCursor cursor, StringSchemaKey key, int prefixLength )
+    {
+        int length = key.bytes == null ? 0 : Math.min( prefixLength, key.bytesLength );
+        int sharedLength = 0;
+        while ( sharedLength < length && cursor.getByte() == key.bytes[sharedLength] )
+        {
+            sharedLength++;
+        }
+        return sharedLength;
+    }
+
+    @Override
+    public void writeKeyPrefix( PageCursor cursor, StringSchemaKey key, int prefixLength )
+    {
+        cursor.putBytes( key.bytes, 0, prefixLength );
+    }
+
+    @Override
+    public void writeKeySuffix( PageCursor cursor, StringSchemaKey key, int prefixLength )
+    {
+        cursor.putLong( key.getEntityId() );
+        cursor.putBytes( key.bytes, prefixLength, key.bytesLength - prefixLength );
+    }
+
+    @Override
+    public void readKey( PageCursor cursor, StringSchemaKey into, int suffixSize, int prefixOffset, int prefixLength )
+    {
+        if ( suffixSize < ENTITY_ID_SIZE )
+        {
+            into.setEntityId( Long.MIN_VALUE );
+            into.setBytesLength( 0 );
+            return;
+        }
+        into.setEntityId( cursor.getLong() );
+        int suffixLength = suffixSize - ENTITY_ID_SIZE;
+        into.setBytesLength( prefixLength + suffixLength );
+        cursor.getBytes( into.bytes, prefixLength, suffixLength );
+        cursor.setOffset( prefixOffset );
+        cursor.getBytes( into.bytes, 0, prefixLength );
+    }
+
     @Override
     public String toString()
     {
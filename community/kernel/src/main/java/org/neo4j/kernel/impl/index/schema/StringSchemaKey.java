@@ -189,12 +189,42 @@ class StringSchemaKey extends NativeSchemaKey<StringSchemaKey>
 
     void copyFrom( StringSchemaKey key )
     {
-        setBytesLength( key.bytesLength );
-        System.arraycopy( key.bytes, 0, bytes, 0, key.bytesLength );
+        copyFrom( key, key.bytesLength );
+    }
+
+    /**
+     * Copies entity id and the first {@code bytesLength} bytes of {@code key} into this key.
+     *
+     * @param key key to copy from.
+     * @param bytesLength number of bytes to copy, at most the length of {@code key}.
+     */
+    void copyFrom( StringSchemaKey key, int bytesLength )
+    {
+        setBytesLength( bytesLength );
+        System.arraycopy( key.bytes, 0, bytes, 0, bytesLength );
         setEntityId( key.getEntityId() );
         setCompareId( key.getCompareId() );
     }
 
+    /**
+     * @param other key to compare bytes with.
+     * @return number of leading bytes that this key and {@code other} have in common.
+     */
+    int commonPrefixLength( StringSchemaKey other )
+    {
+        if ( bytes == null || other.bytes == null )
+        {
+            return 0;
+        }
+        int length = Math.min( bytesLength, other.bytesLength );
+        int prefixLength = 0;
+        while ( prefixLength < length && bytes[prefixLength] == other.bytes[prefixLength] )
+        {
+            prefixLength++;
+        }
+        return prefixLength;
+    }
+
     /**
      * Ensures that the internal byte[] is long enough, or longer than the given {@code length}.
      * Also sets the internal {@code bytesLength} field to the given {@code length} so that interactions with the byte[]
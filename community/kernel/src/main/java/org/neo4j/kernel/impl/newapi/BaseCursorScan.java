@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.internal.kernel.api.Scan;
+
+import static org.neo4j.kernel.impl.store.record.AbstractBaseRecord.NO_ID;
+import static org.neo4j.util.Preconditions.requirePositive;
+
+/**
+ * Base for {@link Scan scans} over a record store, which hands out consecutive id ranges to the reserving cursors.
+ * The high mark and whether or not the transaction has changes are captured when the scan is created, so that all
+ * batches see the same records.
+ */
+abstract class BaseCursorScan
+{
+    private final AtomicLong nextStart = new AtomicLong();
+    final long highMark;
+    final Read read;
+    final boolean hasChanges;
+
+    BaseCursorScan( Read read, long highMark )
+    {
+        this.read = read;
+        this.highMark = highMark;
+        this.hasChanges = read.hasTxStateWithChanges();
+    }
+
+    /**
+     * @param sizeHint number of ids to reserve.
+     * @return the first id of the reserved range, or {@code NO_ID} if all ids of the scan have been handed out.
+     */
+    final long reserveStart( int sizeHint )
+    {
+        requirePositive( sizeHint );
+
+        long start = nextStart.getAndAdd( sizeHint );
+        return start > highMark ? NO_ID : start;
+    }
+
+    /**
+     * @return the end, exclusive, of the range reserved from {@code start}.
+     */
+    final long rangeEnd( long start, int sizeHint )
+    {
+        return Math.min( start + sizeHint, highMark + 1 );
+    }
+}
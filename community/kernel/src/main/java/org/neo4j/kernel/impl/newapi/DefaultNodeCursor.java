@@ -46,6 +46,7 @@ class DefaultNodeCursor extends NodeRecord implements NodeCursor
     private PageCursor pageCursor;
     private long next;
     private long highMark;
+    private boolean isBatch;
     private HasChanges hasChanges = HasChanges.MAYBE;
     private Set<Long> addedNodes;
 
@@ -69,11 +70,34 @@ class DefaultNodeCursor extends NodeRecord implements NodeCursor
         }
         this.next = 0;
         this.highMark = read.nodeHighMark();
+        this.isBatch = false;
         this.read = read;
         this.hasChanges = HasChanges.MAYBE;
         this.addedNodes = emptySet();
     }
 
+    /**
+     * Scans the nodes from {@code start}, inclusive, to {@code end}, exclusive, as one batch of a {@link NodeCursorScan}.
+     * The transaction state is the one captured by the scan, so that all of its batches see the same changes.
+     */
+    void scan( Read read, long start, long end, boolean hasChanges, Set<Long> addedNodes )
+    {
+        if ( getId() != NO_ID )
+        {
+            reset();
+        }
+        if ( pageCursor == null )
+        {
+            pageCursor = read.nodePage( start );
+        }
+        this.next = start;
+        this.highMark = end - 1;
+        this.isBatch = true;
+        this.read = read;
+        this.hasChanges = hasChanges ? HasChanges.YES : HasChanges.NO;
+        this.addedNodes = addedNodes;
+    }
+
     void single( long reference, Read read )
     {
         if ( getId() != NO_ID )
@@ -87,6 +111,7 @@ class DefaultNodeCursor extends NodeRecord implements NodeCursor
         this.next = reference;
         //This marks the cursor as a "single cursor"
         this.highMark = NO_ID;
+        this.isBatch = false;
         this.read = read;
         this.hasChanges = HasChanges.MAYBE;
         this.addedNodes = emptySet();
@@ -234,9 +259,9 @@ class DefaultNodeCursor extends NodeRecord implements NodeCursor
 
             if ( next > highMark )
             {
-                if ( isSingle() )
+                if ( isSingle() || isBatch )
                 {
-                    //we are a "single cursor"
+                    //we are a "single cursor", or have reached the end of our batch
                     next = NO_ID;
                     return inUse();
                 }
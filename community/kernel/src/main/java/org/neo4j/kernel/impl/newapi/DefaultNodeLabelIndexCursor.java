@@ -43,6 +43,7 @@ class DefaultNodeLabelIndexCursor extends IndexCursor<LabelScanValueIndexProgres
     private LabelSet labels;
     private LongIterator added;
     private Set<Long> removed;
+    private boolean isBatch;
 
     private final DefaultCursors pool;
 
@@ -52,11 +53,24 @@ class DefaultNodeLabelIndexCursor extends IndexCursor<LabelScanValueIndexProgres
         node = NO_ID;
     }
 
+    /**
+     * Prepares this cursor for one batch of a {@link NodeLabelIndexCursorScan}, before the label scan reader sets it
+     * up through {@link #scan(LabelScanValueIndexProgressor, boolean, int)}. The transaction state is the one captured
+     * by the scan, so that all of its batches see the same changes.
+     */
+    void batch( Read read, LongIterator added, Set<Long> removed )
+    {
+        this.read = read;
+        this.added = added;
+        this.removed = removed;
+        this.isBatch = true;
+    }
+
     @Override
     public void scan( LabelScanValueIndexProgressor progressor, boolean providesLabels, int label )
     {
         super.initialize( progressor );
-        if ( read.hasTxStateWithChanges() )
+        if ( !isBatch && read.hasTxStateWithChanges() )
         {
             ReadableDiffSets<Long> changes =
                     read.txState().nodesWithLabelChanged( label );
@@ -121,6 +135,9 @@ class DefaultNodeLabelIndexCursor extends IndexCursor<LabelScanValueIndexProgres
     public void setRead( Read read )
     {
         this.read = read;
+        this.added = null;
+        this.removed = null;
+        this.isBatch = false;
     }
 
     @Override
@@ -150,7 +167,9 @@ class DefaultNodeLabelIndexCursor extends IndexCursor<LabelScanValueIndexProgres
             node = NO_ID;
             labels = null;
             read = null;
+            added = null;
             removed = null;
+            isBatch = false;
 
             pool.accept( this );
         }
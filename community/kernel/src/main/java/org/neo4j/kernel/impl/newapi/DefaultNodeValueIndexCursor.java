@@ -300,7 +300,8 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
             TransactionState txState = read.txState();
             PrimitiveLongReadableDiffSets changes = read.txState()
                     .indexUpdatesForSeek( descriptor, IndexQuery.asValueTuple( exactPreds ) );
-            added = changes.augment( ImmutableEmptyLongIterator.INSTANCE );
+            // These are the live diff sets of the transaction state, which can change while this cursor is used
+            added = changes.getAddedSnapshot().longIterator();
             removed = removed( txState, changes );
         }
     }
@@ -32,6 +32,7 @@ class DefaultRelationshipScanCursor extends RelationshipCursor implements Relati
     private int type;
     private long next;
     private long highMark;
+    private boolean isBatch;
     private PageCursor pageCursor;
     private Set<Long> addedRelationships;
 
@@ -55,10 +56,34 @@ class DefaultRelationshipScanCursor extends RelationshipCursor implements Relati
         next = 0;
         this.type = type;
         highMark = read.relationshipHighMark();
+        isBatch = false;
         init( read );
         this.addedRelationships = emptySet();
     }
 
+    /**
+     * Scans the relationships from {@code start}, inclusive, to {@code end}, exclusive, as one batch of a
+     * {@link RelationshipCursorScan}. The transaction state is the one captured by the scan, so that all of its
+     * batches see the same changes.
+     */
+    void scan( int type, Read read, long start, long end, boolean hasChanges, Set<Long> addedRelationships )
+    {
+        if ( getId() != NO_ID )
+        {
+            reset();
+        }
+        if ( pageCursor == null )
+        {
+            pageCursor = read.relationshipPage( start );
+        }
+        next = start;
+        this.type = type;
+        highMark = end - 1;
+        isBatch = true;
+        init( read, hasChanges );
+        this.addedRelationships = addedRelationships;
+    }
+
     void single( long reference, Read read )
     {
         if ( getId() != NO_ID )
@@ -72,6 +97,7 @@ class DefaultRelationshipScanCursor extends RelationshipCursor implements Relati
         next = reference;
         type = -1;
         highMark = NO_ID;
+        isBatch = false;
         init( read );
         this.addedRelationships = emptySet();
     }
@@ -108,7 +134,7 @@ class DefaultRelationshipScanCursor extends RelationshipCursor implements Relati
 
             if ( next > highMark )
             {
-                if ( isSingle() )
+                if ( isSingle() || isBatch )
                 {
                     next = NO_ID;
                     return isWantedTypeAndInUse();
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.neo4j.internal.kernel.api.NodeLabelIndexCursor;
+import org.neo4j.internal.kernel.api.Scan;
+import org.neo4j.storageengine.api.schema.LabelScanReader;
+import org.neo4j.storageengine.api.txstate.ReadableDiffSets;
+
+import static java.util.Collections.emptySet;
+import static org.neo4j.collection.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
+import static org.neo4j.collection.PrimitiveLongCollections.asArray;
+import static org.neo4j.collection.PrimitiveLongCollections.iterator;
+import static org.neo4j.kernel.impl.store.record.AbstractBaseRecord.NO_ID;
+
+/**
+ * Hands out node id ranges of a label scan, each of which is read from the label scan store by a range seek.
+ * Nodes that get the label in the transaction are handed out with the range their id is in.
+ */
+class NodeLabelIndexCursorScan extends BaseCursorScan implements Scan<NodeLabelIndexCursor>
+{
+    private final int label;
+    private final LabelScanReader labelScanReader;
+    private final long[] addedNodes;
+    private final Set<Long> removedNodes;
+
+    NodeLabelIndexCursorScan( Read read, int label, LabelScanReader labelScanReader )
+    {
+        super( read, read.nodeHighMark() );
+        this.label = label;
+        this.labelScanReader = labelScanReader;
+        if ( hasChanges )
+        {
+            ReadableDiffSets<Long> changes = read.txState().nodesWithLabelChanged( label );
+            this.addedNodes = asArray( changes.getAddedSnapshot().iterator() );
+            Arrays.sort( addedNodes );
+            this.removedNodes = new HashSet<>( read.txState().addedAndRemovedNodes().getRemoved() );
+            removedNodes.addAll( changes.getRemoved() );
+        }
+        else
+        {
+            this.addedNodes = EMPTY_LONG_ARRAY;
+            this.removedNodes = emptySet();
+        }
+    }
+
+    @Override
+    public boolean reserveBatch( NodeLabelIndexCursor cursor, int sizeHint )
+    {
+        long start = reserveStart( sizeHint );
+        if ( start == NO_ID )
+        {
+            return false;
+        }
+        long end = rangeEnd( start, sizeHint );
+        if ( end > highMark )
+        {
+            // The last batch also sees nodes after the high mark, like a label scan that isn't split up would
+            end = Long.MAX_VALUE;
+        }
+
+        DefaultNodeLabelIndexCursor indexCursor = (DefaultNodeLabelIndexCursor) cursor;
+        indexCursor.batch( read, iterator( Arrays.copyOfRange( addedNodes, indexOf( start ), indexOf( end ) ) ),
+                removedNodes );
+        labelScanReader.nodesWithLabel( indexCursor, label, start, end );
+        return true;
+    }
+
+    /**
+     * @return index of the first added node with an id not less than the given {@code nodeId}.
+     */
+    private int indexOf( long nodeId )
+    {
+        int index = Arrays.binarySearch( addedNodes, nodeId );
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -276,7 +276,7 @@ abstract class Read implements TxStateHolder,
     public final Scan<NodeLabelIndexCursor> nodeLabelScan( int label )
     {
         ktx.assertOpen();
-        throw new UnsupportedOperationException( "not implemented" );
+        return new NodeLabelIndexCursorScan( this, label, labelScanReader() );
     }
 
     @Override
@@ -290,7 +290,7 @@ abstract class Read implements TxStateHolder,
     public final Scan<NodeCursor> allNodesScan()
     {
         ktx.assertOpen();
-        throw new UnsupportedOperationException( "not implemented" );
+        return new NodeCursorScan( this );
     }
 
     @Override
@@ -318,7 +318,7 @@ abstract class Read implements TxStateHolder,
     public final Scan<RelationshipScanCursor> allRelationshipsScan()
     {
         ktx.assertOpen();
-        throw new UnsupportedOperationException( "not implemented" );
+        return new RelationshipCursorScan( this, -1/*include all types*/ );
     }
 
     @Override
@@ -332,7 +332,7 @@ abstract class Read implements TxStateHolder,
     public final Scan<RelationshipScanCursor> relationshipTypeScan( int type )
     {
         ktx.assertOpen();
-        throw new UnsupportedOperationException( "not implemented" );
+        return new RelationshipCursorScan( this, type );
     }
 
     @Override
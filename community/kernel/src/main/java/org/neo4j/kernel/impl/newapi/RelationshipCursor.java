@@ -42,6 +42,13 @@ abstract class RelationshipCursor extends RelationshipRecord implements Relation
         this.checkHasChanges = true;
     }
 
+    protected void init( Read read, boolean hasChanges )
+    {
+        this.read = read;
+        this.hasChanges = hasChanges;
+        this.checkHasChanges = false;
+    }
+
     @Override
     public long relationshipReference()
     {
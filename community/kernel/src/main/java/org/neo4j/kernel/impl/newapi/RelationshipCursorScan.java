@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import java.util.Set;
+
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
+import org.neo4j.internal.kernel.api.Scan;
+
+import static java.util.Collections.emptySet;
+import static org.neo4j.kernel.impl.store.record.AbstractBaseRecord.NO_ID;
+
+class RelationshipCursorScan extends BaseCursorScan implements Scan<RelationshipScanCursor>
+{
+    private final int type;
+    private final Set<Long> addedRelationships;
+
+    RelationshipCursorScan( Read read, int type )
+    {
+        super( read, read.relationshipHighMark() );
+        this.type = type;
+        this.addedRelationships =
+                hasChanges ? read.txState().addedAndRemovedRelationships().getAddedSnapshot() : emptySet();
+    }
+
+    @Override
+    public boolean reserveBatch( RelationshipScanCursor cursor, int sizeHint )
+    {
+        long start = reserveStart( sizeHint );
+        if ( start == NO_ID )
+        {
+            return false;
+        }
+        ((DefaultRelationshipScanCursor) cursor)
+                .scan( type, read, start, rangeEnd( start, sizeHint ), hasChanges, addedRelationships );
+        return true;
+    }
+}
@@ -63,12 +63,16 @@ import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
  * <p>
  * These cacheprof files are compressed bitmaps where each raised bit indicates that the page identified by the
  * bit-index was in memory.
+ * <p>
+ * When reheating, the profiled pages are loaded in file order, and runs of adjacent pages are loaded together with
+ * {@link PagedFile#loadPages(long, int)}, so the page cache can read them with vectored IO.
  */
 public class PageCacheWarmer implements NeoStoreFileListing.StoreFileProvider
 {
     public static final String SUFFIX_CACHEPROF = ".cacheprof";
 
     private static final int IO_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    private static final int MAX_PAGES_PER_LOAD = 64;
 
     private final FileSystemAbstraction fs;
     private final PageCache pageCache;
@@ -214,6 +218,8 @@ public class PageCacheWarmer implements NeoStoreFileListing.StoreFileProvider
               PageLoader loader = pageLoaderFactory.getLoader( file ) )
         {
             long pageId = 0;
+            long runStartPageId = 0;
+            int runLength = 0;
             int b;
             while ( (b = input.read()) != -1 )
             {
@@ -224,15 +230,29 @@ public class PageCacheWarmer implements NeoStoreFileListing.StoreFileProvider
                         pageCache.reportEvents();
                         return pagesLoaded;
                     }
-                    if ( (b & 1) == 1 )
+                    boolean inMemory = (b & 1) == 1;
+                    if ( inMemory )
                     {
-                        loader.load( pageId );
+                        if ( runLength == 0 )
+                        {
+                            runStartPageId = pageId;
+                        }
+                        runLength++;
                         pagesLoaded++;
                     }
+                    if ( runLength > 0 && (!inMemory || runLength == MAX_PAGES_PER_LOAD) )
+                    {
+                        loader.load( runStartPageId, runLength );
+                        runLength = 0;
+                    }
                     b >>= 1;
                     pageId++;
                 }
             }
+            if ( runLength > 0 )
+            {
+                loader.load( runStartPageId, runLength );
+            }
         }
         pageCache.reportEvents();
         return pagesLoaded;
@@ -24,5 +24,5 @@ import java.io.IOException;
 
 interface PageLoader extends Closeable
 {
-    void load( long pageId ) throws IOException;
+    void load( long startPageId, int pageCount ) throws IOException;
 }
@@ -90,6 +90,8 @@ import org.neo4j.kernel.impl.transaction.command.IndexBatchTransactionApplier;
 import org.neo4j.kernel.impl.transaction.command.IndexUpdatesWork;
 import org.neo4j.kernel.impl.transaction.command.LabelUpdateWork;
 import org.neo4j.kernel.impl.transaction.command.NeoStoreBatchTransactionApplier;
+import org.neo4j.kernel.impl.transaction.command.ParallelNeoStoreBatchTransactionApplier;
+import org.neo4j.kernel.impl.transaction.command.PartitionedRecordUpdates;
 import org.neo4j.kernel.impl.transaction.state.IntegrityValidator;
 import org.neo4j.kernel.impl.transaction.state.TransactionRecordState;
 import org.neo4j.kernel.impl.transaction.state.storeview.DynamicIndexStoreView;
@@ -156,6 +158,9 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     private final IdController idController;
     private final int denseNodeThreshold;
     private final int recordIdBatchSize;
+    private final int recoveryParallelism;
+    private final JobScheduler scheduler;
+    private PartitionedRecordUpdates recoveryRecordUpdates;
 
     public RecordStorageEngine(
             File storeDir,
@@ -238,6 +243,8 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
 
             denseNodeThreshold = config.get( GraphDatabaseSettings.dense_node_threshold );
             recordIdBatchSize = config.get( GraphDatabaseSettings.record_id_batch_size );
+            recoveryParallelism = config.get( GraphDatabaseSettings.recovery_parallelism );
+            this.scheduler = scheduler;
         }
         catch ( Throwable failure )
         {
@@ -353,7 +360,17 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     {
         ArrayList<BatchTransactionApplier> appliers = new ArrayList<>();
         // Graph store application. The order of the decorated store appliers is irrelevant
-        appliers.add( new NeoStoreBatchTransactionApplier( mode.version(), neoStores, cacheAccess, lockService( mode ) ) );
+        ParallelNeoStoreBatchTransactionApplier parallelApplier = null;
+        if ( recoveryParallelism > 1 && (mode == RECOVERY || mode == REVERSE_RECOVERY) )
+        {
+            parallelApplier = new ParallelNeoStoreBatchTransactionApplier( mode.version(), neoStores, cacheAccess,
+                    lockService( mode ), recoveryRecordUpdates() );
+            appliers.add( parallelApplier );
+        }
+        else
+        {
+            appliers.add( new NeoStoreBatchTransactionApplier( mode.version(), neoStores, cacheAccess, lockService( mode ) ) );
+        }
         if ( mode.needsHighIdTracking() )
         {
             appliers.add( new HighIdBatchTransactionApplier( neoStores ) );
@@ -379,11 +396,40 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
                             mode ) );
         }
 
+        if ( parallelApplier != null )
+        {
+            // Last, so that it is closed first, before the other appliers may read what was just written
+            appliers.add( parallelApplier.storeReadBarrier() );
+        }
+
         // Perform the application
         return new BatchTransactionApplierFacade(
                 appliers.toArray( new BatchTransactionApplier[appliers.size()] ) );
     }
 
+    /**
+     * The record update workers are shared by all batches of a recovery, and stopped when recovery completes.
+     */
+    private PartitionedRecordUpdates recoveryRecordUpdates()
+    {
+        if ( recoveryRecordUpdates == null )
+        {
+            recoveryRecordUpdates =
+                    new PartitionedRecordUpdates( recoveryParallelism, scheduler.executor( JobScheduler.Groups.recovery ) );
+        }
+        return recoveryRecordUpdates;
+    }
+
+    private void closeRecoveryRecordUpdates()
+    {
+        if ( recoveryRecordUpdates != null )
+        {
+            PartitionedRecordUpdates updates = recoveryRecordUpdates;
+            recoveryRecordUpdates = null;
+            updates.close();
+        }
+    }
+
     private LockService lockService( TransactionApplicationMode mode )
     {
         return mode == RECOVERY || mode == REVERSE_RECOVERY ? NO_LOCK_SERVICE : lockService;
@@ -452,6 +498,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     @Override
     public void shutdown() throws Throwable
     {
+        closeRecoveryRecordUpdates();
         indexingService.shutdown();
         labelScanStore.shutdown();
         neoStores.close();
@@ -494,6 +541,12 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
         neoStores.deleteIdGenerators();
     }
 
+    @Override
+    public void recoveryCompleted()
+    {
+        closeRecoveryRecordUpdates();
+    }
+
     @Override
     public Collection<StoreFileMetadata> listStorageFiles()
     {
@@ -55,6 +55,7 @@ import static org.neo4j.io.pagecache.PageCacheOpenOptions.ANY_PAGE_SIZE;
 import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_TRANSIENT;
 import static org.neo4j.kernel.impl.store.record.RecordLoad.CHECK;
 import static org.neo4j.kernel.impl.store.record.RecordLoad.NORMAL;
 
@@ -410,13 +411,16 @@ public abstract class CommonAbstractStore<RECORD extends AbstractBaseRecord,HEAD
 
     /**
      * DANGER: make sure to always close this cursor.
+     * <p>
+     * The cursor is opened with {@link PagedFile#PF_READ_AHEAD}, since these cursors are used for scans as well as
+     * for single record reads, and read-ahead only kicks in when the pages are visited sequentially.
      */
     public PageCursor openPageCursorForReading( long id )
     {
         try
         {
             long pageId = pageIdForRecord( id );
-            return storeFile.io( pageId, PF_SHARED_READ_LOCK );
+            return storeFile.io( pageId, PF_SHARED_READ_LOCK | PF_READ_AHEAD );
         }
         catch ( IOException e )
         {
@@ -1118,7 +1122,9 @@ public abstract class CommonAbstractStore<RECORD extends AbstractBaseRecord,HEAD
     @Override
     public <EXCEPTION extends Exception> void scanAllRecords( Visitor<RECORD,EXCEPTION> visitor ) throws EXCEPTION
     {
-        try ( RecordCursor<RECORD> cursor = newRecordCursor( newRecord() ) )
+        // Full scans are transient, so that they don't push the working set out of the page cache.
+        try ( RecordCursor<RECORD> cursor = new StoreRecordCursor<>( newRecord(), this,
+                PF_SHARED_READ_LOCK | PF_READ_AHEAD | PF_TRANSIENT ) )
         {
             long highId = getHighId();
             cursor.acquire( getNumberOfReservedLowIds(), CHECK );
@@ -25,6 +25,7 @@ import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
 import org.neo4j.kernel.impl.store.record.RecordLoad;
 
+import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
 import static org.neo4j.kernel.impl.store.record.Record.NULL_REFERENCE;
 
@@ -35,11 +36,18 @@ class StoreRecordCursor<RECORD extends AbstractBaseRecord> implements RecordCurs
     private long currentId;
     private RecordLoad mode;
     private PageCursor pageCursor;
+    private final int pf_flags;
 
     StoreRecordCursor( RECORD record, CommonAbstractStore<RECORD,?> store )
+    {
+        this( record, store, PF_SHARED_READ_LOCK | PF_READ_AHEAD );
+    }
+
+    StoreRecordCursor( RECORD record, CommonAbstractStore<RECORD,?> store, int pf_flags )
     {
         this.record = record;
         this.store = store;
+        this.pf_flags = pf_flags;
     }
 
     @Override
@@ -117,7 +125,7 @@ class StoreRecordCursor<RECORD extends AbstractBaseRecord> implements RecordCurs
         this.mode = mode;
         try
         {
-            this.pageCursor = store.storeFile.io( store.pageIdForRecord( id ), PF_SHARED_READ_LOCK );
+            this.pageCursor = store.storeFile.io( store.pageIdForRecord( id ), pf_flags );
         }
         catch ( IOException e )
         {
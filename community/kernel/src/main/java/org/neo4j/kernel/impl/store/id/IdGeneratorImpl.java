@@ -21,8 +21,10 @@ package org.neo4j.kernel.impl.store.id;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.LongSupplier;
 
+import org.neo4j.collection.PrimitiveLongCollections;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.kernel.impl.store.UnderlyingStorageException;
 import org.neo4j.kernel.impl.store.id.validation.IdValidator;
@@ -56,6 +58,11 @@ import org.neo4j.kernel.impl.store.id.validation.IdValidator;
  * same file. There can only be one id generator instance per id generator file.
  * <p>
  * In case of disk/file I/O failure an <CODE>IOException</CODE> is thrown.
+ * <p>
+ * As long as there are no defragged ids to hand out, new ids are allocated from the high id without
+ * taking the monitor of this generator, such that concurrent transactions renewing their id batches
+ * don't serialize on each other. As soon as ids are freed that can be handed out again, allocation goes
+ * through the monitor again, until the defragged ids have been used up.
  */
 public class IdGeneratorImpl implements IdGenerator
 {
@@ -67,8 +74,21 @@ public class IdGeneratorImpl implements IdGenerator
 
     private final long max;
     private final IdContainer idContainer;
-    private long highId;
+    private final AtomicLong highId = new AtomicLong();
     private final IdType idType;
+    private final boolean aggressiveReuse;
+    /**
+     * Whether or not {@link IdContainer#getReusableId()} may return an id. Without aggressive reuse ids freed
+     * during this session are not returned by it, so this only considers the ids it actually hands out.
+     * Only ever changed while holding the monitor of this generator, but read without it to decide whether
+     * or not {@link #nextId()} can take its id straight from the high id.
+     */
+    private volatile boolean mayHaveReusableId;
+    /**
+     * Whether or not {@link IdContainer#getReusableIds(int)} may return ids, which it does for as long as there are
+     * free ids, also those freed during this session. Guarded and read like {@link #mayHaveReusableId}.
+     */
+    private volatile boolean mayHaveReusableIds;
 
     /**
      * Opens the id generator represented by <CODE>fileName</CODE>. The
@@ -101,6 +121,7 @@ public class IdGeneratorImpl implements IdGenerator
     {
         this.max = max;
         this.idType = idType;
+        this.aggressiveReuse = aggressiveReuse;
         this.idContainer = new IdContainer( fs, file, grabSize, aggressiveReuse );
 
         /*
@@ -110,12 +131,14 @@ public class IdGeneratorImpl implements IdGenerator
          */
         if ( this.idContainer.init() )
         {
-            this.highId = idContainer.getInitialHighId();
+            this.highId.set( idContainer.getInitialHighId() );
         }
         else
         {
-            this.highId = highId.getAsLong();
+            this.highId.set( highId.getAsLong() );
         }
+        this.mayHaveReusableIds = idContainer.getFreeIdCount() > 0;
+        this.mayHaveReusableId = mayHaveReusableIds;
     }
 
     /**
@@ -130,34 +153,73 @@ public class IdGeneratorImpl implements IdGenerator
      * @throws IllegalStateException if this id generator has been closed
      */
     @Override
-    public synchronized long nextId()
+    public long nextId()
     {
         assertStillOpen();
-        long nextDefragId = idContainer.getReusableId();
-        if ( nextDefragId != IdContainer.NO_RESULT )
+        if ( mayHaveReusableId )
         {
-            return nextDefragId;
+            long nextDefragId = nextReusableId();
+            if ( nextDefragId != IdContainer.NO_RESULT )
+            {
+                return nextDefragId;
+            }
         }
+        return nextHighId();
+    }
+
+    private synchronized long nextReusableId()
+    {
+        long nextDefragId = idContainer.getReusableId();
+        mayHaveReusableId = nextDefragId != IdContainer.NO_RESULT;
+        mayHaveReusableIds = idContainer.getFreeIdCount() > 0;
+        return nextDefragId;
+    }
 
-        if ( IdValidator.isReservedId( highId ) )
+    private long nextHighId()
+    {
+        while ( true )
         {
-            highId++;
+            long current = highId.get();
+            long id = IdValidator.isReservedId( current ) ? current + 1 : current;
+            IdValidator.assertValidId( idType, id, max );
+            if ( highId.compareAndSet( current, id + 1 ) )
+            {
+                return id;
+            }
         }
-        IdValidator.assertValidId( idType, highId, max );
-        return highId++;
     }
 
     @Override
-    public synchronized IdRange nextIdBatch( int size )
+    public IdRange nextIdBatch( int size )
     {
         assertStillOpen();
-        long[] reusableIds = idContainer.getReusableIds( size );
+        long[] reusableIds = mayHaveReusableIds ? nextReusableIds( size ) : PrimitiveLongCollections.EMPTY_LONG_ARRAY;
         int sizeLeftForRange = size - reusableIds.length;
-        long start = highId;
-        setHighId( start + sizeLeftForRange );
+        long start = nextHighIdRange( sizeLeftForRange );
         return new IdRange( reusableIds, start, sizeLeftForRange );
     }
 
+    private synchronized long[] nextReusableIds( int size )
+    {
+        long[] reusableIds = idContainer.getReusableIds( size );
+        mayHaveReusableIds = idContainer.getFreeIdCount() > 0;
+        mayHaveReusableId &= mayHaveReusableIds;
+        return reusableIds;
+    }
+
+    private long nextHighIdRange( int size )
+    {
+        while ( true )
+        {
+            long start = highId.get();
+            IdValidator.assertIdWithinCapacity( idType, start + size, max );
+            if ( highId.compareAndSet( start, start + size ) )
+            {
+                return start;
+            }
+        }
+    }
+
     /**
      * Sets the next free "high" id. This method should be called when an id
      * generator has been rebuilt. {@code id} must not be higher than {@code max}.
@@ -168,7 +230,7 @@ public class IdGeneratorImpl implements IdGenerator
     public synchronized void setHighId( long id )
     {
         IdValidator.assertIdWithinCapacity( idType, id, max );
-        highId = id;
+        highId.set( id );
     }
 
     /**
@@ -178,15 +240,15 @@ public class IdGeneratorImpl implements IdGenerator
      * @return The next free "high" id
      */
     @Override
-    public synchronized long getHighId()
+    public long getHighId()
     {
-        return highId;
+        return highId.get();
     }
 
     @Override
-    public synchronized long getHighestPossibleIdInUse()
+    public long getHighestPossibleIdInUse()
     {
-        return highId - 1;
+        return highId.get() - 1;
     }
 
     /**
@@ -212,11 +274,17 @@ public class IdGeneratorImpl implements IdGenerator
             return;
         }
 
-        if ( id < 0 || id >= highId )
+        long currentHighId = highId.get();
+        if ( id < 0 || id >= currentHighId )
         {
-            throw new IllegalArgumentException( "Illegal id[" + id + "], highId is " + highId );
+            throw new IllegalArgumentException( "Illegal id[" + id + "], highId is " + currentHighId );
         }
         idContainer.freeId( id );
+        mayHaveReusableIds = true;
+        if ( aggressiveReuse )
+        {
+            mayHaveReusableId = true;
+        }
     }
 
     /**
@@ -231,7 +299,7 @@ public class IdGeneratorImpl implements IdGenerator
     @Override
     public synchronized void close()
     {
-        idContainer.close( highId );
+        idContainer.close( highId.get() );
     }
 
     /**
@@ -282,7 +350,7 @@ public class IdGeneratorImpl implements IdGenerator
     @Override
     public synchronized long getNumberOfIdsInUse()
     {
-        return highId - getDefragCount();
+        return highId.get() - getDefragCount();
     }
 
     @Override
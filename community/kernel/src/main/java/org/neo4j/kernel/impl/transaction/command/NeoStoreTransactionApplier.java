@@ -187,6 +187,11 @@ public class NeoStoreTransactionApplier extends TransactionApplier.Adapter
 
     private <RECORD extends AbstractBaseRecord> void updateStore( RecordStore<RECORD> store, BaseCommand<RECORD> command )
     {
-        store.updateRecord( version.select( command ) );
+        updateRecord( store, version.select( command ) );
+    }
+
+    protected <RECORD extends AbstractBaseRecord> void updateRecord( RecordStore<RECORD> store, RECORD record )
+    {
+        store.updateRecord( record );
     }
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.command;
+
+import org.neo4j.kernel.impl.api.BatchTransactionApplier;
+import org.neo4j.kernel.impl.api.TransactionApplier;
+import org.neo4j.kernel.impl.core.CacheAccessBackDoor;
+import org.neo4j.kernel.impl.locking.LockGroup;
+import org.neo4j.kernel.impl.locking.LockService;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.RecordStore;
+import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.kernel.impl.transaction.command.Command.Version;
+import org.neo4j.storageengine.api.CommandsToApply;
+
+/**
+ * A {@link NeoStoreBatchTransactionApplier} which hands record updates over to {@link PartitionedRecordUpdates},
+ * to have the updates of a batch applied by multiple threads. Meant for recovery, where there are no concurrent
+ * readers of the store and no locks to take.
+ * <p>
+ * Updates of node, relationship, relationship group and property records which don't also write any other record,
+ * like dynamic records or secondary units, are applied asynchronously. All other updates wait for the pending updates
+ * to be applied and are then applied by the calling thread, so every record slot sees its updates in log order.
+ * <p>
+ * Other appliers may read the store when they close a transaction, so {@link #storeReadBarrier()} must be the last
+ * applier of the batch, which makes it the first to be closed. It waits for the pending updates before that happens.
+ * The {@link PartitionedRecordUpdates} outlive the batch, so that the same workers can be used for all batches of a
+ * recovery; closing them is up to the caller.
+ */
+public class ParallelNeoStoreBatchTransactionApplier extends BatchTransactionApplier.Adapter
+{
+    private final Version version;
+    private final NeoStores neoStores;
+    private final CacheAccessBackDoor cacheAccess;
+    private final LockService lockService;
+    private final PartitionedRecordUpdates updates;
+
+    public ParallelNeoStoreBatchTransactionApplier( Version version, NeoStores neoStores, CacheAccessBackDoor cacheAccess,
+            LockService lockService, PartitionedRecordUpdates updates )
+    {
+        this.version = version;
+        this.neoStores = neoStores;
+        this.cacheAccess = cacheAccess;
+        this.lockService = lockService;
+        this.updates = updates;
+    }
+
+    @Override
+    public TransactionApplier startTx( CommandsToApply transaction )
+    {
+        throw new RuntimeException( "NeoStoreTransactionApplier requires a LockGroup" );
+    }
+
+    @Override
+    public TransactionApplier startTx( CommandsToApply transaction, LockGroup lockGroup )
+    {
+        return new ParallelNeoStoreTransactionApplier( transaction.transactionId(), lockGroup );
+    }
+
+    /**
+     * @return an applier that waits for pending record updates when closing a transaction which other appliers may
+     * need to read records for, i.e. one with node, property or schema changes, and when closing the batch.
+     */
+    public BatchTransactionApplier storeReadBarrier()
+    {
+        return new BatchTransactionApplier.Adapter()
+        {
+            @Override
+            public TransactionApplier startTx( CommandsToApply transaction )
+            {
+                return new StoreReadBarrier();
+            }
+
+            @Override
+            public void close()
+            {
+                updates.awaitApplied();
+            }
+        };
+    }
+
+    static boolean writesOnlyItsOwnRecord( AbstractBaseRecord record )
+    {
+        if ( record.hasSecondaryUnitId() )
+        {
+            return false;
+        }
+        if ( record instanceof NodeRecord )
+        {
+            return ((NodeRecord) record).getDynamicLabelRecords().isEmpty();
+        }
+        if ( record instanceof PropertyRecord )
+        {
+            // Mirrors what PropertyStore#updateRecord writes in addition to the property record itself
+            PropertyRecord propertyRecord = (PropertyRecord) record;
+            if ( !propertyRecord.getDeletedRecords().isEmpty() )
+            {
+                return false;
+            }
+            if ( propertyRecord.inUse() )
+            {
+                for ( PropertyBlock block : propertyRecord )
+                {
+                    if ( !block.isLight() && block.getValueRecords().get( 0 ).isCreated() )
+                    {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return record instanceof RelationshipRecord || record instanceof RelationshipGroupRecord;
+    }
+
+    private class ParallelNeoStoreTransactionApplier extends NeoStoreTransactionApplier
+    {
+        ParallelNeoStoreTransactionApplier( long transactionId, LockGroup lockGroup )
+        {
+            super( version, neoStores, cacheAccess, lockService, transactionId, lockGroup );
+        }
+
+        @Override
+        protected <RECORD extends AbstractBaseRecord> void updateRecord( RecordStore<RECORD> store, RECORD record )
+        {
+            if ( writesOnlyItsOwnRecord( record ) )
+            {
+                updates.schedule( record.getId(), () -> store.updateRecord( record ) );
+            }
+            else
+            {
+                updates.awaitApplied();
+                store.updateRecord( record );
+            }
+        }
+
+        @Override
+        public boolean visitSchemaRuleCommand( Command.SchemaRuleCommand command )
+        {
+            updates.awaitApplied();
+            return super.visitSchemaRuleCommand( command );
+        }
+    }
+
+    private class StoreReadBarrier extends TransactionApplier.Adapter
+    {
+        private boolean storeMayBeRead;
+
+        @Override
+        public boolean visitNodeCommand( Command.NodeCommand command )
+        {
+            storeMayBeRead = true;
+            return false;
+        }
+
+        @Override
+        public boolean visitPropertyCommand( Command.PropertyCommand command )
+        {
+            storeMayBeRead = true;
+            return false;
+        }
+
+        @Override
+        public boolean visitSchemaRuleCommand( Command.SchemaRuleCommand command )
+        {
+            storeMayBeRead = true;
+            return false;
+        }
+
+        @Override
+        public void close()
+        {
+            if ( storeMayBeRead )
+            {
+                updates.awaitApplied();
+            }
+        }
+    }
+}
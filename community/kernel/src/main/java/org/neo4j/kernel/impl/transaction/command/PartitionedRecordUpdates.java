@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.command;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.neo4j.kernel.impl.store.UnderlyingStorageException;
+
+/**
+ * Applies record updates on a number of worker threads. Updates are partitioned by record id, and every partition
+ * is applied by a single worker in the order the updates were {@link #schedule(long, Runnable) scheduled}, so
+ * updates to the same record id are applied in the order they were scheduled, while updates to different records
+ * are applied concurrently.
+ * <p>
+ * This is only safe for updates that touch nothing but the record slot with the given id. Anything else must first
+ * {@link #awaitApplied() wait for all scheduled updates}, and then be applied by the scheduling thread.
+ * <p>
+ * Scheduling and waiting must be done by a single thread.
+ */
+public class PartitionedRecordUpdates implements AutoCloseable
+{
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final Runnable STOP = () -> {};
+
+    private final BlockingQueue<Runnable>[] partitions;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private boolean closed;
+
+    @SuppressWarnings( "unchecked" )
+    public PartitionedRecordUpdates( int numberOfPartitions, Executor executor )
+    {
+        partitions = new BlockingQueue[numberOfPartitions];
+        for ( int i = 0; i < numberOfPartitions; i++ )
+        {
+            BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>( QUEUE_CAPACITY );
+            partitions[i] = queue;
+            executor.execute( () -> applyUpdates( queue ) );
+        }
+    }
+
+    /**
+     * Schedules an update of the record with the given id, to be applied after all previously scheduled updates of
+     * the same record id.
+     *
+     * @param recordId id of the record, the only record slot the update is allowed to touch.
+     * @param update the update to apply.
+     */
+    public void schedule( long recordId, Runnable update )
+    {
+        throwIfFailed();
+        pending.incrementAndGet();
+        try
+        {
+            partitions[(int) Long.remainderUnsigned( recordId, partitions.length )].put( update );
+        }
+        catch ( InterruptedException e )
+        {
+            pending.decrementAndGet();
+            Thread.currentThread().interrupt();
+            throw new UnderlyingStorageException( "Interrupted while scheduling record update", e );
+        }
+    }
+
+    /**
+     * Waits for all scheduled updates to be applied.
+     *
+     * @throws UnderlyingStorageException if any of the updates failed.
+     */
+    public void awaitApplied()
+    {
+        while ( pending.get() > 0 )
+        {
+            if ( failure.get() != null )
+            {
+                break;
+            }
+            LockSupport.parkNanos( this, TimeUnit.MICROSECONDS.toNanos( 10 ) );
+        }
+        throwIfFailed();
+    }
+
+    /**
+     * Waits for all scheduled updates to be applied, and stops the workers.
+     */
+    @Override
+    public void close()
+    {
+        if ( closed )
+        {
+            return;
+        }
+        closed = true;
+        try
+        {
+            awaitApplied();
+        }
+        finally
+        {
+            boolean failed = failure.get() != null;
+            for ( BlockingQueue<Runnable> partition : partitions )
+            {
+                if ( failed )
+                {
+                    // Nothing more will be applied anyway, and this makes room for the stop signal
+                    partition.clear();
+                }
+                partition.offer( STOP );
+            }
+        }
+    }
+
+    private void applyUpdates( BlockingQueue<Runnable> queue )
+    {
+        try
+        {
+            Runnable update;
+            while ( (update = queue.take()) != STOP )
+            {
+                try
+                {
+                    if ( failure.get() == null )
+                    {
+                        update.run();
+                    }
+                }
+                catch ( Throwable t )
+                {
+                    failure.compareAndSet( null, t );
+                }
+                finally
+                {
+                    pending.decrementAndGet();
+                }
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            failure.compareAndSet( null, e );
+        }
+    }
+
+    private void throwIfFailed()
+    {
+        Throwable cause = failure.get();
+        if ( cause != null )
+        {
+            throw new UnderlyingStorageException( "Failed to apply record update", cause );
+        }
+    }
+}
@@ -22,7 +22,9 @@ package org.neo4j.kernel.impl.transaction.log;
 import java.io.Flushable;
 import java.io.IOException;
 import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.LockSupport;
@@ -50,9 +52,30 @@ import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryStart.checksum
 /**
  * Concurrently appends transactions to the transaction log, while coordinating with the log rotation and forcing the
  * log file in batches for higher throughput in a concurrent scenario.
+ * <p>
+ * By default one of the committing threads forces the log on behalf of all threads that appended before the force,
+ * so batching only happens when committing threads happen to pile up. With a max commit delay, forcing is instead
+ * made by a dedicated thread which, when a transaction has been appended, waits up to the max commit delay, or until
+ * max batch size transactions are waiting, before forcing the log once for all of them. This trades commit latency
+ * for fewer forces, when the rate of forces rather than CPU limits commit throughput.
  */
 public class BatchingTransactionAppender extends LifecycleAdapter implements TransactionAppender
 {
+    public interface Monitor
+    {
+        /**
+         * Called after the log has been forced.
+         *
+         * @param batchSize number of appends, transactions or check points, made durable by this force.
+         * @param forceTimeNanos time it took to force the log.
+         */
+        void logForced( int batchSize, long forceTimeNanos );
+    }
+
+    public static final Monitor NO_MONITOR = ( batchSize, forceTimeNanos ) ->
+    {
+    };
+
     // For the graph store and schema indexes order-of-updates are managed by the high level entity locks
     // such that changes are applied to the affected records in the same order that they are written to the
     // log. For the explicit indexes there are no such locks, and hence no such ordering. This queue below
@@ -67,6 +90,13 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
     private final LogPositionMarker positionMarker = new LogPositionMarker();
     private final DatabaseHealth databaseHealth;
     private final Lock forceLock = new ReentrantLock();
+    private final Monitor monitor;
+    private final ThreadFactory forcerThreadFactory;
+    private final long maxCommitDelayNanos;
+    private final int maxBatchSize;
+    private final AtomicInteger waitingForForce = new AtomicInteger();
+    private volatile Thread forcer;
+    private volatile boolean stopped;
 
     private FlushablePositionAwareChannel writer;
     private TransactionLogWriter transactionLogWriter;
@@ -76,6 +106,28 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
             TransactionMetadataCache transactionMetadataCache, TransactionIdStore transactionIdStore,
             IdOrderingQueue explicitIndexTransactionOrdering, DatabaseHealth databaseHealth )
     {
+        this( logFiles, logRotation, transactionMetadataCache, transactionIdStore, explicitIndexTransactionOrdering,
+                databaseHealth, NO_MONITOR, null, 0, 1 );
+    }
+
+    /**
+     * @param monitor {@link Monitor} notified about every force of the log.
+     * @param forcerThreadFactory {@link ThreadFactory} creating the dedicated thread forcing the log, if
+     * {@code maxCommitDelayNanos} is greater than zero.
+     * @param maxCommitDelayNanos max time the dedicated thread waits for more transactions to be appended before
+     * forcing the log, or {@code 0} for committing threads to force the log themselves.
+     * @param maxBatchSize number of transactions waiting for a force at which the dedicated thread
+     * forces the log right away.
+     */
+    public BatchingTransactionAppender( LogFiles logFiles, LogRotation logRotation,
+            TransactionMetadataCache transactionMetadataCache, TransactionIdStore transactionIdStore,
+            IdOrderingQueue explicitIndexTransactionOrdering, DatabaseHealth databaseHealth, Monitor monitor,
+            ThreadFactory forcerThreadFactory, long maxCommitDelayNanos, int maxBatchSize )
+    {
+        this.monitor = monitor;
+        this.forcerThreadFactory = forcerThreadFactory;
+        this.maxCommitDelayNanos = maxCommitDelayNanos;
+        this.maxBatchSize = maxBatchSize;
         this.logFile = logFiles.getLogFile();
         this.logRotation = logRotation;
         this.transactionIdStore = transactionIdStore;
@@ -90,6 +142,27 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
         this.writer = logFile.getWriter();
         this.indexCommandDetector = new IndexCommandDetector();
         this.transactionLogWriter = new TransactionLogWriter( new LogEntryWriter( writer ) );
+        if ( maxCommitDelayNanos > 0 )
+        {
+            stopped = false;
+            waitingForForce.set( 0 );
+            forcer = forcerThreadFactory.newThread( this::forceInBatches );
+            forcer.start();
+        }
+    }
+
+    @Override
+    public void stop() throws InterruptedException
+    {
+        Thread forcerThread = forcer;
+        if ( forcerThread != null )
+        {
+            // The forcer will force for any appends still waiting before exiting
+            stopped = true;
+            LockSupport.unpark( forcerThread );
+            forcerThread.join();
+            forcer = null;
+        }
     }
 
     @Override
@@ -243,6 +316,12 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
      */
     protected boolean forceAfterAppend( LogForceEvents logForceEvents ) throws IOException
     {
+        Thread forcerThread = forcer;
+        if ( forcerThread != null )
+        {
+            return waitForForcer( forcerThread, logForceEvents );
+        }
+
         // There's a benign race here, where we add our link before we update our next pointer.
         // This is okay, however, because unparkAll() spins when it sees a null next pointer.
         ThreadLink threadLink = new ThreadLink( Thread.currentThread() );
@@ -294,6 +373,7 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
     private void forceLog( LogForceEvents logForceEvents ) throws IOException
     {
         ThreadLink links = threadLinkHead.getAndSet( ThreadLink.END );
+        long startTime = System.nanoTime();
         try ( LogForceEvent logForceEvent = logForceEvents.beginLogForce() )
         {
             force();
@@ -305,14 +385,114 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
         }
         finally
         {
-            unparkAll( links );
+            long forceTime = System.nanoTime() - startTime;
+            monitor.logForced( unparkAll( links ), forceTime );
+        }
+    }
+
+    /**
+     * Waits for the dedicated forcer thread to force the log, after having appended to it.
+     *
+     * @return {@code true} if this thread is the one to check whether or not the log needs rotation, which is the
+     * case for one of the threads in each batch.
+     */
+    private boolean waitForForcer( Thread forcerThread, LogForceEvents logForceEvents ) throws IOException
+    {
+        ThreadLink threadLink = new ThreadLink( Thread.currentThread() );
+        threadLink.next = threadLinkHead.getAndSet( threadLink );
+        int waiting = waitingForForce.incrementAndGet();
+        if ( threadLink.next == ThreadLink.END || waiting == maxBatchSize )
+        {
+            // Either the first to wait for the next force, or the one filling up the batch
+            LockSupport.unpark( forcerThread );
+        }
+
+        boolean forcedItself = false;
+        try ( LogForceWaitEvent logForceWaitEvent = logForceEvents.beginLogForceWait() )
+        {
+            while ( !threadLink.done )
+            {
+                if ( !forcerThread.isAlive() && forceLock.tryLock() )
+                {
+                    // The forcer exited, because this appender was stopped, after this thread saw it but before this
+                    // thread linked itself. Nobody else is going to force for this thread, so it forces itself.
+                    forcedItself = true;
+                    try
+                    {
+                        forceLog( logForceEvents );
+                    }
+                    finally
+                    {
+                        forceLock.unlock();
+                    }
+                }
+                else
+                {
+                    waitForLogForce();
+                }
+            }
+        }
+        // Failure to force will have caused a panic
+        databaseHealth.assertHealthy( IOException.class );
+        return forcedItself || threadLink.checkRotation;
+    }
+
+    /**
+     * Run by the dedicated forcer thread, for as long as this appender is started.
+     */
+    private void forceInBatches()
+    {
+        while ( true )
+        {
+            if ( threadLinkHead.get() == ThreadLink.END )
+            {
+                if ( stopped )
+                {
+                    return;
+                }
+                waitForLogForce();
+                continue;
+            }
+
+            // Let more transactions be appended, up to max commit delay or max batch size, to force them all at once
+            long deadline = System.nanoTime() + maxCommitDelayNanos;
+            long delay;
+            while ( !stopped && waitingForForce.get() < maxBatchSize && (delay = deadline - System.nanoTime()) > 0 )
+            {
+                LockSupport.parkNanos( this, delay );
+            }
+
+            ThreadLink links = threadLinkHead.getAndSet( ThreadLink.END );
+            long startTime = System.nanoTime();
+            try
+            {
+                force();
+            }
+            catch ( Throwable panic )
+            {
+                // The waiting threads will see this panic when checking database health
+                databaseHealth.panic( panic );
+            }
+            finally
+            {
+                long forceTime = System.nanoTime() - startTime;
+                links.checkRotation = true;
+                int batchSize = unparkAll( links );
+                waitingForForce.addAndGet( -batchSize );
+                monitor.logForced( batchSize, forceTime );
+            }
         }
     }
 
-    private void unparkAll( ThreadLink links )
+    /**
+     * @return number of unparked links.
+     */
+    private int unparkAll( ThreadLink links )
     {
+        int count = 0;
         do
         {
+            count++;
             links.done = true;
             links.unpark();
             ThreadLink tmp;
@@ -325,6 +505,7 @@ public class BatchingTransactionAppender extends LifecycleAdapter implements Tra
             links = tmp;
         }
         while ( links != ThreadLink.END );
+        return count;
     }
 
     private void waitForLogForce()
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
+
+import static org.neo4j.helpers.Exceptions.throwIfUnchecked;
+
+/**
+ * {@link TransactionCursor} which reads and decodes transactions from another cursor on a separate thread,
+ * up to a given number of transactions ahead of the consumer. Transactions, {@link #position() positions} and
+ * failures are seen by the consumer exactly as if it was reading from the wrapped cursor directly.
+ */
+public class ReadAheadTransactionCursor implements TransactionCursor
+{
+    private final TransactionCursor source;
+    private final BlockingQueue<Entry> queue;
+    private final CountDownLatch readerDone = new CountDownLatch( 1 );
+    private volatile boolean closed;
+
+    private CommittedTransactionRepresentation current;
+    private LogPosition position;
+    private boolean exhausted;
+
+    public ReadAheadTransactionCursor( TransactionCursor source, int maxTransactionsAhead, Executor executor )
+    {
+        this.source = source;
+        this.queue = new ArrayBlockingQueue<>( maxTransactionsAhead );
+        this.position = source.position();
+        executor.execute( this::readAhead );
+    }
+
+    @Override
+    public boolean next() throws IOException
+    {
+        if ( exhausted )
+        {
+            return false;
+        }
+
+        Entry entry;
+        try
+        {
+            entry = queue.take();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException( "Interrupted while waiting for transactions to be read" );
+        }
+
+        if ( entry.failure != null )
+        {
+            exhausted = true;
+            current = null;
+            throwIfUnchecked( entry.failure );
+            if ( entry.failure instanceof IOException )
+            {
+                throw (IOException) entry.failure;
+            }
+            throw new IOException( entry.failure );
+        }
+        position = entry.position;
+        current = entry.transaction;
+        exhausted = current == null;
+        return !exhausted;
+    }
+
+    @Override
+    public CommittedTransactionRepresentation get()
+    {
+        return current;
+    }
+
+    @Override
+    public LogPosition position()
+    {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        closed = true;
+        // Make room for the reader, in case it is blocked on a full queue
+        queue.clear();
+        try
+        {
+            readerDone.await();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException( "Interrupted while waiting for read-ahead to stop" );
+        }
+        finally
+        {
+            queue.clear();
+        }
+        source.close();
+    }
+
+    private void readAhead()
+    {
+        try
+        {
+            Entry last;
+            try
+            {
+                while ( !closed && source.next() )
+                {
+                    offer( new Entry( source.get(), source.position(), null ) );
+                }
+                last = new Entry( null, source.position(), null );
+            }
+            catch ( Throwable t )
+            {
+                last = new Entry( null, null, t );
+            }
+            offer( last );
+        }
+        finally
+        {
+            readerDone.countDown();
+        }
+    }
+
+    private void offer( Entry entry )
+    {
+        // Wait for the consumer to catch up, or to close the cursor. The consumer relies on getting every entry,
+        // so interrupts are only passed on once the entry has been handed over
+        boolean interrupted = false;
+        while ( !closed )
+        {
+            try
+            {
+                if ( queue.offer( entry, 10, TimeUnit.MILLISECONDS ) )
+                {
+                    break;
+                }
+            }
+            catch ( InterruptedException e )
+            {
+                interrupted = true;
+            }
+        }
+        if ( interrupted )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Entry
+    {
+        final CommittedTransactionRepresentation transaction;
+        final LogPosition position;
+        final Throwable failure;
+
+        Entry( CommittedTransactionRepresentation transaction, LogPosition position, Throwable failure )
+        {
+            this.transaction = transaction;
+            this.position = position;
+            this.failure = failure;
+        }
+    }
+}
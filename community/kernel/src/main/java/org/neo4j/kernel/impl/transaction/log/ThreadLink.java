@@ -26,6 +26,7 @@ class ThreadLink
     final Thread thread;
     volatile ThreadLink next;
     volatile boolean done;
+    volatile boolean checkRotation;
 
     ThreadLink( Thread thread )
     {
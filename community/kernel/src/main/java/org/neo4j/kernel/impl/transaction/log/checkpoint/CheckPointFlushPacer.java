@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.checkpoint;
+
+import java.io.Flushable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.kernel.impl.transaction.tracing.LogCheckPointEvent;
+import org.neo4j.time.SystemNanoClock;
+
+/**
+ * {@link IOLimiter} for the flushing of a single check point, which spreads the flushing out evenly over a target
+ * duration instead of flushing as fast as the underlying {@link IOLimiter} allows, to avoid bursts of IO.
+ * <p>
+ * The number of pages the check point is going to flush is estimated to be the number of pages flushed by the
+ * previous check point. Whenever the flushing is ahead of schedule it is paused, at most {@link #MAX_PAUSE_NANOS}
+ * at a time so that it reacts quickly to requests to rush, and when it's behind schedule, e.g. because there were
+ * more dirty pages than estimated, it's not paused at all. So pacing never makes a check point take longer than
+ * the target duration. All flushed pages are reported to the {@link LogCheckPointEvent}, to make the progress of
+ * the check point observable.
+ * <p>
+ * Only accessed by the single thread doing the check point.
+ */
+class CheckPointFlushPacer implements IOLimiter
+{
+    static final long MAX_PAUSE_NANOS = TimeUnit.MILLISECONDS.toNanos( 100 );
+
+    private final IOLimiter limiter;
+    private final LogCheckPointEvent event;
+    private final long targetNanos;
+    private final long estimatedPages;
+    private final SystemNanoClock clock;
+    private final BooleanSupplier rushed;
+    private final long startNanos;
+    private long flushedPages;
+
+    /**
+     * @param limiter underlying {@link IOLimiter}, which gets the final say in limiting the IO.
+     * @param event {@link LogCheckPointEvent} to report flushed pages to.
+     * @param targetNanos duration to spread the flushing over, or {@code 0} to not pace at all.
+     * @param estimatedPages estimated number of pages to flush, or {@code 0} if unknown, which disables pacing.
+     * @param clock clock to measure elapsed time with.
+     * @param rushed whether or not someone is waiting for this check point, in which case it must not be paced.
+     */
+    CheckPointFlushPacer( IOLimiter limiter, LogCheckPointEvent event, long targetNanos, long estimatedPages,
+            SystemNanoClock clock, BooleanSupplier rushed )
+    {
+        this.limiter = limiter;
+        this.event = event;
+        this.targetNanos = targetNanos;
+        this.estimatedPages = estimatedPages;
+        this.clock = clock;
+        this.rushed = rushed;
+        this.startNanos = clock.nanos();
+    }
+
+    @Override
+    public long maybeLimitIO( long previousStamp, int recentlyCompletedIOs, Flushable flushable )
+    {
+        flushedPages += recentlyCompletedIOs;
+        event.flushedPages( recentlyCompletedIOs );
+        if ( targetNanos > 0 && flushedPages < estimatedPages && !rushed.getAsBoolean() )
+        {
+            long scheduledNanos = startNanos + (long) (targetNanos * ((double) flushedPages / estimatedPages));
+            long aheadNanos = scheduledNanos - clock.nanos();
+            if ( aheadNanos > 0 )
+            {
+                pause( Math.min( aheadNanos, MAX_PAUSE_NANOS ) );
+            }
+        }
+        return limiter.maybeLimitIO( previousStamp, recentlyCompletedIOs, flushable );
+    }
+
+    /**
+     * @return number of pages flushed so far.
+     */
+    long flushedPages()
+    {
+        return flushedPages;
+    }
+
+    void pause( long nanos )
+    {
+        LockSupport.parkNanos( nanos );
+    }
+
+    @Override
+    public void disableLimit()
+    {
+        limiter.disableLimit();
+    }
+
+    @Override
+    public void enableLimit()
+    {
+        limiter.enableLimit();
+    }
+}
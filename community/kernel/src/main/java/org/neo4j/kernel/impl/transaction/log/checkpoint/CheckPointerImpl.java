@@ -20,6 +20,9 @@
 package org.neo4j.kernel.impl.transaction.log.checkpoint;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.neo4j.graphdb.Resource;
 import org.neo4j.io.pagecache.IOLimiter;
 import org.neo4j.kernel.impl.transaction.log.LogPosition;
@@ -33,6 +36,7 @@ import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 import org.neo4j.logging.Log;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.storageengine.api.StorageEngine;
+import org.neo4j.time.Clocks;
 
 import static java.lang.System.currentTimeMillis;
 
@@ -50,8 +54,11 @@ public class CheckPointerImpl extends LifecycleAdapter implements CheckPointer
     private final Log msgLog;
     private final CheckPointTracer tracer;
     private final StoreCopyCheckPointMutex mutex;
+    private final long flushTargetNanos;
+    private final AtomicInteger flushRushes = new AtomicInteger();
 
     private long lastCheckPointedTx;
+    private long lastCheckPointFlushedPages;
 
     public CheckPointerImpl(
             TransactionIdStore transactionIdStore,
@@ -64,6 +71,28 @@ public class CheckPointerImpl extends LifecycleAdapter implements CheckPointer
             CheckPointTracer tracer,
             IOLimiter ioLimiter,
             StoreCopyCheckPointMutex mutex )
+    {
+        this( transactionIdStore, threshold, storageEngine, logPruning, appender, databaseHealth, logProvider, tracer,
+                ioLimiter, mutex, Duration.ZERO );
+    }
+
+    /**
+     * @param flushTargetDuration duration to spread the flushing of check points triggered by
+     * {@link #checkPointIfNeeded(TriggerInfo)} over, or {@link Duration#ZERO} to flush as fast as {@code ioLimiter}
+     * allows. Forced check points are never spread out.
+     */
+    public CheckPointerImpl(
+            TransactionIdStore transactionIdStore,
+            CheckPointThreshold threshold,
+            StorageEngine storageEngine,
+            LogPruning logPruning,
+            TransactionAppender appender,
+            DatabaseHealth databaseHealth,
+            LogProvider logProvider,
+            CheckPointTracer tracer,
+            IOLimiter ioLimiter,
+            StoreCopyCheckPointMutex mutex,
+            Duration flushTargetDuration )
     {
         this.appender = appender;
         this.transactionIdStore = transactionIdStore;
@@ -75,6 +104,7 @@ public class CheckPointerImpl extends LifecycleAdapter implements CheckPointer
         this.msgLog = logProvider.getLog( CheckPointerImpl.class );
         this.tracer = tracer;
         this.mutex = mutex;
+        this.flushTargetNanos = flushTargetDuration.toNanos();
     }
 
     @Override
@@ -86,21 +116,21 @@ public class CheckPointerImpl extends LifecycleAdapter implements CheckPointer
     @Override
     public long forceCheckPoint( TriggerInfo info ) throws IOException
     {
-        ioLimiter.disableLimit();
+        disableLimit();
         try ( Resource lock = mutex.checkPoint() )
         {
-            return doCheckPoint( info, LogCheckPointEvent.NULL );
+            return doCheckPoint( info, LogCheckPointEvent.NULL, ioLimiter );
         }
         finally
         {
-            ioLimiter.enableLimit();
+            enableLimit();
         }
     }
 
     @Override
     public long tryCheckPoint( TriggerInfo info ) throws IOException
     {
-        ioLimiter.disableLimit();
+        disableLimit();
         try
         {
             Resource lockAttempt = mutex.tryCheckPoint();
@@ -108,7 +138,7 @@ public class CheckPointerImpl extends LifecycleAdapter implements CheckPointer
             {
                 try ( Resource lock = lockAttempt )
                 {
-                    return doCheckPoint( info, LogCheckPointEvent.NULL );
+                    return doCheckPoint( info, LogCheckPointEvent.NULL, ioLimiter );
                 }
             }
             else
@@ -123,7 +153,7 @@ public class CheckPointerImpl extends LifecycleAdapter implements CheckPointer
         }
         finally
         {
-            ioLimiter.enableLimit();
+            enableLimit();
         }
     }
 
@@ -135,13 +165,33 @@ public class CheckPointerImpl extends LifecycleAdapter implements CheckPointer
             try ( LogCheckPointEvent event = tracer.beginCheckPoint();
                     Resource lock = mutex.checkPoint() )
             {
-                return doCheckPoint( info, event );
+                CheckPointFlushPacer pacer = new CheckPointFlushPacer( ioLimiter, event, flushTargetNanos,
+                        lastCheckPointFlushedPages, Clocks.nanoClock(), () -> flushRushes.get() > 0 );
+                long checkPointedTx = doCheckPoint( info, event, pacer );
+                lastCheckPointFlushedPages = pacer.flushedPages();
+                return checkPointedTx;
             }
         }
         return -1;
     }
 
-    private long doCheckPoint( TriggerInfo triggerInfo, LogCheckPointEvent logCheckPointEvent ) throws IOException
+    /**
+     * Makes any running and upcoming check points flush as fast as possible, until {@link #enableLimit()}.
+     */
+    private void disableLimit()
+    {
+        flushRushes.incrementAndGet();
+        ioLimiter.disableLimit();
+    }
+
+    private void enableLimit()
+    {
+        ioLimiter.enableLimit();
+        flushRushes.decrementAndGet();
+    }
+
+    private long doCheckPoint( TriggerInfo triggerInfo, LogCheckPointEvent logCheckPointEvent, IOLimiter limiter )
+            throws IOException
     {
         try
         {
@@ -161,7 +211,7 @@ public class CheckPointerImpl extends LifecycleAdapter implements CheckPointer
              */
             msgLog.info( prefix + " checkpoint started..." );
             long startTime = currentTimeMillis();
-            storageEngine.flushAndForce( ioLimiter );
+            storageEngine.flushAndForce( limiter );
             /*
              * Check kernel health before going to write the next check point.  In case of a panic this check point
              * will be aborted, which is the safest alternative so that the next recovery will have a chance to
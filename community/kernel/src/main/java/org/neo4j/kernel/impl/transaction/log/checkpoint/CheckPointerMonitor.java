@@ -25,6 +25,17 @@ public interface CheckPointerMonitor
 
     long checkPointAccumulatedTotalTimeMillis();
 
+    /**
+     * @return the total number of pages flushed by check points so far, for deriving the rate of check point flushing.
+     */
+    long checkPointAccumulatedFlushedPages();
+
+    /**
+     * @return the number of pages flushed so far by the currently running check point, or by the last one if
+     * there's none running, for following the progress of check points.
+     */
+    long lastCheckPointFlushedPages();
+
     CheckPointerMonitor NULL = new CheckPointerMonitor()
     {
         @Override
@@ -38,5 +49,17 @@ public interface CheckPointerMonitor
         {
             return 0;
         }
+
+        @Override
+        public long checkPointAccumulatedFlushedPages()
+        {
+            return 0;
+        }
+
+        @Override
+        public long lastCheckPointFlushedPages()
+        {
+            return 0;
+        }
     };
 }
@@ -43,6 +43,8 @@ public class DefaultCheckPointerTracer implements CheckPointTracer, CheckPointer
 
     private final AtomicLong counter = new AtomicLong();
     private final AtomicLong accumulatedTotalTimeNanos = new AtomicLong();
+    private final AtomicLong accumulatedFlushedPages = new AtomicLong();
+    private final AtomicLong lastFlushedPages = new AtomicLong();
 
     private volatile long startTimeNanos;
 
@@ -54,6 +56,13 @@ public class DefaultCheckPointerTracer implements CheckPointTracer, CheckPointer
             updateCountersAndNotifyListeners();
         }
 
+        @Override
+        public void flushedPages( int pages )
+        {
+            accumulatedFlushedPages.addAndGet( pages );
+            lastFlushedPages.addAndGet( pages );
+        }
+
         @Override
         public LogForceWaitEvent beginLogForceWait()
         {
@@ -83,6 +92,7 @@ public class DefaultCheckPointerTracer implements CheckPointTracer, CheckPointer
     public LogCheckPointEvent beginCheckPoint()
     {
         startTimeNanos = clock.nanos();
+        lastFlushedPages.set( 0 );
         return logCheckPointEvent;
     }
 
@@ -98,6 +108,18 @@ public class DefaultCheckPointerTracer implements CheckPointTracer, CheckPointer
         return TimeUnit.NANOSECONDS.toMillis( accumulatedTotalTimeNanos.get() );
     }
 
+    @Override
+    public long checkPointAccumulatedFlushedPages()
+    {
+        return accumulatedFlushedPages.get();
+    }
+
+    @Override
+    public long lastCheckPointFlushedPages()
+    {
+        return lastFlushedPages.get();
+    }
+
     private void updateCountersAndNotifyListeners()
     {
         final long lastEventTime = clock.nanos() - startTimeNanos;
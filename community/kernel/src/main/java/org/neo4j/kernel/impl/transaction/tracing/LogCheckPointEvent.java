@@ -38,12 +38,22 @@ public interface LogCheckPointEvent extends LogForceEvents, AutoCloseable
             return LogForceEvent.NULL;
         }
 
+        @Override
+        public void flushedPages( int pages )
+        {
+        }
+
         @Override
         public void close()
         {
         }
     };
 
+    /**
+     * Reports that the check point has flushed another {@code pages} pages, called repeatedly while flushing.
+     */
+    void flushedPages( int pages );
+
     /**
      * Marks the end of the check pointing process.
      */
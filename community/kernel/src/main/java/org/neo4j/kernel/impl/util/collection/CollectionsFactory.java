@@ -44,4 +44,10 @@ public interface CollectionsFactory
     MemoryTracker getMemoryTracker();
 
     boolean collectionsMustBeReleased();
+
+    /**
+     * Release all the collections created by this factory, and the memory they hold. The collections cannot be used
+     * after they have been released, but the factory itself can be used to create new collections.
+     */
+    void release();
 }
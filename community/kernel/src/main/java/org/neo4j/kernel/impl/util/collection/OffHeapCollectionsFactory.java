@@ -24,17 +24,28 @@ import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
 import org.eclipse.collections.api.set.primitive.MutableLongSet;
 import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
 import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
-import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.graphdb.Resource;
 import org.neo4j.kernel.impl.util.diffsets.PrimitiveLongDiffSets;
 import org.neo4j.memory.MemoryAllocationTracker;
 import org.neo4j.memory.MemoryTracker;
 
 import static java.util.Objects.requireNonNull;
 
+/**
+ * Creates primitive long sets that keep their elements off-heap, with all allocations reported to the given
+ * {@link MemoryAllocationTracker}. The maps are kept on-heap, because their values are on-heap objects.
+ * <p>
+ * The off-heap memory is freed when the factory is {@link #release() released}, which happens when the transaction
+ * state that the collections were created for is released.
+ */
 class OffHeapCollectionsFactory implements CollectionsFactory
 {
     private final MemoryAllocationTracker memoryTracker;
+    private final List<Resource> collections = new ArrayList<>();
 
     OffHeapCollectionsFactory( MemoryAllocationTracker memoryTracker )
     {
@@ -44,7 +55,9 @@ class OffHeapCollectionsFactory implements CollectionsFactory
     @Override
     public MutableLongSet newLongSet()
     {
-        return new LongHashSet();
+        OffHeapLongHashSet set = new OffHeapLongHashSet( memoryTracker );
+        collections.add( set );
+        return set;
     }
 
     @Override
@@ -76,4 +89,14 @@ class OffHeapCollectionsFactory implements CollectionsFactory
     {
         return true;
     }
+
+    @Override
+    public void release()
+    {
+        for ( Resource collection : collections )
+        {
+            collection.close();
+        }
+        collections.clear();
+    }
 }
@@ -0,0 +1,732 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import org.eclipse.collections.api.LongIterable;
+import org.eclipse.collections.api.block.function.primitive.LongToObjectFunction;
+import org.eclipse.collections.api.block.function.primitive.ObjectLongToObjectFunction;
+import org.eclipse.collections.api.block.predicate.primitive.LongPredicate;
+import org.eclipse.collections.api.block.procedure.primitive.LongProcedure;
+import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.api.iterator.MutableLongIterator;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.set.primitive.ImmutableLongSet;
+import org.eclipse.collections.api.set.primitive.LongSet;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+import org.eclipse.collections.impl.set.mutable.primitive.SynchronizedLongSet;
+import org.eclipse.collections.impl.set.mutable.primitive.UnmodifiableLongSet;
+import org.eclipse.collections.impl.set.primitive.AbstractLongSet;
+
+import java.io.IOException;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+import org.neo4j.graphdb.Resource;
+import org.neo4j.memory.MemoryAllocationTracker;
+import org.neo4j.unsafe.impl.batchimport.cache.OffHeapLongArray;
+
+/**
+ * A {@link MutableLongSet} that keeps its elements off-heap, in an open addressing hash table with linear probing.
+ * <p>
+ * The table memory is allocated through the given {@link MemoryAllocationTracker} when the first element is added,
+ * so that sets that are never used cost no off-heap memory, and is only released when the set is
+ * {@link #close() closed}. The values {@code 0} and {@code 1} mark empty and removed slots in the table, so
+ * whether or not those two values are in the set is tracked separately.
+ * <p>
+ * Iterators are fail-fast: if the set is modified after an iterator is created, other than through the iterator's own
+ * {@link MutableLongIterator#remove()}, the iterator throws {@link ConcurrentModificationException}. This way
+ * iterators never read a table that has been freed by a rehash, and need no memory of their own.
+ * <p>
+ * Collections derived from this set, such as those returned from {@link #select(LongPredicate)} or
+ * {@link #toImmutable()}, are regular on-heap collections.
+ */
+class OffHeapLongHashSet extends AbstractLongSet implements MutableLongSet, Resource
+{
+    private static final long EMPTY = 0;
+    private static final long REMOVED = 1;
+    private static final int DEFAULT_CAPACITY = 32;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final MemoryAllocationTracker allocationTracker;
+    private OffHeapLongArray table;
+    private int capacity;
+    private int size;
+    private int removals;
+    private int modCount;
+    private boolean hasZero;
+    private boolean hasOne;
+    private boolean closed;
+
+    OffHeapLongHashSet( MemoryAllocationTracker allocationTracker )
+    {
+        this.allocationTracker = allocationTracker;
+    }
+
+    @Override
+    public boolean add( long element )
+    {
+        assertOpen();
+        if ( element == EMPTY )
+        {
+            boolean added = !hasZero;
+            hasZero = true;
+            modCount++;
+            return added;
+        }
+        if ( element == REMOVED )
+        {
+            boolean added = !hasOne;
+            hasOne = true;
+            modCount++;
+            return added;
+        }
+
+        if ( table == null )
+        {
+            capacity = DEFAULT_CAPACITY;
+            table = newTable( capacity );
+        }
+        int index = probe( element );
+        long existing = table.get( index );
+        if ( existing == element )
+        {
+            return false;
+        }
+        modCount++;
+        if ( existing == REMOVED )
+        {
+            removals--;
+        }
+        table.set( index, element );
+        size++;
+        if ( size + removals > maxOccupied( capacity ) )
+        {
+            // Grow if the table is getting full of elements, otherwise just clean out the removal markers.
+            rehash( size >= capacity / 2 ? capacity << 1 : capacity );
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove( long element )
+    {
+        assertOpen();
+        if ( element == EMPTY )
+        {
+            boolean removed = hasZero;
+            hasZero = false;
+            modCount++;
+            return removed;
+        }
+        if ( element == REMOVED )
+        {
+            boolean removed = hasOne;
+            hasOne = false;
+            modCount++;
+            return removed;
+        }
+
+        if ( table == null )
+        {
+            return false;
+        }
+        int index = probe( element );
+        if ( table.get( index ) != element )
+        {
+            return false;
+        }
+        modCount++;
+        table.set( index, REMOVED );
+        size--;
+        removals++;
+        return true;
+    }
+
+    @Override
+    public boolean contains( long element )
+    {
+        assertOpen();
+        if ( element == EMPTY )
+        {
+            return hasZero;
+        }
+        if ( element == REMOVED )
+        {
+            return hasOne;
+        }
+        return table != null && table.get( probe( element ) ) == element;
+    }
+
+    @Override
+    public int size()
+    {
+        return size + (hasZero ? 1 : 0) + (hasOne ? 1 : 0);
+    }
+
+    @Override
+    public void clear()
+    {
+        assertOpen();
+        modCount++;
+        closeTable();
+        size = 0;
+        removals = 0;
+        hasZero = false;
+        hasOne = false;
+    }
+
+    @Override
+    public MutableLongIterator longIterator()
+    {
+        assertOpen();
+        return new SetIterator();
+    }
+
+    @Override
+    public void forEach( LongProcedure procedure )
+    {
+        each( procedure );
+    }
+
+    /**
+     * Visit all the elements in this set. The procedure must not modify the set.
+     */
+    @Override
+    public void each( LongProcedure procedure )
+    {
+        assertOpen();
+        if ( hasZero )
+        {
+            procedure.value( EMPTY );
+        }
+        if ( hasOne )
+        {
+            procedure.value( REMOVED );
+        }
+        for ( int i = 0; i < capacity; i++ )
+        {
+            long value = table.get( i );
+            if ( isElement( value ) )
+            {
+                procedure.value( value );
+            }
+        }
+    }
+
+    @Override
+    public boolean addAll( long... source )
+    {
+        boolean changed = false;
+        for ( long element : source )
+        {
+            changed |= add( element );
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean addAll( LongIterable source )
+    {
+        if ( source == this )
+        {
+            return false;
+        }
+        int sizeBefore = size();
+        source.each( this::add );
+        return size() != sizeBefore;
+    }
+
+    @Override
+    public boolean removeAll( LongIterable source )
+    {
+        if ( source == this )
+        {
+            boolean changed = notEmpty();
+            clear();
+            return changed;
+        }
+        int sizeBefore = size();
+        source.each( this::remove );
+        return size() != sizeBefore;
+    }
+
+    @Override
+    public boolean removeAll( long... source )
+    {
+        boolean changed = false;
+        for ( long element : source )
+        {
+            changed |= remove( element );
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll( LongIterable elements )
+    {
+        return removeAll( reject( elements::contains ) );
+    }
+
+    @Override
+    public boolean retainAll( long... source )
+    {
+        return retainAll( LongHashSet.newSetWith( source ) );
+    }
+
+    @Override
+    public OffHeapLongHashSet with( long element )
+    {
+        add( element );
+        return this;
+    }
+
+    @Override
+    public OffHeapLongHashSet without( long element )
+    {
+        remove( element );
+        return this;
+    }
+
+    @Override
+    public OffHeapLongHashSet withAll( LongIterable elements )
+    {
+        addAll( elements );
+        return this;
+    }
+
+    @Override
+    public OffHeapLongHashSet withoutAll( LongIterable elements )
+    {
+        removeAll( elements );
+        return this;
+    }
+
+    @Override
+    public MutableLongSet select( LongPredicate predicate )
+    {
+        MutableLongSet result = new LongHashSet();
+        each( value ->
+        {
+            if ( predicate.accept( value ) )
+            {
+                result.add( value );
+            }
+        } );
+        return result;
+    }
+
+    @Override
+    public MutableLongSet reject( LongPredicate predicate )
+    {
+        return select( value -> !predicate.accept( value ) );
+    }
+
+    @Override
+    public <V> MutableSet<V> collect( LongToObjectFunction<? extends V> function )
+    {
+        MutableSet<V> result = new UnifiedSet<>( size() );
+        each( value -> result.add( function.valueOf( value ) ) );
+        return result;
+    }
+
+    @Override
+    public long detectIfNone( LongPredicate predicate, long ifNone )
+    {
+        assertOpen();
+        if ( hasZero && predicate.accept( EMPTY ) )
+        {
+            return EMPTY;
+        }
+        if ( hasOne && predicate.accept( REMOVED ) )
+        {
+            return REMOVED;
+        }
+        for ( int i = 0; i < capacity; i++ )
+        {
+            long value = table.get( i );
+            if ( isElement( value ) && predicate.accept( value ) )
+            {
+                return value;
+            }
+        }
+        return ifNone;
+    }
+
+    @Override
+    public int count( LongPredicate predicate )
+    {
+        int[] count = new int[1];
+        each( value ->
+        {
+            if ( predicate.accept( value ) )
+            {
+                count[0]++;
+            }
+        } );
+        return count[0];
+    }
+
+    @Override
+    public boolean anySatisfy( LongPredicate predicate )
+    {
+        assertOpen();
+        if ( (hasZero && predicate.accept( EMPTY )) || (hasOne && predicate.accept( REMOVED )) )
+        {
+            return true;
+        }
+        for ( int i = 0; i < capacity; i++ )
+        {
+            long value = table.get( i );
+            if ( isElement( value ) && predicate.accept( value ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean allSatisfy( LongPredicate predicate )
+    {
+        return !anySatisfy( value -> !predicate.accept( value ) );
+    }
+
+    @Override
+    public boolean noneSatisfy( LongPredicate predicate )
+    {
+        return !anySatisfy( predicate );
+    }
+
+    @Override
+    public <T> T injectInto( T injectedValue, ObjectLongToObjectFunction<? super T,? extends T> function )
+    {
+        T result = injectedValue;
+        LongIterator iterator = longIterator();
+        while ( iterator.hasNext() )
+        {
+            result = function.valueOf( result, iterator.next() );
+        }
+        return result;
+    }
+
+    @Override
+    public long[] toArray()
+    {
+        long[] array = new long[size()];
+        int[] index = new int[1];
+        each( value -> array[index[0]++] = value );
+        return array;
+    }
+
+    @Override
+    public long sum()
+    {
+        long[] sum = new long[1];
+        each( value -> sum[0] += value );
+        return sum[0];
+    }
+
+    @Override
+    public long max()
+    {
+        if ( isEmpty() )
+        {
+            throw new NoSuchElementException();
+        }
+        long[] max = {Long.MIN_VALUE};
+        each( value -> max[0] = Math.max( max[0], value ) );
+        return max[0];
+    }
+
+    @Override
+    public long min()
+    {
+        if ( isEmpty() )
+        {
+            throw new NoSuchElementException();
+        }
+        long[] min = {Long.MAX_VALUE};
+        each( value -> min[0] = Math.min( min[0], value ) );
+        return min[0];
+    }
+
+    @Override
+    public void appendString( Appendable appendable, String start, String separator, String end )
+    {
+        try
+        {
+            appendable.append( start );
+            LongIterator iterator = longIterator();
+            while ( iterator.hasNext() )
+            {
+                appendable.append( String.valueOf( iterator.next() ) );
+                if ( iterator.hasNext() )
+                {
+                    appendable.append( separator );
+                }
+            }
+            appendable.append( end );
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( e );
+        }
+    }
+
+    @Override
+    public MutableLongSet asUnmodifiable()
+    {
+        return new UnmodifiableLongSet( this );
+    }
+
+    @Override
+    public MutableLongSet asSynchronized()
+    {
+        return new SynchronizedLongSet( this );
+    }
+
+    @Override
+    public LongSet freeze()
+    {
+        return toImmutable();
+    }
+
+    @Override
+    public ImmutableLongSet toImmutable()
+    {
+        return LongHashSet.newSet( this ).toImmutable();
+    }
+
+    @Override
+    public boolean equals( Object other )
+    {
+        return super.equals( other );
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int[] hashCode = new int[1];
+        each( value -> hashCode[0] += (int) (value ^ (value >>> 32)) );
+        return hashCode[0];
+    }
+
+    /**
+     * Release all the memory held by this set. The set cannot be used after it has been closed.
+     */
+    @Override
+    public void close()
+    {
+        if ( !closed )
+        {
+            closed = true;
+            closeTable();
+        }
+    }
+
+    private void closeTable()
+    {
+        if ( table != null )
+        {
+            table.close();
+            table = null;
+            capacity = 0;
+        }
+    }
+
+    /**
+     * Find the slot that either contains the given element, or where the given element should be inserted.
+     */
+    private int probe( long element )
+    {
+        int mask = capacity - 1;
+        int index = hashIndex( element, mask );
+        int firstRemoved = -1;
+        while ( true )
+        {
+            long value = table.get( index );
+            if ( value == element )
+            {
+                return index;
+            }
+            if ( value == EMPTY )
+            {
+                return firstRemoved == -1 ? index : firstRemoved;
+            }
+            if ( value == REMOVED && firstRemoved == -1 )
+            {
+                firstRemoved = index;
+            }
+            // The table is never allowed to fill up completely, so we will eventually find an empty slot.
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void rehash( int newCapacity )
+    {
+        if ( newCapacity > MAX_CAPACITY )
+        {
+            throw new IllegalStateException( "Off-heap long set cannot grow beyond " + MAX_CAPACITY + " slots" );
+        }
+        OffHeapLongArray oldTable = table;
+        int oldCapacity = capacity;
+        int mask = newCapacity - 1;
+        OffHeapLongArray newTable = newTable( newCapacity );
+        for ( int i = 0; i < oldCapacity; i++ )
+        {
+            long value = oldTable.get( i );
+            if ( isElement( value ) )
+            {
+                int index = hashIndex( value, mask );
+                while ( newTable.get( index ) != EMPTY )
+                {
+                    index = (index + 1) & mask;
+                }
+                newTable.set( index, value );
+            }
+        }
+        oldTable.close();
+        table = newTable;
+        capacity = newCapacity;
+        removals = 0;
+    }
+
+    private OffHeapLongArray newTable( int capacity )
+    {
+        return new OffHeapLongArray( capacity, EMPTY, 0, allocationTracker );
+    }
+
+    private void assertOpen()
+    {
+        if ( closed )
+        {
+            throw new IllegalStateException( "This set has been closed, and its memory released" );
+        }
+    }
+
+    private static int maxOccupied( int capacity )
+    {
+        return capacity - (capacity >>> 2);
+    }
+
+    private static int hashIndex( long element, int mask )
+    {
+        long hash = element * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static boolean isElement( long value )
+    {
+        return value != EMPTY && value != REMOVED;
+    }
+
+    private class SetIterator implements MutableLongIterator
+    {
+        private int expectedModCount;
+        private boolean visitZero;
+        private boolean visitOne;
+        private int index;
+        private boolean hasNext;
+        private long next;
+        private long last;
+        private boolean canRemove;
+
+        SetIterator()
+        {
+            expectedModCount = modCount;
+            visitZero = hasZero;
+            visitOne = hasOne;
+            findNext();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return hasNext;
+        }
+
+        @Override
+        public long next()
+        {
+            if ( !hasNext )
+            {
+                throw new NoSuchElementException();
+            }
+            checkForComodification();
+            last = next;
+            canRemove = true;
+            findNext();
+            return last;
+        }
+
+        @Override
+        public void remove()
+        {
+            if ( !canRemove )
+            {
+                throw new IllegalStateException();
+            }
+            canRemove = false;
+            checkForComodification();
+            OffHeapLongHashSet.this.remove( last );
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification()
+        {
+            if ( modCount != expectedModCount )
+            {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        private void findNext()
+        {
+            assertOpen();
+            if ( visitZero )
+            {
+                visitZero = false;
+                next = EMPTY;
+                hasNext = true;
+                return;
+            }
+            if ( visitOne )
+            {
+                visitOne = false;
+                next = REMOVED;
+                hasNext = true;
+                return;
+            }
+            while ( index < capacity )
+            {
+                long value = table.get( index++ );
+                if ( isElement( value ) )
+                {
+                    next = value;
+                    hasNext = true;
+                    return;
+                }
+            }
+            hasNext = false;
+        }
+    }
+}
@@ -74,4 +74,10 @@ public class OnHeapCollectionsFactory implements CollectionsFactory
     {
         return false;
     }
+
+    @Override
+    public void release()
+    {
+        // nop
+    }
 }
@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import org.eclipse.collections.api.block.procedure.primitive.LongObjectProcedure;
+
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+import static org.neo4j.util.Preconditions.requirePositive;
+
+/**
+ * A concurrent map from primitive {@code long} keys to object values, which neither boxes keys nor allocates
+ * entry objects.
+ * <p>
+ * The keys are spread over a fixed number of stripes, each of which is an open-addressing hash table with linear
+ * probing and backward shift deletion, guarded by its own {@link StampedLock}.
+ * <p>
+ * Performance:
+ * * get, put, putIfAbsent, remove: O(1)
+ * * forEachKeyValue: O(capacity)
+ * <p>
+ * Concurrency semantics:
+ * * Concurrent writes to the same stripe synchronise and are thread-safe
+ * * Reads are optimistic, and only fall back to locking the stripe if a write to it was ongoing
+ * * forEachKeyValue is weakly consistent, it sees each stripe atomically but not all of them at the same time
+ * * {@code null} values are not allowed
+ *
+ * @param <V> type of values.
+ */
+public class StripedLongObjectMap<V>
+{
+    private static final int INITIAL_STRIPE_CAPACITY = 8;
+    private static final int OPTIMISTIC_READ_ATTEMPTS = 2;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    /**
+     * @param concurrencyLevel the number of stripes, rounded up to the closest power of two.
+     */
+    public StripedLongObjectMap( int concurrencyLevel )
+    {
+        requirePositive( concurrencyLevel );
+        int stripeCount = Integer.highestOneBit( concurrencyLevel - 1 ) << 1;
+        stripeCount = stripeCount == 0 ? 1 : stripeCount;
+        this.stripes = new Stripe[stripeCount];
+        for ( int i = 0; i < stripeCount; i++ )
+        {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * @return the value mapped to {@code key}, or {@code null} if there is none.
+     */
+    @SuppressWarnings( "unchecked" )
+    public V get( long key )
+    {
+        long hash = hash( key );
+        return (V) stripe( hash ).get( key, hash );
+    }
+
+    /**
+     * Maps {@code key} to {@code value}, unless {@code key} is already mapped.
+     *
+     * @return the value {@code key} was already mapped to, or {@code null} if {@code value} was put.
+     */
+    @SuppressWarnings( "unchecked" )
+    public V putIfAbsent( long key, V value )
+    {
+        Objects.requireNonNull( value );
+        long hash = hash( key );
+        return (V) stripe( hash ).put( key, hash, value, true );
+    }
+
+    /**
+     * Maps {@code key} to {@code value}, replacing any previous mapping.
+     *
+     * @return the value {@code key} was previously mapped to, or {@code null} if there was none.
+     */
+    @SuppressWarnings( "unchecked" )
+    public V put( long key, V value )
+    {
+        Objects.requireNonNull( value );
+        long hash = hash( key );
+        return (V) stripe( hash ).put( key, hash, value, false );
+    }
+
+    /**
+     * @return the value {@code key} was mapped to, or {@code null} if there was none.
+     */
+    @SuppressWarnings( "unchecked" )
+    public V remove( long key )
+    {
+        long hash = hash( key );
+        return (V) stripe( hash ).remove( key, hash );
+    }
+
+    public int size()
+    {
+        int size = 0;
+        for ( Stripe stripe : stripes )
+        {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * Visits all mappings, one stripe at a time. The visited stripe is locked for reading during the visit, so the
+     * procedure must not modify this map.
+     */
+    @SuppressWarnings( "unchecked" )
+    public void forEachKeyValue( LongObjectProcedure<? super V> procedure )
+    {
+        for ( Stripe stripe : stripes )
+        {
+            stripe.forEachKeyValue( (LongObjectProcedure<Object>) procedure );
+        }
+    }
+
+    private Stripe stripe( long hash )
+    {
+        return stripes[(int) (hash >>> 40) & stripeMask];
+    }
+
+    private static long hash( long key )
+    {
+        // Finalizer of MurmurHash3, spreads sequential ids over both stripes and slots
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private static final class Stripe extends StampedLock
+    {
+        private long[] keys = new long[INITIAL_STRIPE_CAPACITY];
+        private Object[] values = new Object[INITIAL_STRIPE_CAPACITY];
+        private int size;
+
+        Object get( long key, long hash )
+        {
+            for ( int attempt = 0; attempt < OPTIMISTIC_READ_ATTEMPTS; attempt++ )
+            {
+                long stamp = tryOptimisticRead();
+                if ( stamp != 0 )
+                {
+                    long[] k = keys;
+                    Object[] v = values;
+                    // The arrays can be out of sync while resizing, which validation then catches
+                    Object result = k.length == v.length ? find( k, v, key, hash ) : null;
+                    if ( validate( stamp ) )
+                    {
+                        return result;
+                    }
+                }
+            }
+
+            long stamp = readLock();
+            try
+            {
+                return find( keys, values, key, hash );
+            }
+            finally
+            {
+                unlockRead( stamp );
+            }
+        }
+
+        Object put( long key, long hash, Object value, boolean onlyIfAbsent )
+        {
+            long stamp = writeLock();
+            try
+            {
+                int mask = values.length - 1;
+                int slot = (int) hash & mask;
+                Object existing;
+                while ( (existing = values[slot]) != null )
+                {
+                    if ( keys[slot] == key )
+                    {
+                        if ( !onlyIfAbsent )
+                        {
+                            values[slot] = value;
+                        }
+                        return existing;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = value;
+                if ( ++size * 2 > values.length )
+                {
+                    grow();
+                }
+                return null;
+            }
+            finally
+            {
+                unlockWrite( stamp );
+            }
+        }
+
+        Object remove( long key, long hash )
+        {
+            long stamp = writeLock();
+            try
+            {
+                int mask = values.length - 1;
+                int slot = (int) hash & mask;
+                Object existing;
+                while ( (existing = values[slot]) != null )
+                {
+                    if ( keys[slot] == key )
+                    {
+                        shiftBackFrom( slot, mask );
+                        size--;
+                        return existing;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                return null;
+            }
+            finally
+            {
+                unlockWrite( stamp );
+            }
+        }
+
+        int size()
+        {
+            long stamp = readLock();
+            try
+            {
+                return size;
+            }
+            finally
+            {
+                unlockRead( stamp );
+            }
+        }
+
+        void forEachKeyValue( LongObjectProcedure<Object> procedure )
+        {
+            long stamp = readLock();
+            try
+            {
+                for ( int i = 0; i < values.length; i++ )
+                {
+                    if ( values[i] != null )
+                    {
+                        procedure.value( keys[i], values[i] );
+                    }
+                }
+            }
+            finally
+            {
+                unlockRead( stamp );
+            }
+        }
+
+        private static Object find( long[] keys, Object[] values, long key, long hash )
+        {
+            int mask = values.length - 1;
+            int slot = (int) hash & mask;
+            // Bounded, since a racing writer can leave the table without free slots for the duration of a resize
+            for ( int probes = 0; probes < values.length; probes++ )
+            {
+                Object value = values[slot];
+                if ( value == null )
+                {
+                    return null;
+                }
+                if ( keys[slot] == key )
+                {
+                    return value;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        /**
+         * Closes the gap at {@code slot} by moving back following entries that would otherwise not be found by
+         * probing from their home slot, so that lookups never need tombstones.
+         */
+        private void shiftBackFrom( int slot, int mask )
+        {
+            int gap = slot;
+            int next = (gap + 1) & mask;
+            while ( values[next] != null )
+            {
+                int home = (int) hash( keys[next] ) & mask;
+                // Move the entry if its home slot is not cyclically within (gap, next]
+                if ( ((next - home) & mask) >= ((next - gap) & mask) )
+                {
+                    keys[gap] = keys[next];
+                    values[gap] = values[next];
+                    gap = next;
+                }
+                next = (next + 1) & mask;
+            }
+            values[gap] = null;
+        }
+
+        private void grow()
+        {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            long[] newKeys = new long[oldValues.length << 1];
+            Object[] newValues = new Object[oldValues.length << 1];
+            int mask = newValues.length - 1;
+            for ( int i = 0; i < oldValues.length; i++ )
+            {
+                if ( oldValues[i] != null )
+                {
+                    int slot = (int) hash( oldKeys[i] ) & mask;
+                    while ( newValues[slot] != null )
+                    {
+                        slot = (slot + 1) & mask;
+                    }
+                    newKeys[slot] = oldKeys[i];
+                    newValues[slot] = oldValues[i];
+                }
+            }
+            keys = newKeys;
+            values = newValues;
+        }
+    }
+}
@@ -20,6 +20,7 @@
 package org.neo4j.kernel.recovery;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
 
 import org.neo4j.kernel.impl.api.TransactionToApply;
 import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
@@ -27,6 +28,7 @@ import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
 import org.neo4j.kernel.impl.transaction.log.LogPosition;
 import org.neo4j.kernel.impl.transaction.log.LogVersionRepository;
 import org.neo4j.kernel.impl.transaction.log.LogicalTransactionStore;
+import org.neo4j.kernel.impl.transaction.log.ReadAheadTransactionCursor;
 import org.neo4j.kernel.impl.transaction.log.TransactionCursor;
 import org.neo4j.kernel.impl.transaction.log.TransactionIdStore;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryCommit;
@@ -38,16 +40,42 @@ import static org.neo4j.kernel.impl.transaction.log.Commitment.NO_COMMITMENT;
 
 public class DefaultRecoveryService implements RecoveryService
 {
+    /**
+     * Number of transactions decoded ahead of the applier when recovering in parallel.
+     */
+    private static final int READ_AHEAD_TRANSACTIONS = 1_000;
+    /**
+     * Number of transactions handed to the storage engine in one batch when recovering in parallel.
+     */
+    private static final int PARALLEL_APPLY_BATCH_SIZE = 100;
+
     private final RecoveryStartInformationProvider recoveryStartInformationProvider;
     private final StorageEngine storageEngine;
     private final TransactionIdStore transactionIdStore;
     private final LogicalTransactionStore logicalTransactionStore;
     private final LogVersionRepository logVersionRepository;
+    private final int parallelism;
+    private final Executor executor;
 
     public DefaultRecoveryService( StorageEngine storageEngine, LogTailScanner logTailScanner,
             TransactionIdStore transactionIdStore, LogicalTransactionStore logicalTransactionStore,
             LogVersionRepository logVersionRepository, RecoveryStartInformationProvider.Monitor monitor )
     {
+        this( storageEngine, logTailScanner, transactionIdStore, logicalTransactionStore, logVersionRepository,
+                monitor, 1, Runnable::run );
+    }
+
+    /**
+     * @param parallelism when larger than one, transactions are decoded ahead on a separate thread from {@code executor}
+     * and handed to the storage engine in batches, so that it can apply them in parallel.
+     */
+    public DefaultRecoveryService( StorageEngine storageEngine, LogTailScanner logTailScanner,
+            TransactionIdStore transactionIdStore, LogicalTransactionStore logicalTransactionStore,
+            LogVersionRepository logVersionRepository, RecoveryStartInformationProvider.Monitor monitor,
+            int parallelism, Executor executor )
+    {
+        this.parallelism = parallelism;
+        this.executor = executor;
         this.storageEngine = storageEngine;
         this.transactionIdStore = transactionIdStore;
         this.logicalTransactionStore = logicalTransactionStore;
@@ -75,19 +103,29 @@ public class DefaultRecoveryService implements RecoveryService
     @Override
     public RecoveryApplier getRecoveryApplier( TransactionApplicationMode mode ) throws Exception
     {
-        return new RecoveryVisitor( storageEngine, mode );
+        return new RecoveryVisitor( storageEngine, mode, isParallel() ? PARALLEL_APPLY_BATCH_SIZE : 1 );
     }
 
     @Override
     public TransactionCursor getTransactions( LogPosition position ) throws IOException
     {
-        return logicalTransactionStore.getTransactions( position );
+        return readAhead( logicalTransactionStore.getTransactions( position ) );
     }
 
     @Override
     public TransactionCursor getTransactionsInReverseOrder( LogPosition position ) throws IOException
     {
-        return logicalTransactionStore.getTransactionsInReverseOrder( position );
+        return readAhead( logicalTransactionStore.getTransactionsInReverseOrder( position ) );
+    }
+
+    private TransactionCursor readAhead( TransactionCursor cursor )
+    {
+        return isParallel() ? new ReadAheadTransactionCursor( cursor, READ_AHEAD_TRANSACTIONS, executor ) : cursor;
+    }
+
+    private boolean isParallel()
+    {
+        return parallelism > 1;
     }
 
     @Override
@@ -107,17 +145,27 @@ public class DefaultRecoveryService implements RecoveryService
                     recoveredTransactionLogVersion );
         }
         logVersionRepository.setCurrentLogVersion( recoveredTransactionLogVersion );
+        storageEngine.recoveryCompleted();
     }
 
+    /**
+     * Applies recovered transactions to the storage engine in batches of up to {@code batchSize} transactions.
+     * Whatever is left of the last batch is applied when closing.
+     */
     static class RecoveryVisitor implements RecoveryApplier
     {
         private final StorageEngine storageEngine;
         private final TransactionApplicationMode mode;
+        private final int batchSize;
+        private TransactionToApply first;
+        private TransactionToApply last;
+        private int batched;
 
-        RecoveryVisitor( StorageEngine storageEngine, TransactionApplicationMode mode )
+        RecoveryVisitor( StorageEngine storageEngine, TransactionApplicationMode mode, int batchSize )
         {
             this.storageEngine = storageEngine;
             this.mode = mode;
+            this.batchSize = batchSize;
         }
 
         @Override
@@ -128,13 +176,43 @@ public class DefaultRecoveryService implements RecoveryService
             TransactionToApply tx = new TransactionToApply( txRepresentation, txId );
             tx.commitment( NO_COMMITMENT, txId );
             tx.logPosition( transaction.getStartEntry().getStartPosition() );
-            storageEngine.apply( tx, mode );
+            if ( first == null )
+            {
+                first = tx;
+            }
+            else
+            {
+                last.next( tx );
+            }
+            last = tx;
+            if ( ++batched >= batchSize )
+            {
+                applyBatch();
+            }
             return false;
         }
 
         @Override
-        public void close()
-        {   // nothing to close
+        public int pendingTransactions()
+        {
+            return batched;
+        }
+
+        private void applyBatch() throws Exception
+        {
+            TransactionToApply batch = first;
+            first = last = null;
+            batched = 0;
+            storageEngine.apply( batch, mode );
+        }
+
+        @Override
+        public void close() throws Exception
+        {
+            if ( first != null )
+            {
+                applyBatch();
+            }
         }
     }
 }
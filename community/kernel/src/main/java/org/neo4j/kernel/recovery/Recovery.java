@@ -20,6 +20,8 @@
 package org.neo4j.kernel.recovery;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 import org.neo4j.kernel.impl.core.StartupStatisticsProvider;
 import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
@@ -103,15 +105,29 @@ public class Recovery extends LifecycleAdapter
             try ( TransactionCursor transactionsToRecover = recoveryService.getTransactions( recoveryPosition );
                     RecoveryApplier recoveryVisitor = recoveryService.getRecoveryApplier( RECOVERY ) )
             {
+                // Transactions visited, but not yet applied by the visitor, in the order they were visited
+                Deque<RecoveredTransaction> pending = new ArrayDeque<>();
                 while ( transactionsToRecover.next() )
                 {
-                    lastTransaction = transactionsToRecover.get();
-                    long txId = lastTransaction.getCommitEntry().getTxId();
-                    recoveryVisitor.visit( lastTransaction );
-                    monitor.transactionRecovered( txId );
-                    numberOfRecoveredTransactions++;
-                    recoveryToPosition = transactionsToRecover.position();
+                    CommittedTransactionRepresentation transaction = transactionsToRecover.get();
+                    recoveryVisitor.visit( transaction );
+                    pending.addLast( new RecoveredTransaction( transaction, transactionsToRecover.position() ) );
                     reportProgress();
+                    while ( pending.size() > recoveryVisitor.pendingTransactions() )
+                    {
+                        RecoveredTransaction applied = pending.removeFirst();
+                        lastTransaction = applied.transaction;
+                        recoveryToPosition = applied.positionAfter;
+                        transactionRecovered( lastTransaction );
+                    }
+                }
+                // Closing the visitor applies what's still pending, only then can those be considered recovered
+                recoveryVisitor.close();
+                for ( RecoveredTransaction applied : pending )
+                {
+                    lastTransaction = applied.transaction;
+                    recoveryToPosition = applied.positionAfter;
+                    transactionRecovered( lastTransaction );
                 }
                 recoveryToPosition = transactionsToRecover.position();
             }
@@ -142,6 +158,12 @@ public class Recovery extends LifecycleAdapter
         monitor.recoveryCompleted( numberOfRecoveredTransactions );
     }
 
+    private void transactionRecovered( CommittedTransactionRepresentation transaction )
+    {
+        monitor.transactionRecovered( transaction.getCommitEntry().getTxId() );
+        numberOfRecoveredTransactions++;
+    }
+
     private void initProgressReporter( RecoveryStartInformation recoveryStartInformation,
             CommittedTransactionRepresentation lastReversedTransaction )
     {
@@ -163,4 +185,16 @@ public class Recovery extends LifecycleAdapter
         return lastReversedTransaction.getCommitEntry().getTxId() -
                 recoveryStartInformation.getFirstTxIdAfterLastCheckPoint() + 1;
     }
+
+    private static class RecoveredTransaction
+    {
+        private final CommittedTransactionRepresentation transaction;
+        private final LogPosition positionAfter;
+
+        RecoveredTransaction( CommittedTransactionRepresentation transaction, LogPosition positionAfter )
+        {
+            this.transaction = transaction;
+            this.positionAfter = positionAfter;
+        }
+    }
 }
@@ -27,4 +27,14 @@ import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
  */
 public interface RecoveryApplier extends Visitor<CommittedTransactionRepresentation,Exception>, AutoCloseable
 {
+    /**
+     * Visited transactions may be held back and applied together with later ones. Transactions are always
+     * applied in the order they were visited, and the remaining ones are applied when closing.
+     *
+     * @return the number of the most recently visited transactions that have not been applied yet.
+     */
+    default int pendingTransactions()
+    {
+        return 0;
+    }
 }
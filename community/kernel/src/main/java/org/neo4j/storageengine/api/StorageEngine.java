@@ -124,6 +124,12 @@ public interface StorageEngine
      */
     void prepareForRecoveryRequired();
 
+    /**
+     * All transactions that were to be recovered have now been recovered. Resources held for the duration
+     * of recovery can be released.
+     */
+    void recoveryCompleted();
+
     /**
      * @return a {@link Collection} of {@link StoreFileMetadata} containing metadata about all store files managed by
      * this {@link StorageEngine}.
@@ -41,6 +41,18 @@ public interface LabelScanReader extends Resource
      */
     void nodesWithLabel( IndexProgressor.NodeLabelClient client, int labelId );
 
+    /**
+     * Sets the client up for a label scan on <code>labelId</code>, only seeing nodes with ids from {@code fromId},
+     * inclusive, to {@code toId}, exclusive. Unlike the other methods this can be called concurrently, to have
+     * multiple clients scan different ranges of nodes in parallel.
+     *
+     * @param client the client to communicate with
+     * @param labelId label token id
+     * @param fromId lowest node id to see, inclusive
+     * @param toId highest node id to see, exclusive
+     */
+    void nodesWithLabel( IndexProgressor.NodeLabelClient client, int labelId, long fromId, long toId );
+
     /**
      * @param labelIds label token ids.
      * @return node ids with any of the given label ids.
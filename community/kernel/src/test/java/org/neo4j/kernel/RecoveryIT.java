@@ -50,6 +50,7 @@ import org.neo4j.graphdb.Transaction;
 import org.neo4j.graphdb.TransactionFailureException;
 import org.neo4j.graphdb.factory.GraphDatabaseBuilder;
 import org.neo4j.graphdb.factory.GraphDatabaseBuilder.DatabaseCreator;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.graphdb.mockfs.EphemeralFileSystemAbstraction;
 import org.neo4j.helpers.collection.Iterables;
 import org.neo4j.helpers.collection.Iterators;
@@ -468,6 +469,56 @@ public class RecoveryIT
         }
     }
 
+    @Test
+    public void shouldRecoverToSameStoreContentsWhenRecoveringInParallel() throws Exception
+    {
+        // given
+        File storeDir = directory.absolutePath();
+        EphemeralFileSystemAbstraction fs = new EphemeralFileSystemAbstraction();
+        GraphDatabaseService db = new TestGraphDatabaseFactory().setFileSystem( fs ).newImpermanentDatabase( storeDir );
+        produceRandomGraphUpdates( db, 100 );
+        checkPoint( db );
+        produceRandomGraphUpdates( db, 500 );
+        flush( db );
+        EphemeralFileSystemAbstraction crashedFs = fs.snapshot();
+        db.shutdown();
+        fs.close();
+
+        // when
+        EphemeralFileSystemAbstraction sequentialFs = recoverAndSnapshot( crashedFs.snapshot(), storeDir, 1 );
+        EphemeralFileSystemAbstraction parallelFs = recoverAndSnapshot( crashedFs.snapshot(), storeDir, 4 );
+        crashedFs.close();
+
+        // then
+        try
+        {
+            assertSameStoreContents( sequentialFs, parallelFs, storeDir );
+        }
+        finally
+        {
+            sequentialFs.close();
+            parallelFs.close();
+        }
+    }
+
+    private EphemeralFileSystemAbstraction recoverAndSnapshot( EphemeralFileSystemAbstraction fs, File storeDir,
+            int recoveryParallelism ) throws IOException
+    {
+        GraphDatabaseService db = new TestGraphDatabaseFactory().setFileSystem( fs ).newImpermanentDatabaseBuilder( storeDir )
+                .setConfig( GraphDatabaseSettings.recovery_parallelism, String.valueOf( recoveryParallelism ) )
+                .newGraphDatabase();
+        try
+        {
+            flush( db );
+            return fs.snapshot();
+        }
+        finally
+        {
+            db.shutdown();
+            fs.close();
+        }
+    }
+
     private long lastCommittedTxId( GraphDatabaseService db )
     {
         return ((GraphDatabaseAPI)db).getDependencyResolver().resolveDependency( TransactionIdStore.class ).getLastClosedTransactionId();
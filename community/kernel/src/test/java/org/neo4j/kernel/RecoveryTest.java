@@ -34,6 +34,7 @@ import org.neo4j.helpers.collection.Pair;
 import org.neo4j.helpers.collection.Visitor;
 import org.neo4j.io.fs.OpenMode;
 import org.neo4j.kernel.impl.core.StartupStatisticsProvider;
+import org.neo4j.kernel.impl.store.UnderlyingStorageException;
 import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
 import org.neo4j.kernel.impl.transaction.SimpleLogVersionRepository;
 import org.neo4j.kernel.impl.transaction.SimpleTransactionIdStore;
@@ -76,9 +77,13 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.neo4j.kernel.impl.transaction.log.TransactionIdStore.BASE_TX_COMMIT_TIMESTAMP;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogHeaderWriter.writeLogHeader;
@@ -403,6 +408,111 @@ public class RecoveryTest
         assertEquals( marker.getByteOffset(), lastClosedTransaction[2] );
     }
 
+    @Test
+    public void shouldOnlyConsiderTransactionsRecoveredWhenTheirBatchHasBeenApplied() throws Exception
+    {
+        // GIVEN
+        File file = logFiles.getLogFileForVersion( logVersion );
+        final LogPositionMarker marker = new LogPositionMarker();
+        writeSomeData( file, pair ->
+        {
+            LogEntryWriter writer = pair.first();
+            Consumer<LogPositionMarker> consumer = pair.other();
+
+            // first batch
+            writer.writeStartEntry( 0, 1, 2L, 3L, new byte[0] );
+            writer.writeCommitEntry( 6L, 5L );
+            writer.writeStartEntry( 0, 1, 2L, 3L, new byte[0] );
+            writer.writeCommitEntry( 7L, 5L );
+            consumer.accept( marker ); // <-- position after the last applied transaction
+
+            // second batch, which fails to apply
+            writer.writeStartEntry( 0, 1, 2L, 3L, new byte[0] );
+            writer.writeCommitEntry( 8L, 5L );
+            return true;
+        } );
+
+        LifeSupport life = new LifeSupport();
+        RecoveryMonitor monitor = mock( RecoveryMonitor.class );
+        try
+        {
+            StorageEngine storageEngine = mock( StorageEngine.class );
+            LogEntryReader<ReadableClosablePositionAwareChannel> reader = new VersionAwareLogEntryReader<>();
+            LogTailScanner tailScanner = getTailScanner( logFiles, reader );
+            TransactionMetadataCache metadataCache = new TransactionMetadataCache( 100 );
+            LogicalTransactionStore txStore = new PhysicalLogicalTransactionStore( logFiles, metadataCache, reader, monitors, false );
+            CorruptedLogsTruncator logPruner = new CorruptedLogsTruncator( storeDir, logFiles, fileSystemRule.get() );
+            life.add( new Recovery( new DefaultRecoveryService( storageEngine, tailScanner, transactionIdStore,
+                    txStore, versionRepository, NO_MONITOR )
+            {
+                @Override
+                public RecoveryApplier getRecoveryApplier( TransactionApplicationMode mode ) throws Exception
+                {
+                    return mode == TransactionApplicationMode.REVERSE_RECOVERY ? super.getRecoveryApplier( mode )
+                                                                               : new FailingSecondBatchApplier();
+                }
+            }, new StartupStatisticsProvider(), logPruner, monitor, SilentProgressReporter.INSTANCE, false ) );
+
+            // WHEN
+            life.start();
+        }
+        finally
+        {
+            life.shutdown();
+        }
+
+        // THEN
+        InOrder order = inOrder( monitor );
+        order.verify( monitor ).transactionRecovered( 6L );
+        order.verify( monitor ).transactionRecovered( 7L );
+        order.verify( monitor ).failToRecoverTransactionsAfterCommit( any( Throwable.class ),
+                argThat( commit -> commit.getTxId() == 7L ), eq( new LogPosition( logVersion, marker.getByteOffset() ) ) );
+        order.verify( monitor ).recoveryCompleted( 2 );
+        verify( monitor, never() ).transactionRecovered( 8L );
+        assertEquals( marker.getByteOffset(), file.length() );
+        assertEquals( 7L, transactionIdStore.getLastClosedTransaction()[0] );
+    }
+
+    private static class FailingSecondBatchApplier implements RecoveryApplier
+    {
+        private int pending;
+        private int batches;
+
+        @Override
+        public boolean visit( CommittedTransactionRepresentation transaction ) throws Exception
+        {
+            if ( ++pending == 2 )
+            {
+                applyBatch();
+            }
+            return false;
+        }
+
+        @Override
+        public int pendingTransactions()
+        {
+            return pending;
+        }
+
+        @Override
+        public void close() throws Exception
+        {
+            if ( pending > 0 )
+            {
+                applyBatch();
+            }
+        }
+
+        private void applyBatch()
+        {
+            pending = 0;
+            if ( ++batches == 2 )
+            {
+                throw new UnderlyingStorageException( "Failed to apply batch" );
+            }
+        }
+    }
+
     private boolean recover( File storeDir, LogFiles logFiles )
     {
         LifeSupport life = new LifeSupport();
@@ -33,6 +33,7 @@ import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
+import org.neo4j.graphdb.Resource;
 import org.neo4j.helpers.MathUtil;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorCounters;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
@@ -227,6 +228,48 @@ public class ExecutingQueryTest
         assertEquals( 60, cpuTime );
     }
 
+    @Test
+    public void shouldReportCpuTimeAndHeapAllocationOfWorkerThreads() throws Exception
+    {
+        // given
+        cpuClock.add( 10, TimeUnit.MILLISECONDS );
+        heapAllocation.add( 1024 );
+
+        // when
+        Thread worker = new Thread( () ->
+        {
+            try ( Resource ignored = query.trackWorkerThread() )
+            {
+                cpuClock.add( 50, TimeUnit.MILLISECONDS );
+                heapAllocation.add( 2048 );
+            }
+        } );
+        worker.start();
+        worker.join();
+
+        // then
+        QuerySnapshot snapshot = query.snapshot();
+        assertEquals( 60, snapshot.cpuTimeMillis().longValue() );
+        assertEquals( 3072, snapshot.allocatedBytes().longValue() );
+        assertEquals( 0, snapshot.idleTimeMillis().longValue() );
+    }
+
+    @Test
+    public void shouldNotTrackThreadThatStartedTheQueryAsWorker()
+    {
+        // given
+        cpuClock.add( 10, TimeUnit.MILLISECONDS );
+
+        // when
+        try ( Resource ignored = query.trackWorkerThread() )
+        {
+            cpuClock.add( 50, TimeUnit.MILLISECONDS );
+        }
+
+        // then
+        assertEquals( 60, query.snapshot().cpuTimeMillis().longValue() );
+    }
+
     @Test
     public void shouldNotReportCpuTimeIfUnavailable()
     {
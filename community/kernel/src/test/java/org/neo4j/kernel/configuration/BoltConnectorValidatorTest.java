@@ -32,6 +32,7 @@ import java.util.function.Consumer;
 import org.neo4j.graphdb.config.InvalidSettingException;
 import org.neo4j.graphdb.config.Setting;
 import org.neo4j.kernel.configuration.BoltConnector.EncryptionLevel;
+import org.neo4j.kernel.configuration.BoltConnector.SchedulerType;
 
 import static java.lang.String.format;
 import static org.junit.Assert.assertEquals;
@@ -169,6 +170,30 @@ public class BoltConnectorValidatorTest
         cv.validate( stringMap( key, "BOBO", type, BOLT.name() ), warningConsumer );
     }
 
+    @Test
+    public void validatesScheduler()
+    {
+        String key = "dbms.connector.bolt.scheduler";
+
+        assertEquals( stringMap( key, SchedulerType.EXECUTOR.name() ),
+                cv.validate( stringMap( key, SchedulerType.EXECUTOR.name() ), warningConsumer ) );
+
+        assertEquals( stringMap( key, SchedulerType.EVENT_LOOP.name() ),
+                cv.validate( stringMap( key, SchedulerType.EVENT_LOOP.name() ), warningConsumer ) );
+
+        key = "dbms.connector.bla.scheduler";
+        String type = "dbms.connector.bla.type";
+
+        assertEquals( stringMap( key, SchedulerType.EVENT_LOOP.name(), type, BOLT.name() ),
+                cv.validate( stringMap( key, SchedulerType.EVENT_LOOP.name(), type, BOLT.name() ), warningConsumer ) );
+
+        expected.expect( InvalidSettingException.class );
+        expected.expectMessage(
+                "Bad value 'BOBO' for setting 'dbms.connector.bla.scheduler': must be one of [EXECUTOR, EVENT_LOOP] case sensitive" );
+
+        cv.validate( stringMap( key, "BOBO", type, BOLT.name() ), warningConsumer );
+    }
+
     @Test
     public void validatesAddress()
     {
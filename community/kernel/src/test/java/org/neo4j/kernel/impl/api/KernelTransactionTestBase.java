@@ -226,5 +226,11 @@ public class KernelTransactionTestBase
         {
             return false;
         }
+
+        @Override
+        public void release()
+        {
+            // nop
+        }
     }
 }
@@ -20,15 +20,22 @@
 package org.neo4j.kernel.impl.index.labelscan;
 
 import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.io.IOException;
 
 import org.neo4j.cursor.RawCursor;
 import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Hit;
+import org.neo4j.internal.kernel.api.LabelSet;
+import org.neo4j.storageengine.api.schema.IndexProgressor;
+import org.neo4j.storageengine.api.schema.IndexProgressor.NodeLabelClient;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -75,6 +82,66 @@ public class NativeLabelScanReaderTest
         }
     }
 
+    @SuppressWarnings( "unchecked" )
+    @Test
+    public void shouldOnlyFindNodesInGivenRange() throws Exception
+    {
+        // GIVEN
+        GBPTree<LabelScanKey,LabelScanValue> index = mock( GBPTree.class );
+        RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException> cursor = mock( RawCursor.class );
+        when( cursor.next() ).thenReturn( true, true, false );
+        when( cursor.get() ).thenReturn(
+                // range, bits
+                hit( 0, 0b1000_1000__1100_0010L ),
+                hit( 1, 0b0000_0010__0000_1000L ),
+                null );
+        ArgumentCaptor<LabelScanKey> from = ArgumentCaptor.forClass( LabelScanKey.class );
+        ArgumentCaptor<LabelScanKey> to = ArgumentCaptor.forClass( LabelScanKey.class );
+        when( index.seek( from.capture(), to.capture() ) ).thenReturn( cursor );
+        MutableLongList found = new LongArrayList();
+        NodeLabelClient client = new NodeLabelClient()
+        {
+            @Override
+            public void scan( LabelScanValueIndexProgressor progressor, boolean providesLabels, int label )
+            {
+                while ( progressor.next() )
+                {
+                    // acceptNode keeps the nodes
+                }
+            }
+
+            @Override
+            public void unionScan( IndexProgressor progressor, boolean providesLabels, int... labels )
+            {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void intersectionScan( IndexProgressor progressor, boolean providesLabels, int... labels )
+            {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean acceptNode( long reference, LabelSet labels )
+            {
+                found.add( reference );
+                return true;
+            }
+        };
+        try ( NativeLabelScanReader reader = new NativeLabelScanReader( index ) )
+        {
+            // WHEN
+            reader.nodesWithLabel( client, LABEL_ID, 7, 64 + 9 );
+
+            // THEN
+            assertEquals( 0, from.getValue().idRange );
+            assertEquals( 2, to.getValue().idRange );
+            assertEquals( LongArrayList.newListWith( 7, 11, 15, 64 + 3 ), found );
+            verify( cursor ).close();
+        }
+    }
+
     @Test
     public void shouldSupportMultipleOpenCursorsConcurrently() throws Exception
     {
@@ -71,6 +71,74 @@ public abstract class NativeNonUniqueSchemaIndexPopulatorTest<KEY extends Native
         verifyUpdates( updates );
     }
 
+    @Test
+    public void shouldContinueByInsertingWhenTooManyUpdatesAreDeferred() throws Exception
+    {
+        // given
+        populator.create();
+        populator.maxDeferredUpdates = 1;
+        IndexEntryUpdate<SchemaIndexDescriptor>[] updates = layoutUtil.someUpdatesWithDuplicateValues();
+        IndexEntryUpdate<SchemaIndexDescriptor> removed = updates[0];
+        populator.add( Arrays.asList( updates ).subList( 0, 2 ) );
+
+        // when
+        try ( IndexUpdater updater = populator.newPopulatingUpdater( null_property_accessor ) )
+        {
+            updater.process( IndexEntryUpdate.remove( removed.getEntityId(), schemaIndexDescriptor, removed.values() ) );
+            updater.process( updates[2] );
+        }
+        populator.add( Arrays.asList( updates ).subList( 3, updates.length ) );
+
+        // then
+        populator.close( true );
+        verifyUpdates( Arrays.copyOfRange( updates, 1, updates.length ) );
+    }
+
+    @Test
+    public void shouldInsertWhenNoMemoryIsLeftForBulkLoading() throws Exception
+    {
+        // given
+        long available = NativeSchemaIndexPopulator.bulkLoadMemoryAvailable.getAndSet( 0 );
+        try
+        {
+            populator.create();
+            IndexEntryUpdate<SchemaIndexDescriptor>[] updates = layoutUtil.someUpdatesWithDuplicateValues();
+            IndexEntryUpdate<SchemaIndexDescriptor> removed = updates[0];
+            try ( IndexUpdater updater = populator.newPopulatingUpdater( null_property_accessor ) )
+            {
+                updater.process( updates[0] );
+                updater.process( IndexEntryUpdate.remove( removed.getEntityId(), schemaIndexDescriptor, removed.values() ) );
+            }
+
+            // when
+            populator.add( Arrays.asList( updates ).subList( 1, updates.length ) );
+
+            // then
+            populator.close( true );
+            verifyUpdates( Arrays.copyOfRange( updates, 1, updates.length ) );
+            assertEquals( 0, NativeSchemaIndexPopulator.bulkLoadMemoryAvailable.get() );
+        }
+        finally
+        {
+            NativeSchemaIndexPopulator.bulkLoadMemoryAvailable.addAndGet( available );
+        }
+    }
+
+    @Test
+    public void shouldGiveBackBulkLoadMemoryWhenClosed() throws Exception
+    {
+        // given
+        long available = NativeSchemaIndexPopulator.bulkLoadMemoryAvailable.get();
+        populator.create();
+        populator.add( Arrays.asList( layoutUtil.someUpdatesWithDuplicateValues() ) );
+
+        // when
+        populator.close( true );
+
+        // then
+        assertEquals( available, NativeSchemaIndexPopulator.bulkLoadMemoryAvailable.get() );
+    }
+
     @Test
     public void shouldSampleUpdatesIfConfiguredForOnlineSampling() throws Exception
     {
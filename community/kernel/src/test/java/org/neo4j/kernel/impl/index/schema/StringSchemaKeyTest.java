@@ -22,6 +22,8 @@ package org.neo4j.kernel.impl.index.schema;
 import org.junit.Test;
 
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
@@ -79,4 +81,48 @@ public class StringSchemaKeyTest
         // then
         assertNotSame( first, second );
     }
+
+    @Test
+    public void shouldCountCommonPrefixOfBytes()
+    {
+        assertEquals( 3, key( "abcd", 1 ).commonPrefixLength( key( "abcx", 2 ) ) );
+        assertEquals( 2, key( "ab", 1 ).commonPrefixLength( key( "abc", 2 ) ) );
+        assertEquals( 0, key( "a", 1 ).commonPrefixLength( key( "b", 2 ) ) );
+    }
+
+    @Test
+    public void shouldTruncateSplitterToShortestKeyBetweenLeftAndRight()
+    {
+        StringLayout layout = new StringLayout();
+        StringSchemaKey into = layout.newKey();
+
+        // different bytes
+        StringSchemaKey left = key( "abcdef", 1 );
+        StringSchemaKey right = key( "abxyz", 2 );
+        layout.minimalSplitter( left, right, into );
+        assertEquals( 3, into.bytesLength );
+        assertThat( layout.compare( left, into ), lessThan( 0 ) );
+        assertThat( layout.compare( into, right ), lessThan( 1 ) );
+
+        // left is prefix of right
+        left = key( "ab", 1 );
+        right = key( "abcd", 2 );
+        layout.minimalSplitter( left, right, into );
+        assertEquals( 3, into.bytesLength );
+        assertThat( layout.compare( left, into ), lessThan( 0 ) );
+
+        // same bytes, only entity id differs
+        left = key( "abc", 1 );
+        right = key( "abc", 2 );
+        layout.minimalSplitter( left, right, into );
+        assertEquals( 0, layout.compare( into, right ) );
+    }
+
+    private static StringSchemaKey key( String value, long entityId )
+    {
+        StringSchemaKey key = new StringSchemaKey();
+        key.writeString( value );
+        key.initialize( entityId );
+        return key;
+    }
 }
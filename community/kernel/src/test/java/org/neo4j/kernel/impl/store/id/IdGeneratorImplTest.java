@@ -24,16 +24,23 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.io.File;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
 import java.util.function.LongSupplier;
 
+import org.neo4j.concurrent.BinaryLatch;
 import org.neo4j.graphdb.mockfs.EphemeralFileSystemAbstraction;
 import org.neo4j.kernel.impl.store.id.validation.IdCapacityExceededException;
 import org.neo4j.kernel.impl.store.id.validation.NegativeIdException;
+import org.neo4j.test.Race;
+import org.neo4j.test.rule.concurrent.OtherThreadRule;
 import org.neo4j.test.rule.fs.EphemeralFileSystemRule;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -45,6 +52,8 @@ public class IdGeneratorImplTest
     public final EphemeralFileSystemRule fsr = new EphemeralFileSystemRule();
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
+    @Rule
+    public final OtherThreadRule<Void> t2 = new OtherThreadRule<>( "T2-" + getClass().getName() );
 
     private final File file = new File( "ids" );
 
@@ -210,4 +219,113 @@ public class IdGeneratorImplTest
         // The supplier must have remained untouched
         verifyZeroInteractions( highId );
     }
+
+    @Test
+    public void shouldReuseIdsFreedAfterAllocatingFromHighId()
+    {
+        // given
+        IdGeneratorImpl.createGenerator( fsr.get(), file, 0, false );
+        IdGenerator idGenerator = new IdGeneratorImpl( fsr.get(), file, 1, 100, true, IdType.NODE, () -> 0L );
+        assertEquals( 0, idGenerator.nextId() );
+        assertEquals( 1, idGenerator.nextId() );
+
+        // when
+        idGenerator.freeId( 0 );
+
+        // then
+        assertEquals( 0, idGenerator.nextId() );
+        assertEquals( 2, idGenerator.nextId() );
+        IdRange range = idGenerator.nextIdBatch( 3 );
+        assertEquals( 0, range.getDefragIds().length );
+        assertEquals( 3, range.getRangeStart() );
+        assertEquals( 6, idGenerator.getHighId() );
+        idGenerator.close();
+    }
+
+    @Test
+    public void shouldNeverHandOutSameIdTwiceWhenAllocatingConcurrently() throws Throwable
+    {
+        // given
+        IdGeneratorImpl.createGenerator( fsr.get(), file, 0, false );
+        IdGenerator idGenerator = new IdGeneratorImpl( fsr.get(), file, 10, Long.MAX_VALUE, true, IdType.NODE, () -> 0L );
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        int rounds = 1_000;
+
+        // when
+        Race race = new Race();
+        race.addContestants( 2, () ->
+        {
+            for ( int i = 0; i < rounds; i++ )
+            {
+                assertTrue( ids.add( idGenerator.nextId() ) );
+            }
+        } );
+        race.addContestants( 2, () ->
+        {
+            for ( int i = 0; i < rounds; i++ )
+            {
+                IdRangeIterator iterator = idGenerator.nextIdBatch( 5 ).iterator();
+                for ( long id; (id = iterator.nextId()) != IdRangeIterator.VALUE_REPRESENTING_NULL; )
+                {
+                    assertTrue( ids.add( id ) );
+                }
+            }
+        } );
+        race.addContestant( () ->
+        {
+            for ( int i = 0; i < rounds; i++ )
+            {
+                long id = idGenerator.nextId();
+                assertTrue( ids.add( id ) );
+                if ( i % 2 == 0 )
+                {
+                    ids.remove( id );
+                    idGenerator.freeId( id );
+                }
+            }
+        } );
+        race.go();
+
+        // then every id below high id is either in use or free to be reused
+        assertEquals( idGenerator.getHighId(), ids.size() + idGenerator.getDefragCount() );
+        idGenerator.close();
+    }
+
+    @Test( timeout = 30_000 )
+    public void shouldAllocateFromHighIdWithoutMonitorWhenFreedIdsCannotBeReusedYet() throws Exception
+    {
+        // given
+        IdGeneratorImpl.createGenerator( fsr.get(), file, 0, false );
+        IdGenerator idGenerator = new IdGeneratorImpl( fsr.get(), file, 1, 100, false, IdType.NODE, () -> 0L );
+        assertEquals( 0, idGenerator.nextId() );
+        assertEquals( 1, idGenerator.nextId() );
+        idGenerator.freeId( 0 );
+
+        // when the monitor is held by someone else
+        BinaryLatch monitorHeld = new BinaryLatch();
+        BinaryLatch releaseMonitor = new BinaryLatch();
+        Future<Object> monitorHolder = t2.execute( state ->
+        {
+            synchronized ( idGenerator )
+            {
+                monitorHeld.release();
+                releaseMonitor.await();
+            }
+            return null;
+        } );
+        monitorHeld.await();
+
+        // then without aggressive reuse the freed id isn't reusable during this session, so ids still come from high id
+        try
+        {
+            assertEquals( 2, idGenerator.nextId() );
+            assertEquals( 3, idGenerator.nextId() );
+        }
+        finally
+        {
+            releaseMonitor.release();
+        }
+        monitorHolder.get();
+        idGenerator.close();
+    }
 }
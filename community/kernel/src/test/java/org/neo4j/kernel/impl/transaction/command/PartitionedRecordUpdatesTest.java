@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.command;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.neo4j.kernel.impl.store.UnderlyingStorageException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class PartitionedRecordUpdatesTest
+{
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void shutDownExecutor()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldApplyUpdatesOfSameRecordInScheduledOrder()
+    {
+        // GIVEN
+        int records = 10;
+        int updatesPerRecord = 1_000;
+        List<List<Integer>> applied = new ArrayList<>();
+        for ( int i = 0; i < records; i++ )
+        {
+            applied.add( new ArrayList<>() );
+        }
+
+        // WHEN
+        try ( PartitionedRecordUpdates updates = new PartitionedRecordUpdates( 4, executor ) )
+        {
+            for ( int update = 0; update < updatesPerRecord; update++ )
+            {
+                for ( int record = 0; record < records; record++ )
+                {
+                    List<Integer> recordUpdates = applied.get( record );
+                    int value = update;
+                    updates.schedule( record, () -> recordUpdates.add( value ) );
+                }
+            }
+            updates.awaitApplied();
+
+            // THEN
+            for ( List<Integer> recordUpdates : applied )
+            {
+                assertEquals( updatesPerRecord, recordUpdates.size() );
+                for ( int i = 0; i < updatesPerRecord; i++ )
+                {
+                    assertEquals( i, recordUpdates.get( i ).intValue() );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldApplyAllUpdatesBeforeClosing()
+    {
+        // GIVEN
+        AtomicInteger applied = new AtomicInteger();
+        PartitionedRecordUpdates updates = new PartitionedRecordUpdates( 3, executor );
+        for ( long id = 0; id < 10_000; id++ )
+        {
+            updates.schedule( id, applied::incrementAndGet );
+        }
+
+        // WHEN
+        updates.close();
+
+        // THEN
+        assertEquals( 10_000, applied.get() );
+    }
+
+    @Test
+    public void shouldPropagateFailureOfUpdate()
+    {
+        // GIVEN
+        RuntimeException failure = new RuntimeException( "Failed to write record" );
+        PartitionedRecordUpdates updates = new PartitionedRecordUpdates( 2, executor );
+        updates.schedule( 1, () ->
+        {
+            throw failure;
+        } );
+
+        // WHEN
+        try
+        {
+            updates.awaitApplied();
+            fail( "Should have failed" );
+        }
+        catch ( UnderlyingStorageException e )
+        {
+            // THEN
+            assertSame( failure, e.getCause() );
+        }
+        finally
+        {
+            try
+            {
+                updates.close();
+            }
+            catch ( UnderlyingStorageException e )
+            {
+                // expected, the failure is reported again on close
+            }
+        }
+    }
+}
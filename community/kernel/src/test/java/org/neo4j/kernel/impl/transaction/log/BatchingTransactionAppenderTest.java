@@ -28,6 +28,13 @@ import java.io.Flushable;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.neo4j.kernel.impl.api.TransactionToApply;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
@@ -48,6 +55,7 @@ import org.neo4j.kernel.lifecycle.LifeRule;
 import org.neo4j.storageengine.api.StorageCommand;
 import org.neo4j.test.rule.CleanupRule;
 
+import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
@@ -55,6 +63,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyByte;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -382,6 +391,133 @@ public class BatchingTransactionAppenderTest
 
     }
 
+    @Test
+    public void shouldForceLogOnceForFullBatchWhenGroupCommitting() throws Throwable
+    {
+        // Given
+        int threads = 4;
+        FlushablePositionAwareChannel channel = mock( FlushablePositionAwareChannel.class, RETURNS_MOCKS );
+        Flushable flushable = mock( Flushable.class );
+        when( channel.prepareForFlush() ).thenReturn( flushable );
+        when( channel.putLong( anyLong() ) ).thenReturn( channel );
+        when( logFile.getWriter() ).thenReturn( channel );
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        BatchingTransactionAppender appender = life.add( new BatchingTransactionAppender( logFiles, NO_ROTATION,
+                positionCache, transactionIdStore, BYPASS, databaseHealth,
+                ( batchSize, forceTimeNanos ) -> batchSizes.add( batchSize ), Thread::new,
+                TimeUnit.MINUTES.toNanos( 10 ), threads ) );
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool( threads );
+        try
+        {
+            List<Future<?>> checkPoints = new ArrayList<>();
+            for ( int i = 0; i < threads; i++ )
+            {
+                long position = i;
+                checkPoints.add( executor.submit( () ->
+                {
+                    appender.checkPoint( new LogPosition( 0L, position ), LogCheckPointEvent.NULL );
+                    return null;
+                } ) );
+            }
+            for ( Future<?> checkPoint : checkPoints )
+            {
+                checkPoint.get( 1, TimeUnit.MINUTES );
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        // Stopping waits for the forcer to finish notifying the monitor
+        life.stop();
+
+        // Then
+        assertEquals( singletonList( threads ), batchSizes );
+        verify( flushable, times( 1 ) ).flush();
+        verify( databaseHealth, never() ).panic( any() );
+    }
+
+    @Test
+    public void shouldForceLogAfterMaxCommitDelayWhenGroupCommitting() throws Throwable
+    {
+        // Given
+        FlushablePositionAwareChannel channel = mock( FlushablePositionAwareChannel.class, RETURNS_MOCKS );
+        Flushable flushable = mock( Flushable.class );
+        when( channel.prepareForFlush() ).thenReturn( flushable );
+        when( channel.putLong( anyLong() ) ).thenReturn( channel );
+        when( logFile.getWriter() ).thenReturn( channel );
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        BatchingTransactionAppender appender = life.add( new BatchingTransactionAppender( logFiles, NO_ROTATION,
+                positionCache, transactionIdStore, BYPASS, databaseHealth,
+                ( batchSize, forceTimeNanos ) -> batchSizes.add( batchSize ), Thread::new,
+                TimeUnit.MILLISECONDS.toNanos( 10 ), 1_000 ) );
+
+        // When
+        appender.checkPoint( new LogPosition( 1L, 2L ), LogCheckPointEvent.NULL );
+
+        // Stopping waits for the forcer to finish notifying the monitor
+        life.stop();
+
+        // Then
+        assertEquals( singletonList( 1 ), batchSizes );
+        verify( flushable, times( 1 ) ).flush();
+        verify( databaseHealth, never() ).panic( any() );
+    }
+
+    @Test( timeout = 60_000 )
+    public void shouldNotLeaveCommittersWaitingWhenStoppedWhileGroupCommitting() throws Throwable
+    {
+        // Given
+        FlushablePositionAwareChannel channel = mock( FlushablePositionAwareChannel.class, RETURNS_MOCKS );
+        when( channel.prepareForFlush() ).thenReturn( mock( Flushable.class ) );
+        when( channel.putLong( anyLong() ) ).thenReturn( channel );
+        when( logFile.getWriter() ).thenReturn( channel );
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool( threads );
+        try
+        {
+            for ( int round = 0; round < 100; round++ )
+            {
+                BatchingTransactionAppender appender = new BatchingTransactionAppender( logFiles, NO_ROTATION,
+                        positionCache, transactionIdStore, BYPASS, databaseHealth, BatchingTransactionAppender.NO_MONITOR,
+                        Thread::new, TimeUnit.MICROSECONDS.toNanos( 10 ), threads );
+                appender.start();
+
+                // When
+                AtomicBoolean committing = new AtomicBoolean( true );
+                List<Future<?>> committers = new ArrayList<>();
+                for ( int i = 0; i < threads; i++ )
+                {
+                    committers.add( executor.submit( () ->
+                    {
+                        while ( committing.get() )
+                        {
+                            appender.checkPoint( new LogPosition( 1L, 2L ), LogCheckPointEvent.NULL );
+                        }
+                        return null;
+                    } ) );
+                }
+                Thread.sleep( 1 );
+                appender.stop();
+                committing.set( false );
+
+                // Then
+                for ( Future<?> committer : committers )
+                {
+                    committer.get();
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        verify( databaseHealth, never() ).panic( any() );
+    }
+
     private BatchingTransactionAppender createTransactionAppender()
     {
         return new BatchingTransactionAppender( logFiles, NO_ROTATION, positionCache, transactionIdStore, BYPASS, databaseHealth );
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.neo4j.kernel.impl.transaction.log.GivenTransactionCursor.exhaust;
+
+public class ReadAheadTransactionCursorTest
+{
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void shutDownExecutor()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldSeeAllTransactionsInOrder() throws Exception
+    {
+        // GIVEN
+        CommittedTransactionRepresentation[] transactions = transactions( 100 );
+        PositionedCursor source = new PositionedCursor( transactions, null );
+
+        // WHEN
+        CommittedTransactionRepresentation[] read;
+        try ( ReadAheadTransactionCursor cursor = new ReadAheadTransactionCursor( source, 10, executor ) )
+        {
+            read = exhaust( cursor );
+        }
+
+        // THEN
+        assertArrayEquals( transactions, read );
+        assertTrue( source.closed );
+    }
+
+    @Test
+    public void shouldReportPositionOfSourceAfterEachTransaction() throws Exception
+    {
+        // GIVEN
+        PositionedCursor source = new PositionedCursor( transactions( 20 ), null );
+
+        try ( ReadAheadTransactionCursor cursor = new ReadAheadTransactionCursor( source, 3, executor ) )
+        {
+            // WHEN/THEN
+            assertEquals( new LogPosition( 0, 0 ), cursor.position() );
+            for ( int i = 1; i <= 20; i++ )
+            {
+                assertTrue( cursor.next() );
+                assertEquals( new LogPosition( 0, i ), cursor.position() );
+            }
+            assertFalse( cursor.next() );
+            assertEquals( new LogPosition( 0, 20 ), cursor.position() );
+        }
+    }
+
+    @Test
+    public void shouldSeeFailureAfterTransactionsReadBeforeIt() throws Exception
+    {
+        // GIVEN
+        IOException failure = new IOException( "Corrupted log" );
+        PositionedCursor source = new PositionedCursor( transactions( 5 ), failure );
+
+        try ( ReadAheadTransactionCursor cursor = new ReadAheadTransactionCursor( source, 2, executor ) )
+        {
+            for ( int i = 1; i <= 5; i++ )
+            {
+                assertTrue( cursor.next() );
+            }
+
+            // WHEN
+            try
+            {
+                cursor.next();
+                fail( "Should have failed" );
+            }
+            catch ( IOException e )
+            {
+                // THEN
+                assertSame( failure, e );
+            }
+            assertEquals( new LogPosition( 0, 5 ), cursor.position() );
+        }
+    }
+
+    @Test
+    public void shouldCloseSourceWhenClosedBeforeExhausted() throws Exception
+    {
+        // GIVEN
+        PositionedCursor source = new PositionedCursor( transactions( 1_000 ), null );
+        ReadAheadTransactionCursor cursor = new ReadAheadTransactionCursor( source, 4, executor );
+        assertTrue( cursor.next() );
+
+        // WHEN
+        cursor.close();
+
+        // THEN
+        assertTrue( source.closed );
+    }
+
+    private static CommittedTransactionRepresentation[] transactions( int count )
+    {
+        CommittedTransactionRepresentation[] transactions = new CommittedTransactionRepresentation[count];
+        for ( int i = 0; i < count; i++ )
+        {
+            transactions[i] = mock( CommittedTransactionRepresentation.class );
+        }
+        return transactions;
+    }
+
+    /**
+     * Cursor where the position after the n:th transaction is byte offset n, optionally failing after the last one.
+     */
+    private static class PositionedCursor implements TransactionCursor
+    {
+        private final CommittedTransactionRepresentation[] transactions;
+        private final IOException failure;
+        private int index = -1;
+        private volatile boolean closed;
+
+        PositionedCursor( CommittedTransactionRepresentation[] transactions, IOException failure )
+        {
+            this.transactions = transactions;
+            this.failure = failure;
+        }
+
+        @Override
+        public boolean next() throws IOException
+        {
+            if ( index + 1 < transactions.length )
+            {
+                index++;
+                return true;
+            }
+            if ( failure != null )
+            {
+                throw failure;
+            }
+            return false;
+        }
+
+        @Override
+        public CommittedTransactionRepresentation get()
+        {
+            return transactions[index];
+        }
+
+        @Override
+        public LogPosition position()
+        {
+            return new LogPosition( 0, index + 1 );
+        }
+
+        @Override
+        public void close()
+        {
+            closed = true;
+        }
+    }
+}
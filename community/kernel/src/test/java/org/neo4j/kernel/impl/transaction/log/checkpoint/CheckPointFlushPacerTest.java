@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.checkpoint;
+
+import org.junit.Test;
+
+import java.io.Flushable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.kernel.impl.transaction.tracing.LogCheckPointEvent;
+import org.neo4j.time.FakeClock;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CheckPointFlushPacerTest
+{
+    private static final long TARGET_NANOS = TimeUnit.SECONDS.toNanos( 10 );
+
+    private final FakeClock clock = new FakeClock();
+    private final IOLimiter limiter = mock( IOLimiter.class );
+    private final LogCheckPointEvent event = mock( LogCheckPointEvent.class );
+    private final AtomicBoolean rushed = new AtomicBoolean();
+    private final List<Long> pauses = new ArrayList<>();
+
+    @Test
+    public void shouldPauseWhenAheadOfSchedule()
+    {
+        CheckPointFlushPacer pacer = pacer( TARGET_NANOS, 100 );
+
+        // 10 of estimated 100 pages are scheduled to be flushed after 1 of the 10 target seconds
+        pacer.maybeLimitIO( IOLimiter.INITIAL_STAMP, 10, null );
+        clock.forward( 850, TimeUnit.MILLISECONDS );
+        pacer.maybeLimitIO( IOLimiter.INITIAL_STAMP, 0, null );
+
+        assertEquals( asList( CheckPointFlushPacer.MAX_PAUSE_NANOS, TimeUnit.MILLISECONDS.toNanos( 50 ) ), pauses );
+    }
+
+    @Test
+    public void shouldNotPauseWhenBehindSchedule()
+    {
+        CheckPointFlushPacer pacer = pacer( TARGET_NANOS, 100 );
+
+        clock.forward( 2, TimeUnit.SECONDS );
+        pacer.maybeLimitIO( IOLimiter.INITIAL_STAMP, 10, null );
+
+        assertEquals( emptyList(), pauses );
+    }
+
+    @Test
+    public void shouldNotPauseOnceEstimatedNumberOfPagesAreFlushed()
+    {
+        CheckPointFlushPacer pacer = pacer( TARGET_NANOS, 100 );
+
+        pacer.maybeLimitIO( IOLimiter.INITIAL_STAMP, 100, null );
+        pacer.maybeLimitIO( IOLimiter.INITIAL_STAMP, 10, null );
+
+        assertEquals( emptyList(), pauses );
+    }
+
+    @Test
+    public void shouldNotPauseWhenRushed()
+    {
+        CheckPointFlushPacer pacer = pacer( TARGET_NANOS, 100 );
+        rushed.set( true );
+
+        pacer.maybeLimitIO( IOLimiter.INITIAL_STAMP, 10, null );
+
+        assertEquals( emptyList(), pauses );
+    }
+
+    @Test
+    public void shouldNotPauseWithoutTargetOrEstimate()
+    {
+        pacer( 0, 100 ).maybeLimitIO( IOLimiter.INITIAL_STAMP, 10, null );
+        pacer( TARGET_NANOS, 0 ).maybeLimitIO( IOLimiter.INITIAL_STAMP, 10, null );
+
+        assertEquals( emptyList(), pauses );
+    }
+
+    @Test
+    public void shouldReportFlushedPagesAndDelegateToUnderlyingLimiter()
+    {
+        Flushable flushable = mock( Flushable.class );
+        when( limiter.maybeLimitIO( 5, 3, flushable ) ).thenReturn( 7L );
+        CheckPointFlushPacer pacer = pacer( 0, 0 );
+
+        assertEquals( 7L, pacer.maybeLimitIO( 5, 3, flushable ) );
+        pacer.maybeLimitIO( 7, 4, flushable );
+        pacer.disableLimit();
+        pacer.enableLimit();
+
+        assertEquals( 7, pacer.flushedPages() );
+        verify( event ).flushedPages( 3 );
+        verify( event ).flushedPages( 4 );
+        verify( limiter ).disableLimit();
+        verify( limiter ).enableLimit();
+    }
+
+    private CheckPointFlushPacer pacer( long targetNanos, long estimatedPages )
+    {
+        return new CheckPointFlushPacer( limiter, event, targetNanos, estimatedPages, clock, rushed::get )
+        {
+            @Override
+            void pause( long nanos )
+            {
+                pauses.add( nanos );
+                clock.forward( nanos, TimeUnit.NANOSECONDS );
+            }
+        };
+    }
+}
@@ -20,6 +20,7 @@
 package org.neo4j.kernel.impl.transaction.log.checkpoint;
 
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.io.Flushable;
 import java.io.IOException;
@@ -115,7 +116,7 @@ public class CheckPointerImplTest
 
         // Then
         assertEquals( transactionId, txId );
-        verify( storageEngine, times( 1 ) ).flushAndForce( limiter );
+        verify( storageEngine, times( 1 ) ).flushAndForce( any( CheckPointFlushPacer.class ) );
         verify( health, times( 2 ) ).assertHealthy( IOException.class );
         verify( appender, times( 1 ) ).checkPoint( eq( logPosition ), any( LogCheckPointEvent.class ) );
         verify( threshold, times( 1 ) ).initialize( initialTransactionId );
@@ -277,7 +278,9 @@ public class CheckPointerImplTest
         checkPointing.start();
         checkPointing.checkPointIfNeeded( INFO );
 
-        verify( storageEngine ).flushAndForce( limiter );
+        ArgumentCaptor<IOLimiter> usedLimiter = ArgumentCaptor.forClass( IOLimiter.class );
+        verify( storageEngine ).flushAndForce( usedLimiter.capture() );
+        assertEquals( 42, usedLimiter.getValue().maybeLimitIO( IOLimiter.INITIAL_STAMP, 1, null ) );
     }
 
     @Test
@@ -369,7 +372,7 @@ public class CheckPointerImplTest
             long newValue = limitDisableCounter.get();
             observedRushCount.set( newValue );
             return null;
-        } ).when( storageEngine ).flushAndForce( limiter );
+        } ).when( storageEngine ).flushAndForce( any( IOLimiter.class ) );
 
         Future<Object> forceCheckPointer = forkFuture( () ->
         {
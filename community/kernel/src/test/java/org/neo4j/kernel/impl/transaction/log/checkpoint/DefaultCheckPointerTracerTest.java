@@ -60,6 +60,29 @@ public class DefaultCheckPointerTracerTest
         verify( monitor, times( 1 ) ).lastCheckPointEventDuration( 30L );
     }
 
+    @Test
+    public void shouldCountFlushedPagesOfLastAndAllCheckPoints()
+    {
+        DefaultCheckPointerTracer tracer = new DefaultCheckPointerTracer( clock, monitor, jobScheduler );
+
+        try ( LogCheckPointEvent event = tracer.beginCheckPoint() )
+        {
+            event.flushedPages( 10 );
+            event.flushedPages( 5 );
+            assertEquals( 15, tracer.lastCheckPointFlushedPages() );
+        }
+        assertEquals( 15, tracer.lastCheckPointFlushedPages() );
+
+        try ( LogCheckPointEvent event = tracer.beginCheckPoint() )
+        {
+            assertEquals( 0, tracer.lastCheckPointFlushedPages() );
+            event.flushedPages( 7 );
+        }
+
+        assertEquals( 7, tracer.lastCheckPointFlushedPages() );
+        assertEquals( 22, tracer.checkPointAccumulatedFlushedPages() );
+    }
+
     @Test
     public void shouldReturnZeroIfNoDataIsAvailable()
     {
@@ -69,6 +92,8 @@ public class DefaultCheckPointerTracerTest
 
         assertEquals( 0, tracer.numberOfCheckPointEvents() );
         assertEquals( 0, tracer.checkPointAccumulatedTotalTimeMillis() );
+        assertEquals( 0, tracer.checkPointAccumulatedFlushedPages() );
+        assertEquals( 0, tracer.lastCheckPointFlushedPages() );
         verifyZeroInteractions( monitor );
     }
 
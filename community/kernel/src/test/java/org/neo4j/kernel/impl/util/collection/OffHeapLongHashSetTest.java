@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.api.iterator.MutableLongIterator;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.neo4j.memory.LocalMemoryTracker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OffHeapLongHashSetTest
+{
+    private final LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+    private final OffHeapLongHashSet set = new OffHeapLongHashSet( memoryTracker );
+
+    @After
+    public void tearDown()
+    {
+        set.close();
+        assertEquals( 0, memoryTracker.usedDirectMemory() );
+    }
+
+    @Test
+    public void addRemoveContains()
+    {
+        assertTrue( set.add( 42 ) );
+        assertFalse( set.add( 42 ) );
+        assertTrue( set.contains( 42 ) );
+        assertFalse( set.contains( 43 ) );
+        assertEquals( 1, set.size() );
+
+        assertTrue( set.remove( 42 ) );
+        assertFalse( set.remove( 42 ) );
+        assertFalse( set.contains( 42 ) );
+        assertTrue( set.isEmpty() );
+    }
+
+    @Test
+    public void mustHandleValuesUsedAsTableMarkers()
+    {
+        assertTrue( set.add( 0 ) );
+        assertTrue( set.add( 1 ) );
+        assertFalse( set.add( 0 ) );
+        assertTrue( set.contains( 0 ) );
+        assertTrue( set.contains( 1 ) );
+        assertEquals( 2, set.size() );
+        assertEquals( LongHashSet.newSetWith( 0, 1 ), set );
+
+        assertTrue( set.remove( 0 ) );
+        assertFalse( set.contains( 0 ) );
+        assertTrue( set.contains( 1 ) );
+        assertEquals( 1, set.size() );
+    }
+
+    @Test
+    public void mustBehaveLikeOnHeapSetUnderRandomOperations()
+    {
+        MutableLongSet expected = new LongHashSet();
+        ThreadLocalRandom rng = ThreadLocalRandom.current();
+        for ( int i = 0; i < 100_000; i++ )
+        {
+            long value = rng.nextLong( 10_000 ) - 10;
+            if ( rng.nextInt( 3 ) == 0 )
+            {
+                assertEquals( expected.remove( value ), set.remove( value ) );
+            }
+            else
+            {
+                assertEquals( expected.add( value ), set.add( value ) );
+            }
+        }
+        assertEquals( expected.size(), set.size() );
+        assertEquals( expected, set );
+        assertEquals( expected.hashCode(), set.hashCode() );
+        assertEquals( expected, LongHashSet.newSetWith( set.toArray() ) );
+    }
+
+    @Test
+    public void mustTrackAllocatedMemory()
+    {
+        set.add( 3 );
+        long initialMemory = memoryTracker.usedDirectMemory();
+        assertTrue( initialMemory > 0 );
+        for ( long i = 0; i < 1_000; i++ )
+        {
+            set.add( i * 3 );
+        }
+        assertTrue( memoryTracker.usedDirectMemory() > initialMemory );
+    }
+
+    @Test
+    public void mustNotAllocateMemoryUntilElementsAreAdded()
+    {
+        assertFalse( set.contains( 42 ) );
+        assertFalse( set.remove( 42 ) );
+        assertFalse( set.longIterator().hasNext() );
+        set.add( 0 );
+        set.add( 1 );
+        assertEquals( 0, memoryTracker.usedDirectMemory() );
+
+        set.add( 42 );
+        assertTrue( memoryTracker.usedDirectMemory() > 0 );
+
+        set.clear();
+        assertEquals( 0, memoryTracker.usedDirectMemory() );
+        assertTrue( set.isEmpty() );
+        assertTrue( set.add( 42 ) );
+        assertEquals( LongHashSet.newSetWith( 42 ), set );
+    }
+
+    @Test
+    public void iteratorMustFailFastWhenSetIsModified()
+    {
+        set.addAll( 5, 10, 15 );
+        LongIterator iterator = set.longIterator();
+        iterator.next();
+
+        set.add( 20 );
+
+        try
+        {
+            iterator.next();
+            fail( "Should have thrown" );
+        }
+        catch ( ConcurrentModificationException e )
+        {
+            // good
+        }
+    }
+
+    @Test
+    public void iteratorMustFailFastWhenSetIsRehashed()
+    {
+        set.addAll( 5, 10, 15 );
+        LongIterator iterator = set.longIterator();
+        long memoryBeforeGrowing = memoryTracker.usedDirectMemory();
+
+        for ( long i = 100; i < 1_000; i++ )
+        {
+            set.add( i );
+        }
+
+        // The table that the iterator was created on has been freed, rather than kept around for the iterator.
+        assertTrue( memoryTracker.usedDirectMemory() > memoryBeforeGrowing );
+        LocalMemoryTracker otherTracker = new LocalMemoryTracker();
+        try ( OffHeapLongHashSet other = new OffHeapLongHashSet( otherTracker ) )
+        {
+            other.addAll( set );
+            assertEquals( otherTracker.usedDirectMemory(), memoryTracker.usedDirectMemory() );
+        }
+        try
+        {
+            iterator.next();
+            fail( "Should have thrown" );
+        }
+        catch ( ConcurrentModificationException e )
+        {
+            // good
+        }
+    }
+
+    @Test
+    public void abandonedIteratorsAndPredicatesMustNotMakeUpdatesCopyTheTable()
+    {
+        set.addAll( 5, 10, 15 );
+        set.longIterator().next();
+        assertTrue( set.anySatisfy( value -> value == 10 ) );
+        assertTrue( set.allSatisfy( value -> value % 5 == 0 ) );
+        assertTrue( set.noneSatisfy( value -> value == 11 ) );
+        assertEquals( 15, set.detectIfNone( value -> value > 10, -1 ) );
+        long memory = memoryTracker.usedDirectMemory();
+
+        set.add( 20 );
+        set.remove( 5 );
+
+        assertEquals( memory, memoryTracker.usedDirectMemory() );
+        assertEquals( LongHashSet.newSetWith( 10, 15, 20 ), set );
+    }
+
+    @Test
+    public void predicatesMustConsiderValuesUsedAsTableMarkers()
+    {
+        set.addAll( 0, 1, 7 );
+
+        assertTrue( set.anySatisfy( value -> value == 0 ) );
+        assertTrue( set.anySatisfy( value -> value == 1 ) );
+        assertFalse( set.allSatisfy( value -> value > 0 ) );
+        assertEquals( 1, set.detectIfNone( value -> value == 1, -1 ) );
+        assertEquals( -1, set.detectIfNone( value -> value == 2, -1 ) );
+    }
+
+    @Test
+    public void iteratorRemoveMustRemoveFromSet()
+    {
+        set.addAll( 0, 1, 2, 3, 4, 5 );
+        MutableLongIterator iterator = set.longIterator();
+        while ( iterator.hasNext() )
+        {
+            if ( iterator.next() % 2 == 0 )
+            {
+                iterator.remove();
+            }
+        }
+        assertEquals( LongHashSet.newSetWith( 1, 3, 5 ), set );
+    }
+
+    @Test
+    public void clearMustRemoveAllElements()
+    {
+        for ( long i = 0; i < 1_000; i++ )
+        {
+            set.add( i );
+        }
+        set.clear();
+        assertTrue( set.isEmpty() );
+        assertFalse( set.contains( 0 ) );
+        assertFalse( set.contains( 500 ) );
+        assertTrue( set.add( 500 ) );
+    }
+
+    @Test
+    public void mustNotBeUsableAfterClose()
+    {
+        set.add( 42 );
+        LongIterator iterator = set.longIterator();
+        set.close();
+        try
+        {
+            set.contains( 42 );
+            fail( "Should have thrown" );
+        }
+        catch ( IllegalStateException e )
+        {
+            // good
+        }
+        try
+        {
+            iterator.next();
+            fail( "Should have thrown" );
+        }
+        catch ( IllegalStateException e )
+        {
+            // good
+        }
+    }
+
+    @Test
+    public void releasingFactoryMustFreeAllSets()
+    {
+        LocalMemoryTracker factoryTracker = new LocalMemoryTracker();
+        OffHeapCollectionsFactory factory = new OffHeapCollectionsFactory( factoryTracker );
+        for ( int i = 0; i < 10; i++ )
+        {
+            MutableLongSet longSet = factory.newLongSet();
+            for ( long j = 0; j < 100; j++ )
+            {
+                longSet.add( j );
+            }
+        }
+        assertTrue( factoryTracker.usedDirectMemory() > 0 );
+
+        factory.release();
+        assertEquals( 0, factoryTracker.usedDirectMemory() );
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class StripedLongObjectMapTest
+{
+    @Test
+    public void shouldPutGetAndRemove()
+    {
+        // Given
+        StripedLongObjectMap<String> map = new StripedLongObjectMap<>( 4 );
+
+        // When
+        assertNull( map.putIfAbsent( 1, "a" ) );
+        assertNull( map.put( -1, "b" ) );
+        assertNull( map.put( Long.MIN_VALUE, "c" ) );
+
+        // Then
+        assertEquals( "a", map.putIfAbsent( 1, "other" ) );
+        assertEquals( "a", map.get( 1 ) );
+        assertEquals( "b", map.put( -1, "B" ) );
+        assertEquals( "B", map.get( -1 ) );
+        assertEquals( "c", map.get( Long.MIN_VALUE ) );
+        assertNull( map.get( 0 ) );
+        assertEquals( 3, map.size() );
+
+        assertEquals( "a", map.remove( 1 ) );
+        assertNull( map.remove( 1 ) );
+        assertNull( map.get( 1 ) );
+        assertEquals( 2, map.size() );
+    }
+
+    @Test
+    public void shouldBehaveLikeAMapUnderRandomOperations()
+    {
+        // Given
+        StripedLongObjectMap<Long> map = new StripedLongObjectMap<>( 2 );
+        Map<Long,Long> expected = new HashMap<>();
+        Random random = new Random( 42 );
+
+        // When
+        for ( int i = 0; i < 100_000; i++ )
+        {
+            long key = random.nextInt( 1_000 );
+            switch ( random.nextInt( 3 ) )
+            {
+            case 0:
+                assertEquals( expected.put( key, (long) i ), map.put( key, (long) i ) );
+                break;
+            case 1:
+                assertEquals( expected.putIfAbsent( key, (long) i ), map.putIfAbsent( key, (long) i ) );
+                break;
+            default:
+                assertEquals( expected.remove( key ), map.remove( key ) );
+            }
+        }
+
+        // Then
+        assertEquals( expected.size(), map.size() );
+        Map<Long,Long> actual = new HashMap<>();
+        map.forEachKeyValue( actual::put );
+        assertEquals( expected, actual );
+    }
+
+    @Test
+    public void shouldGiveEachKeyToExactlyOneConcurrentPutIfAbsent() throws Exception
+    {
+        // Given
+        StripedLongObjectMap<Integer> map = new StripedLongObjectMap<>( 8 );
+        int threads = 4;
+        int keys = 10_000;
+        AtomicInteger wins = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool( threads );
+        try
+        {
+            // When
+            Future<?>[] futures = new Future[threads];
+            for ( int t = 0; t < threads; t++ )
+            {
+                int thread = t;
+                futures[t] = executor.submit( () ->
+                {
+                    for ( long key = 0; key < keys; key++ )
+                    {
+                        if ( map.putIfAbsent( key, thread ) == null )
+                        {
+                            wins.incrementAndGet();
+                        }
+                        map.get( key );
+                    }
+                } );
+            }
+            for ( Future<?> future : futures )
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        // Then
+        assertEquals( keys, wins.get() );
+        assertEquals( keys, map.size() );
+    }
+}
@@ -20,11 +20,13 @@
 package org.neo4j.server.rest.transactional;
 
 import org.codehaus.jackson.JsonGenerator;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
 
 import java.io.IOException;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import org.neo4j.graphdb.Label;
 import org.neo4j.graphdb.Node;
@@ -32,27 +34,47 @@ import org.neo4j.graphdb.Path;
 import org.neo4j.graphdb.PropertyContainer;
 import org.neo4j.graphdb.Relationship;
 import org.neo4j.graphdb.Result;
-import org.neo4j.helpers.collection.IterableWrapper;
 
+/**
+ * Writes the nodes and relationships found in a row, each of them once. The entities of a row are deduplicated
+ * on their ids and collected in lists that are reused from row to row, one instance of this writer serves
+ * all rows of a statement.
+ */
 class GraphExtractionWriter implements ResultDataContentWriter
 {
+    private final MutableLongSet nodeIds = new LongHashSet();
+    private final MutableLongSet relationshipIds = new LongHashSet();
+    private final List<Node> nodes = new ArrayList<>();
+    private final List<Relationship> relationships = new ArrayList<>();
+
     @Override
     public void write( JsonGenerator out, Iterable<String> columns, Result.ResultRow row,
             TransactionStateChecker txStateChecker ) throws IOException
     {
-        Set<Node> nodes = new HashSet<>();
-        Set<Relationship> relationships = new HashSet<>();
-        extract( nodes, relationships, map( columns, row ) );
-
-        out.writeObjectFieldStart( "graph" );
         try
         {
-            writeNodes( out, nodes, txStateChecker );
-            writeRelationships( out, relationships, txStateChecker );
+            for ( String column : columns )
+            {
+                extract( row.get( column ) );
+            }
+
+            out.writeObjectFieldStart( "graph" );
+            try
+            {
+                writeNodes( out, nodes, txStateChecker );
+                writeRelationships( out, relationships, txStateChecker );
+            }
+            finally
+            {
+                out.writeEndObject();
+            }
         }
         finally
         {
-            out.writeEndObject();
+            nodeIds.clear();
+            relationshipIds.clear();
+            nodes.clear();
+            relationships.clear();
         }
     }
 
@@ -161,53 +183,60 @@ class GraphExtractionWriter implements ResultDataContentWriter
         }
     }
 
-    private void extract( Set<Node> nodes, Set<Relationship> relationships, Iterable<?> source )
+    private void extract( Object item )
     {
-        for ( Object item : source )
+        if ( item instanceof Node )
+        {
+            addNode( (Node) item );
+        }
+        else if ( item instanceof Relationship )
         {
-            if ( item instanceof Node )
+            Relationship relationship = (Relationship) item;
+            addRelationship( relationship );
+            addNode( relationship.getStartNode() );
+            addNode( relationship.getEndNode() );
+        }
+        if ( item instanceof Path )
+        {
+            Path path = (Path) item;
+            for ( Node node : path.nodes() )
             {
-                nodes.add( (Node) item );
+                addNode( node );
             }
-            else if ( item instanceof Relationship )
+            for ( Relationship relationship : path.relationships() )
             {
-                Relationship relationship = (Relationship) item;
-                relationships.add( relationship );
-                nodes.add( relationship.getStartNode() );
-                nodes.add( relationship.getEndNode() );
+                addRelationship( relationship );
             }
-            if ( item instanceof Path )
-            {
-                Path path = (Path) item;
-                for ( Node node : path.nodes() )
-                {
-                    nodes.add( node );
-                }
-                for ( Relationship relationship : path.relationships() )
-                {
-                    relationships.add( relationship );
-                }
-            }
-            else if ( item instanceof Map<?, ?> )
+        }
+        else if ( item instanceof Map<?, ?> )
+        {
+            for ( Object value : ((Map<?, ?>) item).values() )
             {
-                extract( nodes, relationships, ((Map<?, ?>) item).values() );
+                extract( value );
             }
-            else if ( item instanceof Iterable<?> )
+        }
+        else if ( item instanceof Iterable<?> )
+        {
+            for ( Object value : (Iterable<?>) item )
             {
-                extract( nodes, relationships, (Iterable<?>) item );
+                extract( value );
             }
         }
     }
 
-    private static Iterable<?> map( Iterable<String> columns, final Result.ResultRow row )
+    private void addNode( Node node )
     {
-        return new IterableWrapper<Object, String>( columns )
+        if ( nodeIds.add( node.getId() ) )
         {
-            @Override
-            protected Object underlyingObjectToObject( String key )
-            {
-                return row.get( key );
-            }
-        };
+            nodes.add( node );
+        }
+    }
+
+    private void addRelationship( Relationship relationship )
+    {
+        if ( relationshipIds.add( relationship.getId() ) )
+        {
+            relationships.add( relationship );
+        }
     }
 }
@@ -91,6 +91,10 @@ public class Neo4jJsonCodec extends ObjectMapper
     @Override
     public void writeValue( JsonGenerator out, Object value ) throws IOException
     {
+        if ( writeScalarOrArray( out, value ) )
+        {
+            return;
+        }
         if ( value instanceof PropertyContainer )
         {
             try ( TransactionStateChecker txStateChecker = TransactionStateChecker.create( container ) )
@@ -136,7 +140,7 @@ public class Neo4jJsonCodec extends ObjectMapper
         }
         else if ( value instanceof Temporal || value instanceof TemporalAmount )
         {
-            super.writeValue( out, value.toString() );
+            out.writeString( value.toString() );
         }
         else
         {
@@ -144,6 +148,113 @@ public class Neo4jJsonCodec extends ObjectMapper
         }
     }
 
+    /**
+     * Writes the values that make up the bulk of large results, i.e. property values and the scalars
+     * returned by queries, straight to the generator. Handing them to {@link ObjectMapper#writeValue(JsonGenerator, Object)}
+     * copies the serialization config and creates a serializer provider for every single value.
+     *
+     * @return {@code true} if the value was written, {@code false} if it is left to be written by the caller.
+     */
+    private static boolean writeScalarOrArray( JsonGenerator out, Object value ) throws IOException
+    {
+        if ( value == null )
+        {
+            out.writeNull();
+        }
+        else if ( value instanceof String )
+        {
+            out.writeString( (String) value );
+        }
+        else if ( value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte )
+        {
+            out.writeNumber( ((Number) value).longValue() );
+        }
+        else if ( value instanceof Double )
+        {
+            out.writeNumber( (Double) value );
+        }
+        else if ( value instanceof Float )
+        {
+            out.writeNumber( (Float) value );
+        }
+        else if ( value instanceof Boolean )
+        {
+            out.writeBoolean( (Boolean) value );
+        }
+        else if ( value instanceof Character )
+        {
+            out.writeString( value.toString() );
+        }
+        else if ( value instanceof String[] )
+        {
+            out.writeStartArray();
+            for ( String element : (String[]) value )
+            {
+                out.writeString( element );
+            }
+            out.writeEndArray();
+        }
+        else if ( value instanceof long[] )
+        {
+            out.writeStartArray();
+            for ( long element : (long[]) value )
+            {
+                out.writeNumber( element );
+            }
+            out.writeEndArray();
+        }
+        else if ( value instanceof int[] )
+        {
+            out.writeStartArray();
+            for ( int element : (int[]) value )
+            {
+                out.writeNumber( element );
+            }
+            out.writeEndArray();
+        }
+        else if ( value instanceof short[] )
+        {
+            out.writeStartArray();
+            for ( short element : (short[]) value )
+            {
+                out.writeNumber( element );
+            }
+            out.writeEndArray();
+        }
+        else if ( value instanceof double[] )
+        {
+            out.writeStartArray();
+            for ( double element : (double[]) value )
+            {
+                out.writeNumber( element );
+            }
+            out.writeEndArray();
+        }
+        else if ( value instanceof float[] )
+        {
+            out.writeStartArray();
+            for ( float element : (float[]) value )
+            {
+                out.writeNumber( element );
+            }
+            out.writeEndArray();
+        }
+        else if ( value instanceof boolean[] )
+        {
+            out.writeStartArray();
+            for ( boolean element : (boolean[]) value )
+            {
+                out.writeBoolean( element );
+            }
+            out.writeEndArray();
+        }
+        else
+        {
+            return false;
+        }
+        return true;
+    }
+
     private void writeMap( JsonGenerator out, Map value ) throws IOException
     {
         out.writeStartObject();
@@ -225,7 +336,8 @@ public class Neo4jJsonCodec extends ObjectMapper
             {
                 for ( Map.Entry<String,Object> property : entity.getAllProperties().entrySet() )
                 {
-                    out.writeObjectField( property.getKey(), property.getValue() );
+                    out.writeFieldName( property.getKey() );
+                    writeValue( out, property.getValue() );
                 }
             }
         }
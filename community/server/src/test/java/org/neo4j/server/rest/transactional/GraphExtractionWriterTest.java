@@ -189,18 +189,47 @@ public class GraphExtractionWriterTest
         assertRelationships( result );
     }
 
+    @Test
+    public void shouldWriteEachEntityOnlyOnceAndNotCarryThemOverToTheNextRow() throws Exception
+    {
+        // given
+        Map<String, Object> row = new HashMap<>();
+        row.put( "n1", n1 );
+        row.put( "r1", r1 );
+        row.put( "p", path( n2, link( r1, n1 ), link( r2, n3 ) ) );
+        Map<String, Object> nextRow = new HashMap<>();
+        nextRow.put( "n2", n2 );
+        GraphExtractionWriter writer = new GraphExtractionWriter();
+
+        // when
+        JsonNode result = write( writer, row );
+        JsonNode nextResult = write( writer, nextRow );
+
+        // then
+        assertNodes( result );
+        assertRelationships( result );
+        assertEquals( "there should be 1 node", 1, nextResult.get( "graph" ).get( "nodes" ).size() );
+        assertNode( "666", nextResult.get( "graph" ).get( "nodes" ), Arrays.asList(), property( "name", "n2" ) );
+        assertEquals( "there should be no relationships", 0, nextResult.get( "graph" ).get( "relationships" ).size() );
+    }
+
     // The code under test
 
     private JsonFactory jsonFactory = new JsonFactory();
 
     private JsonNode write( Map<String, Object> row ) throws IOException, JsonParseException
+    {
+        return write( new GraphExtractionWriter(), row );
+    }
+
+    private JsonNode write( GraphExtractionWriter writer, Map<String, Object> row ) throws IOException, JsonParseException
     {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         JsonGenerator json = jsonFactory.createJsonGenerator( out );
         json.writeStartObject();
         try
         {
-            new GraphExtractionWriter().write( json, row.keySet(), new MapRow( row ), checker );
+            writer.write( json, row.keySet(), new MapRow( row ), checker );
         }
         finally
         {
@@ -89,6 +89,29 @@ public class Neo4jJsonCodecTest extends TxStateCheckerTestSupport
         assertTrue( exceptionThrown );
     }
 
+    @Test
+    public void shouldWriteScalarsAndArraysDirectlyToTheGenerator() throws IOException
+    {
+        //When
+        jsonCodec.writeValue( jsonGenerator, "text" );
+        jsonCodec.writeValue( jsonGenerator, 42 );
+        jsonCodec.writeValue( jsonGenerator, 4.2d );
+        jsonCodec.writeValue( jsonGenerator, true );
+        jsonCodec.writeValue( jsonGenerator, null );
+        jsonCodec.writeValue( jsonGenerator, new long[]{1L, 2L} );
+
+        //Then
+        verify( jsonGenerator ).writeString( "text" );
+        verify( jsonGenerator ).writeNumber( 42L );
+        verify( jsonGenerator ).writeNumber( 4.2d );
+        verify( jsonGenerator ).writeBoolean( true );
+        verify( jsonGenerator ).writeNull();
+        verify( jsonGenerator ).writeStartArray();
+        verify( jsonGenerator ).writeNumber( 1L );
+        verify( jsonGenerator ).writeNumber( 2L );
+        verify( jsonGenerator ).writeEndArray();
+    }
+
     @Test
     public void testNodeWriting() throws IOException
     {
@@ -239,6 +239,66 @@ class MorselRuntimeAcceptanceTest extends ExecutionEngineFunSuite {
     result.getExecutionPlanDescription.getArguments.get("runtime") should equal("MORSEL")
   }
 
+  test("should support expand into") {
+    //Given
+    1 to 10 foreach { i =>
+      val a = createLabeledNode(Map("prop" -> i), "A")
+      val b = createNode("prop" -> -i)
+      relate(a, b)
+      relate(b, a)
+      relate(a, createNode())
+    }
+
+    //When
+    val result = graph.execute("CYPHER runtime=morsel MATCH (a:A)-->(b)-->(a) RETURN a.prop, b.prop")
+
+    //Then
+    asScalaResult(result).toSet should equal((1 to 10).map(i => Map("a.prop" -> i, "b.prop" -> -i)).toSet)
+    result.getExecutionPlanDescription.getArguments.get("runtime") should equal("MORSEL")
+    result.getExecutionPlanDescription.toString should include("Expand(Into)")
+  }
+
+  test("should support optional expand") {
+    //Given
+    1 to 10 foreach { i =>
+      val a = createLabeledNode(Map("prop" -> i), "A")
+      if (i % 2 == 0) {
+        relate(a, createNode("prop" -> (i * 10)))
+        relate(a, createNode("prop" -> (i * 10 + 1)))
+      }
+    }
+
+    //When
+    val result = graph.execute("CYPHER runtime=morsel MATCH (a:A) OPTIONAL MATCH (a)-->(b) RETURN a.prop, b.prop")
+
+    //Then
+    val expected = (1 to 10).flatMap {
+      case i if i % 2 == 0 => Seq(Map("a.prop" -> i, "b.prop" -> i * 10), Map("a.prop" -> i, "b.prop" -> (i * 10 + 1)))
+      case i => Seq(Map("a.prop" -> i, "b.prop" -> null))
+    }
+    asScalaResult(result).toList should contain theSameElementsAs expected
+    result.getExecutionPlanDescription.getArguments.get("runtime") should equal("MORSEL")
+    result.getExecutionPlanDescription.toString should include("OptionalExpand(All)")
+  }
+
+  test("should support optional expand with predicate") {
+    //Given
+    1 to 10 foreach { i =>
+      val a = createLabeledNode(Map("prop" -> i), "A")
+      relate(a, createNode("prop" -> i))
+      relate(a, createNode("prop" -> -i))
+    }
+
+    //When
+    val result = graph.execute(
+      "CYPHER runtime=morsel MATCH (a:A) OPTIONAL MATCH (a)-->(b) WHERE b.prop > 5 RETURN a.prop, b.prop")
+
+    //Then
+    val expected = (1 to 10).map(i => Map("a.prop" -> i, "b.prop" -> (if (i > 5) i else null)))
+    asScalaResult(result).toList should contain theSameElementsAs expected
+    result.getExecutionPlanDescription.getArguments.get("runtime") should equal("MORSEL")
+  }
+
   //we use a ridiculously small morsel size in order to trigger as many morsel overflows as possible
   override def databaseConfig(): Map[Setting[_], String] = Map(GraphDatabaseSettings.cypher_morsel_size -> "4")
 }
@@ -24,6 +24,7 @@ import org.neo4j.cypher.internal.compatibility.v3_5.runtime.RefSlot
 import org.neo4j.cypher.internal.compiler.v3_5.planner.CantCompileQueryException
 import org.neo4j.cypher.internal.frontend.v3_5.semantics.SemanticTable
 import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.ExpressionConverters
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.True
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.{LazyLabel, LazyTypes}
 import org.neo4j.cypher.internal.runtime.slotted.SlottedPipeBuilder.translateColumnOrder
 import org.neo4j.cypher.internal.runtime.vectorized.expressions.AggregationExpressionOperator
@@ -100,6 +101,23 @@ class PipelineBuilder(slotConfigurations: SlotConfigurations, converters: Expres
           val lazyTypes = LazyTypes(types.toArray)(SemanticTable())
           new ExpandAllOperator(slots, fromPipe, fromOffset, relOffset, toOffset, dir, lazyTypes)
 
+        case plans.Expand(lhs, fromName, dir, types, to, relName, ExpandInto) =>
+          val fromOffset = slots.getLongOffsetFor(fromName)
+          val relOffset = slots.getLongOffsetFor(relName)
+          val toOffset = slots.getLongOffsetFor(to)
+          val fromPipe = slotConfigurations(lhs.id)
+          val lazyTypes = LazyTypes(types.toArray)(SemanticTable())
+          new ExpandIntoOperator(slots, fromPipe, fromOffset, relOffset, toOffset, dir, lazyTypes)
+
+        case plans.OptionalExpand(lhs, fromName, dir, types, to, relName, ExpandAll, predicates) =>
+          val fromOffset = slots.getLongOffsetFor(fromName)
+          val relOffset = slots.getLongOffsetFor(relName)
+          val toOffset = slots.getLongOffsetFor(to)
+          val fromPipe = slotConfigurations(lhs.id)
+          val lazyTypes = LazyTypes(types.toArray)(SemanticTable())
+          val predicate = predicates.map(converters.toCommandPredicate).reduceOption(_ andWith _).getOrElse(True())
+          new OptionalExpandAllOperator(slots, fromPipe, fromOffset, relOffset, toOffset, dir, lazyTypes, predicate)
+
         case plans.Projection(_, expressions) =>
           val projectionOps = expressions.map {
             case (key, e) => slots(key) -> converters.toCommandExpression(e)
@@ -28,6 +28,7 @@ import org.neo4j.cypher.internal.runtime.QueryContext
 import org.neo4j.cypher.internal.runtime.vectorized._
 import org.neo4j.cypher.internal.util.v3_5.{InternalException, TaskCloser}
 import org.neo4j.cypher.result.QueryResult.QueryResultVisitor
+import org.neo4j.graphdb.Resource
 import org.neo4j.values.virtual.MapValue
 
 import scala.collection.JavaConverters._
@@ -62,7 +63,31 @@ class ParallelDispatcher(morselSize: Int, workers: Int, executor: Executor) exte
     // We remember that the loop has started even before the task has been scheduled
     query.startLoop(incoming.iterationState)
     new Runnable {
-      override def run(): Unit = try {
+      override def run(): Unit = {
+        var workerThread: Resource = null
+        var queryFinished = true
+        try {
+          workerThread = q.transactionalContext.executingQuery.trackWorkerThread()
+          queryFinished = runLoop()
+        } catch {
+          case t: Throwable =>
+            query.markFailure(t)
+            throw t
+        } finally {
+          // The work of this thread must be accounted to the query before the thread waiting for it is released
+          try {
+            if (workerThread != null) {
+              workerThread.close()
+            }
+          } finally {
+            if (queryFinished) {
+              query.releaseBlockedThreads()
+            }
+          }
+        }
+      }
+
+      private def runLoop(): Boolean = {
         val queryContext = q.createNewQueryContext()
         var message = incoming
         var continuation: Continuation = null
@@ -78,20 +103,17 @@ class ParallelDispatcher(morselSize: Int, workers: Int, executor: Executor) exte
           query.eagerReceiver match {
             case None =>
               // We where the last pipeline! Cool! Let's signal the query that we are done here.
-              query.releaseBlockedThreads()
+              true
 
             case Some(eagerConsumingPipeline) =>
               query.eagerReceiver = None
               val startEager = StartLoopWithEagerData(query.eagerData.asScala.toArray, incoming.iterationState)
               executor.execute(createAction(query, startEager, eagerConsumingPipeline, queryContext, state))
+              false
           }
-
+        } else {
+          false
         }
-      } catch {
-        case e: Exception =>
-          query.markFailure(e)
-          query.releaseBlockedThreads()
-          throw e
       }
     }
   }
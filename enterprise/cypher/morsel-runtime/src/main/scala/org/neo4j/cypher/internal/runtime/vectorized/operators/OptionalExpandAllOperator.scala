@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.vectorized.operators
+
+import org.neo4j.cypher.internal.compatibility.v3_5.runtime.SlotConfiguration
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.{LazyTypes, QueryState => OldQueryState}
+import org.neo4j.cypher.internal.runtime.slotted.helpers.NullChecker.entityIsNull
+import org.neo4j.cypher.internal.runtime.vectorized._
+import org.neo4j.cypher.internal.util.v3_5.InternalException
+import org.neo4j.cypher.internal.v3_5.expressions.SemanticDirection
+import org.neo4j.internal.kernel.api.helpers.RelationshipSelectionCursor
+
+/*
+Works like ExpandAllOperator, but rows for which no relationship matches the predicate are kept once, with the
+relationship and end node set to null.
+ */
+class OptionalExpandAllOperator(toSlots: SlotConfiguration,
+                                fromSlots: SlotConfiguration,
+                                fromOffset: Int,
+                                relOffset: Int,
+                                toOffset: Int,
+                                dir: SemanticDirection,
+                                types: LazyTypes,
+                                predicate: Predicate) extends Operator {
+
+  override def operate(source: Message,
+                       output: Morsel,
+                       context: QueryContext,
+                       state: QueryState): Continuation = {
+
+    var readPos = 0
+    var writePos = 0
+    var expansion: OptionalExpansion = null
+    var input: Morsel = null
+    var iterationState: Iteration = null
+
+    source match {
+      case StartLoopWithSingleMorsel(data, is) =>
+        input = data
+        iterationState = is
+      case ContinueLoopWith(ContinueWithData(data, index, is)) =>
+        input = data
+        readPos = index
+        iterationState = is
+      case ContinueLoopWith(ContinueWithDataAndSource(data, index, e, is)) =>
+        input = data
+        readPos = index
+        iterationState = is
+        expansion = e.asInstanceOf[OptionalExpansion]
+      case _ =>
+        throw new InternalException("Unknown continuation received")
+    }
+
+    val inputLongCount = fromSlots.numberOfLongs
+    val inputRefCount = fromSlots.numberOfReferences
+    val outputLongCount = toSlots.numberOfLongs
+    val outputRefCount = toSlots.numberOfReferences
+    val currentRow = new MorselExecutionContext(output, outputLongCount, outputRefCount, currentRow = writePos)
+    val queryState = new OldQueryState(context, resources = null, params = state.params)
+
+    def writeRow(relId: Long, otherSide: Long): Unit = {
+      System.arraycopy(input.longs, readPos * inputLongCount, output.longs, writePos * outputLongCount, inputLongCount)
+      System.arraycopy(input.refs, readPos * inputRefCount, output.refs, writePos * outputRefCount, inputRefCount)
+      output.longs(writePos * outputLongCount + relOffset) = relId
+      output.longs(writePos * outputLongCount + toOffset) = otherSide
+    }
+
+    while (readPos < input.validRows && writePos < output.validRows) {
+
+      val fromNode = input.longs(readPos * inputLongCount + fromOffset)
+      if (entityIsNull(fromNode)) {
+        writeRow(-1, -1)
+        writePos += 1
+        readPos += 1
+      } else {
+        if (expansion == null) {
+          expansion = new OptionalExpansion(context.getRelationshipsCursor(fromNode, dir, types.types(context)))
+        }
+
+        while (writePos < output.validRows && !expansion.exhausted) {
+          if (expansion.relationships.next()) {
+            writeRow(expansion.relationships.relationshipReference(), expansion.relationships.otherNodeReference())
+            currentRow.currentRow = writePos
+            if (predicate.isTrue(currentRow, queryState)) {
+              expansion.matched = true
+              writePos += 1
+            }
+          } else {
+            expansion.relationships.close()
+            expansion.exhausted = true
+          }
+        }
+
+        //all relationships seen, and there is room for the row with nulls if none of them matched
+        if (expansion.exhausted && writePos < output.validRows) {
+          if (!expansion.matched) {
+            writeRow(-1, -1)
+            writePos += 1
+          }
+          expansion = null
+          readPos += 1
+        }
+      }
+    }
+
+    val next = if (readPos < input.validRows || expansion != null) {
+      if (expansion == null)
+        ContinueWithData(input, readPos, iterationState)
+      else
+        ContinueWithDataAndSource(input, readPos, expansion, iterationState)
+    } else {
+      EndOfLoop(iterationState)
+    }
+
+    output.validRows = writePos
+    next
+  }
+
+  override def addDependency(pipeline: Pipeline): Dependency = Lazy(pipeline)
+}
+
+/*
+Expansion of a single input row, kept across continuations so that the row with nulls is only produced when no
+relationship matched.
+ */
+private class OptionalExpansion(val relationships: RelationshipSelectionCursor) {
+  var matched = false
+  var exhausted = false
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.vectorized.dispatcher
+
+import java.util.concurrent.{ExecutionException, Executors, TimeUnit}
+
+import org.mockito.Mockito.when
+import org.neo4j.cypher.internal.compatibility.v3_5.runtime.SlotConfiguration
+import org.neo4j.cypher.internal.runtime.{QueryContext, QueryTransactionalContext}
+import org.neo4j.cypher.internal.runtime.vectorized._
+import org.neo4j.cypher.internal.util.v3_5.TaskCloser
+import org.neo4j.cypher.internal.util.v3_5.test_helpers.CypherFunSuite
+import org.neo4j.graphdb.Resource
+import org.neo4j.kernel.api.query.ExecutingQuery
+import org.neo4j.values.virtual.VirtualValues.EMPTY_MAP
+
+import scala.collection.mutable
+
+class ParallelDispatcherTest extends CypherFunSuite {
+
+  private val slots = new SlotConfiguration(mutable.Map.empty, 0, 0)
+
+  test("a failing worker task releases the query thread") {
+    val failure = new RuntimeException("worker failed")
+    val pipeline = Pipeline(new FailingOperator(failure), IndexedSeq.empty, slots, NoDependencies)()
+
+    executeAndExpectFailure(pipeline, queryContext()) should be theSameInstanceAs failure
+  }
+
+  test("a worker task that fails to track its thread releases the query thread") {
+    val failure = new IllegalStateException("tracking failed")
+    val context = queryContext()
+    when(context.transactionalContext.executingQuery.trackWorkerThread()).thenThrow(failure)
+    val pipeline = Pipeline(new FailingOperator(new RuntimeException("not reached")), IndexedSeq.empty, slots, NoDependencies)()
+
+    executeAndExpectFailure(pipeline, context) should be theSameInstanceAs failure
+  }
+
+  private def executeAndExpectFailure(pipeline: Pipeline, context: QueryContext): Throwable = {
+    val workers = Executors.newSingleThreadExecutor()
+    val queryThread = Executors.newSingleThreadExecutor()
+    try {
+      val dispatcher = new ParallelDispatcher(morselSize = 10, workers = 1, workers)
+      val result = queryThread.submit(new Runnable {
+        override def run(): Unit = dispatcher.execute(pipeline, context, EMPTY_MAP, new TaskCloser)(null)
+      })
+      intercept[ExecutionException](result.get(1, TimeUnit.MINUTES)).getCause
+    } finally {
+      workers.shutdownNow()
+      queryThread.shutdownNow()
+    }
+  }
+
+  private def queryContext(): QueryContext = {
+    val executingQuery = mock[ExecutingQuery]
+    when(executingQuery.trackWorkerThread()).thenReturn(Resource.EMPTY)
+    val transactionalContext = mock[QueryTransactionalContext]
+    when(transactionalContext.executingQuery).thenReturn(executingQuery)
+    val context = mock[QueryContext]
+    when(context.transactionalContext).thenReturn(transactionalContext)
+    context
+  }
+
+  class FailingOperator(failure: Exception) extends Operator {
+    override def operate(message: Message, data: Morsel, context: QueryContext, state: QueryState): Continuation =
+      throw failure
+
+    override def addDependency(pipeline: Pipeline): Dependency = Lazy(pipeline)
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.vectorized.operators
+
+import org.mockito.Mockito.{verifyZeroInteractions, when}
+import org.neo4j.cypher.internal.compatibility.v3_5.runtime.{LongSlot, SlotConfiguration}
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.LazyTypes
+import org.neo4j.cypher.internal.runtime.vectorized._
+import org.neo4j.cypher.internal.util.v3_5.symbols._
+import org.neo4j.cypher.internal.util.v3_5.test_helpers.CypherFunSuite
+import org.neo4j.cypher.internal.v3_5.expressions.SemanticDirection
+import org.neo4j.values.AnyValue
+
+import scala.collection.mutable
+
+class ExpandIntoOperatorTest extends CypherFunSuite {
+
+  private val from = LongSlot(0, nullable = true, CTNode)
+  private val to = LongSlot(1, nullable = true, CTNode)
+  private val rel = LongSlot(2, nullable = false, CTRelationship)
+  private val fromSlots = new SlotConfiguration(mutable.Map("a" -> from, "b" -> to), 2, 0)
+  private val toSlots = new SlotConfiguration(mutable.Map("a" -> from, "b" -> to, "r" -> rel), 3, 0)
+
+  private def expandInto = new ExpandIntoOperator(toSlots, fromSlots, 0, 2, 1, SemanticDirection.OUTGOING, LazyTypes.empty)
+
+  private def outputMorsel(rows: Int) = new Morsel(new Array[Long](rows * 3), Array[AnyValue](), rows)
+
+  test("only expand the relationships that end in the bound node") {
+    val context = mock[QueryContext]
+    when(context.getRelationshipsCursor(1, SemanticDirection.OUTGOING, None))
+      .thenReturn(new StubRelationshipCursor(10L -> 2L, 11L -> 5L, 12L -> 2L))
+    when(context.getRelationshipsCursor(3, SemanticDirection.OUTGOING, None))
+      .thenReturn(new StubRelationshipCursor(13L -> 4L))
+
+    val input = new Morsel(Array[Long](
+      1, 2,
+      3, 4), Array[AnyValue](), 2)
+    val output = outputMorsel(5)
+
+    val continuation = expandInto.operate(StartLoopWithSingleMorsel(input, new Iteration(None)), output, context, null)
+
+    continuation shouldBe an[EndOfLoop]
+    output.validRows should equal(3)
+    output.longs.take(9) should equal(Array[Long](
+      1, 2, 10,
+      1, 2, 12,
+      3, 4, 13))
+  }
+
+  test("continue expanding a row in the next morsel when the output is full") {
+    val context = mock[QueryContext]
+    val relationships = new StubRelationshipCursor(10L -> 2L, 11L -> 5L, 12L -> 2L)
+    when(context.getRelationshipsCursor(1, SemanticDirection.OUTGOING, None)).thenReturn(relationships)
+
+    val input = new Morsel(Array[Long](1, 2), Array[AnyValue](), 1)
+
+    val output1 = outputMorsel(1)
+    val continuation1 = expandInto.operate(StartLoopWithSingleMorsel(input, new Iteration(None)), output1, context, null)
+    continuation1 shouldBe a[ContinueWithDataAndSource[_]]
+    output1.validRows should equal(1)
+    output1.longs should equal(Array[Long](1, 2, 10))
+
+    val output2 = outputMorsel(1)
+    val continuation2 = expandInto.operate(ContinueLoopWith(continuation1), output2, context, null)
+    continuation2 shouldBe a[ContinueWithDataAndSource[_]]
+    output2.validRows should equal(1)
+    output2.longs should equal(Array[Long](1, 2, 12))
+
+    val output3 = outputMorsel(1)
+    val continuation3 = expandInto.operate(ContinueLoopWith(continuation2), output3, context, null)
+    continuation3 shouldBe an[EndOfLoop]
+    output3.validRows should equal(0)
+    relationships.closed shouldBe true
+  }
+
+  test("skip rows where either end node is null") {
+    val context = mock[QueryContext]
+
+    val input = new Morsel(Array[Long](
+      -1, 2,
+      1, -1), Array[AnyValue](), 2)
+    val output = outputMorsel(2)
+
+    val continuation = expandInto.operate(StartLoopWithSingleMorsel(input, new Iteration(None)), output, context, null)
+
+    continuation shouldBe an[EndOfLoop]
+    output.validRows should equal(0)
+    verifyZeroInteractions(context)
+  }
+}
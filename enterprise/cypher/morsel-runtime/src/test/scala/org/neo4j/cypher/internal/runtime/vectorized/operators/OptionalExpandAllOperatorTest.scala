@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.vectorized.operators
+
+import org.mockito.Mockito.when
+import org.neo4j.cypher.internal.compatibility.v3_5.runtime.{LongSlot, SlotConfiguration}
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.interpreted.ExecutionContext
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.{Predicate, True}
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.{LazyTypes, QueryState => OldQueryState}
+import org.neo4j.cypher.internal.runtime.vectorized._
+import org.neo4j.cypher.internal.util.v3_5.symbols._
+import org.neo4j.cypher.internal.util.v3_5.test_helpers.CypherFunSuite
+import org.neo4j.cypher.internal.v3_5.expressions.SemanticDirection
+import org.neo4j.values.AnyValue
+import org.neo4j.values.virtual.VirtualValues.EMPTY_MAP
+
+import scala.collection.mutable
+
+class OptionalExpandAllOperatorTest extends CypherFunSuite {
+
+  private val from = LongSlot(0, nullable = true, CTNode)
+  private val rel = LongSlot(1, nullable = true, CTRelationship)
+  private val to = LongSlot(2, nullable = true, CTNode)
+  private val fromSlots = new SlotConfiguration(mutable.Map("a" -> from), 1, 0)
+  private val toSlots = new SlotConfiguration(mutable.Map("a" -> from, "r" -> rel, "b" -> to), 3, 0)
+  private val state = QueryState(EMPTY_MAP, null)
+
+  private def optionalExpand(predicate: Predicate) =
+    new OptionalExpandAllOperator(toSlots, fromSlots, 0, 1, 2, SemanticDirection.OUTGOING, LazyTypes.empty, predicate)
+
+  private def outputMorsel(rows: Int) = new Morsel(new Array[Long](rows * 3), Array[AnyValue](), rows)
+
+  test("expand all relationships and keep rows without relationships with nulls") {
+    val context = mock[QueryContext]
+    when(context.getRelationshipsCursor(1, SemanticDirection.OUTGOING, None))
+      .thenReturn(new StubRelationshipCursor(10L -> 2L, 11L -> 3L))
+    when(context.getRelationshipsCursor(4, SemanticDirection.OUTGOING, None))
+      .thenReturn(new StubRelationshipCursor())
+
+    val input = new Morsel(Array[Long](1, 4, -1), Array[AnyValue](), 3)
+    val output = outputMorsel(5)
+
+    val continuation = optionalExpand(True()).operate(StartLoopWithSingleMorsel(input, new Iteration(None)), output, context, state)
+
+    continuation shouldBe an[EndOfLoop]
+    output.validRows should equal(4)
+    output.longs.take(12) should equal(Array[Long](
+      1, 10, 2,
+      1, 11, 3,
+      4, -1, -1,
+      -1, -1, -1))
+  }
+
+  test("keep a row with nulls when no relationship matches the predicate") {
+    val context = mock[QueryContext]
+    when(context.getRelationshipsCursor(1, SemanticDirection.OUTGOING, None))
+      .thenReturn(new StubRelationshipCursor(10L -> 2L, 11L -> 3L))
+    when(context.getRelationshipsCursor(4, SemanticDirection.OUTGOING, None))
+      .thenReturn(new StubRelationshipCursor(13L -> 5L))
+
+    val input = new Morsel(Array[Long](1, 4), Array[AnyValue](), 2)
+    val output = outputMorsel(5)
+
+    val continuation = optionalExpand(RelationshipIdIsEven(1)).operate(StartLoopWithSingleMorsel(input, new Iteration(None)), output, context, state)
+
+    continuation shouldBe an[EndOfLoop]
+    output.validRows should equal(2)
+    output.longs.take(6) should equal(Array[Long](
+      1, 10, 2,
+      4, -1, -1))
+  }
+
+  test("not produce the row with nulls when a match was written to an earlier morsel") {
+    val context = mock[QueryContext]
+    when(context.getRelationshipsCursor(1, SemanticDirection.OUTGOING, None))
+      .thenReturn(new StubRelationshipCursor(10L -> 2L, 11L -> 3L))
+
+    val input = new Morsel(Array[Long](1), Array[AnyValue](), 1)
+    val expand = optionalExpand(RelationshipIdIsEven(1))
+
+    val output1 = outputMorsel(1)
+    val continuation1 = expand.operate(StartLoopWithSingleMorsel(input, new Iteration(None)), output1, context, state)
+    continuation1 shouldBe a[ContinueWithDataAndSource[_]]
+    output1.validRows should equal(1)
+    output1.longs should equal(Array[Long](1, 10, 2))
+
+    val output2 = outputMorsel(1)
+    val continuation2 = expand.operate(ContinueLoopWith(continuation1), output2, context, state)
+    continuation2 shouldBe an[EndOfLoop]
+    output2.validRows should equal(0)
+  }
+}
+
+//Matches rows whose relationship id, in the given long slot, is even
+case class RelationshipIdIsEven(offset: Int) extends Predicate {
+  override def isMatch(m: ExecutionContext, state: OldQueryState): Option[Boolean] = Some(m.getLongAt(offset) % 2 == 0)
+
+  override def containsIsNull: Boolean = false
+
+  override def rewrite(f: (Expression) => Expression): Expression = f(this)
+
+  override def arguments: Seq[Expression] = Seq.empty
+
+  override def symbolTableDependencies: Set[String] = Set.empty
+}
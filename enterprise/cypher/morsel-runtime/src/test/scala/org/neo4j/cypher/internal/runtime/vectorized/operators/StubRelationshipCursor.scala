@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.vectorized.operators
+
+import org.neo4j.internal.kernel.api.helpers.RelationshipSelectionCursor
+
+//Relationship cursor over a fixed list of (relationship id, other node id) pairs, for test only
+class StubRelationshipCursor(relationships: (Long, Long)*) extends RelationshipSelectionCursor {
+  private var current = -1
+  var closed = false
+
+  override def next(): Boolean = {
+    current += 1
+    current < relationships.length
+  }
+
+  override def close(): Unit = closed = true
+
+  override def relationshipReference(): Long = relationships(current)._1
+
+  override def `type`(): Int = 0
+
+  override def otherNodeReference(): Long = relationships(current)._2
+
+  override def sourceNodeReference(): Long = ???
+
+  override def targetNodeReference(): Long = relationships(current)._2
+
+  override def propertiesReference(): Long = ???
+}
@@ -30,7 +30,6 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.IntFunction;
@@ -50,6 +49,7 @@ import org.neo4j.kernel.impl.locking.LockWaitEvent;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.kernel.impl.locking.ResourceTypes;
 import org.neo4j.kernel.impl.util.collection.SimpleBitSet;
+import org.neo4j.kernel.impl.util.collection.StripedLongObjectMap;
 import org.neo4j.storageengine.api.lock.AcquireLockTimeoutException;
 import org.neo4j.storageengine.api.lock.ResourceType;
 import org.neo4j.storageengine.api.lock.WaitStrategy;
@@ -75,7 +75,7 @@ public class ForsetiClient implements Locks.Client
     private final int clientId;
 
     /** resourceType -> lock map. These are the global lock maps, shared across all clients. */
-    private final ConcurrentMap<Long,ForsetiLockManager.Lock>[] lockMaps;
+    private final StripedLongObjectMap<ForsetiLockManager.Lock>[] lockMaps;
 
     /** resourceType -> wait strategy */
     private final WaitStrategy<AcquireLockTimeoutException>[] waitStrategies;
@@ -140,7 +140,7 @@ public class ForsetiClient implements Locks.Client
      */
     private volatile ForsetiLockManager.Lock waitingForLock;
 
-    public ForsetiClient( int id, ConcurrentMap<Long,ForsetiLockManager.Lock>[] lockMaps,
+    public ForsetiClient( int id, StripedLongObjectMap<ForsetiLockManager.Lock>[] lockMaps,
                           WaitStrategy<AcquireLockTimeoutException>[] waitStrategies, Pool<ForsetiClient> clientPool,
                           DeadlockResolutionStrategy deadlockResolutionStrategy, IntFunction<ForsetiClient> clientById,
                           long lockAcquisitionTimeoutMillis, Clock clock )
@@ -183,7 +183,7 @@ public class ForsetiClient implements Locks.Client
         try
         {
             // Grab the global lock map we will be using
-            ConcurrentMap<Long,ForsetiLockManager.Lock> lockMap = lockMaps[resourceType.typeId()];
+            StripedLongObjectMap<ForsetiLockManager.Lock> lockMap = lockMaps[resourceType.typeId()];
 
             // And grab our local lock maps
             MutableLongIntMap heldShareLocks = sharedLockCounts[resourceType.typeId()];
@@ -297,7 +297,7 @@ public class ForsetiClient implements Locks.Client
 
         try
         {
-            ConcurrentMap<Long,ForsetiLockManager.Lock> lockMap = lockMaps[resourceType.typeId()];
+            StripedLongObjectMap<ForsetiLockManager.Lock> lockMap = lockMaps[resourceType.typeId()];
             MutableLongIntMap heldLocks = exclusiveLockCounts[resourceType.typeId()];
 
             for ( long resourceId : resourceIds )
@@ -363,7 +363,7 @@ public class ForsetiClient implements Locks.Client
 
         try
         {
-            ConcurrentMap<Long,ForsetiLockManager.Lock> lockMap = lockMaps[resourceType.typeId()];
+            StripedLongObjectMap<ForsetiLockManager.Lock> lockMap = lockMaps[resourceType.typeId()];
             MutableLongIntMap heldLocks = exclusiveLockCounts[resourceType.typeId()];
 
             int heldCount = heldLocks.getIfAbsent( resourceId, -1 );
@@ -415,7 +415,7 @@ public class ForsetiClient implements Locks.Client
 
         try
         {
-            ConcurrentMap<Long,ForsetiLockManager.Lock> lockMap = lockMaps[resourceType.typeId()];
+            StripedLongObjectMap<ForsetiLockManager.Lock> lockMap = lockMaps[resourceType.typeId()];
             MutableLongIntMap heldShareLocks = sharedLockCounts[resourceType.typeId()];
             MutableLongIntMap heldExclusiveLocks = exclusiveLockCounts[resourceType.typeId()];
 
@@ -551,7 +551,7 @@ public class ForsetiClient implements Locks.Client
         {
             MutableLongIntMap sharedLocks = sharedLockCounts[resourceType.typeId()];
             MutableLongIntMap exclusiveLocks = exclusiveLockCounts[resourceType.typeId()];
-            ConcurrentMap<Long,ForsetiLockManager.Lock> resourceTypeLocks = lockMaps[resourceType.typeId()];
+            StripedLongObjectMap<ForsetiLockManager.Lock> resourceTypeLocks = lockMaps[resourceType.typeId()];
             for ( long resourceId : resourceIds )
             {
                 if ( releaseLocalLock( resourceType, resourceId, sharedLocks ) )
@@ -578,7 +578,7 @@ public class ForsetiClient implements Locks.Client
 
         try
         {
-            ConcurrentMap<Long,ForsetiLockManager.Lock> resourceTypeLocks = lockMaps[resourceType.typeId()];
+            StripedLongObjectMap<ForsetiLockManager.Lock> resourceTypeLocks = lockMaps[resourceType.typeId()];
             MutableLongIntMap exclusiveLocks = exclusiveLockCounts[resourceType.typeId()];
             MutableLongIntMap sharedLocks = sharedLockCounts[resourceType.typeId()];
             for ( long resourceId : resourceIds )
@@ -827,7 +827,7 @@ public class ForsetiClient implements Locks.Client
     }
 
     /** Release a lock from the global pool. */
-    private void releaseGlobalLock( ConcurrentMap<Long,ForsetiLockManager.Lock> lockMap, long resourceId )
+    private void releaseGlobalLock( StripedLongObjectMap<ForsetiLockManager.Lock> lockMap, long resourceId )
     {
         ForsetiLockManager.Lock lock = lockMap.get( resourceId );
         if ( lock instanceof ExclusiveLock )
@@ -868,7 +868,7 @@ public class ForsetiClient implements Locks.Client
             LockTracer tracer,
             LockWaitEvent waitEvent,
             ResourceType resourceType,
-            ConcurrentMap<Long,ForsetiLockManager.Lock> lockMap,
+            StripedLongObjectMap<ForsetiLockManager.Lock> lockMap,
             long resourceId,
             SharedLock sharedLock,
             long waitStartMillis )
@@ -1133,9 +1133,9 @@ public class ForsetiClient implements Locks.Client
      */
     private class ReleaseSharedDontCheckExclusiveVisitor implements LongProcedure
     {
-        private ConcurrentMap<Long,ForsetiLockManager.Lock> lockMap;
+        private StripedLongObjectMap<ForsetiLockManager.Lock> lockMap;
 
-        private LongProcedure initialize( ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap )
+        private LongProcedure initialize( StripedLongObjectMap<ForsetiLockManager.Lock> lockMap )
         {
             this.lockMap = lockMap;
             return this;
@@ -1155,9 +1155,9 @@ public class ForsetiClient implements Locks.Client
     private class ReleaseExclusiveLocksAndClearSharedVisitor implements LongProcedure
     {
         private MutableLongIntMap sharedLockCounts;
-        private ConcurrentMap<Long,ForsetiLockManager.Lock> lockMap;
+        private StripedLongObjectMap<ForsetiLockManager.Lock> lockMap;
 
-        private LongProcedure initialize( MutableLongIntMap sharedLockCounts, ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap )
+        private LongProcedure initialize( MutableLongIntMap sharedLockCounts, StripedLongObjectMap<ForsetiLockManager.Lock> lockMap )
         {
             this.sharedLockCounts = sharedLockCounts;
             this.lockMap = lockMap;
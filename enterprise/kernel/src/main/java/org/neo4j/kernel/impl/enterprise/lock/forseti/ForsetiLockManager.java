@@ -20,7 +20,6 @@
 package org.neo4j.kernel.impl.enterprise.lock.forseti;
 
 import java.time.Clock;
-import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -34,6 +33,7 @@ import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.kernel.impl.util.collection.SimpleBitSet;
+import org.neo4j.kernel.impl.util.collection.StripedLongObjectMap;
 import org.neo4j.storageengine.api.lock.AcquireLockTimeoutException;
 import org.neo4j.storageengine.api.lock.ResourceType;
 import org.neo4j.storageengine.api.lock.WaitStrategy;
@@ -185,8 +185,11 @@ public class ForsetiLockManager implements Locks
         boolean shouldAbort( ForsetiClient clientThatsAsking, ForsetiClient clientWereDeadlockedWith );
     }
 
+    /** Number of stripes of each lock map, bounding how many clients can update a lock map in parallel. */
+    private static final int LOCK_MAP_CONCURRENCY_LEVEL = 128;
+
     /** Pointers to lock maps, one array per resource type. */
-    private final ConcurrentMap<Long,ForsetiLockManager.Lock>[] lockMaps;
+    private final StripedLongObjectMap<ForsetiLockManager.Lock>[] lockMaps;
 
     /** Reverse lookup resource types by id, used for introspection */
     private final ResourceType[] resourceTypes;
@@ -200,7 +203,7 @@ public class ForsetiLockManager implements Locks
     public ForsetiLockManager( Config config, Clock clock, ResourceType... resourceTypes )
     {
         int maxResourceId = findMaxResourceId( resourceTypes );
-        this.lockMaps = new ConcurrentMap[maxResourceId];
+        this.lockMaps = new StripedLongObjectMap[maxResourceId];
         this.resourceTypes = new ResourceType[maxResourceId];
 
         /* Wait strategies per resource type */
@@ -208,7 +211,7 @@ public class ForsetiLockManager implements Locks
 
         for ( ResourceType type : resourceTypes )
         {
-            this.lockMaps[type.typeId()] = new ConcurrentHashMap<>( 16, 0.6f, 512 );
+            this.lockMaps[type.typeId()] = new StripedLongObjectMap<>( LOCK_MAP_CONCURRENCY_LEVEL );
             waitStrategies[type.typeId()] = type.waitStrategy();
             this.resourceTypes[type.typeId()] = type;
         }
@@ -247,11 +250,8 @@ public class ForsetiLockManager implements Locks
             if ( lockMaps[i] != null )
             {
                 ResourceType type = resourceTypes[i];
-                for ( Map.Entry<Long,Lock> entry : lockMaps[i].entrySet() )
-                {
-                    Lock lock = entry.getValue();
-                    out.visit( type, entry.getKey(), lock.describeWaitList(), 0, System.identityHashCode( lock ) );
-                }
+                lockMaps[i].forEachKeyValue( ( resourceId, lock ) ->
+                        out.visit( type, resourceId, lock.describeWaitList(), 0, System.identityHashCode( lock ) ) );
             }
         }
     }
@@ -282,11 +282,11 @@ public class ForsetiLockManager implements Locks
         private final ConcurrentMap<Integer,ForsetiClient> clientsById = new ConcurrentHashMap<>();
         private final Config config;
         private final Clock clock;
-        private final ConcurrentMap<Long,ForsetiLockManager.Lock>[] lockMaps;
+        private final StripedLongObjectMap<ForsetiLockManager.Lock>[] lockMaps;
         private final WaitStrategy<AcquireLockTimeoutException>[] waitStrategies;
         private final DeadlockResolutionStrategy deadlockResolutionStrategy = DeadlockStrategies.DEFAULT;
 
-        ForsetiClientFlyweightPool( Config config, Clock clock, ConcurrentMap<Long,Lock>[] lockMaps,
+        ForsetiClientFlyweightPool( Config config, Clock clock, StripedLongObjectMap<Lock>[] lockMaps,
                 WaitStrategy<AcquireLockTimeoutException>[] waitStrategies )
         {
             super( 128, null );
@@ -95,6 +95,11 @@ public class MetricsSettings implements LoadableConfig
     public static final Setting<Boolean> neoLogRotationEnabled = buildSetting(
             "metrics.neo4j.logrotation.enabled", BOOLEAN ).inherits( neoEnabled ).build();
 
+    @Description( "Enable reporting metrics about forcing of the Neo4j transaction log; how many transactions each " +
+                  "force makes durable and how much time forcing takes." )
+    public static final Setting<Boolean> neoLogForceEnabled = buildSetting(
+            "metrics.neo4j.log_force.enabled", BOOLEAN ).inherits( neoEnabled ).build();
+
     @Description( "Enable reporting metrics about HA cluster info." )
     public static final Setting<Boolean> neoClusterEnabled = buildSetting(
             "metrics.neo4j.cluster.enabled", BOOLEAN ).inherits( neoEnabled ).build();
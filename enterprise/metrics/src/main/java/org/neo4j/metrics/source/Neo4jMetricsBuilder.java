@@ -49,6 +49,7 @@ import org.neo4j.metrics.source.db.BoltMetrics;
 import org.neo4j.metrics.source.db.CheckPointingMetrics;
 import org.neo4j.metrics.source.db.CypherMetrics;
 import org.neo4j.metrics.source.db.EntityCountMetrics;
+import org.neo4j.metrics.source.db.LogForceMetrics;
 import org.neo4j.metrics.source.db.LogRotationMetrics;
 import org.neo4j.metrics.source.db.PageCacheMetrics;
 import org.neo4j.metrics.source.db.TransactionMetrics;
@@ -131,6 +132,12 @@ public class Neo4jMetricsBuilder
             result = true;
         }
 
+        if ( config.get( MetricsSettings.neoLogForceEnabled ) )
+        {
+            life.add( new LogForceMetrics( registry, dependencies.monitors() ) );
+            result = true;
+        }
+
         if ( config.get( MetricsSettings.neoCountsEnabled ) )
         {
             if ( kernelContext.databaseInfo().edition != Edition.community &&
@@ -75,6 +75,14 @@ public class BoltMetrics extends LifecycleAdapter
     @Documented( "The accumulated time worker threads have spent processing messages." )
     public static final String TOTAL_PROCESSING_TIME = name( NAME_PREFIX, "accumulated_processing_time" );
 
+    @Documented( "The total number of times Bolt connections were given a turn on the event loop scheduler since this " +
+                 "instance started." )
+    public static final String CONNECTIONS_SCHEDULED = name( NAME_PREFIX, "connections_scheduled" );
+
+    @Documented( "The accumulated time Bolt connections with pending messages have spent waiting for a turn on the " +
+                 "event loop scheduler." )
+    public static final String TOTAL_CONNECTION_QUEUE_TIME = name( NAME_PREFIX, "accumulated_connection_queue_time" );
+
     private final MetricRegistry registry;
     private final Monitors monitors;
     private final BoltMetricsMonitor boltMonitor = new BoltMetricsMonitor();
@@ -100,6 +108,8 @@ public class BoltMetrics extends LifecycleAdapter
         registry.register( MESSAGES_FAILED, (Gauge<Long>) boltMonitor.messagesFailed::get );
         registry.register( TOTAL_QUEUE_TIME, (Gauge<Long>) boltMonitor.queueTime::get );
         registry.register( TOTAL_PROCESSING_TIME, (Gauge<Long>) boltMonitor.processingTime::get );
+        registry.register( CONNECTIONS_SCHEDULED, (Gauge<Long>) boltMonitor.connectionsScheduled::get );
+        registry.register( TOTAL_CONNECTION_QUEUE_TIME, (Gauge<Long>) boltMonitor.connectionQueueTime::get );
     }
 
     @Override
@@ -116,6 +126,8 @@ public class BoltMetrics extends LifecycleAdapter
         registry.remove( MESSAGES_FAILED );
         registry.remove( TOTAL_QUEUE_TIME );
         registry.remove( TOTAL_PROCESSING_TIME );
+        registry.remove( CONNECTIONS_SCHEDULED );
+        registry.remove( TOTAL_CONNECTION_QUEUE_TIME );
         monitors.removeMonitorListener( boltMonitor );
     }
 
@@ -138,6 +150,9 @@ public class BoltMetrics extends LifecycleAdapter
         final AtomicLong queueTime = new AtomicLong();
         final AtomicLong processingTime = new AtomicLong();
 
+        final AtomicLong connectionsScheduled = new AtomicLong();
+        final AtomicLong connectionQueueTime = new AtomicLong();
+
         @Override
         public void connectionOpened()
         {
@@ -185,6 +200,13 @@ public class BoltMetrics extends LifecycleAdapter
             messagesFailed.incrementAndGet();
         }
 
+        @Override
+        public void connectionScheduled( long queueTime )
+        {
+            connectionQueueTime.addAndGet( queueTime );
+            connectionsScheduled.incrementAndGet();
+        }
+
         @Override
         public void connectionClosed()
         {
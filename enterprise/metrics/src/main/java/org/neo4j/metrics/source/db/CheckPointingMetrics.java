@@ -45,6 +45,10 @@ public class CheckPointingMetrics extends LifecycleAdapter
     public static final String CHECK_POINT_TOTAL_TIME = name( CHECK_POINT_PREFIX, "total_time" );
     @Documented( "The duration of the check point event" )
     public static final String CHECK_POINT_DURATION = name( CHECK_POINT_PREFIX, "check_point_duration" );
+    @Documented( "The total number of pages flushed by check points so far" )
+    public static final String CHECK_POINT_FLUSHED_PAGES = name( CHECK_POINT_PREFIX, "flushed_pages" );
+    @Documented( "The number of pages flushed so far by the running check point, or by the last one if none is running" )
+    public static final String CHECK_POINT_LAST_FLUSHED_PAGES = name( CHECK_POINT_PREFIX, "last_flushed_pages" );
 
     private final MetricRegistry registry;
     private final Monitors monitors;
@@ -73,6 +77,10 @@ public class CheckPointingMetrics extends LifecycleAdapter
         registry.register( CHECK_POINT_EVENTS, (Gauge<Long>) checkPointerMonitor::numberOfCheckPointEvents );
         registry.register( CHECK_POINT_TOTAL_TIME,
                 (Gauge<Long>) checkPointerMonitor::checkPointAccumulatedTotalTimeMillis );
+        registry.register( CHECK_POINT_FLUSHED_PAGES,
+                (Gauge<Long>) checkPointerMonitor::checkPointAccumulatedFlushedPages );
+        registry.register( CHECK_POINT_LAST_FLUSHED_PAGES,
+                (Gauge<Long>) checkPointerMonitor::lastCheckPointFlushedPages );
     }
 
     @Override
@@ -82,5 +90,7 @@ public class CheckPointingMetrics extends LifecycleAdapter
 
         registry.remove( CHECK_POINT_EVENTS );
         registry.remove( CHECK_POINT_TOTAL_TIME );
+        registry.remove( CHECK_POINT_FLUSHED_PAGES );
+        registry.remove( CHECK_POINT_LAST_FLUSHED_PAGES );
     }
 }
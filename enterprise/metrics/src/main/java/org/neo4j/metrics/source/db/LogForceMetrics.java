@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.metrics.source.db;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.kernel.impl.annotations.Documented;
+import org.neo4j.kernel.impl.transaction.log.BatchingTransactionAppender;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.kernel.monitoring.Monitors;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+@Documented( ".Database Transaction Log Force Metrics" )
+public class LogForceMetrics extends LifecycleAdapter
+{
+    private static final String NAME_PREFIX = "neo4j.log_force";
+
+    @Documented( "The total number of times the transaction log has been forced to disk." )
+    public static final String LOG_FORCES = name( NAME_PREFIX, "events" );
+
+    @Documented( "The total number of transactions and check points made durable by forces of the transaction log. " +
+            "Divided by the number of forces this gives the average size of each batch." )
+    public static final String FORCED_APPENDS = name( NAME_PREFIX, "forced_appends" );
+
+    @Documented( "The size of the batch made durable by the last force of the transaction log." )
+    public static final String LAST_BATCH_SIZE = name( NAME_PREFIX, "last_batch_size" );
+
+    @Documented( "The accumulated time, in nanoseconds, spent forcing the transaction log." )
+    public static final String TOTAL_FORCE_TIME = name( NAME_PREFIX, "accumulated_force_time" );
+
+    private final MetricRegistry registry;
+    private final Monitors monitors;
+    private final LogForceMetricsMonitor logForceMonitor = new LogForceMetricsMonitor();
+
+    public LogForceMetrics( MetricRegistry registry, Monitors monitors )
+    {
+        this.registry = registry;
+        this.monitors = monitors;
+    }
+
+    @Override
+    public void start()
+    {
+        monitors.addMonitorListener( logForceMonitor );
+        registry.register( LOG_FORCES, (Gauge<Long>) logForceMonitor.forces::get );
+        registry.register( FORCED_APPENDS, (Gauge<Long>) logForceMonitor.forcedAppends::get );
+        registry.register( LAST_BATCH_SIZE, (Gauge<Long>) logForceMonitor.lastBatchSize::get );
+        registry.register( TOTAL_FORCE_TIME, (Gauge<Long>) logForceMonitor.forceTime::get );
+    }
+
+    @Override
+    public void stop()
+    {
+        registry.remove( LOG_FORCES );
+        registry.remove( FORCED_APPENDS );
+        registry.remove( LAST_BATCH_SIZE );
+        registry.remove( TOTAL_FORCE_TIME );
+        monitors.removeMonitorListener( logForceMonitor );
+    }
+
+    private static class LogForceMetricsMonitor implements BatchingTransactionAppender.Monitor
+    {
+        final AtomicLong forces = new AtomicLong();
+        final AtomicLong forcedAppends = new AtomicLong();
+        final AtomicLong lastBatchSize = new AtomicLong();
+        final AtomicLong forceTime = new AtomicLong();
+
+        @Override
+        public void logForced( int batchSize, long forceTimeNanos )
+        {
+            forces.incrementAndGet();
+            forcedAppends.addAndGet( batchSize );
+            lastBatchSize.set( batchSize );
+            forceTime.addAndGet( forceTimeNanos );
+        }
+    }
+}
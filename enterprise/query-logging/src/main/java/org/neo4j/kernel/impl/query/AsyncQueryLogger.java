@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.query;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.neo4j.concurrent.AsyncEvent;
+import org.neo4j.concurrent.AsyncEvents;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings.QueryLogOverflowPolicy;
+import org.neo4j.kernel.api.query.ExecutingQuery;
+import org.neo4j.kernel.api.query.QuerySnapshot;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.logging.Log;
+
+/**
+ * A {@link QueryLogger} which only takes a snapshot of each completed query on the thread that executed it, and
+ * leaves formatting and writing of the log entries to a background thread. Entries are handed over through
+ * {@link AsyncEvents}, which the background thread drains in batches.
+ * <p>
+ * At most {@link GraphDatabaseSettings#log_queries_async_buffer_size} entries are waiting to be written at any time.
+ * When that many are waiting, new entries are dropped or the query thread waits for room, as decided by the
+ * {@link GraphDatabaseSettings#log_queries_async_overflow_policy}. The number of dropped entries is written
+ * to the query log as soon as the background thread catches up.
+ */
+class AsyncQueryLogger implements QueryLogger, Consumer<AsyncQueryLogger.QueryLogEvent>
+{
+    private static final long OVERFLOW_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos( 100 );
+
+    private final Log log;
+    private final ConfiguredQueryLogger logger;
+    private final AsyncEvents<QueryLogEvent> events;
+    private final int capacity;
+    private final boolean blockOnOverflow;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private long droppedReported; // Only accessed by the thread writing the entries
+    private volatile boolean closed;
+
+    AsyncQueryLogger( Log log, Config config, Executor executor )
+    {
+        this.log = log;
+        this.logger = new ConfiguredQueryLogger( log, config );
+        this.capacity = config.get( GraphDatabaseSettings.log_queries_async_buffer_size );
+        this.blockOnOverflow =
+                config.get( GraphDatabaseSettings.log_queries_async_overflow_policy ) == QueryLogOverflowPolicy.BLOCK;
+        this.events = new AsyncEvents<>( this, AsyncEvents.Monitor.NONE );
+        executor.execute( events );
+        events.awaitStartup();
+    }
+
+    @Override
+    public void success( ExecutingQuery query )
+    {
+        if ( logger.isAboveThreshold( query ) )
+        {
+            enqueue( query.snapshot(), null );
+        }
+    }
+
+    @Override
+    public void failure( ExecutingQuery query, Throwable failure )
+    {
+        enqueue( query.snapshot(), failure );
+    }
+
+    private void enqueue( QuerySnapshot query, Throwable failure )
+    {
+        while ( pending.incrementAndGet() > capacity )
+        {
+            pending.decrementAndGet();
+            if ( !blockOnOverflow || closed )
+            {
+                dropped.incrementAndGet();
+                return;
+            }
+            LockSupport.parkNanos( this, OVERFLOW_PARK_NANOS );
+        }
+        events.send( new QueryLogEvent( query, failure ) );
+    }
+
+    @Override
+    public void accept( QueryLogEvent event )
+    {
+        pending.decrementAndGet();
+        reportDropped();
+        logger.log( event.query, event.failure );
+    }
+
+    private void reportDropped()
+    {
+        long droppedSoFar = dropped.get();
+        if ( droppedSoFar != droppedReported )
+        {
+            log.warn( "%d query log entries were dropped, because the query log could not keep up with the queries " +
+                      "being executed.", droppedSoFar - droppedReported );
+            droppedReported = droppedSoFar;
+        }
+    }
+
+    /**
+     * @return number of entries dropped since this logger was created, because too many entries were waiting to be
+     * written.
+     */
+    long droppedEntries()
+    {
+        return dropped.get();
+    }
+
+    /**
+     * Writes all waiting entries and stops the background thread. Entries arriving after this call are written by
+     * the threads of their queries, or dropped if they would otherwise wait for room.
+     */
+    void close()
+    {
+        closed = true;
+        events.shutdown();
+        events.awaitTermination();
+        reportDropped();
+    }
+
+    static class QueryLogEvent extends AsyncEvent
+    {
+        private final QuerySnapshot query;
+        private final Throwable failure;
+
+        QueryLogEvent( QuerySnapshot query, Throwable failure )
+        {
+            this.query = query;
+            this.failure = failure;
+        }
+    }
+}
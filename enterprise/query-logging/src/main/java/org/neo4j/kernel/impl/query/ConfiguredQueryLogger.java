@@ -64,16 +64,38 @@ class ConfiguredQueryLogger implements QueryLogger
     @Override
     public void failure( ExecutingQuery query, Throwable failure )
     {
-        log.error( logEntry( query.snapshot() ), failure );
+        log( query.snapshot(), failure );
     }
 
     @Override
     public void success( ExecutingQuery query )
     {
-        if ( NANOSECONDS.toMillis( query.elapsedNanos() ) >= thresholdMillis )
+        if ( isAboveThreshold( query ) )
         {
-            QuerySnapshot snapshot = query.snapshot();
-            log.info( logEntry( snapshot ) );
+            log( query.snapshot(), null );
+        }
+    }
+
+    boolean isAboveThreshold( ExecutingQuery query )
+    {
+        return NANOSECONDS.toMillis( query.elapsedNanos() ) >= thresholdMillis;
+    }
+
+    /**
+     * Formats and writes the entry of a completed query.
+     *
+     * @param query snapshot of the completed query.
+     * @param failure what made the query fail, or {@code null} if it succeeded.
+     */
+    void log( QuerySnapshot query, Throwable failure )
+    {
+        if ( failure == null )
+        {
+            log.info( logEntry( query ) );
+        }
+        else
+        {
+            log.error( logEntry( query ), failure );
         }
     }
 
@@ -85,6 +85,7 @@ class DynamicLoggingQueryExecutionMonitor extends LifecycleAdapter implements Qu
         registerDynamicSettingUpdater( GraphDatabaseSettings.log_queries_threshold );
         registerDynamicSettingUpdater( GraphDatabaseSettings.log_queries_rotation_threshold );
         registerDynamicSettingUpdater( GraphDatabaseSettings.log_queries_max_archives );
+        registerDynamicSettingUpdater( GraphDatabaseSettings.log_queries_async_enabled );
     }
 
     private <T> void registerDynamicSettingUpdater( Setting<T> setting )
@@ -94,8 +95,18 @@ class DynamicLoggingQueryExecutionMonitor extends LifecycleAdapter implements Qu
 
     private synchronized void updateSettings()
     {
+        // The new logger is in place before the previous one is closed, so that queries completing in the meantime
+        // are logged. Entries of a previous asynchronous logger can still be on their way to the previous log,
+        // and must be written before that log is closed.
+        QueryLogger previousQueryLogger = currentLog;
+        Closeable previousClosable = closable;
         updateLogSettings();
         updateQueryLoggerSettings();
+        closeIfAsync( previousQueryLogger );
+        if ( previousClosable != closable )
+        {
+            closeLog( previousClosable );
+        }
     }
 
     private void updateQueryLoggerSettings()
@@ -106,7 +117,14 @@ class DynamicLoggingQueryExecutionMonitor extends LifecycleAdapter implements Qu
         // are prime candidates.
         if ( config.get( GraphDatabaseSettings.log_queries ) )
         {
-            currentLog = new ConfiguredQueryLogger( log, config );
+            if ( config.get( GraphDatabaseSettings.log_queries_async_enabled ) )
+            {
+                currentLog = new AsyncQueryLogger( log, config, scheduler.executor( JobScheduler.Groups.queryLogging ) );
+            }
+            else
+            {
+                currentLog = new ConfiguredQueryLogger( log, config );
+            }
         }
         else
         {
@@ -119,6 +137,7 @@ class DynamicLoggingQueryExecutionMonitor extends LifecycleAdapter implements Qu
         // The dynamic setting here is log_queries, log_queries_rotation_threshold, and log_queries_max_archives.
         // NOTE: We can't register this method as a settings update callback, because we don't update the `currentLog`
         // field in this method. Settings updates must always go via the `updateQueryLoggerSettings` method.
+        // A log that is replaced here is not closed, that is left to `updateSettings`.
         if ( config.get( GraphDatabaseSettings.log_queries ) )
         {
             long rotationThreshold = config.get( GraphDatabaseSettings.log_queries_rotation_threshold );
@@ -133,14 +152,12 @@ class DynamicLoggingQueryExecutionMonitor extends LifecycleAdapter implements Qu
                     needsRebuild |= currentMaxArchives != maxArchives; // or if the max archives setting has changed.
                     if ( needsRebuild )
                     {
-                        closeCurrentLogIfAny();
                         buildRotatingLog( rotationThreshold, maxArchives );
                     }
                 }
                 else if ( currentRotationThreshold != rotationThreshold || closable == null )
                 {
                     // We go from rotating (or uninitialised) log to non-rotating. Always rebuild.
-                    closeCurrentLogIfAny();
                     buildNonRotatingLog();
                 }
 
@@ -154,7 +171,15 @@ class DynamicLoggingQueryExecutionMonitor extends LifecycleAdapter implements Qu
         }
         else
         {
-            closeCurrentLogIfAny();
+            closable = null;
+        }
+    }
+
+    private static void closeIfAsync( QueryLogger queryLogger )
+    {
+        if ( queryLogger instanceof AsyncQueryLogger )
+        {
+            ((AsyncQueryLogger) queryLogger).close();
         }
     }
 
@@ -163,19 +188,18 @@ class DynamicLoggingQueryExecutionMonitor extends LifecycleAdapter implements Qu
         return threshold > 0;
     }
 
-    private void closeCurrentLogIfAny()
+    private void closeLog( Closeable log )
     {
-        if ( closable != null )
+        if ( log != null )
         {
             try
             {
-                closable.close();
+                log.close();
             }
             catch ( IOException exception )
             {
-                debugLog.warn( "Failed to close current log: " + closable, exception );
+                debugLog.warn( "Failed to close current log: " + log, exception );
             }
-            closable = null;
         }
     }
 
@@ -199,7 +223,11 @@ class DynamicLoggingQueryExecutionMonitor extends LifecycleAdapter implements Qu
     @Override
     public synchronized void shutdown()
     {
-        closeCurrentLogIfAny();
+        QueryLogger previousQueryLogger = currentLog;
+        currentLog = NO_LOG;
+        closeIfAsync( previousQueryLogger );
+        closeLog( closable );
+        closable = null;
     }
 
     @Override
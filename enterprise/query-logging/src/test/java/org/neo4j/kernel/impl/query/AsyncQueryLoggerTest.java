@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.query;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+import org.neo4j.concurrent.BinaryLatch;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings.QueryLogOverflowPolicy;
+import org.neo4j.kernel.api.query.ExecutingQuery;
+import org.neo4j.kernel.api.query.QuerySnapshot;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.query.clientconnection.ClientConnectionInfo;
+import org.neo4j.kernel.impl.query.clientconnection.ShellConnectionInfo;
+import org.neo4j.logging.AssertableLogProvider;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.logging.AssertableLogProvider.inLog;
+
+public class AsyncQueryLoggerTest
+{
+    private static final ClientConnectionInfo SESSION = new ShellConnectionInfo( "{session}" );
+
+    private final AssertableLogProvider logProvider = new AssertableLogProvider();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final BinaryLatch writingStarted = new BinaryLatch();
+    private final BinaryLatch continueWriting = new BinaryLatch();
+
+    @After
+    public void shutdownExecutor()
+    {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldWriteEntriesOfCompletedQueriesInTheBackground()
+    {
+        // given
+        AsyncQueryLogger queryLogger = queryLogger( 10, QueryLogOverflowPolicy.DROP );
+        RuntimeException failure = new RuntimeException( "boom" );
+
+        // when
+        queryLogger.success( query( "RETURN 1" ) );
+        queryLogger.failure( query( "RETURN 2" ), failure );
+        queryLogger.close();
+
+        // then
+        logProvider.assertExactly(
+                inLog( getClass() ).info( entry( "RETURN 1" ) ),
+                inLog( getClass() ).error( equalTo( entry( "RETURN 2" ) ), sameInstance( failure ) ) );
+    }
+
+    @Test
+    public void shouldDropAndReportEntriesWhenBufferIsFull()
+    {
+        // given
+        AsyncQueryLogger queryLogger = queryLogger( 1, QueryLogOverflowPolicy.DROP );
+        queryLogger.success( blockingQuery( "RETURN 1" ) );
+        writingStarted.await();
+
+        // when
+        queryLogger.success( query( "RETURN 2" ) );
+        queryLogger.success( query( "RETURN 3" ) );
+        continueWriting.release();
+        queryLogger.close();
+
+        // then
+        assertEquals( 1, queryLogger.droppedEntries() );
+        logProvider.assertExactly(
+                inLog( getClass() ).info( entry( "RETURN 1" ) ),
+                inLog( getClass() ).warn( "%d query log entries were dropped, because the query log could not keep up " +
+                                          "with the queries being executed.", 1L ),
+                inLog( getClass() ).info( entry( "RETURN 2" ) ) );
+    }
+
+    @Test
+    public void shouldBlockQueryUntilThereIsRoomInBuffer() throws Exception
+    {
+        // given
+        AsyncQueryLogger queryLogger = queryLogger( 1, QueryLogOverflowPolicy.BLOCK );
+        queryLogger.success( blockingQuery( "RETURN 1" ) );
+        writingStarted.await();
+        queryLogger.success( query( "RETURN 2" ) );
+
+        // when
+        Future<?> blockedQuery = executor.submit( () -> queryLogger.success( query( "RETURN 3" ) ) );
+        try
+        {
+            blockedQuery.get( 100, MILLISECONDS );
+            fail( "Should have waited for room in the buffer" );
+        }
+        catch ( TimeoutException e )
+        {
+            // expected
+        }
+        continueWriting.release();
+        blockedQuery.get();
+        queryLogger.close();
+
+        // then
+        assertEquals( 0, queryLogger.droppedEntries() );
+        logProvider.assertExactly(
+                inLog( getClass() ).info( entry( "RETURN 1" ) ),
+                inLog( getClass() ).info( entry( "RETURN 2" ) ),
+                inLog( getClass() ).info( entry( "RETURN 3" ) ) );
+    }
+
+    private AsyncQueryLogger queryLogger( int bufferSize, QueryLogOverflowPolicy overflowPolicy )
+    {
+        Config config = Config.defaults( GraphDatabaseSettings.log_queries_parameter_logging_enabled, "false" );
+        config.augment( GraphDatabaseSettings.log_queries_async_buffer_size, String.valueOf( bufferSize ) );
+        config.augment( GraphDatabaseSettings.log_queries_async_overflow_policy, overflowPolicy.name() );
+        return new AsyncQueryLogger( logProvider.getLog( getClass() ), config, executor );
+    }
+
+    private static String entry( String queryText )
+    {
+        return format( "%d ms: %s - %s - {}", 0L, SESSION.asConnectionDetails(), queryText );
+    }
+
+    private static ExecutingQuery query( String queryText )
+    {
+        QuerySnapshot snapshot = mock( QuerySnapshot.class );
+        when( snapshot.clientConnection() ).thenReturn( SESSION );
+        when( snapshot.queryText() ).thenReturn( queryText );
+        return query( snapshot );
+    }
+
+    private ExecutingQuery blockingQuery( String queryText )
+    {
+        QuerySnapshot snapshot = mock( QuerySnapshot.class );
+        when( snapshot.clientConnection() ).thenReturn( SESSION );
+        when( snapshot.queryText() ).thenAnswer( invocation ->
+        {
+            writingStarted.release();
+            continueWriting.await();
+            return queryText;
+        } );
+        return query( snapshot );
+    }
+
+    private static ExecutingQuery query( QuerySnapshot snapshot )
+    {
+        ExecutingQuery query = mock( ExecutingQuery.class );
+        when( query.snapshot() ).thenReturn( snapshot );
+        return query;
+    }
+}
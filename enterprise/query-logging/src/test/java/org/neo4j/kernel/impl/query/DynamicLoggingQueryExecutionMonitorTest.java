@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.query;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.neo4j.concurrent.BinaryLatch;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.neo4j.kernel.api.query.ExecutingQuery;
+import org.neo4j.kernel.api.query.QuerySnapshot;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.query.clientconnection.ClientConnectionInfo;
+import org.neo4j.kernel.impl.query.clientconnection.ShellConnectionInfo;
+import org.neo4j.kernel.impl.scheduler.CentralJobScheduler;
+import org.neo4j.logging.NullLog;
+import org.neo4j.test.rule.concurrent.OtherThreadRule;
+import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.test.rule.fs.DefaultFileSystemRule;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.helpers.collection.MapUtil.stringMap;
+
+public class DynamicLoggingQueryExecutionMonitorTest
+{
+    private static final ClientConnectionInfo SESSION = new ShellConnectionInfo( "{session}" );
+
+    private final DefaultFileSystemRule fs = new DefaultFileSystemRule();
+    private final TestDirectory directory = TestDirectory.testDirectory( fs.get() );
+    @Rule
+    public final RuleChain rules = RuleChain.outerRule( fs ).around( directory );
+    @Rule
+    public final OtherThreadRule<Void> t2 = new OtherThreadRule<>( "T2-" + getClass().getName() );
+
+    private final BinaryLatch writingStarted = new BinaryLatch();
+    private final BinaryLatch continueWriting = new BinaryLatch();
+    private final CentralJobScheduler scheduler = new CentralJobScheduler();
+
+    @Before
+    public void startScheduler()
+    {
+        scheduler.init();
+    }
+
+    @After
+    public void stopScheduler()
+    {
+        continueWriting.release();
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void shouldLogQueriesCompletingWhileAsyncQueryLoggerIsReplaced() throws Exception
+    {
+        // given
+        File logFile = directory.file( "query.log" );
+        Config config = Config.defaults( stringMap(
+                GraphDatabaseSettings.log_queries.name(), "true",
+                GraphDatabaseSettings.log_queries_async_enabled.name(), "true",
+                GraphDatabaseSettings.log_queries_parameter_logging_enabled.name(), "false",
+                GraphDatabaseSettings.log_queries_filename.name(), logFile.getPath() ) );
+        DynamicLoggingQueryExecutionMonitor monitor =
+                new DynamicLoggingQueryExecutionMonitor( config, fs.get(), scheduler, NullLog.getInstance() );
+        monitor.init();
+        monitor.endSuccess( blockingQuery( "RETURN 1" ) );
+        writingStarted.await();
+
+        // when
+        Future<Void> update = t2.execute( state ->
+        {
+            // Rebuilds the log and replaces the query logger, waiting for the previous one to write its entries
+            config.updateDynamicSetting( GraphDatabaseSettings.log_queries_max_archives.name(), "2", "test" );
+            return null;
+        } );
+        t2.get().waitUntilWaiting();
+        monitor.endSuccess( query( "RETURN 2" ) );
+        continueWriting.release();
+        update.get();
+        monitor.shutdown();
+
+        // then
+        List<String> lines;
+        try ( BufferedReader reader = new BufferedReader( fs.openAsReader( logFile, StandardCharsets.UTF_8 ) ) )
+        {
+            lines = reader.lines().collect( Collectors.toList() );
+        }
+        assertEquals( 2, lines.size() );
+        assertThat( lines.get( 0 ), containsString( "RETURN 1" ) );
+        assertThat( lines.get( 1 ), containsString( "RETURN 2" ) );
+    }
+
+    private static ExecutingQuery query( String queryText )
+    {
+        QuerySnapshot snapshot = mock( QuerySnapshot.class );
+        when( snapshot.clientConnection() ).thenReturn( SESSION );
+        when( snapshot.queryText() ).thenReturn( queryText );
+        ExecutingQuery query = mock( ExecutingQuery.class );
+        when( query.snapshot() ).thenReturn( snapshot );
+        return query;
+    }
+
+    private ExecutingQuery blockingQuery( String queryText )
+    {
+        ExecutingQuery query = query( queryText );
+        QuerySnapshot snapshot = query.snapshot();
+        when( snapshot.queryText() ).thenAnswer( invocation ->
+        {
+            writingStarted.release();
+            continueWriting.await();
+            return queryText;
+        } );
+        return query;
+    }
+}
@@ -293,6 +293,12 @@ public class BoltFailuresIT
 
         }
 
+        @Override
+        public void connectionScheduled( long queueTime )
+        {
+
+        }
+
         @Override
         public void connectionClosed()
         {
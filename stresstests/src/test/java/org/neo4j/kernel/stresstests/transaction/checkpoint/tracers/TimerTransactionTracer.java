@@ -71,6 +71,11 @@ public class TimerTransactionTracer implements TransactionTracer, CheckPointTrac
 
     private static final LogCheckPointEvent LOG_CHECK_POINT_EVENT = new LogCheckPointEvent()
     {
+        @Override
+        public void flushedPages( int pages )
+        {
+        }
+
         @Override
         public LogForceWaitEvent beginLogForceWait()
         {